@@ -1,13 +1,16 @@
 package de.uni_passau.fim.se2.sbse.suite_minimisation;
 
+import de.uni_passau.fim.se2.sbse.suite_minimisation.algorithms.GenerationStats;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.algorithms.GeneticAlgorithm;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.algorithms.Nsga2Algorithm;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.algorithms.SearchAlgorithmType;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Chromosome;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
-import de.uni_passau.fim.se2.sbse.suite_minimisation.fitness_functions.CoverageMaximizationFitness;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.fitness_functions.FitnessFunction;
-import de.uni_passau.fim.se2.sbse.suite_minimisation.fitness_functions.TestCaseMinimizationFitness;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.AnyOf;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.HyperVolumeStagnation;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.MaxFitnessEvaluations;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.MaxTime;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.StoppingCondition;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.AlgorithmBuilder;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.CoverageTracker;
@@ -15,6 +18,10 @@ import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Randomness;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Utils;
 import picocli.CommandLine;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.Callable;
 
@@ -40,12 +47,43 @@ public class Main implements Callable<Integer> {
             defaultValue = "1000")
     private int maxEvaluations;
 
+    @CommandLine.Option(
+            names = {"-t", "--max-time"},
+            description = "The maximum search time per repetition in seconds, in addition to the "
+                    + "maximum number of fitness evaluations.")
+    private Long maxTime;
+
+    @CommandLine.Option(
+            names = {"--stagnation-generations"},
+            description = "Stop NSGA-II once the hyper-volume of the front has not improved for "
+                    + "this many generations.")
+    private Integer stagnationGenerations;
+
     @CommandLine.Option(
             names = {"-r", "--repetitions"},
             description = "The number of search repetitions to perform.",
             defaultValue = "10")
     private int repetitions;
 
+    @CommandLine.Option(
+            names = {"--force-essential-tests"},
+            description = "Always include the test cases that are the only ones covering a line "
+                    + "instead of searching for them (NSGA-II only).")
+    private boolean forceEssentialTests;
+
+    @CommandLine.Option(
+            names = {"--seeding-ratio"},
+            description = "The fraction of the initial NSGA-II population built from greedy and "
+                    + "Harrold-Gupta-Soffa solutions, the rest is random.",
+            defaultValue = "0.1")
+    private double seedingRatio;
+
+    @CommandLine.Option(
+            names = {"--convergence-log"},
+            description = "Write the hyper-volume, front size, evaluations and elapsed time of "
+                    + "every NSGA-II generation to this CSV file.")
+    private File convergenceLogFile;
+
     @CommandLine.Option(
             names = {"-s", "--seed"},
             description = "Use a fixed RNG seed.")
@@ -77,6 +115,11 @@ public class Main implements Callable<Integer> {
      */
     private AlgorithmBuilder algorithmBuilder;
 
+    /**
+     * The CSV file receiving the convergence of every NSGA-II repetition, or {@code null}.
+     */
+    private PrintWriter convergenceLog;
+
 
     public static void main(String[] args) {
         int exitCode = new CommandLine(new Main()).execute(args);
@@ -95,16 +138,52 @@ public class Main implements Callable<Integer> {
             System.err.println("Error while initializing coverage matrix and test case names.");
             return 1;
         }
-        StoppingCondition stoppingCondition = MaxFitnessEvaluations.of(maxEvaluations);
-        this.algorithmBuilder = new AlgorithmBuilder(Randomness.random(), stoppingCondition, coverageMatrix);
-
-        List<AlgorithmStats> results = startSearch();
+        StoppingCondition stoppingCondition = makeStoppingCondition();
+        this.algorithmBuilder = new AlgorithmBuilder(Randomness.random(), stoppingCondition, coverageMatrix,
+                forceEssentialTests, seedingRatio);
+
+        final List<AlgorithmStats> results;
+        if (convergenceLogFile == null) {
+            results = startSearch();
+        } else {
+            try (PrintWriter log = new PrintWriter(Files.newBufferedWriter(convergenceLogFile.toPath()))) {
+                log.println("algorithm,repetition," + GenerationStats.CSV_HEADER);
+                this.convergenceLog = log;
+                results = startSearch();
+                if (log.checkError()) {
+                    throw new IOException("could not write " + convergenceLogFile);
+                }
+            } catch (IOException e) {
+                System.err.println("Error while writing the convergence log: " + e.getMessage());
+                return 1;
+            } finally {
+                this.convergenceLog = null;
+            }
+        }
         for (final AlgorithmStats result : results) {
             System.out.println(result);
         }
         return 0;
     }
 
+    /**
+     * Creates the stopping condition from the command line options: the search stops as soon as
+     * one of the given budgets is exhausted.
+     *
+     * @return the stopping condition
+     */
+    private StoppingCondition makeStoppingCondition() {
+        final List<StoppingCondition> conditions = new ArrayList<>();
+        conditions.add(MaxFitnessEvaluations.of(maxEvaluations));
+        if (maxTime != null) {
+            conditions.add(MaxTime.ofSeconds(maxTime));
+        }
+        if (stagnationGenerations != null) {
+            conditions.add(HyperVolumeStagnation.of(stagnationGenerations));
+        }
+        return conditions.size() == 1 ? conditions.get(0) : new AnyOf(conditions);
+    }
+
     /**
      * Starts the command line tool, running the specified algorithms and returns the results.
      *
@@ -116,7 +195,7 @@ public class Main implements Callable<Integer> {
             final GeneticAlgorithm<? extends Chromosome<?>> search = algorithmBuilder.buildAlgorithm(algorithm);
 
             final long start = System.currentTimeMillis();
-            final var stats = repeatSearch(search);
+            final var stats = repeatSearch(algorithm, search);
             final long totalTime = System.currentTimeMillis() - start;
             final double avgTime = (double) totalTime / repetitions;
 
@@ -125,7 +204,9 @@ public class Main implements Callable<Integer> {
         return algorithmStats;
     }
 
-    private List<RepetitionStats> repeatSearch(final GeneticAlgorithm<? extends Chromosome<?>> algorithm) {
+    private List<RepetitionStats> repeatSearch(
+            final SearchAlgorithmType type,
+            final GeneticAlgorithm<? extends Chromosome<?>> algorithm) {
         // Normalized fitness functions that compute the coverage and size of a test suite.
         final FitnessFunction<? extends Chromosome<?>> coverageFF = algorithmBuilder.getCoverageFF();
         final FitnessFunction<? extends Chromosome<?>> sizeFF = algorithmBuilder.getSizeFF();
@@ -142,10 +223,31 @@ public class Main implements Callable<Integer> {
             final var testSuiteStats = makeTestSuiteStatsFrom(testSuites);
             final var repetitionStats = new RepetitionStats(i, testSuiteStats, hyperVolume);
             list.add(repetitionStats);
+            logConvergence(type, i, algorithm);
         }
         return list;
     }
 
+    /**
+     * Appends the convergence of the last repetition to the convergence log, if there is one and
+     * the algorithm reports its generations.
+     *
+     * @param type       the type of the algorithm
+     * @param repetition the number of the repetition
+     * @param algorithm  the algorithm that has just finished the repetition
+     */
+    private void logConvergence(
+            final SearchAlgorithmType type,
+            final int repetition,
+            final GeneticAlgorithm<? extends Chromosome<?>> algorithm) {
+        if (convergenceLog == null || !(algorithm instanceof Nsga2Algorithm nsga2)) {
+            return;
+        }
+        for (final GenerationStats generation : nsga2.getConvergence()) {
+            convergenceLog.println(type + "," + repetition + "," + generation.toCsv());
+        }
+    }
+
     private List<TestSuiteStats> makeTestSuiteStatsFrom(
             final List<? extends Chromosome<?>> testSuites) {
         final var list = new ArrayList<TestSuiteStats>(testSuites.size());
@@ -180,10 +282,9 @@ public class Main implements Callable<Integer> {
     List<String> getTestCaseNamesFrom(final Chromosome<?> testSuiteChromosome) {
         List<String> testCasesNames = new ArrayList<>();
         Encoding chromosome = (Encoding) testSuiteChromosome;
-        int[] chromosomeGenes = chromosome.getGenes();
         int size = chromosome.chromosomeSize();
         for (int i = 0; i < size; i++) {
-            if (chromosomeGenes[i] == 1) {
+            if (chromosome.isPresent(i)) {
                 testCasesNames.add(testCases[i]);
             }
         }
@@ -205,9 +306,7 @@ public class Main implements Callable<Integer> {
     @SuppressWarnings("unchecked")
     double getCoverageOf(final Chromosome<?> testSuiteChromosome) {
         Encoding c = (Encoding) testSuiteChromosome;
-        CoverageMaximizationFitness coverageRate = new CoverageMaximizationFitness(coverageMatrix);
-        double result = coverageRate.applyAsDouble(c);
-        return result;
+        return c.getCoverageMaxFitness();
     }
 
     /**
@@ -225,9 +324,7 @@ public class Main implements Callable<Integer> {
     @SuppressWarnings("unchecked")
     double getSizeOf(final Chromosome<?> testSuiteChromosome) {
         Encoding c = (Encoding) testSuiteChromosome;
-        TestCaseMinimizationFitness testSize = new TestCaseMinimizationFitness();
-        double normalizedSize = testSize.applyAsDouble(c);
-        return normalizedSize;
+        return c.getTestCaseMinFitness();
     }
 
 
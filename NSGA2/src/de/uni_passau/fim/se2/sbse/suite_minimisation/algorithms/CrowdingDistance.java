@@ -0,0 +1,156 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.algorithms;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
+
+/**
+ * Computes the crowding distances of the individuals of a front. The objectives of the front are
+ * copied into primitive columns once, each column is sorted through an index array, and the
+ * distance along each objective is normalised by the range of the objective in the front, so that
+ * both objectives weigh equally. The individuals with the smallest and the largest value of an
+ * objective get an infinite distance.
+ * <p>
+ * The buffers are kept between calls, so that assigning the distances of the fronts of one
+ * generation after the other does not allocate. Fronts with at least {@link #PARALLEL_THRESHOLD}
+ * individuals are processed with one thread per objective. Instances are not thread-safe.
+ */
+public class CrowdingDistance {
+
+    /**
+     * The size from which on the objectives of a front are processed in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * The number of objectives.
+     */
+    private static final int OBJECTIVES = 2;
+
+    /**
+     * The objective values of the current front, one column per objective.
+     */
+    private final double[][] values = new double[OBJECTIVES][];
+
+    /**
+     * The indices of the individuals of the current front, sorted by each objective.
+     */
+    private final int[][] order = new int[OBJECTIVES][];
+
+    /**
+     * Scratch space for sorting the indices, one per objective.
+     */
+    private final int[][] scratch = new int[OBJECTIVES][];
+
+    /**
+     * The distances along each objective.
+     */
+    private final double[][] distances = new double[OBJECTIVES][];
+
+    /**
+     * Creates a new crowding distance assignment with empty buffers.
+     */
+    public CrowdingDistance() {
+        ensureCapacity(16);
+    }
+
+    /**
+     * Assigns the crowding distance to every individual of the given front.
+     *
+     * @param front the individuals in the front
+     */
+    public void assign(final List<Encoding> front) {
+        final int size = front.size();
+        if (size == 0) return;
+        ensureCapacity(size);
+
+        final double[] coverage = values[0];
+        final double[] testCases = values[1];
+        for (int i = 0; i < size; i++) {
+            final Encoding individual = front.get(i);
+            coverage[i] = individual.getCoverageMaxFitness();
+            testCases[i] = individual.getTestCaseMinFitness();
+        }
+
+        if (size >= PARALLEL_THRESHOLD) {
+            IntStream.range(0, OBJECTIVES).parallel().forEach(obj -> distancesAlong(obj, size));
+        } else {
+            for (int obj = 0; obj < OBJECTIVES; obj++) {
+                distancesAlong(obj, size);
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            front.get(i).setDistance(distances[0][i] + distances[1][i]);
+        }
+    }
+
+    /**
+     * Computes the normalised distance of every individual to its neighbours along the given
+     * objective.
+     */
+    private void distancesAlong(final int obj, final int size) {
+        final double[] column = values[obj];
+        final int[] sorted = order[obj];
+        final double[] distance = distances[obj];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+        }
+        sort(column, sorted, scratch[obj], size);
+
+        Arrays.fill(distance, 0, size, 0.0);
+        distance[sorted[0]] = Double.POSITIVE_INFINITY;
+        distance[sorted[size - 1]] = Double.POSITIVE_INFINITY;
+        final double range = column[sorted[size - 1]] - column[sorted[0]];
+        if (range == 0) return;  // all individuals are equally good at this objective
+        for (int j = 1; j < size - 1; j++) {
+            distance[sorted[j]] = (column[sorted[j + 1]] - column[sorted[j - 1]]) / range;
+        }
+    }
+
+    /**
+     * Sorts the first {@code size} indices by their values, using a bottom-up merge sort that
+     * needs no memory besides the given scratch array. The sort is stable.
+     */
+    private static void sort(final double[] keys, final int[] indices, final int[] temp, final int size) {
+        int[] from = indices;
+        int[] to = temp;
+        for (int width = 1; width < size; width <<= 1) {
+            for (int low = 0; low < size; low += width << 1) {
+                final int middle = Math.min(low + width, size);
+                final int high = Math.min(low + (width << 1), size);
+                int left = low;
+                int right = middle;
+                for (int k = low; k < high; k++) {
+                    if (left < middle && (right >= high || keys[from[left]] <= keys[from[right]])) {
+                        to[k] = from[left++];
+                    } else {
+                        to[k] = from[right++];
+                    }
+                }
+            }
+            final int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != indices) {
+            System.arraycopy(from, 0, indices, 0, size);
+        }
+    }
+
+    /**
+     * Grows the buffers so that they can hold a front of the given size.
+     */
+    private void ensureCapacity(final int size) {
+        if (values[0] != null && values[0].length >= size) return;
+        final int capacity = Math.max(size, values[0] == null ? 0 : values[0].length * 2);
+        for (int obj = 0; obj < OBJECTIVES; obj++) {
+            values[obj] = new double[capacity];
+            order[obj] = new int[capacity];
+            scratch[obj] = new int[capacity];
+            distances[obj] = new double[capacity];
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.algorithms;
+
+/**
+ * The state of a search after a generation, to follow its convergence. Generation 0 is the
+ * initial population.
+ *
+ * @param generation    the number of the generation
+ * @param evaluations   the number of test suites evaluated so far
+ * @param elapsedMillis the time since the search started, in milliseconds
+ * @param hyperVolume   the hyper-volume of the non-dominated test suites found so far
+ * @param frontSize     the number of distinct non-dominated points found so far
+ */
+public record GenerationStats(int generation, int evaluations, long elapsedMillis, double hyperVolume,
+                              int frontSize) {
+
+    /**
+     * The header of the CSV rows written by {@link #toCsv()}.
+     */
+    public static final String CSV_HEADER = "generation,evaluations,elapsed_ms,hypervolume,front_size";
+
+    /**
+     * Formats this entry as a CSV row, in the column order of {@link #CSV_HEADER}.
+     *
+     * @return the CSV row, without line separator
+     */
+    public String toCsv() {
+        return generation + "," + evaluations + "," + elapsedMillis + "," + hyperVolume + "," + frontSize;
+    }
+}
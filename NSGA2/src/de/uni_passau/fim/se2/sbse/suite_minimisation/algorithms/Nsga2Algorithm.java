@@ -3,22 +3,60 @@ package de.uni_passau.fim.se2.sbse.suite_minimisation.algorithms;
 import java.util.Random;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.EncodingGenerator;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.selection.BinaryTournamentSelection;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.StoppingCondition;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.CoverageReduction;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.HyperVolumeTracker;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Pair;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Utils;
 
 public class Nsga2Algorithm implements GeneticAlgorithm<Encoding> {
 
+    /**
+     * The crowded-comparison operator: an individual in a lower front is better, and within the
+     * same front the individual with the larger crowding distance is better. It returns a
+     * positive value if the first individual is better. Only the rank and the crowding distance
+     * stored in the individuals are read, so no objective is evaluated.
+     */
+    public static final Comparator<Encoding> CROWDED_COMPARISON = (e1, e2) -> {
+        if (e1.getRank() != e2.getRank()) {
+            return Integer.compare(e2.getRank(), e1.getRank());
+        }
+        return Double.compare(e1.getDistance(), e2.getDistance());
+    };
+
     private final StoppingCondition stoppingCondition;
     private final EncodingGenerator encodingGenerator;
     private final Random random;
     private final BinaryTournamentSelection<Encoding> selection;
 
+    /**
+     * The reduction of the problem the encodings belong to, or null if the problem is not reduced
+     */
+    private final CoverageReduction reduction;
+
+    /**
+     * The fraction of the initial population that is seeded constructively
+     */
+    private final double seedingRatio;
+
+    /**
+     * Computes the crowding distances, reusing its buffers across generations
+     */
+    private final CrowdingDistance crowdingDistance = new CrowdingDistance();
+
+    /**
+     * The state after every generation of the last search
+     */
+    private List<GenerationStats> convergence = new ArrayList<>();
+
     /**
      * Creates a new NSGA II algorithm with the given components.
      *
@@ -46,52 +84,139 @@ public class Nsga2Algorithm implements GeneticAlgorithm<Encoding> {
         this.random = random;
         this.encodingGenerator = encodingGenerator;
         this.selection = selection;
+        this.reduction = null;
+        this.seedingRatio = 0;
+    }
+
+    /**
+     * Creates a new NSGA II algorithm that searches a reduced problem. The encoding generator
+     * must create encodings of the reduced problem, the solutions are mapped back to the
+     * original problem.
+     *
+     * @param stoppingCondition the stopping condition to be used by the genetic algorithm
+     * @param encodingGenerator the encoding generator used to create the initial population
+     * @param selection         the parent selection operator used to select parents for the next generation
+     * @param random            the source of randomness for this algorithm
+     * @param reduction         the reduction of the problem
+     */
+    public Nsga2Algorithm (
+        final StoppingCondition stoppingCondition,
+        final EncodingGenerator encodingGenerator,
+        final BinaryTournamentSelection<Encoding> selection,
+        final Random random,
+        final CoverageReduction reduction
+    ) {
+        this(stoppingCondition, encodingGenerator, selection, random, reduction, 0);
+    }
+
+    /**
+     * Creates a new NSGA II algorithm that searches a reduced problem, starting from a partly
+     * seeded initial population. The seeds are the constructive solutions of
+     * {@link EncodingGenerator#seeds(int)}, the rest of the population is random.
+     *
+     * @param stoppingCondition the stopping condition to be used by the genetic algorithm
+     * @param encodingGenerator the encoding generator used to create the initial population
+     * @param selection         the parent selection operator used to select parents for the next generation
+     * @param random            the source of randomness for this algorithm
+     * @param reduction         the reduction of the problem
+     * @param seedingRatio      the fraction of the initial population to seed, between 0 and 1
+     */
+    public Nsga2Algorithm (
+        final StoppingCondition stoppingCondition,
+        final EncodingGenerator encodingGenerator,
+        final BinaryTournamentSelection<Encoding> selection,
+        final Random random,
+        final CoverageReduction reduction,
+        final double seedingRatio
+    ) {
+        if (
+            stoppingCondition == null ||
+            encodingGenerator == null ||
+            selection == null ||
+            random == null ||
+            reduction == null ||
+            !(seedingRatio >= 0 && seedingRatio <= 1)
+        ) throw new IllegalArgumentException("Invalid input value for NSGA2 instatiation");
+        this.stoppingCondition = stoppingCondition;
+        this.random = random;
+        this.encodingGenerator = encodingGenerator;
+        this.selection = selection;
+        this.reduction = reduction;
+        this.seedingRatio = seedingRatio;
     }
     /**
      * {@inheritDoc}
      */
     @Override
     public List<Encoding> findSolution() {
-        List<Encoding> population = generatePopulation(600); // Generate initial population of size 600
         stoppingCondition.notifySearchStarted();
+        long start = System.nanoTime();
+        List<Encoding> population = generatePopulation(600); // Generate initial population of size 600
+        stoppingCondition.notifyFitnessEvaluations(population.size());
 
-        while (!stoppingCondition.searchMustStop()) {
-            stoppingCondition.notifyFitnessEvaluation();
-
-            // Rank the population based on non-domination
-            List<List<Encoding>> fronts = Utils.nonDominatedSorting(population);
+        // Every evaluated suite is added to the archive, whose hyper-volume never decreases
+        HyperVolumeTracker archive = new HyperVolumeTracker();
+        archive.addAll(population);
+        int evaluations = population.size();
+        convergence = new ArrayList<>();
+        convergence.add(generationStats(0, evaluations, start, archive));
 
-            // Assign crowding distance to individuals in each front
-            for (List<Encoding> front : fronts) {
-                crowdingDistanceAssignment(front);
-            }
+        // Rank the initial population, later generations are ranked when they are selected
+        assignRanksAndDistances(Utils.nonDominatedSorting(population));
 
+        while (!stoppingCondition.searchMustStop()) {
             // Generate offspring population
             List<Encoding> offspringPopulation = generateOffspring(population);
+            stoppingCondition.notifyFitnessEvaluations(offspringPopulation.size());
+            evaluations += offspringPopulation.size();
+            archive.addAll(offspringPopulation);
+            stoppingCondition.notifyHyperVolume(archive.getHyperVolume());
+            convergence.add(generationStats(convergence.size(), evaluations, start, archive));
 
-            // Combine population and offspring
-            List<Encoding> combinedPopulation = new ArrayList<>(population);
-            combinedPopulation.addAll(offspringPopulation);
+            population = selectNextGeneration(population, offspringPopulation);
+        }
 
-            // Perform a non-dominated sort on the combined population
-            List<List<Encoding>> combinedFronts = Utils.nonDominatedSorting(combinedPopulation);
+        // The first front of the final population, in terms of the original problem. The search
+        // may stop before the first generation if the budget does not exceed the population size.
+        List<Encoding> front = Utils.nonDominatedSorting(population).get(0);
+        return reduction == null ? front : reduction.expand(front);
+    }
 
-            // Build the next generation population
-            population = buildNextGeneration(combinedFronts, 20, 0.7, 0.12);
-        }
+    /**
+     * Returns the state of the last search after every generation, starting with the initial
+     * population as generation 0. The hyper-volume and front size are those of all test suites
+     * evaluated up to the generation, which is also the hyper-volume reported to the stopping
+     * condition.
+     * @return the convergence of the last search, empty before the first search
+     */
+    public List<GenerationStats> getConvergence() {
+        return List.copyOf(convergence);
+    }
 
-        return population; // Final solution population
+    /**
+     * Records the state of the search after a generation.
+     */
+    private static GenerationStats generationStats(int generation, int evaluations, long start,
+                                                   HyperVolumeTracker archive) {
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        return new GenerationStats(generation, evaluations, elapsedMillis, archive.getHyperVolume(),
+            archive.frontSize());
     }
 
     /**
      * Generates intial chromosomes population
+     * A fraction of the population given by the seeding ratio is seeded constructively, the rest
+     * is generated randomly for diversity
      * @param size      the size of the population to be genarated
-     * @return          the population that is randomly generated
+     * @return          the population that is generated
      */
     public List<Encoding> generatePopulation(int size) {
-        List<Encoding> population = new ArrayList<>();
         EncodingGenerator generator = encodingGenerator;
-        for (int i = 0; i < size; i++) {
+        List<Encoding> population = new ArrayList<>(size);
+        if (seedingRatio > 0) {
+            population.addAll(generator.seeds((int) Math.round(size * seedingRatio)));
+        }
+        while (population.size() < size) {
             population.add(generator.get());
         }
         return population;
@@ -99,63 +224,91 @@ public class Nsga2Algorithm implements GeneticAlgorithm<Encoding> {
 
     /**
      * Generates offspring from the current population.
+     * The parents are selected up front; afterwards every mating pair is crossed over, mutated
+     * and evaluated by its own task on the fork/join pool. Each task draws its random numbers from
+     * its own {@link SplittableRandom}, split off in pair order from a generator seeded by the
+     * source of randomness of this algorithm, so the offspring only depend on the seed and not on
+     * the number of threads or the order in which the tasks run.
      * @param population the current population
      * @return the offspring population
      */
     public List<Encoding> generateOffspring (List<Encoding> population) {
-        List<Encoding> offspringPopulation = new ArrayList<>();
-        Encoding offspring1;
-        Encoding offspring2;
-        while (offspringPopulation.size() < population.size()){
-            Encoding parent1 = selection.apply(population);
-            Encoding parent2 = selection.apply(population);
-            if (random.nextDouble() < 0.7) {
-                Pair<Encoding> pair = parent1.crossover(parent2);
-                offspring1 = pair.getFst();
-                offspring2 = pair.getSnd();
-            } else {
-                offspring1 = parent1;
-                offspring2 = parent2;
-            }
-            offspring1 = offspring1.mutate();
-            offspring2 = offspring2.mutate();
+        if (population.isEmpty()) return new ArrayList<>();
+        List<Pair<Encoding>> matingPairs = selection.matingPairs(population, (population.size() + 1) / 2);
 
-            offspringPopulation.add(offspring1);
-            offspringPopulation.add(offspring2);
+        SplittableRandom generationRandom = new SplittableRandom(random.nextLong());
+        SplittableRandom[] pairRandoms = new SplittableRandom[matingPairs.size()];
+        for (int i = 0; i < pairRandoms.length; i++) {
+            pairRandoms[i] = generationRandom.split();
         }
-        return offspringPopulation;
+
+        Encoding[] offspring = new Encoding[2 * matingPairs.size()];
+        IntStream.range(0, matingPairs.size()).parallel().forEach(i -> {
+            Pair<Encoding> children = breed(matingPairs.get(i), pairRandoms[i]);
+            offspring[2 * i] = children.getFst();
+            offspring[2 * i + 1] = children.getSnd();
+        });
+        return new ArrayList<>(Arrays.asList(offspring));
     }
 
     /**
-     * Assigns crowding distance to individuals in a front.
-     * @param front the individuals in the current front
+     * Creates and evaluates the two offspring of a mating pair.
+     * @param parents the mating pair
+     * @param random  the source of randomness of this pair
+     * @return the evaluated offspring
      */
-    private void crowdingDistanceAssignment(List<Encoding> front) {
-        int size = front.size();
-        if (size == 0) return;
+    private static Pair<Encoding> breed(Pair<Encoding> parents, SplittableRandom random) {
+        Encoding parent1 = parents.getFst();
+        Encoding parent2 = parents.getSnd();
+        Encoding offspring1;
+        Encoding offspring2;
+        if (random.nextDouble() < 0.7) {
+            Pair<Encoding> pair = parent1.crossover(parent2, random);
+            offspring1 = pair.getFst();
+            offspring2 = pair.getSnd();
+        } else {
+            offspring1 = parent1;
+            offspring2 = parent2;
+        }
+        offspring1 = offspring1.mutate(random);
+        offspring2 = offspring2.mutate(random);
 
-        double[] distances = new double[size];
-        Arrays.fill(distances, 0.0);
+        // Evaluate both objectives here, so that the evaluation runs in parallel as well
+        offspring1.getCoverageMaxFitness();
+        offspring1.getTestCaseMinFitness();
+        offspring2.getCoverageMaxFitness();
+        offspring2.getTestCaseMinFitness();
+        return Pair.of(offspring1, offspring2);
+    }
 
-        for (int i = 0; i < 2; i++) {
-            final int obj = i;
-            front.sort((a, b) -> {
-                if (obj == 0) return Double.compare(a.getCoverageMaxFitness(), b.getCoverageMaxFitness());
-                return Double.compare(a.getTestCaseMinFitness(), b.getTestCaseMinFitness());
-            });
+    /**
+     * Selects the next generation from the current population and its offspring. The combined
+     * individuals are sorted into fronts, and every front gets its ranks and crowding distances
+     * assigned before the last front that fits is truncated. Offspring copy the rank and distance
+     * of their parents, so truncating by the copied values would compare stale distances.
+     * @param population the current population
+     * @param offspring  the offspring of the current population
+     * @return the next generation, ranked
+     */
+    List<Encoding> selectNextGeneration(List<Encoding> population, List<Encoding> offspring) {
+        List<Encoding> combinedPopulation = new ArrayList<>(population);
+        combinedPopulation.addAll(offspring);
+        List<List<Encoding>> combinedFronts = Utils.nonDominatedSorting(combinedPopulation);
+        assignRanksAndDistances(combinedFronts);
+        return buildNextGeneration(combinedFronts, 20, 0.7, 0.12);
+    }
 
-            distances[0] = distances[size - 1] = Double.POSITIVE_INFINITY;
-            for (int j = 1; j < size - 1; j++) {
-                if (obj == 0) {
-                    distances[j] += (front.get(j + 1).getCoverageMaxFitness() - front.get(j - 1).getCoverageMaxFitness());
-                } else {
-                    distances[j] += (front.get(j + 1).getTestCaseMinFitness() - front.get(j - 1).getTestCaseMinFitness());
-                }
+    /**
+     * Assigns the rank and the crowding distance to the individuals of every front.
+     * @param fronts the non-dominated fronts, best first
+     */
+    private void assignRanksAndDistances(List<List<Encoding>> fronts) {
+        for (int rank = 0; rank < fronts.size(); rank++) {
+            List<Encoding> front = fronts.get(rank);
+            for (Encoding individual : front) {
+                individual.setRank(rank);
             }
-        }
-
-        for (int i = 0; i < size; i++) {
-            front.get(i).setDistance(distances[i]);
+            crowdingDistance.assign(front);
         }
     }
 
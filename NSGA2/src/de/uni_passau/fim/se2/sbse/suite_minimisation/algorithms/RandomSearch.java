@@ -37,12 +37,9 @@ public class RandomSearch implements GeneticAlgorithm<Encoding> {
         
         stoppingCondition.notifySearchStarted();
         while (!stoppingCondition.searchMustStop()) {
-            for (int i = 0; i < 3; i++) {
-                Encoding candidateSolution = encodingGenerator.get();
-                solutions.add(candidateSolution);
-            }
-
-            stoppingCondition.notifyFitnessEvaluation();
+            Encoding candidateSolution = encodingGenerator.get();
+            solutions.add(candidateSolution);
+            stoppingCondition.notifyFitnessEvaluation();  //  one evaluation per sampled solution
         }
         List<Encoding> paretoFront = findParetoFront(solutions);
         return paretoFront;
@@ -6,6 +6,7 @@ import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Pair;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.SelfTyped;
 
 import java.util.Objects;
+import java.util.random.RandomGenerator;
 
 /**
  * Chromosomes define a gene representation (genotype) for valid solutions to a given optimization
@@ -96,6 +97,18 @@ public abstract class Chromosome<C extends Chromosome<C>> implements SelfTyped<C
         return mutation.apply(self());
     }
 
+    /**
+     * Applies the mutation operator to this chromosome, drawing random numbers from the given
+     * source of randomness, and returns the resulting offspring.
+     *
+     * @param random the source of randomness to use instead of the one of the operator
+     * @return the mutated chromosome
+     * @apiNote Intended as syntactic sugar for {@link Mutation#apply(Chromosome, RandomGenerator)}.
+     */
+    public final C mutate(final RandomGenerator random) {
+        return mutation.apply(self(), random);
+    }
+
     /**
      * Applies the crossover operator to this chromosome and the given other given chromosome and
      * returns the resulting offspring.
@@ -110,6 +123,22 @@ public abstract class Chromosome<C extends Chromosome<C>> implements SelfTyped<C
         return crossover.apply(self(), other);
     }
 
+    /**
+     * Applies the crossover operator to this chromosome and the given other chromosome, drawing
+     * random numbers from the given source of randomness, and returns the resulting offspring.
+     *
+     * @param other  the chromosome with which to pair, not {@code null}
+     * @param random the source of randomness to use instead of the one of the operator
+     * @return the offspring
+     * @throws NullPointerException if {@code other} is {@code null}
+     * @apiNote Intended as syntactic sugar for
+     * {@link Crossover#apply(Chromosome, Chromosome, RandomGenerator)}.
+     */
+    public final Pair<C> crossover(final C other, final RandomGenerator random) {
+        Objects.requireNonNull(other);
+        return crossover.apply(self(), other, random);
+    }
+
     /**
      * Creates a copy of this chromosome. Implementors should clearly indicate whether a shallow or
      * deep copy is made.
@@ -0,0 +1,261 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.crossover.Crossover;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.Mutation;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.BitCoverageMatrix;
+
+public class ConstructiveSeeding {
+    /*
+     * Builds good test suites constructively, to seed the initial population of a search
+     * Two heuristics order the test cases, and every prefix of such an order is a seed:
+     * - greedy additional coverage: repeatedly add the test case covering the most uncovered lines
+     * - Harrold-Gupta-Soffa: visit the lines by the number of test cases covering them, fewest first,
+     *   and add the test case covering the most unmarked lines of that number, breaking ties with
+     *   the lines covered by more test cases
+     * The prefixes of the greedy order trade coverage for size along the front, the HGS order
+     * reaches full coverage with few test cases. The randomised variants pick among the nearly
+     * best test cases at random, so that the seeds are not all alike.
+     */
+
+    /**
+     * A randomised greedy step picks among the test cases whose gain is at least this fraction of the best gain
+     */
+    private static final double GREEDINESS = 0.8;
+
+    /**
+     * The number of randomised orders to try per requested seed before giving up on finding new seeds
+     */
+    private static final int ATTEMPTS_PER_SEED = 2;
+
+    private final Random random;
+    private final Mutation<Encoding> mutation;
+    private final Crossover<Encoding> crossover;
+    private final boolean[][] coverageMatrix;
+    private final BitCoverageMatrix bits;
+
+    /**
+     * For every line, the test cases covering it, created on first use
+     */
+    private int[][] testsOf;
+
+    /**
+     * Creates a constructive seeding for the given coverage matrix
+     *
+     * @param random the source of randomness of the randomised variants
+     * @param mutation the mutation operator of the seeds
+     * @param crossover the crossover operator of the seeds
+     * @param coverageMatrix the coverage matrix
+     */
+    public ConstructiveSeeding(
+        Random random,
+        Mutation<Encoding> mutation,
+        Crossover<Encoding> crossover,
+        boolean[][] coverageMatrix
+    ) {
+        if (random == null || mutation == null || crossover == null || coverageMatrix == null) {
+            throw new IllegalArgumentException("invalid constructive seeding Instantiation inputs");
+        }
+        this.random = random;
+        this.mutation = mutation;
+        this.crossover = crossover;
+        this.coverageMatrix = coverageMatrix;
+        this.bits = BitCoverageMatrix.of(coverageMatrix);
+    }
+
+    /**
+     * Creates up to the given number of distinct seeds: the prefixes of the greedy order, then
+     * those of the HGS order, then those of randomised orders. Fewer seeds are returned if not
+     * enough distinct ones are found, none if no test case covers a line.
+     *
+     * @param count the maximum number of seeds
+     * @return the seeds
+     */
+    public List<Encoding> seeds(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("number of seeds must not be negative: " + count);
+        }
+        Set<Encoding> seeds = new LinkedHashSet<>();
+        addPrefixes(seeds, greedyOrder(false), count);
+        addPrefixes(seeds, hgsOrder(false), count);
+        for (int attempt = 0; seeds.size() < count && attempt < ATTEMPTS_PER_SEED * count; attempt++) {
+            addPrefixes(seeds, attempt % 2 == 0 ? greedyOrder(true) : hgsOrder(true), count);
+        }
+        return new ArrayList<>(seeds);
+    }
+
+    /**
+     * Adds an encoding for every non-empty prefix of the given order, shortest first, until there are count seeds
+     */
+    private void addPrefixes(Set<Encoding> seeds, int[] order, int count) {
+        int tests = bits.tests();
+        long[] words = new long[Encoding.wordsFor(tests)];
+        for (int i = 0; i < order.length && seeds.size() < count; i++) {
+            words[order[i] >>> 6] |= 1L << order[i];
+            seeds.add(new Encoding(mutation, crossover, words.clone(), tests, coverageMatrix));
+        }
+    }
+
+    /**
+     * Orders test cases by greedy additional coverage, until no test case covers another line
+     *
+     * @param randomised whether to pick at random among the nearly best test cases
+     * @return the selected test cases in the order of selection
+     */
+    int[] greedyOrder(boolean randomised) {
+        int tests = bits.tests();
+        int[][] coveringTests = testsOf();
+        int[] gains = new int[tests];  //  the weighted number of uncovered lines of each test case
+        for (int t = 0; t < tests; t++) {
+            for (int line : bits.linesOf(t)) {
+                gains[t] += bits.weight(line);
+            }
+        }
+        boolean[] selected = new boolean[tests];
+        boolean[] covered = new boolean[bits.lines()];
+        int[] order = new int[tests];
+        int k = 0;
+        while (true) {
+            int best = 0;
+            for (int t = 0; t < tests; t++) {
+                if (!selected[t] && gains[t] > best) best = gains[t];
+            }
+            if (best == 0) break;
+            int threshold = randomised ? (int) Math.ceil(best * GREEDINESS) : best;
+            int pick = pick(gains, selected, threshold, randomised);
+            selected[pick] = true;
+            order[k++] = pick;
+            for (int line : bits.linesOf(pick)) {
+                if (covered[line]) continue;
+                covered[line] = true;
+                for (int t : coveringTests[line]) {
+                    gains[t] -= bits.weight(line);
+                }
+            }
+        }
+        return Arrays.copyOf(order, k);
+    }
+
+    /**
+     * Returns the first unselected test case whose gain reaches the threshold, or a random one of them
+     */
+    private int pick(int[] gains, boolean[] selected, int threshold, boolean randomised) {
+        int pick = -1;
+        int candidates = 0;
+        for (int t = 0; t < gains.length; t++) {
+            if (selected[t] || gains[t] < threshold) continue;
+            if (!randomised) return t;
+            candidates++;
+            if (random.nextInt(candidates) == 0) pick = t;  //  reservoir sampling
+        }
+        return pick;
+    }
+
+    /**
+     * Orders test cases with the Harrold-Gupta-Soffa heuristic, until every line covered by some
+     * test case is covered
+     *
+     * @param randomised whether to break the remaining ties at random instead of by index
+     * @return the selected test cases in the order of selection
+     */
+    int[] hgsOrder(boolean randomised) {
+        int tests = bits.tests();
+        int lines = bits.lines();
+        int[][] coveringTests = testsOf();
+        int maxCardinality = 0;
+        for (int[] covering : coveringTests) {
+            maxCardinality = Math.max(maxCardinality, covering.length);
+        }
+        boolean[] marked = new boolean[lines];
+        int[] order = new int[tests];
+        int k = 0;
+        int cardinality = 1;
+        while (cardinality <= maxCardinality) {
+            // The candidates are the test cases covering an unmarked line of the current cardinality
+            boolean[] candidate = new boolean[tests];
+            boolean found = false;
+            for (int line = 0; line < lines; line++) {
+                if (marked[line] || coveringTests[line].length != cardinality) continue;
+                found = true;
+                for (int t : coveringTests[line]) {
+                    candidate[t] = true;
+                }
+            }
+            if (!found) {
+                cardinality++;
+                continue;
+            }
+            int pick = hgsPick(candidate, cardinality, maxCardinality, marked, randomised);
+            order[k++] = pick;
+            for (int line : bits.linesOf(pick)) {
+                marked[line] = true;
+            }
+        }
+        return Arrays.copyOf(order, k);
+    }
+
+    /**
+     * Picks the candidate covering the most unmarked lines of the given cardinality, breaking ties
+     * with the next higher cardinalities
+     */
+    private int hgsPick(boolean[] candidate, int cardinality, int maxCardinality, boolean[] marked, boolean randomised) {
+        int[][] coveringTests = testsOf();
+        for (int c = cardinality; c <= maxCardinality; c++) {
+            int[] counts = new int[candidate.length];
+            int best = -1;
+            for (int t = 0; t < candidate.length; t++) {
+                if (!candidate[t]) continue;
+                for (int line : bits.linesOf(t)) {
+                    if (!marked[line] && coveringTests[line].length == c) counts[t] += bits.weight(line);
+                }
+                best = Math.max(best, counts[t]);
+            }
+            int remaining = 0;
+            for (int t = 0; t < candidate.length; t++) {
+                if (candidate[t] && counts[t] < best) candidate[t] = false;
+                if (candidate[t]) remaining++;
+            }
+            if (remaining == 1) break;
+        }
+        boolean[] none = new boolean[candidate.length];
+        int[] ties = new int[candidate.length];
+        for (int t = 0; t < candidate.length; t++) {
+            ties[t] = candidate[t] ? 1 : 0;
+        }
+        return pick(ties, none, 1, randomised);
+    }
+
+    /**
+     * Returns, for every line, the test cases covering it
+     */
+    private int[][] testsOf() {
+        if (testsOf == null) {
+            int tests = bits.tests();
+            int lines = bits.lines();
+            int[] counts = new int[lines];
+            for (int t = 0; t < tests; t++) {
+                for (int line : bits.linesOf(t)) {
+                    counts[line]++;
+                }
+            }
+            int[][] index = new int[lines][];
+            for (int line = 0; line < lines; line++) {
+                index[line] = new int[counts[line]];
+                counts[line] = 0;
+            }
+            for (int t = 0; t < tests; t++) {
+                for (int line : bits.linesOf(t)) {
+                    index[line][counts[line]++] = t;
+                }
+            }
+            testsOf = index;
+        }
+        return testsOf;
+    }
+}
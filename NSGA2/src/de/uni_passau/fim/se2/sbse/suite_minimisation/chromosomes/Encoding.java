@@ -6,18 +6,33 @@ import java.util.Objects;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.crossover.Crossover;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.Mutation;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.fitness_functions.CoverageMaximizationFitness;
-import de.uni_passau.fim.se2.sbse.suite_minimisation.fitness_functions.TestCaseMinimizationFitness;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.BitCoverageMatrix;
 
 public class Encoding extends Chromosome<Encoding> {
     /*
      * Implements a chromosome encoding for the test case minimisation problem
      * Here, every chromosome shall represent a test suite (or a subset thereof) that contains at least one test case
-     * 
-     * A chromosome is represented as an array of 0s and 1s, where 0 means a test case at that index is excluded
-     * indices of the array represent the test cases numbers for example [1,0,1,1,0] has 5 testcases from 0 to 4
+     *
+     * A chromosome is represented as a sequence of 0s and 1s, where 0 means a test case at that index is excluded
+     * indices of the sequence represent the test cases numbers for example [1,0,1,1,0] has 5 testcases from 0 to 4
+     * The genes are packed into the bits of long words: gene i is bit (i % 64) of word (i / 64)
+     *
+     * Encodings are immutable: the genes must not be modified once the encoding has been created,
+     * so that both objectives can be computed once, when they are first needed, and reused
+     *
+     * Offspring are evaluated concurrently, so every lazily computed value is immutable and
+     * published through a volatile field. Two threads may compute the same value, which is harmless
      */
 
-    private final int[] chromosomeGenes;
+    /**
+     * The packed genes, bits beyond the number of genes are always 0
+     */
+    private final long[] words;
+
+    /**
+     * The number of genes(test cases)
+     */
+    private final int length;
 
     /**
      * The line coverage matrix of each individual
@@ -31,35 +46,136 @@ public class Encoding extends Chromosome<Encoding> {
      */
     private double distance;
 
+    /**
+     * Stores the index of the non-dominated front of the chromosome, 0 for the first front
+     */
+    private int rank;
+
+    /**
+     * The cached coverage (1st objective) of this chromosome, NaN until it has been computed
+     */
+    private volatile double coverage = Double.NaN;
+
+    /**
+     * The cached relative size (2nd objective) of this chromosome, NaN until it has been computed
+     */
+    private volatile double size = Double.NaN;
+
+    /**
+     * The encoding this encoding was derived from by crossover or mutation, used to compute the
+     * coverage incrementally. It is dropped once the coverage has been computed.
+     */
+    private volatile Encoding origin;
+
+    /**
+     * The cover counts of this suite, or null if not computed
+     */
+    private volatile CoverCounts coverCounts;
+
+    /**
+     * For every line, the number of test cases of a suite covering it, and the number of lines
+     * covered by the suite. The counts must not be modified once published
+     */
+    private record CoverCounts(int[] counts, int coveredLines) {
+    }
+
     /**
      * Create a chromosome encoding with a given Mutation and Crossover operator
-     * 
+     *
      * @param mutation a strategy that tells how to perform mutation
      * @param crossover a strategy that tells how to perform crossover
-     * @param chromosomeGenes an array of chromosome genes
+     * @param chromosomeGenes an array of chromosome genes, 1 for each test case in the suite
     */
     public Encoding(
         final Mutation<Encoding> mutation,
         final Crossover<Encoding> crossover,
         final int[] chromosomeGenes,
         final boolean[][] coverageMatrix
+    ) {
+        this(mutation, crossover, pack(chromosomeGenes), chromosomeGenes.length, coverageMatrix);
+    }
+
+    /**
+     * Create a chromosome encoding from packed genes
+     *
+     * @param mutation a strategy that tells how to perform mutation
+     * @param crossover a strategy that tells how to perform crossover
+     * @param words the packed genes, taken over without copying, bits beyond {@code length} must be 0
+     * @param length the number of genes
+     */
+    public Encoding(
+        final Mutation<Encoding> mutation,
+        final Crossover<Encoding> crossover,
+        final long[] words,
+        final int length,
+        final boolean[][] coverageMatrix
     ) {
         super(mutation, crossover);
-        if(coverageMatrix == null) {
-            throw new IllegalArgumentException("invalid Encoding instatiation values");    
+        if(coverageMatrix == null || words.length != wordsFor(length)) {
+            throw new IllegalArgumentException("invalid Encoding instatiation values");
         }
-        this.chromosomeGenes = chromosomeGenes;
+        this.words = words;
+        this.length = length;
         this.coverageMatrix = coverageMatrix;
     }
 
+    /**
+     * Create a chromosome encoding from packed genes, derived from an existing encoding by
+     * crossover or mutation. The coverage of the new encoding is computed from the coverage of
+     * the existing one, by only looking at the test cases that differ, if that is cheaper.
+     *
+     * @param mutation a strategy that tells how to perform mutation
+     * @param crossover a strategy that tells how to perform crossover
+     * @param words the packed genes, taken over without copying, bits beyond the length must be 0
+     * @param origin the encoding the genes have been derived from
+     */
+    public Encoding(
+        final Mutation<Encoding> mutation,
+        final Crossover<Encoding> crossover,
+        final long[] words,
+        final Encoding origin
+    ) {
+        this(mutation, crossover, words, origin.length, origin.coverageMatrix);
+        this.origin = origin.hasCoverage() || origin.origin == null ? origin : origin.origin;
+    }
+
     /**
      * Create a Chromosome from an existing chromosome
      */
     public Encoding(Encoding other) {
         super(other);
-        this.chromosomeGenes = other.getGenes();
+        this.words = other.words;
+        this.length = other.length;
         this.coverageMatrix = other.getCoverageMatrix();
         this.distance = other.getDistance();
+        this.rank = other.getRank();
+        this.coverage = other.coverage;
+        this.size = other.size;
+        this.origin = other.origin;
+        this.coverCounts = other.coverCounts;
+    }
+
+    /**
+     * Returns the number of long words needed to pack the given number of genes
+     *
+     * @param length the number of genes
+     * @return the number of words
+     */
+    public static int wordsFor(final int length) {
+        return (length + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Packs genes given as 0s and 1s into long words
+     */
+    private static long[] pack(final int[] genes) {
+        final long[] words = new long[wordsFor(genes.length)];
+        for (int i = 0; i < genes.length; i++) {
+            if (genes[i] == 1) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+        return words;
     }
 
     /**
@@ -77,12 +193,27 @@ public class Encoding extends Chromosome<Encoding> {
         this.distance = distance;
     }
 
+    /**
+     * Get the index of the non-dominated front of the chromosome
+     * @return      the rank, 0 for the first front
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Set the index of the non-dominated front of the chromosome
+     */
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
     /**
      * Calculates the length of a chromosome array
      * @return the length of the array
      */
     public int chromosomeSize() {
-        return chromosomeGenes.length;
+        return length;
     }
 
     /**
@@ -91,7 +222,21 @@ public class Encoding extends Chromosome<Encoding> {
      * @return the number of test cases in a chromosome(testSuite)
      */
     public int presenTestCases() {
-        return Arrays.stream(chromosomeGenes).sum();
+        int count = 0;
+        for (final long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Tells whether the test case at the given index is part of the test suite
+     *
+     * @param index the index of the test case
+     * @return true if the gene at the index is 1
+     */
+    public boolean isPresent(final int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
     }
 
     /**
@@ -105,19 +250,86 @@ public class Encoding extends Chromosome<Encoding> {
     /**
      * Maximization problem
      * returns coverage fitness(Ist Objective) value of this encoding/chromosome
+     * The value is computed on the first call and cached
      */
     public double getCoverageMaxFitness () {
-        CoverageMaximizationFitness func = new CoverageMaximizationFitness(coverageMatrix);
-        return func.applyAsDouble(this);
+        double result = coverage;
+        if (Double.isNaN(result)) {
+            result = computeCoverage();
+            coverage = result;
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether the coverage of this encoding has already been computed
+     */
+    private boolean hasCoverage() {
+        return !Double.isNaN(coverage);
+    }
+
+    /**
+     * Computes the coverage, incrementally from the encoding this encoding was derived from if
+     * that is cheaper than or-ing the coverage bitsets of all test cases of this suite
+     */
+    private double computeCoverage() {
+        final BitCoverageMatrix bits = BitCoverageMatrix.of(coverageMatrix);
+        final Encoding from = origin;
+        origin = null;  //  do not keep the ancestors alive
+        if (from == null || !isIncrementalCheaper(bits, from)) {
+            return CoverageMaximizationFitness.coverageOf(coverageMatrix, words);
+        }
+        final CoverCounts fromCounts = from.coverCounts(bits);
+        final int[] counts = fromCounts.counts().clone();
+        final int covered = fromCounts.coveredLines() + bits.applyChanges(counts, from.words, words);
+        coverCounts = new CoverCounts(counts, covered);
+        return bits.relativeCoverage(covered);
+    }
+
+    /**
+     * Estimates whether updating the cover counts of the given encoding is cheaper than computing
+     * the coverage from scratch, counting the number of array elements visited by both
+     */
+    private boolean isIncrementalCheaper(final BitCoverageMatrix bits, final Encoding from) {
+        int changed = 0;
+        for (int w = 0; w < words.length; w++) {
+            changed += Long.bitCount(words[w] ^ from.words[w]);
+        }
+        final double linesPerTest = bits.averageLinesPerTest();
+        double incremental = bits.lines() + changed * linesPerTest;  //  copy and update the counts
+        if (from.coverCounts == null) {
+            incremental += from.presenTestCases() * linesPerTest;  //  count from scratch first
+        }
+        final double full = (double) presenTestCases() * bits.words();
+        return incremental < full;
+    }
+
+    /**
+     * Returns the cover counts of this encoding, computing them from scratch if necessary
+     */
+    private CoverCounts coverCounts(final BitCoverageMatrix bits) {
+        CoverCounts result = coverCounts;
+        if (result == null) {
+            final int[] counts = new int[bits.lines()];
+            final int covered = bits.coverCounts(words, counts);
+            result = new CoverCounts(counts, covered);
+            coverCounts = result;
+        }
+        return result;
     }
 
     /**
      * Minimization problem
      * returns test case fitness(2nd Objective) value of this encoding/chromosome
+     * The value is computed on the first call and cached
      */
     public double getTestCaseMinFitness() {
-        TestCaseMinimizationFitness func = new TestCaseMinimizationFitness();
-        return func.applyAsDouble(this);
+        double result = size;
+        if (Double.isNaN(result)) {
+            result = BitCoverageMatrix.of(coverageMatrix).relativeSize(presenTestCases(), length);
+            size = result;
+        }
+        return result;
     }
 
     /**
@@ -128,21 +340,39 @@ public class Encoding extends Chromosome<Encoding> {
         Encoding newCopy = new Encoding(
             getMutation(),
             getCrossover(),
-            chromosomeGenes,
+            words,
+            length,
             coverageMatrix
         );
+        newCopy.coverage = coverage;
+        newCopy.size = size;
+        newCopy.origin = origin;
+        newCopy.coverCounts = coverCounts;
         return newCopy;
     }
 
     /**
-     * Returns a reference to the underlying internal backing array.
+     * Returns the genes as an array of 0s and 1s. The array is a new copy.
      *
      * @return the genes(test cases) array
      */
     public int[] getGenes(){
-        return chromosomeGenes;
+        final int[] genes = new int[length];
+        for (int i = 0; i < length; i++) {
+            genes[i] = isPresent(i) ? 1 : 0;
+        }
+        return genes;
     }
-    
+
+    /**
+     * Returns a reference to the underlying packed genes, which must not be modified.
+     *
+     * @return the genes(test cases) packed into long words
+     */
+    public long[] getWords() {
+        return words;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -153,7 +383,8 @@ public class Encoding extends Chromosome<Encoding> {
         }
         final Encoding that = (Encoding) other;
         return (
-            getGenes().equals(that.getGenes()) &&
+            length == that.length &&
+            Arrays.equals(words, that.words) &&
             getMutation().equals(that.getMutation()) &&
             getCrossover().equals(that.getCrossover())
             );
@@ -164,7 +395,7 @@ public class Encoding extends Chromosome<Encoding> {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(getMutation(), getCrossover(), getGenes());
+        return Objects.hash(getMutation(), getCrossover(), length, Arrays.hashCode(words));
     }
 
     /**
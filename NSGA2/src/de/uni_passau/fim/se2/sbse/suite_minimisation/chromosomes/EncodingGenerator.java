@@ -1,10 +1,10 @@
 package de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes;
 
+import java.util.List;
 import java.util.Random;
 
 import de.uni_passau.fim.se2.sbse.suite_minimisation.crossover.Crossover;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.Mutation;
-import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Utils;
 
 public class EncodingGenerator implements ChromosomeGenerator<Encoding> {
 
@@ -13,6 +13,7 @@ public class EncodingGenerator implements ChromosomeGenerator<Encoding> {
     private final Crossover<Encoding> crossover;
     private final int testcases;
     private final boolean[][] coverageMatrix;
+    private final ConstructiveSeeding seeding;
 
     /**
      * Generates a random permutation of a chromosome Encoding
@@ -39,36 +40,34 @@ public class EncodingGenerator implements ChromosomeGenerator<Encoding> {
         this.mutation = mutation;
         this.testcases = testcases;
         this.coverageMatrix = coverageMatrix;
+        this.seeding = new ConstructiveSeeding(random, mutation, crossover, coverageMatrix);
     }
     
     /**
      * A biased random chromosome generator
-     * Chooses fewer genes(test cases) and Prioritzes genes with more than 60% coverage rate
+     * Chooses fewer genes(test cases): every test case is chosen with a probability of 20%
+     * If no test case has been chosen, one is chosen at random instead of drawing all genes again
      * @return An encoding of the chromosome
      * {@inheritDoc}
      */
     public Encoding get(){
         int[] testSuite = new int[testcases];
         boolean isInvalidEncoding = true;
-        boolean covers = false;  //  Used to check if the given test covers at least 60% of the lines
-        while (isInvalidEncoding && !covers) {
-            for(int i = 0; i < testcases; i++){
-                testSuite[i] = random.nextDouble() > 0.8 ? 1 : 0;
-                if (testSuite[i] == 1 && linesCovered(coverageMatrix[i]) >= 0.65) covers = true;
-            }
-            if (Utils.isValid(testSuite)) isInvalidEncoding = false;
+        for(int i = 0; i < testcases; i++){
+            testSuite[i] = random.nextDouble() > 0.8 ? 1 : 0;
+            if (testSuite[i] == 1) isInvalidEncoding = false;
         }
+        if (isInvalidEncoding) testSuite[random.nextInt(testcases)] = 1;
         return new Encoding(mutation, crossover, testSuite, coverageMatrix);
     }
 
     /**
-     * Calculate number of lines covered by a chosen test case
-     * @param test an array of boolean values presenting lines in a test case
-     * @return a fraction of lines covered by the test case
+     * Creates up to the given number of distinct test suites constructively, with greedy
+     * additional coverage and the Harrold-Gupta-Soffa heuristic, see {@link ConstructiveSeeding}
+     * @param count the maximum number of seeds
+     * @return the seeds, fewer than count if not enough distinct ones are found
      */
-    private double linesCovered (boolean [] test) {
-        int counter = 0;
-        for (boolean line: test) if(line) counter++;
-        return (double) counter / test.length;
+    public List<Encoding> seeds(int count) {
+        return seeding.seeds(count);
     }
 }
@@ -5,6 +5,7 @@ import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Pair;
 
 import java.util.Objects;
 import java.util.function.BiFunction;
+import java.util.random.RandomGenerator;
 
 /**
  * The crossover operator recombines the genetic material of two parent chromosomes
@@ -58,6 +59,24 @@ public interface Crossover<C extends Chromosome<C>> extends BiFunction<C, C, Pai
     @Override
     Pair<C> apply(final C parent1, final C parent2);
 
+    /**
+     * Applies this crossover operator to the two given parent chromosomes, drawing random numbers
+     * from the given source of randomness instead of the operator's own one. This allows several
+     * threads to apply the same operator at the same time, each with its own stream of random
+     * numbers.
+     *
+     * @param parent1 a parent
+     * @param parent2 another parent
+     * @param random  the source of randomness to use
+     * @return the offspring formed by applying crossover to the two parents
+     * @throws NullPointerException if an argument is {@code null}
+     * @implSpec The default implementation ignores the given source of randomness and calls
+     * {@link #apply(C, C)}, which is correct for operators that do not draw random numbers.
+     */
+    default Pair<C> apply(final C parent1, final C parent2, final RandomGenerator random) {
+        return apply(parent1, parent2);
+    }
+
     /**
      * Applies crossover to the given pair of parent chromosomes and returns the resulting pair of
      * offspring chromosomes.
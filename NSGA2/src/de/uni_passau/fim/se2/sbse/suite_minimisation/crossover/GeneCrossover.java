@@ -1,6 +1,7 @@
 package de.uni_passau.fim.se2.sbse.suite_minimisation.crossover;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import static java.util.Objects.requireNonNull;
 
@@ -29,6 +30,15 @@ public class GeneCrossover implements Crossover<Encoding> {
      */
     @Override
     public Pair<Encoding> apply(Encoding parent1, Encoding parent2) {
+        return apply(parent1, parent2, random);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Pair<Encoding> apply(Encoding parent1, Encoding parent2, RandomGenerator random) {
+        requireNonNull(random, "random must not be null");
         requireNonNull(parent1, "parent1 must not be null");
         requireNonNull(parent2, "parent2 must not be null");
         Crossover<Encoding> identity = Crossover.identity();
@@ -36,18 +46,26 @@ public class GeneCrossover implements Crossover<Encoding> {
         Encoding pa1 = twos.getFst();
         Encoding pa2 = twos.getSnd();
         int n = pa1.chromosomeSize();
-        int m = pa2.chromosomeSize();
-        int[] p1 = parent1.getGenes();
-        int[] p2 = parent2.getGenes();
-        int[] c1 = new int[n];
-        int[] c2 = new int[m];
+        long[] p1 = parent1.getWords();
+        long[] p2 = parent2.getWords();
+        long[] c1 = new long[p1.length];
+        long[] c2 = new long[p2.length];
         int pos = random.nextInt(n);
-        System.arraycopy(p1, 0, c1, 0, pos);
-        System.arraycopy(p2, pos, c1, pos, n - pos);
-        System.arraycopy(p2, 0, c2, 0, pos);
-        System.arraycopy(p1, pos, c2, pos, n - pos);
-        Encoding child1 = new Encoding(parent1.getMutation(), parent1.getCrossover(), c1, parent1.getCoverageMatrix());
-        Encoding child2 = new Encoding(parent2.getMutation(), parent2.getCrossover(), c2, parent2.getCoverageMatrix());
+        // Whole words before the cut word come from one parent, whole words after it from the other
+        int cut = pos >>> 6;
+        long mask = (1L << pos) - 1;  //  the bits of the cut word before the cut position
+        System.arraycopy(p1, 0, c1, 0, cut);
+        System.arraycopy(p2, 0, c2, 0, cut);
+        if (cut < c1.length) {
+            c1[cut] = (p1[cut] & mask) | (p2[cut] & ~mask);
+            c2[cut] = (p2[cut] & mask) | (p1[cut] & ~mask);
+            System.arraycopy(p2, cut + 1, c1, cut + 1, c1.length - cut - 1);
+            System.arraycopy(p1, cut + 1, c2, cut + 1, c2.length - cut - 1);
+        }
+        // Each child is evaluated incrementally from the parent it shares more genes with
+        boolean head = pos >= n - pos;
+        Encoding child1 = new Encoding(parent1.getMutation(), parent1.getCrossover(), c1, head ? parent1 : parent2);
+        Encoding child2 = new Encoding(parent2.getMutation(), parent2.getCrossover(), c2, head ? parent2 : parent1);
         Pair<Encoding> pair = new Pair<Encoding>(child1, child2);
         return pair;
     }
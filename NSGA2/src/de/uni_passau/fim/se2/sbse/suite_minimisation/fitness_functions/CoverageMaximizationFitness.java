@@ -3,6 +3,7 @@ package de.uni_passau.fim.se2.sbse.suite_minimisation.fitness_functions;
 import static java.util.Objects.requireNonNull;
 
 import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.BitCoverageMatrix;
 
 public class CoverageMaximizationFitness implements MaximizingFitnessFunction<Encoding> {
 
@@ -13,9 +14,15 @@ public class CoverageMaximizationFitness implements MaximizingFitnessFunction<En
      */
     private final boolean[][] coverageMatrix;
 
+    /**
+     * The coverage matrix as one bitset per test case
+     */
+    private final BitCoverageMatrix bits;
+
     public CoverageMaximizationFitness(final boolean[][] coverageMatrix) {
         requireNonNull(coverageMatrix, "coverage matrix can not be null");
         this.coverageMatrix = coverageMatrix;
+        this.bits = BitCoverageMatrix.of(coverageMatrix);
     }
 
     /**
@@ -24,18 +31,20 @@ public class CoverageMaximizationFitness implements MaximizingFitnessFunction<En
     @Override
     public double applyAsDouble(Encoding c) throws NullPointerException {
         requireNonNull(c, "Encoding can not be null");
-        int coverage = 0;
-        int totalLines = coverageMatrix[0].length;
-        int[] chromosome = c.getGenes();
-        for (int i = 0; i < totalLines; i++) {
-            for (int j = 0; j < coverageMatrix.length; j++) {
-                if (chromosome[j] == 1 && coverageMatrix[j][i]) {
-                    coverage++;
-                    break;
-                }
-            }
+        if (c.getCoverageMatrix() == coverageMatrix) {
+            return c.getCoverageMaxFitness();  //  computed once per encoding
         }
-        double result = (double) coverage / totalLines;
-        return result;
+        return bits.coverage(c.getWords());
+    }
+
+    /**
+     * Computes the fraction of lines covered by the test cases selected by the given genes
+     *
+     * @param coverageMatrix the coverage matrix
+     * @param chromosome     the genes packed into long words, a set bit for each selected test case
+     * @return the relative coverage
+     */
+    public static double coverageOf(final boolean[][] coverageMatrix, final long[] chromosome) {
+        return BitCoverageMatrix.of(coverageMatrix).coverage(chromosome);
     }
 }
@@ -16,9 +16,6 @@ public class TestCaseMinimizationFitness implements MinimizingFitnessFunction<En
         if (c == null) {
             throw new NullPointerException("Encoding cannot be null"); 
         }
-        int size = c.chromosomeSize();
-        int presentTestCases = c.presenTestCases();
-        double result = (double) presentTestCases / size;
-        return result;
+        return c.getTestCaseMinFitness();  //  computed once per encoding
      }
 }
@@ -1,6 +1,7 @@
 package de.uni_passau.fim.se2.sbse.suite_minimisation.mutation;
 
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import static java.util.Objects.requireNonNull;
 
@@ -26,16 +27,42 @@ public class BitFlipMutation implements Mutation<Encoding> {
      */
     @Override
     public Encoding apply(Encoding c) {
+        return apply(c, random);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Encoding apply(Encoding c, RandomGenerator random) {
+        requireNonNull(random, "random must not be null");
         Mutation<Encoding> identity = Mutation.identity();
         int size = c.chromosomeSize();
         double mutationRate = 1/size;
         Encoding copy = identity.apply(c);
-        int[] individual = copy.getGenes();  //  mutate a copy
-        for (int i = 0; i < size; i++) {
-            if (random.nextDouble() < mutationRate) {
-                individual[i] = 1 - individual[i];
-            }
+        if (mutationRate <= 0) return copy;
+        long[] individual = copy.getWords().clone();  //  mutate a copy, encodings are immutable
+        // Instead of drawing a random number for every gene, draw the distance to the next flipped
+        // gene from the geometric distribution, so that only the flipped genes are visited
+        double logKeep = Math.log1p(-mutationRate);
+        int i = nextFlip(-1, logKeep, random);
+        while (i < size) {
+            individual[i >>> 6] ^= 1L << i;
+            i = nextFlip(i, logKeep, random);
         }
-        return new Encoding(c.getMutation(), c.getCrossover(), individual, c.getCoverageMatrix());
+        return new Encoding(c.getMutation(), c.getCrossover(), individual, c);
+    }
+
+    /**
+     * Returns the index of the next gene to flip after the given one
+     * @param previous the index of the previously flipped gene, -1 at the start
+     * @param logKeep the logarithm of the probability of a gene not being flipped
+     * @param random the source of randomness
+     * @return the index of the next gene to flip, may be beyond the end of the chromosome
+     */
+    private static int nextFlip(int previous, double logKeep, RandomGenerator random) {
+        if (logKeep == Double.NEGATIVE_INFINITY) return previous + 1;  //  every gene is flipped
+        double skip = Math.floor(Math.log(1.0 - random.nextDouble()) / logKeep);
+        return (int) Math.min(previous + 1 + skip, Integer.MAX_VALUE);
     }
 }
@@ -3,6 +3,7 @@ package de.uni_passau.fim.se2.sbse.suite_minimisation.mutation;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Chromosome;
 
 import java.util.function.UnaryOperator;
+import java.util.random.RandomGenerator;
 
 /**
  * Mutation introduces new genetic material in offspring by modifying a parent chromosome.
@@ -44,4 +45,19 @@ public interface Mutation<C extends Chromosome<C>> extends UnaryOperator<C> {
      */
     @Override
     C apply(final C c);
+
+    /**
+     * Applies mutation to the given chromosome {@code c}, drawing random numbers from the given
+     * source of randomness instead of the operator's own one. This allows several threads to apply
+     * the same operator at the same time, each with its own stream of random numbers.
+     *
+     * @param c      the parent chromosome to mutate
+     * @param random the source of randomness to use
+     * @return the offspring formed by mutating the parent
+     * @implSpec The default implementation ignores the given source of randomness and calls
+     * {@link #apply(C)}, which is correct for operators that do not draw random numbers.
+     */
+    default C apply(final C c, final RandomGenerator random) {
+        return apply(c);
+    }
 }
\ No newline at end of file
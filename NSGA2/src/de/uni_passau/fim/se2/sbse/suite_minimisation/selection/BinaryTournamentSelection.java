@@ -2,6 +2,7 @@ package de.uni_passau.fim.se2.sbse.suite_minimisation.selection;
 
 
 import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Chromosome;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Pair;
 
 import java.util.*;
 
@@ -14,8 +15,6 @@ import static java.util.Objects.requireNonNull;
  */
 public class BinaryTournamentSelection<C extends Chromosome<C>> implements Selection<C> {
 
-    private static final int TOURNAMENT_SIZE = 2;
-
     private final Random random;
     private final Comparator<C> comparator;
 
@@ -50,18 +49,54 @@ public class BinaryTournamentSelection<C extends Chromosome<C>> implements Selec
             throw new NoSuchElementException("Population is empty");
         }
 
-        // Create a shuffled copy of the population to ensure no replacement
-        List<C> shuffledPopulation = new ArrayList<>(population);
-        Collections.shuffle(shuffledPopulation, random);
+        return tournament(population, population.size());
+    }
 
-        C bestIndividual = shuffledPopulation.get(0);
+    /**
+     * Selects the parents of a whole generation at once, by playing two binary tournaments for
+     * each mating pair. The result is the same as calling {@link #apply(List)} twice per pair.
+     *
+     * @param population of chromosomes from which to select
+     * @param count      the number of mating pairs
+     * @return the mating pairs
+     * @throws NullPointerException     if the population is {@code null}
+     * @throws NoSuchElementException   if the population is empty
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public List<Pair<C>> matingPairs(final List<C> population, final int count)
+            throws NullPointerException, NoSuchElementException, IllegalArgumentException {
+        requireNonNull(population, "Population must not be null");
+        if (population.isEmpty()) {
+            throw new NoSuchElementException("Population is empty");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Number of mating pairs must not be negative: " + count);
+        }
+
+        final int size = population.size();
+        final List<Pair<C>> pairs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final C parent1 = tournament(population, size);
+            final C parent2 = tournament(population, size);
+            pairs.add(Pair.of(parent1, parent2));
+        }
+        return pairs;
+    }
+
+    /**
+     * Plays a tournament between two distinct individuals drawn uniformly at random. The second
+     * index is drawn from the remaining {@code size - 1} indices, so that no copy of the
+     * population is needed to sample without replacement.
+     */
+    private C tournament(final List<C> population, final int size) {
+        final int first = random.nextInt(size);
+        C bestIndividual = population.get(first);
 
-        if (shuffledPopulation.size() > 1) {
-            for (int i = 1; i < TOURNAMENT_SIZE; i++) {
-                C challenger = shuffledPopulation.get(i);
-                if (comparator.compare(challenger, bestIndividual) > 0) {
-                    bestIndividual = challenger;
-                }
+        if (size > 1) {
+            final int other = random.nextInt(size - 1);
+            final C challenger = population.get(other >= first ? other + 1 : other);
+            if (comparator.compare(challenger, bestIndividual) > 0) {
+                bestIndividual = challenger;
             }
         }
         return bestIndividual;
@@ -0,0 +1,98 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A stopping condition that combines other stopping conditions: the search must stop as soon as
+ * one of them tells it to. All notifications are passed on to every combined condition, and the
+ * progress is that of the condition closest to stopping the search.
+ */
+public final class AnyOf implements StoppingCondition {
+
+    /**
+     * The combined stopping conditions.
+     */
+    private final List<StoppingCondition> conditions;
+
+    /**
+     * Creates a new stopping condition that combines the given ones.
+     *
+     * @param conditions the stopping conditions to combine, at least one
+     * @throws IllegalArgumentException if no condition is given
+     * @throws NullPointerException     if a condition is {@code null}
+     */
+    public AnyOf(final List<? extends StoppingCondition> conditions) {
+        if (conditions == null || conditions.isEmpty()) {
+            throw new IllegalArgumentException("at least one stopping condition is required");
+        }
+        this.conditions = List.copyOf(conditions);
+    }
+
+    /**
+     * Creates a new stopping condition that combines the given ones.
+     *
+     * @param conditions the stopping conditions to combine, at least one
+     * @return the stopping condition
+     */
+    public static AnyOf of(final StoppingCondition... conditions) {
+        return new AnyOf(List.of(conditions));
+    }
+
+    @Override
+    public void notifySearchStarted() {
+        for (final StoppingCondition condition : conditions) {
+            condition.notifySearchStarted();
+        }
+    }
+
+    @Override
+    public void notifyFitnessEvaluation() {
+        for (final StoppingCondition condition : conditions) {
+            condition.notifyFitnessEvaluation();
+        }
+    }
+
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        if (evaluations < 0) {
+            throw new IllegalArgumentException("Negative number of evaluations: " + evaluations);
+        }
+        for (final StoppingCondition condition : conditions) {
+            condition.notifyFitnessEvaluations(evaluations);
+        }
+    }
+
+    @Override
+    public void notifyHyperVolume(final double hyperVolume) {
+        for (final StoppingCondition condition : conditions) {
+            condition.notifyHyperVolume(hyperVolume);
+        }
+    }
+
+    @Override
+    public boolean searchMustStop() {
+        for (final StoppingCondition condition : conditions) {
+            if (condition.searchMustStop()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public double getProgress() {
+        double progress = 0;
+        for (final StoppingCondition condition : conditions) {
+            progress = Math.max(progress, condition.getProgress());
+        }
+        return progress;
+    }
+
+    @Override
+    public String toString() {
+        return conditions.stream()
+                .map(StoppingCondition::toString)
+                .collect(Collectors.joining(", ", getClass().getSimpleName() + "(", ")"));
+    }
+}
@@ -0,0 +1,106 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions;
+
+/**
+ * A stopping condition that stops the search once the front no longer improves: the search must
+ * stop if the hyper-volume of the front has not grown by more than a small epsilon for a given
+ * number of generations in a row.
+ * <p>
+ * The hyper-volume is reported by the search algorithm through
+ * {@link #notifyHyperVolume(double)} once per generation. Search algorithms that do not report it,
+ * such as random search, are never stopped by this condition, so it is meant to be combined with a
+ * budget using {@link AnyOf}.
+ */
+public final class HyperVolumeStagnation implements StoppingCondition {
+
+    /**
+     * The improvement below which the hyper-volume is considered unchanged by default.
+     */
+    public static final double DEFAULT_EPSILON = 1e-6;
+
+    /**
+     * The number of generations without improvement after which the search must stop.
+     */
+    private final int generations;
+
+    /**
+     * The improvement below which the hyper-volume is considered unchanged.
+     */
+    private final double epsilon;
+
+    /**
+     * The best hyper-volume reported so far.
+     */
+    private double bestHyperVolume;
+
+    /**
+     * The number of generations since the hyper-volume last improved.
+     */
+    private int stagnantGenerations;
+
+    /**
+     * Creates a new stopping condition that stops the search after the given number of
+     * generations without an improvement of the hyper-volume by more than epsilon.
+     *
+     * @param generations the number of generations, positive
+     * @param epsilon     the improvement below which the hyper-volume is considered unchanged
+     * @throws IllegalArgumentException if the number of generations is not positive or epsilon is negative
+     */
+    public HyperVolumeStagnation(final int generations, final double epsilon) {
+        if (generations <= 0) {
+            throw new IllegalArgumentException("generations must be positive");
+        }
+        if (!(epsilon >= 0)) {
+            throw new IllegalArgumentException("epsilon must not be negative");
+        }
+        this.generations = generations;
+        this.epsilon = epsilon;
+        this.stagnantGenerations = generations;
+    }
+
+    /**
+     * Creates a new stopping condition that stops the search after the given number of
+     * generations without an improvement of the hyper-volume.
+     *
+     * @param generations the number of generations, positive
+     * @return the stopping condition
+     */
+    public static HyperVolumeStagnation of(final int generations) {
+        return new HyperVolumeStagnation(generations, DEFAULT_EPSILON);
+    }
+
+    @Override
+    public void notifySearchStarted() {
+        bestHyperVolume = Double.NEGATIVE_INFINITY;
+        stagnantGenerations = 0;
+    }
+
+    @Override
+    public void notifyFitnessEvaluation() {
+        // the budget does not depend on the number of evaluations
+    }
+
+    @Override
+    public void notifyHyperVolume(final double hyperVolume) {
+        if (hyperVolume > bestHyperVolume + epsilon) {
+            bestHyperVolume = hyperVolume;
+            stagnantGenerations = 0;
+        } else {
+            stagnantGenerations++;
+        }
+    }
+
+    @Override
+    public boolean searchMustStop() {
+        return stagnantGenerations >= generations;
+    }
+
+    @Override
+    public double getProgress() {
+        return Math.min(1.0, stagnantGenerations / (double) generations);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%d)", getClass().getSimpleName(), generations);
+    }
+}
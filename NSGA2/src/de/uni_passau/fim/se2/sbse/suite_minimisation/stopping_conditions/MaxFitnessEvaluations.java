@@ -67,6 +67,14 @@ public final class MaxFitnessEvaluations implements StoppingCondition {
         fitnessEvaluations++;
     }
 
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        if (evaluations < 0) {
+            throw new IllegalArgumentException("Negative number of evaluations: " + evaluations);
+        }
+        fitnessEvaluations = (int) Math.min(Integer.MAX_VALUE, (long) fitnessEvaluations + evaluations);
+    }
+
     @Override
     public boolean searchMustStop() {
         return !(fitnessEvaluations < maxFitnessEvaluations);
@@ -0,0 +1,81 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions;
+
+import java.time.Duration;
+
+/**
+ * A stopping condition that defines the search budget in terms of wall-clock time. The time is
+ * measured from the notification that the search has started, so it includes the creation of the
+ * initial population.
+ * <p>
+ * The condition is only checked when the search algorithm asks whether it must stop, e.g., once per
+ * generation for NSGA-II, so a search may run for up to one more generation than the budget allows.
+ */
+public final class MaxTime implements StoppingCondition {
+
+    /**
+     * The maximum search time in nanoseconds.
+     */
+    private final long maxNanos;
+
+    /**
+     * The value of {@link System#nanoTime()} when the search started.
+     */
+    private long start;
+
+    /**
+     * Whether the search has been started.
+     */
+    private boolean started;
+
+    /**
+     * Creates a new stopping condition using the given duration as search budget.
+     *
+     * @param maxTime the maximum search time, positive
+     * @throws IllegalArgumentException if the duration is not positive
+     */
+    public MaxTime(final Duration maxTime) {
+        if (maxTime == null || maxTime.isNegative() || maxTime.isZero()) {
+            throw new IllegalArgumentException("search time must be positive");
+        }
+        this.maxNanos = maxTime.toNanos();
+    }
+
+    /**
+     * Creates a new stopping condition using the given number of seconds as search budget.
+     *
+     * @param seconds the maximum search time in seconds
+     * @return the stopping condition
+     */
+    public static MaxTime ofSeconds(final long seconds) {
+        return new MaxTime(Duration.ofSeconds(seconds));
+    }
+
+    @Override
+    public void notifySearchStarted() {
+        start = System.nanoTime();
+        started = true;
+    }
+
+    @Override
+    public void notifyFitnessEvaluation() {
+        // the budget does not depend on the number of evaluations
+    }
+
+    @Override
+    public boolean searchMustStop() {
+        return !started || System.nanoTime() - start >= maxNanos;
+    }
+
+    @Override
+    public double getProgress() {
+        if (!started) {
+            return 1.0;
+        }
+        return Math.min(1.0, (System.nanoTime() - start) / (double) maxNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%s)", getClass().getSimpleName(), Duration.ofNanos(maxNanos));
+    }
+}
@@ -39,6 +39,17 @@ public interface StoppingCondition {
         }
     }
 
+    /**
+     * Notifies this stopping condition of the hyper-volume of the best front found so far, once
+     * per generation. Intended to be called by search algorithms that work in generations.
+     *
+     * @param hyperVolume the hyper-volume of the current front
+     * @implSpec The default implementation does nothing, for stopping conditions that do not
+     * depend on the quality of the front.
+     */
+    default void notifyHyperVolume(final double hyperVolume) {
+    }
+
     /**
      * Tells the search algorithm whether it has exhausted its search budget and has to stop.
      *
@@ -13,7 +13,6 @@ import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.BitFlipMutation;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.selection.BinaryTournamentSelection;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.StoppingCondition;
 
-import java.util.Comparator;
 import java.util.Random;
 
 public class AlgorithmBuilder {
@@ -57,9 +56,29 @@ public class AlgorithmBuilder {
      */
     private final MaximizingFitnessFunction<? extends Chromosome<?>> coverageFF;
 
+    /**
+     * Whether NSGA-II always includes the essential test cases instead of searching for them.
+     */
+    private final boolean forceEssentialTests;
+
+    /**
+     * The fraction of the initial NSGA-II population that is seeded constructively.
+     */
+    private final double seedingRatio;
+
     public AlgorithmBuilder(final Random random,
                             final StoppingCondition stoppingCondition,
                             final boolean[][] coverageMatrix) {
+        this(random, stoppingCondition, coverageMatrix, false, 0);
+    }
+
+    public AlgorithmBuilder(final Random random,
+                            final StoppingCondition stoppingCondition,
+                            final boolean[][] coverageMatrix,
+                            final boolean forceEssentialTests,
+                            final double seedingRatio) {
+        this.forceEssentialTests = forceEssentialTests;
+        this.seedingRatio = seedingRatio;
         this.random = random;
         this.stoppingCondition = stoppingCondition;
         this.coverageMatrix = coverageMatrix;
@@ -130,6 +149,9 @@ public class AlgorithmBuilder {
     /**
      * Returns an instance of the NSGA-II search algorithm to find a solution for the test suite
      * minimization problem. The algorithm is constructed using the fields of this class.
+     * <p>
+     * The algorithm searches the problem as reduced by {@link CoverageReduction}. If forcing the
+     * essential test cases leaves no test case to search, they are not forced.
      *
      * @return the search algorithm
      * @apiNote The return type uses a wildcard type "{@code ?}". This is because your custom
@@ -143,18 +165,18 @@ public class AlgorithmBuilder {
      */
     @SuppressWarnings("unchecked")
     private GeneticAlgorithm<? extends Chromosome<?>> buildNSGA2() {
-        Comparator<Encoding> comparator = new Comparator<Encoding>() {
-            @Override
-            public int compare(Encoding E1, Encoding E2) {
-                if (Utils.dominates(E1, E2)) return 1;
-                return -1;
-            }
-        };
-        BinaryTournamentSelection<Encoding> selection = new BinaryTournamentSelection<>(comparator, random);
+        BinaryTournamentSelection<Encoding> selection =
+            new BinaryTournamentSelection<>(Nsga2Algorithm.CROWDED_COMPARISON, random);
         GeneCrossover crossover = new GeneCrossover(random);
         BitFlipMutation mutation = new BitFlipMutation(random);
-        EncodingGenerator encodingGenerator = new EncodingGenerator(random, mutation, crossover, numberTestCases, coverageMatrix);
-        Nsga2Algorithm algorithm = new Nsga2Algorithm(stoppingCondition, encodingGenerator, selection, random);
+        CoverageReduction reduction = CoverageReduction.of(coverageMatrix, forceEssentialTests);
+        if (reduction.getTests().length == 0) {
+            reduction = CoverageReduction.of(coverageMatrix, false);
+        }
+        boolean[][] reducedMatrix = reduction.getReducedMatrix();
+        EncodingGenerator encodingGenerator = new EncodingGenerator(random, mutation, crossover, reducedMatrix.length, reducedMatrix);
+        Nsga2Algorithm algorithm = new Nsga2Algorithm(
+            stoppingCondition, encodingGenerator, selection, random, reduction, seedingRatio);
         return algorithm;
     }
 
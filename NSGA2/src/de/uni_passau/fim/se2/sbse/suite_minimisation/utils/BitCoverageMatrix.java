@@ -0,0 +1,443 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.utils;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A coverage matrix stored as one bitset per test case. Bit {@code j} of the bitset of test case
+ * {@code i} is set if test case {@code i} covers line {@code j}. The lines covered by a test suite
+ * are the union of the bitsets of its test cases, so the coverage of a test suite is computed by
+ * or-ing the rows of the selected test cases word by word and counting the set bits, instead of
+ * scanning the {@code boolean[][]} matrix column by column.
+ * <p>
+ * A bit matrix can also describe a reduced problem created by {@link CoverageReduction}: every
+ * column then stands for a number of identical lines given by its weight, some lines are already
+ * covered by test cases that are always part of the suite, and the number of lines and test cases
+ * of the original problem are used to normalise coverage and size. Coverage and size computed on
+ * such a matrix are those of the corresponding test suite of the original problem.
+ *
+ * @implNote The or/popcount loop is a plain loop over {@code long} words: the JIT compiles
+ * {@link Long#bitCount(long)} to a single popcount instruction and can vectorize the loop itself.
+ */
+public final class BitCoverageMatrix {
+
+    /**
+     * The bit matrices created by {@link #of(boolean[][])}, by the identity of the matrix they
+     * were created from (arrays do not override {@code equals} and {@code hashCode}).
+     */
+    private static final Map<boolean[][], BitCoverageMatrix> cache = new WeakHashMap<>();
+
+    /**
+     * The bit matrix returned last by {@link #of(boolean[][])}, looked up without locking.
+     */
+    private static volatile BitCoverageMatrix last;
+
+    /**
+     * The coverage matrix this bit matrix was created from. The reference is weak, so that the
+     * cached bit matrix does not keep its own key alive.
+     */
+    private final WeakReference<boolean[][]> source;
+
+    /**
+     * The bitsets of the lines covered by each test case.
+     */
+    private final long[][] rows;
+
+    /**
+     * The number of lines in the system under test.
+     */
+    private final int lines;
+
+    /**
+     * The number of {@code long} words of each row.
+     */
+    private final int words;
+
+    /**
+     * The number of entries of the matrix that are {@code true}.
+     */
+    private final long entries;
+
+    /**
+     * The number of original lines each column stands for, or {@code null} if every column is one line.
+     */
+    private final int[] weights;
+
+    /**
+     * The number of lines covered by the test cases that are always part of the suite.
+     */
+    private final int fixedLines;
+
+    /**
+     * The number of lines of the original problem, used to normalise the coverage.
+     */
+    private final int totalLines;
+
+    /**
+     * The number of test cases that are always part of the suite.
+     */
+    private final int fixedTests;
+
+    /**
+     * The number of test cases of the original problem that are not rows of this matrix.
+     */
+    private final int removedTests;
+
+    /**
+     * The sparse row index: the lines covered by each test case, created on first use.
+     */
+    private volatile int[][] lineIndex;
+
+    /**
+     * Creates a new bit matrix with the same entries as the given coverage matrix. Every row in
+     * the matrix represents a test case and every column a line of the system under test.
+     *
+     * @param coverageMatrix the rectangular coverage matrix, not {@code null}
+     * @throws NullPointerException if the matrix is {@code null}
+     */
+    public BitCoverageMatrix(final boolean[][] coverageMatrix) {
+        this(coverageMatrix, null, 0, -1, 0, 0);
+    }
+
+    /**
+     * Creates a new bit matrix of a reduced problem.
+     *
+     * @param coverageMatrix the rectangular coverage matrix of the reduced problem, not {@code null}
+     * @param weights        the number of original lines each column stands for, or {@code null}
+     * @param fixedLines     the number of lines covered by the test cases always part of the suite
+     * @param totalLines     the number of lines of the original problem, or -1 for the number of columns
+     * @param fixedTests     the number of test cases always part of the suite
+     * @param removedTests   the number of test cases of the original problem that are not rows
+     * @throws NullPointerException if the matrix is {@code null}
+     */
+    BitCoverageMatrix(final boolean[][] coverageMatrix, final int[] weights, final int fixedLines,
+                      final int totalLines, final int fixedTests, final int removedTests) {
+        requireNonNull(coverageMatrix, "coverage matrix can not be null");
+        this.source = new WeakReference<>(coverageMatrix);
+        this.lines = coverageMatrix.length == 0 ? 0 : coverageMatrix[0].length;
+        this.words = (lines + Long.SIZE - 1) / Long.SIZE;
+        this.rows = new long[coverageMatrix.length][words];
+        long count = 0;
+        for (int i = 0; i < coverageMatrix.length; i++) {
+            final boolean[] row = coverageMatrix[i];
+            final long[] bits = rows[i];
+            for (int j = 0; j < lines; j++) {
+                if (row[j]) {
+                    bits[j >>> 6] |= 1L << j;
+                    count++;
+                }
+            }
+        }
+        this.entries = count;
+        this.weights = weights;
+        this.fixedLines = fixedLines;
+        this.totalLines = totalLines < 0 ? lines : totalLines;
+        this.fixedTests = fixedTests;
+        this.removedTests = removedTests;
+    }
+
+    /**
+     * Returns the bit matrix of the given coverage matrix. The bit matrix is created once per
+     * coverage matrix and shared afterwards, so the coverage matrix must not be modified after it
+     * has been passed to this method.
+     *
+     * @param coverageMatrix the rectangular coverage matrix, not {@code null}
+     * @return the bit matrix
+     * @throws NullPointerException if the matrix is {@code null}
+     */
+    public static BitCoverageMatrix of(final boolean[][] coverageMatrix) {
+        requireNonNull(coverageMatrix, "coverage matrix can not be null");
+        final BitCoverageMatrix recent = last;
+        if (recent != null && recent.source.get() == coverageMatrix) {
+            return recent;
+        }
+        final BitCoverageMatrix matrix;
+        synchronized (cache) {
+            matrix = cache.computeIfAbsent(coverageMatrix, BitCoverageMatrix::new);
+        }
+        last = matrix;
+        return matrix;
+    }
+
+    /**
+     * Makes {@link #of(boolean[][])} return the given bit matrix for the coverage matrix it was
+     * created from, replacing a bit matrix created before.
+     *
+     * @param matrix the bit matrix
+     */
+    static void register(final BitCoverageMatrix matrix) {
+        final boolean[][] coverageMatrix = requireNonNull(matrix.source.get());
+        synchronized (cache) {
+            cache.put(coverageMatrix, matrix);
+        }
+        last = matrix;
+    }
+
+    /**
+     * Returns the number of test cases, i.e., the number of rows.
+     *
+     * @return the number of test cases
+     */
+    public int tests() {
+        return rows.length;
+    }
+
+    /**
+     * Returns the number of lines of the system under test, i.e., the number of columns.
+     *
+     * @return the number of lines
+     */
+    public int lines() {
+        return lines;
+    }
+
+    /**
+     * Returns the number of {@code long} words of each row.
+     *
+     * @return the number of words
+     */
+    public int words() {
+        return words;
+    }
+
+    /**
+     * Returns the average number of lines covered by a test case.
+     *
+     * @return the average number of lines per test case
+     */
+    public double averageLinesPerTest() {
+        return rows.length == 0 ? 0 : (double) entries / rows.length;
+    }
+
+    /**
+     * Returns the relative coverage of a test suite of which the given number of lines, weighted
+     * as returned by {@link #coveredLines(long[])}, are covered by its rows.
+     *
+     * @param coveredLines the weighted number of lines covered by the selected rows
+     * @return the relative coverage
+     */
+    public double relativeCoverage(final int coveredLines) {
+        return (double) (fixedLines + coveredLines) / totalLines;
+    }
+
+    /**
+     * Returns the relative size of a test suite that selects the given number of rows.
+     *
+     * @param selectedTests the number of selected rows
+     * @param rows          the number of rows a selection is made from
+     * @return the relative size
+     */
+    public double relativeSize(final int selectedTests, final int rows) {
+        return (double) (fixedTests + selectedTests) / (removedTests + rows);
+    }
+
+    /**
+     * Returns the number of original lines the given column stands for, 1 unless the matrix
+     * describes a reduced problem.
+     *
+     * @param line the index of the column
+     * @return the weight of the column
+     */
+    public int weight(final int line) {
+        return weights == null ? 1 : weights[line];
+    }
+
+    /**
+     * Counts the lines whose bits are set, taking the weights of the columns into account.
+     */
+    private int count(final long[] union) {
+        int count = 0;
+        if (weights == null) {
+            for (final long word : union) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+        for (int w = 0; w < union.length; w++) {
+            long word = union[w];
+            while (word != 0) {
+                count += weights[(w << 6) + Long.numberOfTrailingZeros(word)];
+                word &= word - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Tells whether the given test case covers the given line.
+     *
+     * @param test the index of the test case
+     * @param line the index of the line
+     * @return {@code true} if the line is covered by the test case
+     */
+    public boolean covers(final int test, final int line) {
+        return (rows[test][line >>> 6] & (1L << line)) != 0;
+    }
+
+    /**
+     * Returns the number of lines covered by the given test case.
+     *
+     * @param test the index of the test case
+     * @return the number of covered lines
+     */
+    public int linesCoveredBy(final int test) {
+        int count = 0;
+        for (final long word : rows[test]) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of lines covered by the test suite that consists of the test cases whose
+     * genes are 1. Lines covered by test cases that are always part of the suite are not included.
+     *
+     * @param genes one gene per test case, 1 if the test case is selected and 0 otherwise
+     * @return the weighted number of lines covered by the selected rows
+     */
+    public int coveredLines(final int[] genes) {
+        final long[] union = new long[words];
+        for (int i = 0; i < rows.length; i++) {
+            if (genes[i] == 1) {
+                final long[] row = rows[i];
+                for (int w = 0; w < words; w++) {
+                    union[w] |= row[w];
+                }
+            }
+        }
+        return count(union);
+    }
+
+    /**
+     * Returns the number of lines covered by the test suite that consists of the test cases whose
+     * bits are set. Bit {@code i % 64} of word {@code i / 64} stands for test case {@code i}.
+     * Lines covered by test cases that are always part of the suite are not included.
+     *
+     * @param selection the selected test cases, packed into long words
+     * @return the weighted number of lines covered by the selected rows
+     */
+    public int coveredLines(final long[] selection) {
+        final long[] union = new long[words];
+        for (int s = 0; s < selection.length; s++) {
+            long word = selection[s];
+            while (word != 0) {
+                final long[] row = rows[(s << 6) + Long.numberOfTrailingZeros(word)];
+                for (int w = 0; w < words; w++) {
+                    union[w] |= row[w];
+                }
+                word &= word - 1;  // clear the lowest set bit
+            }
+        }
+        return count(union);
+    }
+
+    /**
+     * Returns the fraction of lines covered by the test suite that consists of the test cases
+     * whose bits are set.
+     *
+     * @param selection the selected test cases, packed into long words
+     * @return the relative coverage
+     */
+    public double coverage(final long[] selection) {
+        return relativeCoverage(coveredLines(selection));
+    }
+
+    /**
+     * Returns the fraction of lines covered by the test suite that consists of the test cases
+     * whose genes are 1.
+     *
+     * @param genes one gene per test case, 1 if the test case is selected and 0 otherwise
+     * @return the relative coverage
+     */
+    public double coverage(final int[] genes) {
+        return relativeCoverage(coveredLines(genes));
+    }
+
+    /**
+     * Returns the lines covered by the given test case, in ascending order. The returned array is
+     * shared and must not be modified.
+     *
+     * @param test the index of the test case
+     * @return the covered lines
+     */
+    public int[] linesOf(final int test) {
+        int[][] index = lineIndex;
+        if (index == null) {
+            index = new int[rows.length][];
+            for (int i = 0; i < rows.length; i++) {
+                final int[] covered = new int[linesCoveredBy(i)];
+                int k = 0;
+                for (int w = 0; w < words; w++) {
+                    long word = rows[i][w];
+                    while (word != 0) {
+                        covered[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+                index[i] = covered;
+            }
+            lineIndex = index;
+        }
+        return index[test];
+    }
+
+    /**
+     * Counts, for every line, by how many of the selected test cases it is covered.
+     *
+     * @param selection the selected test cases, packed into long words
+     * @param counts    the array to store the counts in, one entry per line, all 0
+     * @return the weighted number of covered lines, i.e., of lines with a count greater than 0
+     */
+    public int coverCounts(final long[] selection, final int[] counts) {
+        int covered = 0;
+        for (int s = 0; s < selection.length; s++) {
+            long word = selection[s];
+            while (word != 0) {
+                for (final int line : linesOf((s << 6) + Long.numberOfTrailingZeros(word))) {
+                    if (counts[line]++ == 0) {
+                        covered += weight(line);
+                    }
+                }
+                word &= word - 1;
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * Updates the cover counts of a selection of test cases to another selection. Only the lines
+     * of the test cases that are selected in one selection but not in the other are visited.
+     *
+     * @param counts the cover counts of the selection {@code from}, updated in place
+     * @param from   the selection the counts belong to, packed into long words
+     * @param to     the selection to update the counts to, packed into long words
+     * @return the change in the weighted number of covered lines
+     */
+    public int applyChanges(final int[] counts, final long[] from, final long[] to) {
+        int delta = 0;
+        for (int s = 0; s < to.length; s++) {
+            long changed = from[s] ^ to[s];
+            while (changed != 0) {
+                final int test = (s << 6) + Long.numberOfTrailingZeros(changed);
+                if ((to[s] & Long.lowestOneBit(changed)) != 0) {
+                    for (final int line : linesOf(test)) {
+                        if (counts[line]++ == 0) {
+                            delta += weight(line);
+                        }
+                    }
+                } else {
+                    for (final int line : linesOf(test)) {
+                        if (--counts[line] == 0) {
+                            delta -= weight(line);
+                        }
+                    }
+                }
+                changed &= changed - 1;
+            }
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,362 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reduces a test suite minimisation problem before the search starts, in three steps:
+ * <ol>
+ *     <li>Lines covered by exactly the same test cases are merged into one column, weighted by
+ *     the number of lines it stands for. Lines covered by no test case are dropped.</li>
+ *     <li>Test cases whose lines are all covered by another test case are removed: every test
+ *     case costs the same, so a suite with the other test case instead is never worse. Of
+ *     several test cases covering the same lines, the first one is kept.</li>
+ *     <li>Test cases that are the only ones covering a line are essential. If requested, they are
+ *     always part of the suite and removed from the search, together with the lines they cover.
+ *     This may make more test cases dominated, so steps 2 and 3 are repeated until nothing
+ *     changes.</li>
+ * </ol>
+ * The first two steps keep every trade-off between coverage and size reachable. Forcing the
+ * essential test cases restricts the search to suites that contain all of them, which leaves out
+ * the smallest suites of the Pareto front.
+ * <p>
+ * The reduced coverage matrix is registered with {@link BitCoverageMatrix#of(boolean[][])}, so
+ * encodings of the reduced problem report the coverage and size of the corresponding suite of the
+ * original problem. {@link #expand(Encoding)} maps them back to encodings of the original problem.
+ */
+public final class CoverageReduction {
+
+    /**
+     * The coverage matrix of the original problem.
+     */
+    private final boolean[][] coverageMatrix;
+
+    /**
+     * The coverage matrix of the reduced problem.
+     */
+    private final boolean[][] reducedMatrix;
+
+    /**
+     * For every row of the reduced matrix, the index of the test case in the original matrix.
+     */
+    private final int[] tests;
+
+    /**
+     * The indices of the essential test cases in the original matrix, in ascending order.
+     */
+    private final int[] essentialTests;
+
+    /**
+     * Whether the essential test cases are always part of the suite.
+     */
+    private final boolean essentialTestsForced;
+
+    /**
+     * For every column of the reduced matrix, the number of original lines it stands for.
+     */
+    private final int[] weights;
+
+    private CoverageReduction(final boolean[][] coverageMatrix, final boolean forceEssentialTests) {
+        this.coverageMatrix = coverageMatrix;
+        this.essentialTestsForced = forceEssentialTests;
+        final int testCount = coverageMatrix.length;
+        final int lineCount = testCount == 0 ? 0 : coverageMatrix[0].length;
+
+        // Step 1: merge the lines covered by the same test cases
+        final Map<Column, Integer> columnIndex = new HashMap<>();
+        final List<Integer> representatives = new ArrayList<>();
+        final List<Integer> columnWeights = new ArrayList<>();
+        final long[] testsCoveringLine = new long[Encoding.wordsFor(testCount)];
+        for (int line = 0; line < lineCount; line++) {
+            Arrays.fill(testsCoveringLine, 0L);
+            boolean covered = false;
+            for (int test = 0; test < testCount; test++) {
+                if (coverageMatrix[test][line]) {
+                    testsCoveringLine[test >>> 6] |= 1L << test;
+                    covered = true;
+                }
+            }
+            if (!covered) continue;  // no suite can cover the line
+            final Integer index = columnIndex.putIfAbsent(new Column(testsCoveringLine.clone()), representatives.size());
+            if (index == null) {
+                representatives.add(line);
+                columnWeights.add(1);
+            } else {
+                columnWeights.set(index, columnWeights.get(index) + 1);
+            }
+        }
+        final int columns = representatives.size();
+        final int words = Encoding.wordsFor(columns);
+        final long[][] rows = new long[testCount][words];
+        for (int test = 0; test < testCount; test++) {
+            for (int column = 0; column < columns; column++) {
+                if (coverageMatrix[test][representatives.get(column)]) {
+                    rows[test][column >>> 6] |= 1L << column;
+                }
+            }
+        }
+
+        // Steps 2 and 3: remove dominated test cases and find the essential ones
+        final boolean[] active = new boolean[testCount];
+        Arrays.fill(active, true);
+        final long[] openColumns = new long[words];  // the columns not covered by forced test cases
+        for (int column = 0; column < columns; column++) {
+            openColumns[column >>> 6] |= 1L << column;
+        }
+        final boolean[] essential = new boolean[testCount];
+        boolean changed;
+        do {
+            removeDominatedTests(rows, active, openColumns);
+            changed = false;
+            for (final int test : findEssentialTests(rows, active, openColumns, columns)) {
+                essential[test] = true;
+                if (forceEssentialTests) {
+                    active[test] = false;
+                    for (int w = 0; w < words; w++) {
+                        openColumns[w] &= ~rows[test][w];
+                    }
+                    changed = true;
+                }
+            }
+        } while (changed);
+
+        // Build the reduced problem from the remaining test cases and columns
+        this.tests = indicesOf(active);
+        this.essentialTests = indicesOf(essential);
+        final int[] remainingColumns = new int[columns];
+        int remaining = 0;
+        int fixedLines = 0;
+        for (int column = 0; column < columns; column++) {
+            if ((openColumns[column >>> 6] & (1L << column)) != 0) {
+                remainingColumns[remaining++] = column;
+            } else {
+                fixedLines += columnWeights.get(column);
+            }
+        }
+        this.weights = new int[remaining];
+        this.reducedMatrix = new boolean[tests.length][remaining];
+        for (int j = 0; j < remaining; j++) {
+            final int column = remainingColumns[j];
+            weights[j] = columnWeights.get(column);
+            for (int i = 0; i < tests.length; i++) {
+                reducedMatrix[i][j] = (rows[tests[i]][column >>> 6] & (1L << column)) != 0;
+            }
+        }
+        final int fixedTests = forceEssentialTests ? essentialTests.length : 0;
+        BitCoverageMatrix.register(new BitCoverageMatrix(
+            reducedMatrix, weights, fixedLines, lineCount, fixedTests, testCount - tests.length));
+    }
+
+    /**
+     * Reduces the given test suite minimisation problem. The coverage matrix must not be modified
+     * afterwards.
+     *
+     * @param coverageMatrix      the rectangular coverage matrix of the problem, not {@code null}
+     * @param forceEssentialTests whether the essential test cases are always part of the suite
+     * @return the reduced problem
+     * @throws NullPointerException if the coverage matrix is {@code null}
+     */
+    public static CoverageReduction of(final boolean[][] coverageMatrix, final boolean forceEssentialTests) {
+        requireNonNull(coverageMatrix, "coverage matrix can not be null");
+        return new CoverageReduction(coverageMatrix, forceEssentialTests);
+    }
+
+    /**
+     * Removes the active test cases whose open columns are a subset of those of another active
+     * test case. Of test cases with the same open columns, the one with the smallest index stays.
+     */
+    private static void removeDominatedTests(final long[][] rows, final boolean[] active, final long[] open) {
+        final int testCount = rows.length;
+        final boolean[] dominated = new boolean[testCount];
+        for (int test = 0; test < testCount; test++) {
+            if (!active[test]) continue;
+            for (int other = 0; other < testCount && !dominated[test]; other++) {
+                if (other == test || !active[other]) continue;
+                dominated[test] = covers(rows[other], rows[test], open)
+                    && (other < test || !covers(rows[test], rows[other], open));
+            }
+        }
+        for (int test = 0; test < testCount; test++) {
+            if (dominated[test]) {
+                active[test] = false;
+            }
+        }
+    }
+
+    /**
+     * Tells whether the first row covers every open column covered by the second row.
+     */
+    private static boolean covers(final long[] row, final long[] other, final long[] open) {
+        for (int w = 0; w < open.length; w++) {
+            if ((other[w] & ~row[w] & open[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the active test cases that are the only active ones covering some open column.
+     */
+    private static int[] findEssentialTests(final long[][] rows, final boolean[] active, final long[] open,
+                                            final int columns) {
+        final int[] coveringTests = new int[columns];
+        final int[] lastCoveringTest = new int[columns];
+        for (int test = 0; test < rows.length; test++) {
+            if (!active[test]) continue;
+            for (int w = 0; w < open.length; w++) {
+                long word = rows[test][w] & open[w];
+                while (word != 0) {
+                    final int column = (w << 6) + Long.numberOfTrailingZeros(word);
+                    coveringTests[column]++;
+                    lastCoveringTest[column] = test;
+                    word &= word - 1;
+                }
+            }
+        }
+        final boolean[] essential = new boolean[rows.length];
+        for (int column = 0; column < columns; column++) {
+            if (coveringTests[column] == 1) {
+                essential[lastCoveringTest[column]] = true;
+            }
+        }
+        return indicesOf(essential);
+    }
+
+    /**
+     * Returns the indices of the {@code true} entries, in ascending order.
+     */
+    private static int[] indicesOf(final boolean[] flags) {
+        int count = 0;
+        for (final boolean flag : flags) {
+            if (flag) count++;
+        }
+        final int[] indices = new int[count];
+        int k = 0;
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i]) indices[k++] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the coverage matrix of the reduced problem. Every row stands for the test case of
+     * the original problem given by {@link #getTests()}.
+     *
+     * @return the reduced coverage matrix
+     */
+    public boolean[][] getReducedMatrix() {
+        return reducedMatrix;
+    }
+
+    /**
+     * Returns the indices in the original matrix of the test cases left to search.
+     *
+     * @return the test cases of the reduced problem, in ascending order
+     */
+    public int[] getTests() {
+        return tests.clone();
+    }
+
+    /**
+     * Returns the indices in the original matrix of the essential test cases, i.e., of the test
+     * cases that are the only ones covering some line once the dominated ones have been removed.
+     *
+     * @return the essential test cases, in ascending order
+     */
+    public int[] getEssentialTests() {
+        return essentialTests.clone();
+    }
+
+    /**
+     * Tells whether the essential test cases are always part of the suite.
+     *
+     * @return {@code true} if the essential test cases are not part of the search
+     */
+    public boolean isEssentialTestsForced() {
+        return essentialTestsForced;
+    }
+
+    /**
+     * Returns the number of lines of the original problem every column of the reduced matrix
+     * stands for.
+     *
+     * @return the weights of the columns
+     */
+    public int[] getWeights() {
+        return weights.clone();
+    }
+
+    /**
+     * Maps an encoding of the reduced problem back to the original problem. The new encoding
+     * selects the test cases selected by the given one, together with the forced essential test
+     * cases, and has the same rank and crowding distance.
+     *
+     * @param reduced an encoding of the reduced problem
+     * @return the corresponding encoding of the original problem
+     */
+    public Encoding expand(final Encoding reduced) {
+        final long[] words = new long[Encoding.wordsFor(coverageMatrix.length)];
+        if (essentialTestsForced) {
+            for (final int test : essentialTests) {
+                words[test >>> 6] |= 1L << test;
+            }
+        }
+        for (int i = 0; i < tests.length; i++) {
+            if (reduced.isPresent(i)) {
+                words[tests[i] >>> 6] |= 1L << tests[i];
+            }
+        }
+        final Encoding original = new Encoding(
+            reduced.getMutation(), reduced.getCrossover(), words, coverageMatrix.length, coverageMatrix);
+        original.setRank(reduced.getRank());
+        original.setDistance(reduced.getDistance());
+        return original;
+    }
+
+    /**
+     * Maps encodings of the reduced problem back to the original problem.
+     *
+     * @param reduced encodings of the reduced problem
+     * @return the corresponding encodings of the original problem, in the same order
+     */
+    public List<Encoding> expand(final List<Encoding> reduced) {
+        final List<Encoding> original = new ArrayList<>(reduced.size());
+        for (final Encoding encoding : reduced) {
+            original.add(expand(encoding));
+        }
+        return original;
+    }
+
+    /**
+     * The test cases covering a line, usable as a key of a hash map.
+     */
+    private static final class Column {
+
+        private final long[] tests;
+
+        private final int hash;
+
+        Column(final long[] tests) {
+            this.tests = tests;
+            this.hash = Arrays.hashCode(tests);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Column && Arrays.equals(tests, ((Column) other).tests);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
+
+/**
+ * Keeps track of the hyper-volume of the non-dominated test suites among all suites added so far,
+ * w.r.t. the reference point of 0% coverage and 100% size (the reference point used by
+ * {@link Utils#computeHyperVolume}).
+ * <p>
+ * The non-dominated points form a staircase: ordered by increasing coverage, their sizes increase
+ * as well. The staircase is stored in a balanced search tree keyed by coverage, and the hyper-volume
+ * {@code sum (c[i] - c[i-1]) * (1 - s[i])} is updated with the contributions of the points that are
+ * inserted or removed. Adding a point therefore takes {@code O(log n)} time, plus
+ * {@code O(log n)} for each point it dominates, which is removed for good.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class HyperVolumeTracker {
+
+    /**
+     * The size of every non-dominated point, by its coverage.
+     */
+    private final TreeMap<Double, Double> staircase = new TreeMap<>();
+
+    /**
+     * The hyper-volume of the points in the staircase.
+     */
+    private double hyperVolume;
+
+    /**
+     * Adds a test suite with the given objectives. The hyper-volume only changes if no suite added
+     * before is at least as good in both objectives.
+     *
+     * @param coverage the relative coverage of the test suite, maximised
+     * @param size     the relative size of the test suite, minimised
+     * @return {@code true} if the suite is part of the non-dominated ones now
+     */
+    public boolean add(final double coverage, final double size) {
+        if (coverage <= 0 || size >= 1) {
+            return false;  // the suite does not dominate any part of the reference box
+        }
+        final Map.Entry<Double, Double> ceiling = staircase.ceilingEntry(coverage);
+        if (ceiling != null && ceiling.getValue() <= size) {
+            return false;  // dominated by a suite with at least the same coverage
+        }
+        // The dominated suites are the ones right below the coverage, up to the first smaller suite
+        Map.Entry<Double, Double> floor;
+        while ((floor = staircase.floorEntry(coverage)) != null && floor.getValue() >= size) {
+            remove(floor.getKey(), floor.getValue());
+        }
+        insert(coverage, size);
+        return true;
+    }
+
+    /**
+     * Adds the given test suites, using their cached objectives.
+     *
+     * @param suites the test suites to add
+     */
+    public void addAll(final List<Encoding> suites) {
+        for (final Encoding suite : suites) {
+            add(suite.getCoverageMaxFitness(), suite.getTestCaseMinFitness());
+        }
+    }
+
+    /**
+     * Inserts a point that neither dominates nor is dominated by a point of the staircase.
+     */
+    private void insert(final double coverage, final double size) {
+        final Map.Entry<Double, Double> lower = staircase.lowerEntry(coverage);
+        final Map.Entry<Double, Double> higher = staircase.higherEntry(coverage);
+        final double width = coverage - (lower == null ? 0 : lower.getKey());
+        hyperVolume += width * (1 - size);
+        if (higher != null) {
+            hyperVolume -= width * (1 - higher.getValue());  // the next step becomes narrower
+        }
+        staircase.put(coverage, size);
+    }
+
+    /**
+     * Removes a point of the staircase.
+     */
+    private void remove(final double coverage, final double size) {
+        final Map.Entry<Double, Double> lower = staircase.lowerEntry(coverage);
+        final Map.Entry<Double, Double> higher = staircase.higherEntry(coverage);
+        final double width = coverage - (lower == null ? 0 : lower.getKey());
+        hyperVolume -= width * (1 - size);
+        if (higher != null) {
+            hyperVolume += width * (1 - higher.getValue());  // the next step becomes wider
+        }
+        staircase.remove(coverage);
+    }
+
+    /**
+     * Returns the hyper-volume of the non-dominated test suites added so far.
+     *
+     * @return the hyper-volume, between 0 and 1
+     */
+    public double getHyperVolume() {
+        return hyperVolume;
+    }
+
+    /**
+     * Returns the number of distinct non-dominated points, i.e., of steps of the staircase.
+     *
+     * @return the size of the front
+     */
+    public int frontSize() {
+        return staircase.size();
+    }
+
+    /**
+     * Removes all test suites.
+     */
+    public void clear() {
+        staircase.clear();
+        hyperVolume = 0;
+    }
+}
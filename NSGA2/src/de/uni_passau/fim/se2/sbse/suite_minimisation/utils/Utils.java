@@ -42,6 +42,23 @@ public class Utils {
         return parsedMatrix;
     }
 
+    /**
+     * Computes the hyper-volume of the given Pareto {@code front} of encodings w.r.t. the
+     * reference point of 0% coverage and 100% size, using the objectives cached by the encodings.
+     * Suites dominated by other suites of the front do not count.
+     *
+     * @param front the front for which to compute the hyper-volume, not empty
+     * @return the hyper volume of the given front
+     */
+    public static double computeHyperVolume(final List<Encoding> front) {
+        if (front == null || front.isEmpty()) {
+            throw new IllegalArgumentException("Invalid input values");
+        }
+        final HyperVolumeTracker tracker = new HyperVolumeTracker();
+        tracker.addAll(front);
+        return tracker.getHyperVolume();
+    }
+
     /**
      * Computes the hyper-volume of the given Pareto {@code front}, using the given fitness
      * functions {@code f1} and {@code f2}, and {@code r1} and {@code r2} as coordinates of the
@@ -68,17 +85,22 @@ public class Utils {
         if (front == null || front.isEmpty()) {
             throw new IllegalArgumentException("Invalid input values"); // Handle empty/null front case
         }
-        // Cast and validate elements in `front` using raw types
-        List<Object> Front = new ArrayList<>();
-        for (Object obj : front) {
-            // Ensure the object is compatible with FitnessFunction operations
-            if (f1.applyAsDouble(obj) < 0 || f2.applyAsDouble(obj) < 0) {
+        // Evaluate every element once, and validate the results
+        final int size = front.size();
+        final double[] values1 = new double[size];
+        final double[] values2 = new double[size];
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            Object obj = front.get(i);
+            values1[i] = f1.applyAsDouble(obj);
+            values2[i] = f2.applyAsDouble(obj);
+            if (values1[i] < 0 || values2[i] < 0) {
                 throw new IllegalArgumentException("Invalid object in front: fitness function failed.");
             }
-            Front.add(obj); // Add to the new list if valid
+            order[i] = i;
         }
         // Step 1: Sort the Pareto front by test suite size in ascending order
-        Collections.sort(Front, Comparator.comparingDouble(s -> f1.applyAsDouble(s)));
+        Arrays.sort(order, Comparator.comparingDouble(i -> values1[i]));
 
         // Step 2: Initialize hypervolume and the previous reference point
         double hyperVolume = 0.0;
@@ -86,9 +108,9 @@ public class Utils {
         double currentF2;
 
         // Step 3: Iterate through the sorted Pareto front to compute the hypervolume
-        for (Object chromosome : Front) {
-            double currentF1 = f1.applyAsDouble(chromosome); // Current f1 value
-            currentF2 = f2.applyAsDouble(chromosome);       // Current f2 value
+        for (int index : order) {
+            double currentF1 = values1[index]; // Current f1 value
+            currentF2 = values2[index];       // Current f2 value
 
             // Calculate the rectangular area contribution from (previousF1, r2) to (currentF1, currentF2)
             double width = currentF1 - previousF1;
@@ -107,39 +129,112 @@ public class Utils {
      * Evaluates two solutions with respect to 2 fitness functions
      * @param A     the solution A to use in comparison
      * @param B     the solution B to use in comparison
-     * @param f1    the first fitness function
-     * @param f2    the second fitness function
      * @return true if solution A dominates solution B otherwise false
      */
     public static boolean dominates(
         final Encoding A,
         final Encoding B
     ) {
-        if (
-            B.getCoverageMaxFitness() > A.getCoverageMaxFitness() ||
-            B.getTestCaseMinFitness() < A.getTestCaseMinFitness()
-        ) return false;
-        if (
-            A.getCoverageMaxFitness() > B.getCoverageMaxFitness() ||
-            A.getTestCaseMinFitness() < B.getTestCaseMinFitness()
-        ) return true;
-        return false;
+        return dominates(
+            A.getCoverageMaxFitness(), A.getTestCaseMinFitness(),
+            B.getCoverageMaxFitness(), B.getTestCaseMinFitness()
+        );
+    }
+
+    /**
+     * Evaluates two solutions given by their coverage (maximised) and size (minimised)
+     * @return true if solution A dominates solution B otherwise false
+     */
+    private static boolean dominates(
+        final double coverageA,
+        final double sizeA,
+        final double coverageB,
+        final double sizeB
+    ) {
+        if (coverageB > coverageA || sizeB < sizeA) return false;
+        return coverageA > coverageB || sizeA < sizeB;
     }
 
     /**
      * Takes a population of encodings and returns a list of lists of non-dominating fronts
+     *
+     * Since there are exactly two objectives, the fronts are assigned in a single sweep in
+     * O(N log N): the population is sorted by decreasing coverage (ties by increasing size), so
+     * an individual can only be dominated by individuals before it. Within a front, the size
+     * decreases along the sweep, so the last individual added to a front dominates a new
+     * individual if any member of the front does, and the fronts form a staircase in which the
+     * front of a new individual is found by binary search.
+     * Within each front, the individuals keep their order in the population.
+     *
      * @param population a population of proposed solutions
      * @return a list of lists of non-dominating fronts
      */
     public static List<List<Encoding>> nonDominatedSorting(List<Encoding> population) {
-        List<List<Encoding>> fronts = new ArrayList<>();
-        List<Set<Integer>> dominationSets = new ArrayList<>();
+        final int populationSize = population.size();
+        final double[] coverage = new double[populationSize];
+        final double[] size = new double[populationSize];
+        final Integer[] order = new Integer[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            coverage[i] = population.get(i).getCoverageMaxFitness();
+            size[i] = population.get(i).getTestCaseMinFitness();
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int result = Double.compare(coverage[b], coverage[a]);
+            return result != 0 ? result : Double.compare(size[a], size[b]);
+        });
+
+        // The objectives of the individual added last to each front
+        final double[] lastCoverage = new double[populationSize];
+        final double[] lastSize = new double[populationSize];
+        final int[] frontOf = new int[populationSize];
+        int frontCount = 0;
+        for (final int i : order) {
+            // Find the first front whose last individual does not dominate individual i
+            int low = 0;
+            int high = frontCount;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (dominates(lastCoverage[middle], lastSize[middle], coverage[i], size[i])) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            if (low == frontCount) frontCount++;
+            frontOf[i] = low;
+            lastCoverage[low] = coverage[i];
+            lastSize[low] = size[i];
+        }
+
+        final List<List<Encoding>> fronts = new ArrayList<>(frontCount);
+        for (int f = 0; f < frontCount; f++) {
+            fronts.add(new ArrayList<>());
+        }
+        for (int i = 0; i < populationSize; i++) {
+            fronts.get(frontOf[i]).add(population.get(i));
+        }
+        return fronts;
+    }
+
+    /**
+     * Takes a population of encodings and returns a list of lists of non-dominating fronts
+     *
+     * This is the general fast non-dominated sorting, which compares all pairs of individuals in
+     * O(N^2). It yields the same fronts as {@link #nonDominatedSorting(List)}, possibly in a
+     * different order within the fronts, and is kept to test the latter against it.
+     *
+     * @param population a population of proposed solutions
+     * @return a list of lists of non-dominating fronts
+     */
+    public static List<List<Encoding>> nonDominatedSortingGeneral(List<Encoding> population) {
+        List<List<Integer>> fronts = new ArrayList<>();
+        List<List<Integer>> dominationSets = new ArrayList<>();
         int populationSize = population.size();
         int[] dominatedCounts = new int[populationSize];
-    
+
         for (int i = 0; i < populationSize; i++) {
-            dominationSets.add(new HashSet<>());
-            dominatedCounts[i] = 0;
+            dominationSets.add(new ArrayList<>());
             for (int j = 0; j < populationSize; j++) {
                 if (dominates(population.get(i), population.get(j))) {
                     dominationSets.get(i).add(j);
@@ -149,27 +244,34 @@ public class Utils {
             }
             if (dominatedCounts[i] == 0) {
                 if (fronts.isEmpty()) fronts.add(new ArrayList<>());
-                fronts.get(0).add(population.get(i));
+                fronts.get(0).add(i);
             }
         }
-    
+
         int currentFront = 0;
-        while (currentFront < fronts.size() && !fronts.get(currentFront).isEmpty()) {
-            List<Encoding> nextFront = new ArrayList<>();
-            for (Encoding individual : fronts.get(currentFront)) {
-                int index = population.indexOf(individual);
+        while (currentFront < fronts.size()) {
+            List<Integer> nextFront = new ArrayList<>();
+            for (int index : fronts.get(currentFront)) {
                 for (int dominatedIndex : dominationSets.get(index)) {
                     dominatedCounts[dominatedIndex]--;
                     if (dominatedCounts[dominatedIndex] == 0) {
-                        nextFront.add(population.get(dominatedIndex));
+                        nextFront.add(dominatedIndex);
                     }
                 }
             }
             if (!nextFront.isEmpty()) fronts.add(nextFront);
             currentFront++;
         }
-    
-        return fronts;
+
+        List<List<Encoding>> result = new ArrayList<>(fronts.size());
+        for (List<Integer> front : fronts) {
+            List<Encoding> individuals = new ArrayList<>(front.size());
+            for (int index : front) {
+                individuals.add(population.get(index));
+            }
+            result.add(individuals);
+        }
+        return result;
     }
 
     /**
@@ -0,0 +1,66 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.StoppingCondition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.AnyOf;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.HyperVolumeStagnation;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.MaxFitnessEvaluations;
+
+public class HyperVolumeStagnationTest {
+
+    @Test
+    public void testConstructor_InvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> HyperVolumeStagnation.of(0));
+        assertThrows(IllegalArgumentException.class, () -> new HyperVolumeStagnation(3, -0.1));
+    }
+
+    @Test
+    public void testStopsAfterStagnantGenerations() {
+        HyperVolumeStagnation condition = new HyperVolumeStagnation(3, 0.01);
+        assertTrue(condition.searchMustStop());  // not started yet
+        condition.notifySearchStarted();
+        assertFalse(condition.searchMustStop());
+
+        condition.notifyHyperVolume(0.5);
+        condition.notifyHyperVolume(0.6);
+        condition.notifyHyperVolume(0.605);  // below epsilon
+        condition.notifyHyperVolume(0.6);
+        assertFalse(condition.searchMustStop());
+        assertEquals(2.0 / 3, condition.getProgress(), 1e-9);
+
+        condition.notifyHyperVolume(0.7);  // improvement resets the count
+        assertEquals(0.0, condition.getProgress());
+        for (int i = 0; i < 3; i++) {
+            condition.notifyFitnessEvaluations(100);
+            condition.notifyHyperVolume(0.7);
+        }
+        assertTrue(condition.searchMustStop());
+    }
+
+    @Test
+    public void testAnyOf() {
+        AnyOf condition = AnyOf.of(MaxFitnessEvaluations.of(100), HyperVolumeStagnation.of(2));
+        assertEquals("AnyOf(MaxFitnessEvaluations(100), HyperVolumeStagnation(2))", condition.toString());
+        condition.notifySearchStarted();
+        condition.notifyFitnessEvaluations(50);
+        condition.notifyHyperVolume(0.4);
+        assertFalse(condition.searchMustStop());
+        assertEquals(0.5, condition.getProgress(), 1e-9);
+
+        condition.notifyHyperVolume(0.4);
+        condition.notifyHyperVolume(0.4);
+        assertTrue(condition.searchMustStop());  // the front stopped improving before the budget was used up
+
+        condition.notifySearchStarted();
+        assertFalse(condition.searchMustStop());
+        condition.notifyFitnessEvaluations(100);
+        assertTrue(condition.searchMustStop());
+        assertThrows(IllegalArgumentException.class, () -> condition.notifyFitnessEvaluations(-1));
+        assertThrows(IllegalArgumentException.class, () -> AnyOf.of());
+    }
+}
@@ -0,0 +1,50 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.StoppingCondition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.MaxTime;
+
+public class MaxTimeTest {
+
+    @Test
+    public void testConstructor_InvalidTime() {
+        assertThrows(IllegalArgumentException.class, () -> new MaxTime(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new MaxTime(Duration.ofSeconds(-1)));
+        assertThrows(IllegalArgumentException.class, () -> new MaxTime(null));
+    }
+
+    @Test
+    public void testSearchMustStop_BeforeStart() {
+        assertTrue(MaxTime.ofSeconds(10).searchMustStop());
+    }
+
+    @Test
+    public void testSearchMustStop_WithinTime() {
+        MaxTime condition = MaxTime.ofSeconds(60);
+        condition.notifySearchStarted();
+        condition.notifyFitnessEvaluations(1000);
+        assertFalse(condition.searchMustStop());
+        assertTrue(condition.getProgress() < 0.5);
+    }
+
+    @Test
+    public void testSearchMustStop_AfterTime() throws InterruptedException {
+        MaxTime condition = new MaxTime(Duration.ofMillis(20));
+        condition.notifySearchStarted();
+        Thread.sleep(40);
+        assertTrue(condition.searchMustStop());
+        assertEquals(1.0, condition.getProgress());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("MaxTime(PT1M)", MaxTime.ofSeconds(60).toString());
+    }
+}
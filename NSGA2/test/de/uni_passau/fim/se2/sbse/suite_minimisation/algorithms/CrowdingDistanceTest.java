@@ -0,0 +1,99 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.crossover.GeneCrossover;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.BitFlipMutation;
+
+public class CrowdingDistanceTest {
+
+    private Random random = new Random(13);
+    private BitFlipMutation mutation = new BitFlipMutation(random);
+    private GeneCrossover crossover = new GeneCrossover(random);
+    private boolean[][] coverageMatrix = {
+        {true, false, true, false, true},
+        {false, false, true, false, false},
+        {true, false, true, false, false},
+        {true, false, false, true, false},
+        {false, true, true, false, false}
+    };
+
+    private CrowdingDistance crowdingDistance = new CrowdingDistance();
+
+    @Test
+    public void testBoundariesAndNormalisation() {
+        Encoding c1 = new Encoding(mutation, crossover, new int[]{0, 1, 0, 0, 0}, coverageMatrix);  //  0.2, 0.2
+        Encoding c2 = new Encoding(mutation, crossover, new int[]{1, 0, 0, 0, 0}, coverageMatrix);  //  0.6, 0.2
+        Encoding c3 = new Encoding(mutation, crossover, new int[]{1, 0, 0, 1, 0}, coverageMatrix);  //  0.8, 0.4
+        Encoding c4 = new Encoding(mutation, crossover, new int[]{1, 0, 0, 1, 1}, coverageMatrix);  //  1.0, 0.6
+        List<Encoding> front = new ArrayList<>(List.of(c3, c1, c4, c2));
+
+        crowdingDistance.assign(front);
+
+        assertEquals(Double.POSITIVE_INFINITY, c1.getDistance());
+        assertEquals(Double.POSITIVE_INFINITY, c4.getDistance());
+        // coverage: (0.8 - 0.2) / 0.8, size: (0.4 - 0.2) / 0.4
+        assertEquals(0.75 + 0.5, c2.getDistance(), 1e-9);
+        // coverage: (1.0 - 0.6) / 0.8, size: (0.6 - 0.2) / 0.4
+        assertEquals(0.5 + 1.0, c3.getDistance(), 1e-9);
+        assertEquals(List.of(c3, c1, c4, c2), front);  //  the order of the front is kept
+    }
+
+    @Test
+    public void testSmallFronts() {
+        Encoding c1 = new Encoding(mutation, crossover, new int[]{0, 1, 0, 0, 0}, coverageMatrix);
+        crowdingDistance.assign(new ArrayList<>());
+        crowdingDistance.assign(List.of(c1));
+        assertEquals(Double.POSITIVE_INFINITY, c1.getDistance());
+    }
+
+    @Test
+    public void testMatchesReferenceOnLargeFronts() {
+        for (int size : new int[]{50, CrowdingDistance.PARALLEL_THRESHOLD + 10}) {
+            List<Encoding> front = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int[] genes = new int[5];
+                for (int j = 0; j < genes.length; j++) {
+                    genes[j] = random.nextInt(2);
+                }
+                front.add(new Encoding(mutation, crossover, genes, coverageMatrix));
+            }
+            crowdingDistance.assign(front);
+
+            double[] expected = new double[size];
+            addReferenceDistances(front, Encoding::getCoverageMaxFitness, expected);
+            addReferenceDistances(front, Encoding::getTestCaseMinFitness, expected);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected[i], front.get(i).getDistance(), 1e-9);
+            }
+        }
+    }
+
+    private static void addReferenceDistances(List<Encoding> front, ToDoubleFunction<Encoding> objective,
+                                              double[] distances) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < front.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble(i -> objective.applyAsDouble(front.get(i))));
+        int last = order.size() - 1;
+        double min = objective.applyAsDouble(front.get(order.get(0)));
+        double range = objective.applyAsDouble(front.get(order.get(last))) - min;
+        distances[order.get(0)] = Double.POSITIVE_INFINITY;
+        distances[order.get(last)] = Double.POSITIVE_INFINITY;
+        for (int j = 1; j < last; j++) {
+            double next = objective.applyAsDouble(front.get(order.get(j + 1)));
+            double previous = objective.applyAsDouble(front.get(order.get(j - 1)));
+            distances[order.get(j)] += range == 0 ? 0 : (next - previous) / range;
+        }
+    }
+}
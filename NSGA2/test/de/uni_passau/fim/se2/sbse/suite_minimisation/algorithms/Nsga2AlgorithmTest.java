@@ -1,12 +1,18 @@
 package de.uni_passau.fim.se2.sbse.suite_minimisation.algorithms;
 
 import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +22,7 @@ import de.uni_passau.fim.se2.sbse.suite_minimisation.crossover.GeneCrossover;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.BitFlipMutation;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.selection.BinaryTournamentSelection;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.stopping_conditions.MaxFitnessEvaluations;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.CoverageReduction;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Utils;
 
 public class Nsga2AlgorithmTest {
@@ -115,4 +122,136 @@ public class Nsga2AlgorithmTest {
         Encoding c2 = front.get(1);
         assertFalse(Utils.dominates(c1, c2));  // chromosomes in the same front should not dominate each other
     }
+
+    @Test
+    public void testCrowdedComparison() {
+        Encoding c1 = new Encoding(mutation, crossover, new int[]{1, 0, 0, 1, 1}, coverageMatrix);
+        Encoding c2 = new Encoding(mutation, crossover, new int[]{0, 1, 1, 1, 0}, coverageMatrix);
+        c1.setRank(0);
+        c1.setDistance(0.5);
+        c2.setRank(1);
+        c2.setDistance(Double.POSITIVE_INFINITY);
+        assertTrue(Nsga2Algorithm.CROWDED_COMPARISON.compare(c1, c2) > 0);  // the lower front wins
+        assertTrue(Nsga2Algorithm.CROWDED_COMPARISON.compare(c2, c1) < 0);
+
+        c2.setRank(0);
+        assertTrue(Nsga2Algorithm.CROWDED_COMPARISON.compare(c2, c1) > 0);  // then the less crowded one
+        c2.setDistance(0.5);
+        assertTrue(Nsga2Algorithm.CROWDED_COMPARISON.compare(c1, c2) == 0);
+    }
+
+    @Test
+    public void testGenerateOffspringIsReproducibleAcrossThreadCounts() throws Exception {
+        List<Encoding> population = algorithm.generatePopulation(101);
+        List<Encoding> sequential = offspringOn(new ForkJoinPool(1), population);
+        List<Encoding> parallel = offspringOn(new ForkJoinPool(4), population);
+
+        assertEquals(102, sequential.size());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertArrayEquals(sequential.get(i).getGenes(), parallel.get(i).getGenes());
+            assertEquals(sequential.get(i).getCoverageMaxFitness(), parallel.get(i).getCoverageMaxFitness(), 0.0);
+        }
+    }
+
+    private List<Encoding> offspringOn(ForkJoinPool pool, List<Encoding> population) throws Exception {
+        Nsga2Algorithm seeded = new Nsga2Algorithm(
+            stoppingCondition,
+            encodingGenerator,
+            new BinaryTournamentSelection<>(Nsga2Algorithm.CROWDED_COMPARISON, new Random(21)),
+            new Random(21)
+        );
+        try {
+            return pool.submit(() -> seeded.generateOffspring(population)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSeededPopulationOfReducedProblem() {
+        CoverageReduction reduction = CoverageReduction.of(coverageMatrix, false);
+        boolean[][] reducedMatrix = reduction.getReducedMatrix();
+        EncodingGenerator generator = new EncodingGenerator(random, mutation, crossover, reducedMatrix.length, reducedMatrix);
+        Nsga2Algorithm seeded = new Nsga2Algorithm(stoppingCondition, generator, selection, random, reduction, 0.5);
+
+        List<Encoding> population = seeded.generatePopulation(10);
+        assertEquals(10, population.size());
+        // the seeds come first, and the greedy solutions among them reach full coverage
+        assertTrue(population.subList(0, 5).stream().anyMatch(c -> c.getCoverageMaxFitness() == 1.0));
+
+        List<Encoding> front = seeded.findSolution();
+        assertTrue(front.get(0).getCoverageMatrix() == coverageMatrix);
+        assertThrows(IllegalArgumentException.class,
+            () -> new Nsga2Algorithm(stoppingCondition, generator, selection, random, reduction, 1.5));
+    }
+
+    @Test
+    public void testCountsEveryEvaluatedChromosome() {
+        MaxFitnessEvaluations budget = new MaxFitnessEvaluations(1200);  //  the initial population and one generation
+        Nsga2Algorithm algorithm = new Nsga2Algorithm(budget, encodingGenerator, selection, random);
+        algorithm.findSolution();
+        assertEquals(1.0, budget.getProgress(), 0.0);
+
+        MaxFitnessEvaluations tooSmall = new MaxFitnessEvaluations(10);
+        List<Encoding> front = new Nsga2Algorithm(tooSmall, encodingGenerator, selection, random).findSolution();
+        assertEquals(600 / 10.0, tooSmall.getProgress(), 0.0);
+        for (Encoding c1 : front) {
+            for (Encoding c2 : front) {
+                assertFalse(Utils.dominates(c1, c2));  //  only the first front is returned
+            }
+        }
+    }
+
+    @Test
+    public void testRecordsConvergence() {
+        assertTrue(algorithm.getConvergence().isEmpty());
+        List<Encoding> front = algorithm.findSolution();
+        List<GenerationStats> convergence = algorithm.getConvergence();
+        assertEquals(0, convergence.get(0).generation());
+        assertEquals(600, convergence.get(0).evaluations());
+        for (int i = 1; i < convergence.size(); i++) {
+            GenerationStats previous = convergence.get(i - 1);
+            GenerationStats current = convergence.get(i);
+            assertEquals(i, current.generation());
+            assertTrue(current.evaluations() > previous.evaluations());
+            assertTrue(current.elapsedMillis() >= previous.elapsedMillis());
+            assertTrue(current.hyperVolume() >= previous.hyperVolume());  //  the archive never loses suites
+        }
+        GenerationStats last = convergence.get(convergence.size() - 1);
+        assertTrue(last.hyperVolume() >= Utils.computeHyperVolume(front) - 1e-12);
+        assertTrue(last.hyperVolume() <= 1.0);
+        assertEquals(5, last.toCsv().split(",").length);
+    }
+
+    @Test
+    public void testOffspringGetFreshRanksAndDistances() {
+        List<Encoding> population = algorithm.generatePopulation(50);
+        List<Encoding> offspring = algorithm.generateOffspring(population);
+        for (Encoding child : offspring) {
+            child.setRank(-1);  //  stale values, as copied from a parent
+            child.setDistance(-1);
+        }
+        List<Encoding> combined = new ArrayList<>(population);
+        combined.addAll(offspring);
+
+        List<Encoding> nextGeneration = algorithm.selectNextGeneration(population, offspring);
+        Map<Encoding, Double> selectedDistances = new IdentityHashMap<>();
+        for (Encoding individual : nextGeneration) {
+            selectedDistances.put(individual, individual.getDistance());
+        }
+
+        List<List<Encoding>> fronts = Utils.nonDominatedSorting(combined);
+        CrowdingDistance crowdingDistance = new CrowdingDistance();
+        for (int rank = 0; rank < fronts.size(); rank++) {
+            crowdingDistance.assign(fronts.get(rank));
+            for (Encoding individual : fronts.get(rank)) {
+                if (selectedDistances.containsKey(individual)) {
+                    assertEquals(rank, individual.getRank());
+                    assertEquals(individual.getDistance(), selectedDistances.get(individual), 0.0);
+                }
+            }
+        }
+        assertFalse(nextGeneration.stream().anyMatch(individual -> individual.getRank() < 0));
+    }
 }
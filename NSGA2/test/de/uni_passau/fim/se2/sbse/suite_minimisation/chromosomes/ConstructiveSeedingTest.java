@@ -0,0 +1,84 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.crossover.GeneCrossover;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.BitFlipMutation;
+
+public class ConstructiveSeedingTest {
+    private Random random = new Random(17);
+    private BitFlipMutation mutation = new BitFlipMutation(random);
+    private GeneCrossover crossover = new GeneCrossover(random);
+    private boolean[][] coverageMatrix = {
+        {true, false, true, false, true},
+        {false, false, true, false, false},
+        {true, false, true, false, false},
+        {true, false, false, true, false},
+        {false, true, true, false, false}
+    };
+
+    private ConstructiveSeeding seeding = new ConstructiveSeeding(random, mutation, crossover, coverageMatrix);
+
+    @Test
+    public void testNullInputValues() {
+        assertThrows(IllegalArgumentException.class, () -> new ConstructiveSeeding(null, mutation, crossover, coverageMatrix));
+        assertThrows(IllegalArgumentException.class, () -> new ConstructiveSeeding(random, mutation, crossover, null));
+        assertThrows(IllegalArgumentException.class, () -> seeding.seeds(-1));
+    }
+
+    @Test
+    public void testGreedyAndHgsOrders() {
+        assertArrayEquals(new int[]{0, 3, 4}, seeding.greedyOrder(false));
+        assertArrayEquals(new int[]{0, 3, 4}, seeding.hgsOrder(false));
+    }
+
+    @Test
+    public void testHgsNeedsFewerTestsThanGreedy() {
+        boolean[][] matrix = {
+            {true, true, true, true, false, false},
+            {true, true, false, false, true, false},
+            {false, false, true, true, false, true}
+        };
+        ConstructiveSeeding seeding = new ConstructiveSeeding(random, mutation, crossover, matrix);
+        assertArrayEquals(new int[]{0, 1, 2}, seeding.greedyOrder(false));
+        assertArrayEquals(new int[]{1, 2}, seeding.hgsOrder(false));
+    }
+
+    @Test
+    public void testSeedsArePrefixes() {
+        List<Encoding> seeds = seeding.seeds(3);
+        assertEquals(3, seeds.size());
+        assertArrayEquals(new int[]{1, 0, 0, 0, 0}, seeds.get(0).getGenes());
+        assertArrayEquals(new int[]{1, 0, 0, 1, 0}, seeds.get(1).getGenes());
+        assertArrayEquals(new int[]{1, 0, 0, 1, 1}, seeds.get(2).getGenes());
+        assertTrue(seeds.get(2).getCoverageMaxFitness() == 1.0);
+        assertTrue(seeding.seeds(0).isEmpty());
+    }
+
+    @Test
+    public void testRandomisedSeedsAreDistinct() {
+        List<Encoding> seeds = seeding.seeds(8);
+        assertTrue(seeds.size() <= 8);
+        assertTrue(seeds.size() > 3);
+        assertEquals(seeds.size(), new HashSet<>(seeds).size());
+        for (Encoding seed : seeds) {
+            assertTrue(seed.presenTestCases() > 0);
+        }
+    }
+
+    @Test
+    public void testNoSeedsWithoutCoverage() {
+        boolean[][] matrix = {{false, false}, {false, false}};
+        ConstructiveSeeding seeding = new ConstructiveSeeding(random, mutation, crossover, matrix);
+        assertTrue(seeding.seeds(5).isEmpty());
+    }
+}
@@ -39,4 +39,19 @@ public class EncodingGeneratorTest {
     public void testWithCorrectInupts() {
         assertTrue(generator.get() instanceof Encoding);
     }
+
+    @Test
+    public void testNeverGeneratesEmptySuites() {
+        boolean[][] matrix = {{false, true}};
+        EncodingGenerator generator = new EncodingGenerator(new Random(1), mutation, crossover, 1, matrix);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(generator.get().presenTestCases() == 1);
+        }
+    }
+
+    @Test
+    public void testSeeds() {
+        assertTrue(generator.seeds(3).size() == 3);
+        assertTrue(generator.seeds(3).get(2).getCoverageMaxFitness() == 1.0);
+    }
 }
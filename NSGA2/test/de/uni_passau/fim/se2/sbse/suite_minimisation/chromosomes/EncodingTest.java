@@ -3,10 +3,13 @@ package de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -48,7 +51,7 @@ public class EncodingTest {
 
     @Test
     public void testConstructor_ValidInput() {
-        assertEquals(genes, encoding.getGenes());
+        assertArrayEquals(genes, encoding.getGenes());
         assertEquals(coverageMatrix, encoding.getCoverageMatrix());
         assertEquals(genes.length, encoding.chromosomeSize());
         assertTrue(coverageFitness == maxfunc.applyAsDouble(encoding));
@@ -94,4 +97,84 @@ public class EncodingTest {
         assertTrue(c instanceof Encoding);
         assertTrue(c.getCoverageMaxFitness() == encoding.getCoverageMaxFitness());
     }
+
+    @Test
+    public void testObjectivesAreCachedAndCopied() {
+        Encoding c = new Encoding(mutation, crossover, genes2, coverageMatrix);
+        double coverage = c.getCoverageMaxFitness();
+        double size = c.getTestCaseMinFitness();
+        assertTrue(coverage == 0.8);
+        assertTrue(size == 0.6);
+        assertTrue(c.getCoverageMaxFitness() == coverage);
+        assertTrue(c.copy().getCoverageMaxFitness() == coverage);
+        assertTrue(new Encoding(c).getTestCaseMinFitness() == size);
+    }
+
+    @Test
+    public void testPackedGenesAcrossWords() {
+        int[] longGenes = new int[130];
+        longGenes[0] = longGenes[63] = longGenes[64] = longGenes[129] = 1;
+        boolean[][] matrix = new boolean[130][1];
+        Encoding c = new Encoding(mutation, crossover, longGenes, matrix);
+        assertEquals(3, c.getWords().length);
+        assertEquals(4, c.presenTestCases());
+        assertTrue(c.isPresent(63) && c.isPresent(64) && !c.isPresent(65));
+        assertArrayEquals(longGenes, c.getGenes());
+        assertThrows(IllegalArgumentException.class, () -> new Encoding(mutation, crossover, new long[1], 130, matrix));
+    }
+
+    @Test
+    public void testIncrementalCoverageOfDerivedEncodings() {
+        Random matrixRandom = new Random(11);
+        boolean[][] matrix = new boolean[200][1000];
+        for (boolean[] row : matrix) {
+            for (int k = 0; k < 5; k++) {
+                row[matrixRandom.nextInt(row.length)] = true;
+            }
+        }
+        int[] all = new int[200];
+        Arrays.fill(all, 1);
+        Encoding parent = new Encoding(mutation, crossover, all, matrix);
+
+        Encoding child = parent;
+        for (int step = 0; step < 20; step++) {
+            long[] words = child.getWords().clone();
+            int flipped = matrixRandom.nextInt(200);
+            words[flipped >>> 6] ^= 1L << flipped;
+            child = new Encoding(mutation, crossover, words, child);
+            Encoding fresh = new Encoding(mutation, crossover, child.getGenes(), matrix);
+            assertTrue(child.getCoverageMaxFitness() == fresh.getCoverageMaxFitness());
+        }
+    }
+
+    @Test
+    public void testConcurrentEvaluationOfDerivedEncodings() {
+        Random matrixRandom = new Random(13);
+        boolean[][] matrix = new boolean[200][1000];
+        for (boolean[] row : matrix) {
+            for (int k = 0; k < 5; k++) {
+                row[matrixRandom.nextInt(row.length)] = true;
+            }
+        }
+        int[] all = new int[200];
+        Arrays.fill(all, 1);
+        Encoding parent = new Encoding(mutation, crossover, all, matrix);
+
+        Encoding[] children = new Encoding[64];
+        for (int i = 0; i < children.length; i++) {
+            long[] words = parent.getWords().clone();
+            int flipped = matrixRandom.nextInt(200);
+            words[flipped >>> 6] ^= 1L << flipped;
+            children[i] = new Encoding(mutation, crossover, words, parent);
+        }
+        //  the parent and its copies share their cover counts with all children evaluated at once
+        double[] coverages = IntStream.range(0, children.length).parallel()
+            .mapToDouble(i -> children[i].copy().getCoverageMaxFitness())
+            .toArray();
+        for (int i = 0; i < children.length; i++) {
+            Encoding fresh = new Encoding(mutation, crossover, children[i].getGenes(), matrix);
+            assertTrue(coverages[i] == fresh.getCoverageMaxFitness());
+            assertTrue(children[i].getCoverageMaxFitness() == coverages[i]);
+        }
+    }
 }
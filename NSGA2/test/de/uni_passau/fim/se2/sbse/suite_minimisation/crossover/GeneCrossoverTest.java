@@ -1,9 +1,11 @@
 package de.uni_passau.fim.se2.sbse.suite_minimisation.crossover;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Random;
+import java.util.SplittableRandom;
 import org.junit.jupiter.api.Test;
 
 import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
@@ -45,4 +47,41 @@ public class GeneCrossoverTest {
         Pair<Encoding> pair = new Pair<>(c1, c2);
         assertTrue(crossover.apply(pair) instanceof Pair);
     }
+
+    @Test
+    public void testSinglePointCrossoverAcrossWords() {
+        int n = 150;
+        int[] genes1 = new int[n];
+        int[] genes2 = new int[n];
+        Random genesRandom = new Random(3);
+        for (int i = 0; i < n; i++) {
+            genes1[i] = genesRandom.nextInt(2);
+            genes2[i] = genesRandom.nextInt(2);
+        }
+        boolean[][] matrix = new boolean[n][1];
+        Encoding parent1 = new Encoding(mutation, crossover, genes1, matrix);
+        Encoding parent2 = new Encoding(mutation, crossover, genes2, matrix);
+
+        for (int seed = 0; seed < 50; seed++) {
+            int pos = new Random(seed).nextInt(n);
+            Pair<Encoding> children = new GeneCrossover(new Random(seed)).apply(parent1, parent2);
+            int[] expected1 = new int[n];
+            int[] expected2 = new int[n];
+            for (int i = 0; i < n; i++) {
+                expected1[i] = i < pos ? genes1[i] : genes2[i];
+                expected2[i] = i < pos ? genes2[i] : genes1[i];
+            }
+            assertArrayEquals(expected1, children.getFst().getGenes());
+            assertArrayEquals(expected2, children.getSnd().getGenes());
+        }
+    }
+
+    @Test
+    public void testGivenSourceOfRandomness() {
+        Pair<Encoding> first = crossover.apply(c1, c2, new SplittableRandom(3));
+        Pair<Encoding> second = c1.crossover(c2, new SplittableRandom(3));
+        assertArrayEquals(first.getFst().getGenes(), second.getFst().getGenes());
+        assertArrayEquals(first.getSnd().getGenes(), second.getSnd().getGenes());
+        assertThrows(NullPointerException.class, () -> crossover.apply(c1, c2, null));
+    }
 }
@@ -70,4 +70,18 @@ public class CoverageMaximizationFitnessTest {
         MaximizingFitnessFunction<Encoding> scaledFitness = fitness.andThenAsDouble(f -> f * 2);
         assertTrue(2 * fitness.applyAsDouble(c1) == scaledFitness.applyAsDouble(c1));
     }
+
+    @Test
+    public void testCoverageOfOtherMatrix() {
+        boolean[][] otherMatrix = {
+            {false, false, false, false, true},
+            {false, false, false, false, false},
+            {false, false, false, false, false},
+            {false, false, false, false, false},
+            {false, false, false, false, false}
+        };
+        CoverageMaximizationFitness otherFitness = new CoverageMaximizationFitness(otherMatrix);
+        assertTrue(otherFitness.applyAsDouble(c1) == 0.2);
+        assertTrue(fitness.applyAsDouble(c1) == c1.getCoverageMaxFitness());
+    }
 }
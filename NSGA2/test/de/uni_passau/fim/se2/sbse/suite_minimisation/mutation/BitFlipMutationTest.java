@@ -50,5 +50,11 @@ public class BitFlipMutationTest {
         // Ensure the original chromosome remains unchanged
         assertArrayEquals(original.getGenes(), c1.getGenes());
     }
-    
+
+    @Test
+    public void testSingleGeneIsFlipped() {
+        Encoding single = new Encoding(mutation, crossover, new int[]{1}, new boolean[][]{{true}});
+        assertArrayEquals(new int[]{0}, mutation.apply(single).getGenes());
+        assertArrayEquals(new int[]{1}, single.getGenes());
+    }
 }
@@ -15,6 +15,7 @@ import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.EncodingGenerator;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.crossover.GeneCrossover;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.BitFlipMutation;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Pair;
 import de.uni_passau.fim.se2.sbse.suite_minimisation.utils.Utils;
 
 public class BinaryTournamentSelectionTest {
@@ -100,4 +101,36 @@ public class BinaryTournamentSelectionTest {
         List<Encoding> population = generatePopulation(testSuiteSize);
         assertTrue(selection.apply(population) instanceof Encoding);
     }
+
+    @Test
+    public void testApply_neverPlaysAgainstItself() {
+        Comparator<Encoding> preferFirst = (e1, e2) -> e1 == c1 ? 1 : e2 == c1 ? -1 : 0;
+        BinaryTournamentSelection<Encoding> selection = new BinaryTournamentSelection<>(preferFirst, new Random(5));
+        List<Encoding> population = List.of(c1, c2);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(selection.apply(population) == c1);  // c1 takes part in every tournament
+        }
+    }
+
+    @Test
+    public void testMatingPairs_sameAsRepeatedApply() {
+        BinaryTournamentSelection<Encoding> batch = new BinaryTournamentSelection<>(comparator, new Random(11));
+        BinaryTournamentSelection<Encoding> single = new BinaryTournamentSelection<>(comparator, new Random(11));
+        List<Encoding> population = generatePopulation(10);
+
+        List<Pair<Encoding>> pairs = batch.matingPairs(population, 7);
+        assertEquals(7, pairs.size());
+        for (Pair<Encoding> pair : pairs) {
+            assertTrue(single.apply(population) == pair.getFst());
+            assertTrue(single.apply(population) == pair.getSnd());
+        }
+    }
+
+    @Test
+    public void testMatingPairs_invalidArguments() {
+        assertThrows(NullPointerException.class, () -> selection.matingPairs(null, 1));
+        assertThrows(NoSuchElementException.class, () -> selection.matingPairs(new ArrayList<>(), 1));
+        assertThrows(IllegalArgumentException.class, () -> selection.matingPairs(List.of(c1), -1));
+        assertTrue(selection.matingPairs(List.of(c1), 0).isEmpty());
+    }
 }
@@ -0,0 +1,104 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BitCoverageMatrixTest {
+
+    private boolean[][] coverageMatrix = {
+        {true, false, true, false, true},
+        {false, false, true, false, false},
+        {true, false, true, false, false},
+        {true, false, false, true, false},
+        {false, true, true, false, false}
+    };
+
+    private BitCoverageMatrix bits = new BitCoverageMatrix(coverageMatrix);
+
+    @Test
+    public void testNullMatrix() {
+        assertThrows(NullPointerException.class, () -> new BitCoverageMatrix(null));
+        assertThrows(NullPointerException.class, () -> BitCoverageMatrix.of(null));
+    }
+
+    @Test
+    public void testDimensionsAndEntries() {
+        assertEquals(5, bits.tests());
+        assertEquals(5, bits.lines());
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                assertEquals(coverageMatrix[i][j], bits.covers(i, j));
+            }
+        }
+        assertEquals(3, bits.linesCoveredBy(0));
+        assertEquals(1, bits.linesCoveredBy(1));
+    }
+
+    @Test
+    public void testCoverage() {
+        assertEquals(5, bits.coveredLines(new int[]{1, 0, 0, 1, 1}));
+        assertEquals(3, bits.coveredLines(new int[]{0, 1, 1, 1, 0}));
+        assertEquals(0, bits.coveredLines(new int[]{0, 0, 0, 0, 0}));
+        assertTrue(bits.coverage(new int[]{0, 0, 1, 1, 1}) == 0.8);
+    }
+
+    @Test
+    public void testOfReturnsSharedInstance() {
+        assertTrue(BitCoverageMatrix.of(coverageMatrix) == BitCoverageMatrix.of(coverageMatrix));
+        boolean[][] other = {{true}};
+        assertFalse(BitCoverageMatrix.of(other) == BitCoverageMatrix.of(coverageMatrix));
+    }
+
+    @Test
+    public void testCoverageAcrossWords() {
+        Random random = new Random(7);
+        boolean[][] matrix = new boolean[20][150];
+        for (boolean[] row : matrix) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = random.nextDouble() < 0.05;
+            }
+        }
+        int[] genes = new int[20];
+        for (int i = 0; i < genes.length; i++) {
+            genes[i] = random.nextBoolean() ? 1 : 0;
+        }
+
+        int expected = 0;
+        for (int j = 0; j < 150; j++) {
+            for (int i = 0; i < 20; i++) {
+                if (genes[i] == 1 && matrix[i][j]) {
+                    expected++;
+                    break;
+                }
+            }
+        }
+        assertEquals(expected, new BitCoverageMatrix(matrix).coveredLines(genes));
+    }
+
+    @Test
+    public void testLineIndex() {
+        assertArrayEquals(new int[]{0, 2, 4}, bits.linesOf(0));
+        assertArrayEquals(new int[]{1, 2}, bits.linesOf(4));
+        assertTrue(bits.averageLinesPerTest() == 2.0);
+    }
+
+    @Test
+    public void testCoverCountsAndChanges() {
+        long[] from = {0b11001L};  //  test cases 0, 3 and 4
+        int[] counts = new int[5];
+        assertEquals(5, bits.coverCounts(from, counts));
+        assertArrayEquals(new int[]{2, 1, 2, 1, 1}, counts);
+
+        long[] to = {0b01110L};  //  test cases 1, 2 and 3
+        assertEquals(-2, bits.applyChanges(counts, from, to));
+        assertArrayEquals(new int[]{2, 0, 2, 1, 0}, counts);
+        assertEquals(3, bits.coveredLines(to));
+    }
+}
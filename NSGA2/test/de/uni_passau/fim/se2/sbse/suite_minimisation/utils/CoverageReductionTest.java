@@ -0,0 +1,121 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.crossover.GeneCrossover;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.BitFlipMutation;
+
+public class CoverageReductionTest {
+
+    private Random random = new Random(3);
+    private BitFlipMutation mutation = new BitFlipMutation(random);
+    private GeneCrossover crossover = new GeneCrossover(random);
+
+    private boolean[][] coverageMatrix = {
+        {true, true, false, false, false, false},   //  0
+        {true, false, false, false, false, false},  //  1: covered by test 0
+        {false, false, true, true, false, false},   //  2
+        {false, false, true, true, false, false},   //  3: same as test 2
+        {false, true, false, false, true, false}    //  4
+    };
+
+    @Test
+    public void testNullMatrix() {
+        assertThrows(NullPointerException.class, () -> CoverageReduction.of(null, false));
+    }
+
+    @Test
+    public void testDominatedTestsAndIdenticalLines() {
+        CoverageReduction reduction = CoverageReduction.of(coverageMatrix, false);
+
+        assertFalse(reduction.isEssentialTestsForced());
+        assertArrayEquals(new int[]{0, 2, 4}, reduction.getTests());
+        assertArrayEquals(new int[]{0, 2, 4}, reduction.getEssentialTests());
+        //  lines 2 and 3 are merged, line 5 is covered by no test
+        assertArrayEquals(new int[]{1, 1, 2, 1}, reduction.getWeights());
+        assertEquals(3, reduction.getReducedMatrix().length);
+        assertEquals(4, reduction.getReducedMatrix()[0].length);
+    }
+
+    @Test
+    public void testReducedObjectivesMatchOriginalOnes() {
+        CoverageReduction reduction = CoverageReduction.of(coverageMatrix, false);
+        Encoding reduced = new Encoding(mutation, crossover, new int[]{1, 1, 0}, reduction.getReducedMatrix());
+        assertEquals(4.0 / 6, reduced.getCoverageMaxFitness(), 1e-12);
+        assertEquals(2.0 / 5, reduced.getTestCaseMinFitness(), 1e-12);
+
+        Encoding original = reduction.expand(reduced);
+        assertArrayEquals(new int[]{1, 0, 1, 0, 0}, original.getGenes());
+        assertTrue(original.getCoverageMatrix() == coverageMatrix);
+        assertEquals(reduced.getCoverageMaxFitness(), original.getCoverageMaxFitness(), 1e-12);
+        assertEquals(reduced.getTestCaseMinFitness(), original.getTestCaseMinFitness(), 1e-12);
+    }
+
+    @Test
+    public void testForcedEssentialTests() {
+        boolean[][] matrix = {
+            {true, false, false, false},  //  the only test covering line 0
+            {false, true, true, false},
+            {false, false, true, true},
+            {false, true, false, true}
+        };
+        CoverageReduction reduction = CoverageReduction.of(matrix, true);
+        assertTrue(reduction.isEssentialTestsForced());
+        assertArrayEquals(new int[]{0}, reduction.getEssentialTests());
+        assertArrayEquals(new int[]{1, 2, 3}, reduction.getTests());
+
+        Encoding reduced = new Encoding(mutation, crossover, new int[]{1, 0, 0}, reduction.getReducedMatrix());
+        assertEquals(3.0 / 4, reduced.getCoverageMaxFitness(), 1e-12);
+        assertEquals(2.0 / 4, reduced.getTestCaseMinFitness(), 1e-12);
+
+        List<Encoding> original = reduction.expand(List.of(reduced));
+        assertArrayEquals(new int[]{1, 1, 0, 0}, original.get(0).getGenes());
+        assertEquals(3.0 / 4, original.get(0).getCoverageMaxFitness(), 1e-12);
+    }
+
+    @Test
+    public void testNoTestLeftToSearch() {
+        //  test 2 is covered by test 1, which leaves tests 0 and 1 as the only ones covering lines 0 and 2
+        boolean[][] matrix = {
+            {true, true, false},
+            {false, true, true},
+            {false, false, true}
+        };
+        CoverageReduction reduction = CoverageReduction.of(matrix, true);
+        assertArrayEquals(new int[]{0, 1}, reduction.getEssentialTests());
+        assertEquals(0, reduction.getTests().length);
+    }
+
+    @Test
+    public void testReducedCoverageOnRandomMatrices() {
+        for (int round = 0; round < 20; round++) {
+            boolean[][] matrix = new boolean[12][30];
+            for (boolean[] row : matrix) {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = random.nextDouble() < 0.15;
+                }
+            }
+            CoverageReduction reduction = CoverageReduction.of(matrix, round % 2 == 0);
+            int tests = reduction.getTests().length;
+            if (tests == 0) continue;
+            int[] genes = new int[tests];
+            for (int i = 0; i < tests; i++) {
+                genes[i] = random.nextInt(2);
+            }
+            Encoding reduced = new Encoding(mutation, crossover, genes, reduction.getReducedMatrix());
+            Encoding original = reduction.expand(reduced);
+            assertEquals(original.getCoverageMaxFitness(), reduced.getCoverageMaxFitness(), 1e-12);
+            assertEquals(original.getTestCaseMinFitness(), reduced.getTestCaseMinFitness(), 1e-12);
+        }
+    }
+}
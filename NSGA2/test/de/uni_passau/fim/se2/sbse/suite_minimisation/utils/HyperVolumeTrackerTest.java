@@ -0,0 +1,81 @@
+package de.uni_passau.fim.se2.sbse.suite_minimisation.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_minimisation.chromosomes.Encoding;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.crossover.GeneCrossover;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.fitness_functions.CoverageMaximizationFitness;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.fitness_functions.TestCaseMinimizationFitness;
+import de.uni_passau.fim.se2.sbse.suite_minimisation.mutation.BitFlipMutation;
+
+public class HyperVolumeTrackerTest {
+
+    private Random random = new Random(5);
+    private BitFlipMutation mutation = new BitFlipMutation(random);
+    private GeneCrossover crossover = new GeneCrossover(random);
+
+    @Test
+    public void testStaircase() {
+        HyperVolumeTracker tracker = new HyperVolumeTracker();
+        assertEquals(0.0, tracker.getHyperVolume(), 0.0);
+
+        assertTrue(tracker.add(0.5, 0.2));
+        assertEquals(0.5 * 0.8, tracker.getHyperVolume(), 1e-12);
+        assertTrue(tracker.add(1.0, 0.6));
+        assertEquals(0.5 * 0.8 + 0.5 * 0.4, tracker.getHyperVolume(), 1e-12);
+        assertEquals(2, tracker.frontSize());
+
+        assertFalse(tracker.add(0.4, 0.3));  //  dominated
+        assertFalse(tracker.add(0.5, 0.2));  //  already there
+        assertFalse(tracker.add(0.0, 0.0));  //  outside the reference box
+        assertEquals(2, tracker.frontSize());
+
+        assertTrue(tracker.add(0.8, 0.2));  //  dominates the first point
+        assertEquals(0.8 * 0.8 + 0.2 * 0.4, tracker.getHyperVolume(), 1e-12);
+        assertEquals(2, tracker.frontSize());
+
+        assertTrue(tracker.add(1.0, 0.1));  //  dominates every point
+        assertEquals(0.9, tracker.getHyperVolume(), 1e-12);
+        assertEquals(1, tracker.frontSize());
+
+        tracker.clear();
+        assertEquals(0.0, tracker.getHyperVolume(), 0.0);
+        assertEquals(0, tracker.frontSize());
+    }
+
+    @Test
+    public void testMatchesHyperVolumeOfFront() {
+        boolean[][] coverageMatrix = new boolean[12][40];
+        for (boolean[] row : coverageMatrix) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = random.nextDouble() < 0.2;
+            }
+        }
+        CoverageMaximizationFitness coverage = new CoverageMaximizationFitness(coverageMatrix);
+        TestCaseMinimizationFitness size = new TestCaseMinimizationFitness();
+        HyperVolumeTracker tracker = new HyperVolumeTracker();
+        List<Encoding> suites = new ArrayList<>();
+        for (int round = 0; round < 300; round++) {
+            int[] genes = new int[coverageMatrix.length];
+            for (int i = 0; i < genes.length; i++) {
+                genes[i] = random.nextInt(2);
+            }
+            Encoding suite = new Encoding(mutation, crossover, genes, coverageMatrix);
+            suites.add(suite);
+            tracker.add(suite.getCoverageMaxFitness(), suite.getTestCaseMinFitness());
+
+            List<Encoding> front = Utils.nonDominatedSorting(suites).get(0);
+            double expected = Utils.computeHyperVolume(front, coverage, size, 0, 1);
+            assertEquals(expected, tracker.getHyperVolume(), 1e-9);
+            assertEquals(expected, Utils.computeHyperVolume(suites), 1e-9);
+        }
+    }
+}
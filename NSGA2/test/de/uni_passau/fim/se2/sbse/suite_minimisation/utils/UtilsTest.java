@@ -6,6 +6,7 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 
@@ -109,4 +110,37 @@ public class UtilsTest {
             e.printStackTrace();
         }
     }
+
+    @Test
+    public void testNonDominatedSortingMatchesGeneralSorting() {
+        Random matrixRandom = new Random(5);
+        boolean[][] matrix = new boolean[40][60];
+        for (boolean[] row : matrix) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = matrixRandom.nextDouble() < 0.1;
+            }
+        }
+        List<List<Encoding>> populations = new ArrayList<>();
+        populations.add(generatePopulation(300));  //  many duplicates and ties
+        List<Encoding> population = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int[] genes = new int[40];
+            for (int j = 0; j < genes.length; j++) {
+                genes[j] = matrixRandom.nextDouble() < 0.3 ? 1 : 0;
+            }
+            population.add(new Encoding(mutation, crossover, genes, matrix));
+        }
+        populations.add(population);
+        populations.add(new ArrayList<>());
+
+        for (List<Encoding> individuals : populations) {
+            List<List<Encoding>> fronts = Utils.nonDominatedSorting(individuals);
+            List<List<Encoding>> expected = Utils.nonDominatedSortingGeneral(individuals);
+            assertTrue(fronts.size() == expected.size());
+            for (int f = 0; f < fronts.size(); f++) {
+                assertTrue(fronts.get(f).size() == expected.get(f).size());
+                assertTrue(new HashSet<>(fronts.get(f)).equals(new HashSet<>(expected.get(f))));
+            }
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.Stack;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BenchmarkFixtures;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.MaxFitnessEvaluations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the subvector-dominance density estimation of a front, which MOSA performs for every
+ * front it selects survivors from.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MOSABenchmark {
+
+    /**
+     * The number of test cases of the front.
+     */
+    @Param({"10", "50", "100"})
+    public int frontSize;
+
+    /**
+     * The number of branches, i.e., objectives.
+     */
+    @Param({"10", "100", "1000"})
+    public int branches;
+
+    private MOSA mosa;
+    private List<TestCase> front;
+    private Map<TestCase, Map<Branch, Double>> fitnessMap;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        final List<Branch> targetBranches = BenchmarkFixtures.decisionBranches(branches);
+        front = BenchmarkFixtures.population(frontSize, Stack.class, random);
+        fitnessMap = BenchmarkFixtures.fitnessMap(front, targetBranches, random);
+        mosa = new MOSA(frontSize, random, BenchmarkFixtures.generator(Stack.class, 10, random),
+                targetBranches, MaxFitnessEvaluations.of(1));
+    }
+
+    @Benchmark
+    public List<TestCase> calculateSubvectorDensity() {
+        // The front is sorted in place, so every invocation starts from the same order
+        final List<TestCase> copy = new ArrayList<>(front);
+        mosa.calculateSubvectorDensity(copy, fitnessMap);
+        return copy;
+    }
+}
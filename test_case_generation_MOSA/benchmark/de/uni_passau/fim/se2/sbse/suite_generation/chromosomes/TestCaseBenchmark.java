@@ -0,0 +1,57 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.chromosomes;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the execution of a random test case for the bundled example classes, instrumented to
+ * trace branch distances. This is the fitness evaluation of the search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TestCaseBenchmark {
+
+    /**
+     * The simple name of the example class under test.
+     */
+    @Param({"SimpleExample", "Stack", "Feature", "DeepBranches"})
+    public String example;
+
+    /**
+     * The maximum number of statements of the test case.
+     */
+    @Param({"10", "50"})
+    public int maxLength;
+
+    private TestCase testCase;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException {
+        final Class<?> classUnderTest = BenchmarkFixtures.instrumentedClass(
+                "de.uni_passau.fim.se2.sbse.suite_generation.examples." + example);
+        testCase = BenchmarkFixtures.generator(classUnderTest, maxLength, new Random(42)).get();
+    }
+
+    @Benchmark
+    public Map<Integer, Double> call() {
+        return testCase.call();
+    }
+}
@@ -0,0 +1,182 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCaseGenerator;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.OnePointCrossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.TestCaseMutation;
+import de.uni_passau.fim.se2.sbse.suite_generation.utils.Utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates the inputs of the benchmarks: instrumented classes under test, branches, test cases and
+ * fitness values. Lives in the instrumentation package because branches can only be created and
+ * classes only be instrumented from within it.
+ */
+public final class BenchmarkFixtures {
+
+    /**
+     * The IDs of synthetic branches start here, so that they do not clash with the IDs of the
+     * branches of instrumented classes.
+     */
+    private static final int FIRST_SYNTHETIC_ID = 1_000_000;
+
+    /**
+     * The probability that a synthetic fitness value is 0, i.e., that a branch is covered.
+     */
+    private static final double COVERAGE_PROBABILITY = 0.1;
+
+    private BenchmarkFixtures() {
+        // Private constructor to prevent instantiation of this class.
+    }
+
+    /**
+     * Creates the given number of decision branches, the {@code true} and {@code false} branch of
+     * every node being adjacent.
+     *
+     * @param count the number of branches
+     * @return the branches
+     */
+    public static List<Branch> decisionBranches(final int count) {
+        final List<Branch> branches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Branch.Node node = new Branch.Node(i / 2 + 1, "Benchmark");
+            branches.add(new Branch.Decision(FIRST_SYNTHETIC_ID + i, node, i % 2 == 0));
+        }
+        return branches;
+    }
+
+    /**
+     * Loads the given class in a fresh class loader, instrumenting it the same way the
+     * {@link InstrumentingAgent} would, so that executing it traces branch distances. The
+     * branches of the class are registered with the {@link BranchTracer}.
+     *
+     * @param className the fully qualified name of the class
+     * @return the instrumented class
+     * @throws ClassNotFoundException if the class cannot be found
+     */
+    public static Class<?> instrumentedClass(final String className) throws ClassNotFoundException {
+        return instrumentedClass(className, BenchmarkFixtures.class.getClassLoader());
+    }
+
+    /**
+     * Loads the given class in a fresh class loader, instrumenting it the same way the
+     * {@link InstrumentingAgent} would. The class file is read from the given class loader, which
+     * also loads all other classes the instrumented class depends on, and must therefore delegate
+     * to the class loader of this class.
+     *
+     * @param className the fully qualified name of the class
+     * @param parent    the class loader to read the class file from
+     * @return the instrumented class
+     * @throws ClassNotFoundException if the class cannot be found
+     */
+    public static Class<?> instrumentedClass(final String className, final ClassLoader parent)
+            throws ClassNotFoundException {
+        return Class.forName(className, true, new InstrumentingClassLoader(className, parent));
+    }
+
+    /**
+     * Creates a generator of random test cases for the given class.
+     *
+     * @param classUnderTest the class under test
+     * @param maxLength      the maximum number of statements of a test case
+     * @param random         the source of randomness
+     * @return the test case generator
+     */
+    public static TestCaseGenerator generator(final Class<?> classUnderTest, final int maxLength,
+                                              final Random random) {
+        final TestCaseMutation mutation =
+                new TestCaseMutation(random, Utils.allStatements(classUnderTest), Utils::withFreshArguments,
+                        maxLength);
+        return new TestCaseGenerator(random, mutation, new OnePointCrossover(random), classUnderTest,
+                maxLength);
+    }
+
+    /**
+     * Creates a population of random test cases for the given class.
+     *
+     * @param size           the size of the population
+     * @param classUnderTest the class under test
+     * @param random         the source of randomness
+     * @return the population
+     */
+    public static List<TestCase> population(final int size, final Class<?> classUnderTest,
+                                            final Random random) {
+        return Utils.initializePopulation(size, generator(classUnderTest,
+                TestCaseGenerator.DEFAULT_MAX_LENGTH, random));
+    }
+
+    /**
+     * Assigns random fitness values for the given branches to the given test cases, some of which
+     * are 0.
+     *
+     * @param population the test cases
+     * @param branches   the branches
+     * @param random     the source of randomness
+     * @return the fitness values of the test cases
+     */
+    public static Map<TestCase, Map<Branch, Double>> fitnessMap(final List<TestCase> population,
+                                                                final List<Branch> branches,
+                                                                final Random random) {
+        final Map<TestCase, Map<Branch, Double>> fitnessMap = new HashMap<>();
+        for (final TestCase testCase : population) {
+            final Map<Branch, Double> fitness = new HashMap<>();
+            for (final Branch branch : branches) {
+                fitness.put(branch, random.nextDouble() < COVERAGE_PROBABILITY ? 0.0 : random.nextDouble());
+            }
+            fitnessMap.put(testCase, fitness);
+        }
+        return fitnessMap;
+    }
+
+    /**
+     * Defines the instrumented version of one class, and delegates loading all other classes to
+     * its parent, so that the instrumented class reports to the same {@link BranchTracer}.
+     */
+    private static final class InstrumentingClassLoader extends ClassLoader {
+
+        private final String targetClass;
+
+        private InstrumentingClassLoader(final String targetClass, final ClassLoader parent) {
+            super(parent);
+            this.targetClass = targetClass;
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(targetClass)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    final String internalName = name.replace('.', '/');
+                    final byte[] original;
+                    try (InputStream in = getParent().getResourceAsStream(internalName + ".class")) {
+                        if (in == null) {
+                            throw new ClassNotFoundException(name);
+                        }
+                        original = in.readAllBytes();
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+
+                    final byte[] instrumented = new BranchDistanceTransformer(name, false)
+                            .transform(this, internalName, null, null, original);
+                    loaded = defineClass(name, instrumented, 0, instrumented.length);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
+}
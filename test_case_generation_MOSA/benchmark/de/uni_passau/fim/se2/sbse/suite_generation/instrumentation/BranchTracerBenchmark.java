@@ -0,0 +1,91 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.objectweb.asm.Opcodes.IFLT;
+import static org.objectweb.asm.Opcodes.IFNULL;
+import static org.objectweb.asm.Opcodes.IF_ACMPEQ;
+import static org.objectweb.asm.Opcodes.IF_ICMPLT;
+
+/**
+ * Measures the cost of tracing a branch, which the instrumented code of the class under test pays
+ * for every executed branch node and method entry. Successive calls trace different branches, so
+ * that the number of distinct branches determines the size of the traced distances.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BranchTracerBenchmark {
+
+    /**
+     * The number of distinct branches traced.
+     */
+    @Param({"10", "100", "1000"})
+    public int branches;
+
+    private BranchTracer tracer;
+    private int next;
+    private final Object object = new Object();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        tracer = BranchTracer.getInstance();
+        tracer.clear();
+        next = 0;
+    }
+
+    /**
+     * Returns the ID of the next {@code true} branch to trace. The ID of the corresponding
+     * {@code false} branch is one greater.
+     */
+    private int nextTrueBranch() {
+        next = (next + 2) % branches;
+        return next;
+    }
+
+    @Benchmark
+    public void unaryInt() {
+        final int trueBranch = nextTrueBranch();
+        tracer.passedBranch(trueBranch - 50, IFLT, trueBranch, trueBranch + 1);
+    }
+
+    @Benchmark
+    public void binaryInt() {
+        final int trueBranch = nextTrueBranch();
+        tracer.passedBranch(trueBranch, 50, IF_ICMPLT, trueBranch, trueBranch + 1);
+    }
+
+    @Benchmark
+    public void unaryReference() {
+        final int trueBranch = nextTrueBranch();
+        tracer.passedBranch((trueBranch & 2) == 0 ? null : object, IFNULL, trueBranch, trueBranch + 1);
+    }
+
+    @Benchmark
+    public void binaryReference() {
+        final int trueBranch = nextTrueBranch();
+        tracer.passedBranch(object, (trueBranch & 2) == 0 ? null : object, IF_ACMPEQ, trueBranch,
+                trueBranch + 1);
+    }
+
+    @Benchmark
+    public void methodEntry() {
+        tracer.passedBranch(nextTrueBranch());
+    }
+}
@@ -0,0 +1,46 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.scalability;
+
+/**
+ * Describes the shape of a synthetic class under test.
+ *
+ * @param className      the simple name of the class
+ * @param methods        the number of public methods
+ * @param branches       the number of decision branches of {@code if} statements, spread evenly
+ *                       over the methods. Every {@code if} statement has two branches, and loops
+ *                       add further branches of their own.
+ * @param depth          the maximum nesting depth of {@code if} statements
+ * @param loopIterations the number of iterations of the loop around every nest of {@code if}
+ *                       statements, or 0 for no loops
+ * @param seed           the seed for choosing the conditions of the {@code if} statements
+ */
+public record CutSpecification(
+        String className,
+        int methods,
+        int branches,
+        int depth,
+        int loopIterations,
+        long seed) {
+
+    /**
+     * Validates the specification.
+     *
+     * @throws IllegalArgumentException if a component is out of range
+     */
+    public CutSpecification {
+        if (className == null || className.isBlank()) {
+            throw new IllegalArgumentException("Class name must not be blank");
+        }
+        if (methods < 1) {
+            throw new IllegalArgumentException("Number of methods must be positive: " + methods);
+        }
+        if (branches < 0) {
+            throw new IllegalArgumentException("Number of branches must not be negative: " + branches);
+        }
+        if (depth < 1) {
+            throw new IllegalArgumentException("Nesting depth must be positive: " + depth);
+        }
+        if (loopIterations < 0) {
+            throw new IllegalArgumentException("Loop iterations must not be negative: " + loopIterations);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.scalability;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decorates a stopping condition, and records a sample of the progress of the search whenever the
+ * search reports its coverage. MOSA and Random Search do so once per generation, so that the
+ * samples describe the search generation by generation.
+ */
+public final class RecordingStoppingCondition implements StoppingCondition {
+
+    /**
+     * The progress of the search at the end of a generation.
+     *
+     * @param generation      the number of the generation, starting with 0
+     * @param elapsedNanos    the time since the search started
+     * @param evaluations     the number of fitness evaluations since the search started
+     * @param coveredGoals    the number of covered branches
+     * @param totalGoals      the number of branches
+     * @param usedMemoryBytes the heap memory in use
+     */
+    public record Sample(
+            int generation,
+            long elapsedNanos,
+            long evaluations,
+            int coveredGoals,
+            int totalGoals,
+            long usedMemoryBytes) {
+    }
+
+    private final StoppingCondition delegate;
+    private final List<Sample> samples = new ArrayList<>();
+    private long startTime;
+    private long evaluations;
+
+    /**
+     * Creates a recording decorator of the given stopping condition.
+     *
+     * @param delegate the stopping condition that decides when to stop
+     */
+    public RecordingStoppingCondition(final StoppingCondition delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @Override
+    public void notifySearchStarted() {
+        samples.clear();
+        evaluations = 0;
+        startTime = System.nanoTime();
+        delegate.notifySearchStarted();
+    }
+
+    @Override
+    public void notifyFitnessEvaluation() {
+        evaluations++;
+        delegate.notifyFitnessEvaluation();
+    }
+
+    @Override
+    public void notifyCoverage(final int coveredGoals, final int totalGoals) {
+        delegate.notifyCoverage(coveredGoals, totalGoals);
+        final Runtime runtime = Runtime.getRuntime();
+        samples.add(new Sample(samples.size(), System.nanoTime() - startTime, evaluations,
+                coveredGoals, totalGoals, runtime.totalMemory() - runtime.freeMemory()));
+    }
+
+    @Override
+    public boolean searchMustStop() {
+        return delegate.searchMustStop();
+    }
+
+    @Override
+    public double getProgress() {
+        return delegate.getProgress();
+    }
+
+    /**
+     * Returns the samples recorded since the search started.
+     *
+     * @return the samples, one per generation
+     */
+    public List<Sample> getSamples() {
+        return List.copyOf(samples);
+    }
+}
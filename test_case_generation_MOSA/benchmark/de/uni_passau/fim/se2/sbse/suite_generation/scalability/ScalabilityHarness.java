@@ -0,0 +1,189 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.scalability;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.GeneticAlgorithm;
+import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.MOSA;
+import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.RandomSearch;
+import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.SearchAlgorithmType;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCaseGenerator;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BenchmarkFixtures;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BranchTracer;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.IBranch;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.MaxFitnessEvaluations;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs MOSA and Random Search on synthetic classes under test of increasing size, to find out how
+ * the search scales with the number of branches. For every generation, the time since the search
+ * started, the number of fitness evaluations, the number of covered branches, and the heap memory
+ * in use are written to a CSV file. A summary of every run is printed. Run it with:
+ * <pre>{@code
+ * java -cp target/Test-Suite-Generation-1.0-benchmarks.jar \
+ *     de.uni_passau.fim.se2.sbse.suite_generation.scalability.ScalabilityHarness \
+ *     --branches 100,1000,5000 MOSA RS
+ * }</pre>
+ */
+public class ScalabilityHarness implements Callable<Integer> {
+
+    @CommandLine.Option(
+            names = {"--branches"},
+            description = "The numbers of if-statement branches of the generated classes under test.",
+            split = ",",
+            defaultValue = "100,1000")
+    private List<Integer> branchCounts;
+
+    @CommandLine.Option(
+            names = {"--methods"},
+            description = "The number of methods of the generated classes under test.",
+            defaultValue = "10")
+    private int methods;
+
+    @CommandLine.Option(
+            names = {"--depth"},
+            description = "The maximum nesting depth of if-statements.",
+            defaultValue = "3")
+    private int depth;
+
+    @CommandLine.Option(
+            names = {"--loop-iterations"},
+            description = "The number of iterations of the loop around every nest of if-statements (0 for no loops).",
+            defaultValue = "0")
+    private int loopIterations;
+
+    @CommandLine.Option(
+            names = {"-f", "--max-evaluations"},
+            description = "The maximum number of fitness evaluations of every search.",
+            defaultValue = "5000")
+    private int maxEvaluations;
+
+    @CommandLine.Option(
+            names = {"-z", "--size"},
+            description = "The population size.",
+            defaultValue = "50")
+    private int populationSize;
+
+    @CommandLine.Option(
+            names = {"-s", "--seed"},
+            description = "The seed of the generated classes and of the searches.",
+            defaultValue = "42")
+    private long seed;
+
+    @CommandLine.Option(
+            names = {"-o", "--output"},
+            description = "The CSV file to write the samples to.",
+            defaultValue = "scalability.csv")
+    private Path output;
+
+    @CommandLine.Parameters(
+            paramLabel = "algorithms",
+            description = "The search algorithms to run (MOSA, RS).",
+            arity = "1...",
+            converter = AlgorithmConverter.class)
+    private List<SearchAlgorithmType> algorithms;
+
+    public static void main(String[] args) {
+        System.exit(new CommandLine(new ScalabilityHarness()).execute(args));
+    }
+
+    @Override
+    public Integer call() throws IOException, ClassNotFoundException {
+        final Path classDirectory = Files.createTempDirectory("synthetic-cuts");
+        final var generator = new SyntheticCutGenerator();
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(output))) {
+            csv.println("cut,branches,algorithm,generation,elapsed_ms,evaluations,covered,total,used_memory_mb");
+
+            for (final int branchCount : branchCounts) {
+                final var spec = new CutSpecification("Synthetic" + branchCount, methods, branchCount,
+                        depth, loopIterations, seed);
+
+                // The branches registered while loading the class are the branches of the class
+                final Set<IBranch> before = BranchTracer.getInstance().getBranches();
+                final Class<?> classUnderTest = generator.compile(spec, classDirectory);
+                final List<Branch> targetBranches = new ArrayList<>();
+                for (final IBranch branch : BranchTracer.getInstance().getBranches()) {
+                    if (!before.contains(branch)) {
+                        targetBranches.add((Branch) branch);
+                    }
+                }
+
+                for (final SearchAlgorithmType algorithm : algorithms) {
+                    run(spec, classUnderTest, targetBranches, algorithm, csv);
+                }
+            }
+        }
+
+        System.out.println("Samples written to " + output);
+        return 0;
+    }
+
+    /**
+     * Runs the given algorithm on the given class under test, writes the recorded samples, and
+     * prints a summary.
+     */
+    private void run(final CutSpecification spec, final Class<?> classUnderTest,
+                     final List<Branch> targetBranches, final SearchAlgorithmType algorithm,
+                     final PrintWriter csv) {
+        final Random random = new Random(seed);
+        final TestCaseGenerator testCaseGenerator = BenchmarkFixtures.generator(classUnderTest,
+                TestCaseGenerator.DEFAULT_MAX_LENGTH, random);
+        final var stoppingCondition = new RecordingStoppingCondition(MaxFitnessEvaluations.of(maxEvaluations));
+
+        final GeneticAlgorithm<TestCase> search = switch (algorithm) {
+            case RANDOM_SEARCH -> new RandomSearch(stoppingCondition, testCaseGenerator, targetBranches,
+                    populationSize);
+            case MOSA -> new MOSA(populationSize, random, testCaseGenerator, targetBranches,
+                    stoppingCondition);
+            default -> throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+        };
+
+        System.gc();
+        search.findSolution();
+
+        final List<RecordingStoppingCondition.Sample> samples = stoppingCondition.getSamples();
+        long maxMemory = 0;
+        for (final var sample : samples) {
+            maxMemory = Math.max(maxMemory, sample.usedMemoryBytes());
+            csv.printf(Locale.ROOT, "%s,%d,%s,%d,%.3f,%d,%d,%d,%.1f%n", spec.className(), targetBranches.size(),
+                    algorithm, sample.generation(), sample.elapsedNanos() / 1e6, sample.evaluations(),
+                    sample.coveredGoals(), sample.totalGoals(), sample.usedMemoryBytes() / 1e6);
+        }
+
+        if (samples.isEmpty()) {
+            System.out.printf("%s on %s: no generation completed%n", algorithm, spec.className());
+            return;
+        }
+        final var last = samples.get(samples.size() - 1);
+        System.out.printf("%s on %s (%d branches): %d generations, %.1f ms per generation, "
+                        + "coverage %d/%d, max. memory %.1f MB%n",
+                algorithm, spec.className(), targetBranches.size(), samples.size(),
+                last.elapsedNanos() / 1e6 / samples.size(), last.coveredGoals(), last.totalGoals(),
+                maxMemory / 1e6);
+    }
+}
+
+/**
+ * Converts supplied cli parameters to the respective {@link SearchAlgorithmType}.
+ */
+final class AlgorithmConverter implements CommandLine.ITypeConverter<SearchAlgorithmType> {
+    @Override
+    public SearchAlgorithmType convert(String algorithm) {
+        return switch (algorithm.toUpperCase()) {
+            case "RS" -> SearchAlgorithmType.RANDOM_SEARCH;
+            case "MOSA" -> SearchAlgorithmType.MOSA;
+            default -> throw new IllegalArgumentException("The algorithm '" + algorithm + "' is not a valid option.");
+        };
+    }
+}
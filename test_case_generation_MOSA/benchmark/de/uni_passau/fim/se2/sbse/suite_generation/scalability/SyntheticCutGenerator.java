@@ -0,0 +1,155 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.scalability;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BenchmarkFixtures;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Generates the source code of synthetic classes under test of arbitrary size, and compiles and
+ * instruments them. Every public method takes three {@code int} parameters and consists of nests
+ * of {@code if} statements, whose conditions compare the parameters, a field, and, inside loops,
+ * the loop variable with each other or with constants. Equality comparisons with constants are
+ * hard to satisfy with random inputs, whereas the other comparisons are not, so that the search
+ * covers a realistic mix of easy and hard branches.
+ */
+public final class SyntheticCutGenerator {
+
+    /**
+     * The package of the generated classes.
+     */
+    public static final String PACKAGE = "de.uni_passau.fim.se2.sbse.suite_generation.synthetic";
+
+    private static final String[] OPERATORS = {"==", "!=", "<", "<=", ">", ">="};
+    private static final String[] OPERANDS = {"a", "b", "c", "state"};
+    private static final int MAX_CONSTANT = 100;
+    private static final String INDENT = "    ";
+
+    /**
+     * Generates the source code of a class as specified.
+     *
+     * @param spec the specification of the class
+     * @return the source code
+     */
+    public String generate(final CutSpecification spec) {
+        requireNonNull(spec);
+        final Random random = new Random(spec.seed());
+        final int conditions = (spec.branches() + 1) / 2;
+
+        final var sb = new StringBuilder();
+        sb.append("package ").append(PACKAGE).append(";\n\n");
+        sb.append("public class ").append(spec.className()).append(" {\n\n");
+        sb.append(INDENT).append("private int state;\n\n");
+        sb.append(INDENT).append("public ").append(spec.className()).append("() {\n");
+        sb.append(INDENT).append("}\n");
+
+        for (int m = 0; m < spec.methods(); m++) {
+            // Spread the conditions evenly, the first methods get one more if necessary
+            final int methodConditions = conditions / spec.methods()
+                    + (m < conditions % spec.methods() ? 1 : 0);
+            appendMethod(sb, "m" + m, methodConditions, spec, random);
+        }
+
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Appends a method consisting of nests of at most {@code depth} {@code if} statements, with
+     * the given number of {@code if} statements in total.
+     */
+    private static void appendMethod(final StringBuilder sb, final String name, final int conditions,
+                                     final CutSpecification spec, final Random random) {
+        sb.append('\n').append(INDENT).append("public int ").append(name)
+                .append("(int a, int b, int c) {\n");
+        sb.append(INDENT.repeat(2)).append("int result = 0;\n");
+
+        int counter = 0;
+        for (int remaining = conditions; remaining > 0; ) {
+            final int nestDepth = Math.min(spec.depth(), remaining);
+            remaining -= nestDepth;
+
+            int level = 2;
+            final boolean loop = spec.loopIterations() > 0;
+            if (loop) {
+                sb.append(INDENT.repeat(level)).append("for (int i = 0; i < ")
+                        .append(spec.loopIterations()).append("; i++) {\n");
+                level++;
+            }
+
+            for (int d = 0; d < nestDepth; d++) {
+                sb.append(INDENT.repeat(level + d)).append("if (").append(condition(random, loop))
+                        .append(") {\n");
+                sb.append(INDENT.repeat(level + d + 1)).append("result += ").append(++counter)
+                        .append(";\n");
+            }
+            for (int d = nestDepth - 1; d >= 0; d--) {
+                sb.append(INDENT.repeat(level + d)).append("}\n");
+            }
+
+            if (loop) {
+                sb.append(INDENT.repeat(level - 1)).append("}\n");
+            }
+        }
+
+        sb.append(INDENT.repeat(2)).append("state += result;\n");
+        sb.append(INDENT.repeat(2)).append("return result;\n");
+        sb.append(INDENT).append("}\n");
+    }
+
+    /**
+     * Creates a random condition comparing an operand with a constant or with another operand.
+     */
+    private static String condition(final Random random, final boolean loop) {
+        final String left = loop && random.nextInt(4) == 0
+                ? "a + i"
+                : OPERANDS[random.nextInt(OPERANDS.length)];
+        final String operand = OPERANDS[random.nextInt(OPERANDS.length)];
+        final String right = random.nextBoolean() || left.equals(operand)
+                ? Integer.toString(random.nextInt(2 * MAX_CONSTANT + 1) - MAX_CONSTANT)
+                : operand;
+        return left + " " + OPERATORS[random.nextInt(OPERATORS.length)] + " " + right;
+    }
+
+    /**
+     * Generates a class as specified, compiles it into the given directory, and loads it
+     * instrumented for branch distance tracing. The branches of the class are registered with the
+     * {@link de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BranchTracer BranchTracer}.
+     *
+     * @param spec      the specification of the class
+     * @param directory the directory to write the source and class file to
+     * @return the instrumented class
+     * @throws IOException            if the source file cannot be written
+     * @throws IllegalStateException  if no compiler is available or compilation fails
+     * @throws ClassNotFoundException if the compiled class cannot be loaded
+     */
+    public Class<?> compile(final CutSpecification spec, final Path directory)
+            throws IOException, ClassNotFoundException {
+        final Path packageDirectory = directory.resolve(PACKAGE.replace('.', '/'));
+        Files.createDirectories(packageDirectory);
+        final Path source = packageDirectory.resolve(spec.className() + ".java");
+        Files.writeString(source, generate(spec));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler available, a JDK is required");
+        }
+        final int exitCode = compiler.run(null, null, null,
+                "-g", "-d", directory.toString(), source.toString());
+        if (exitCode != 0) {
+            throw new IllegalStateException("Failed to compile " + source);
+        }
+
+        final var classFiles = new URLClassLoader(new URL[]{directory.toUri().toURL()},
+                SyntheticCutGenerator.class.getClassLoader());
+        return BenchmarkFixtures.instrumentedClass(PACKAGE + "." + spec.className(), classFiles);
+    }
+}
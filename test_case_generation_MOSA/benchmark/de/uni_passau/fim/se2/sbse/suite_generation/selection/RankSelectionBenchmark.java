@@ -0,0 +1,55 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.selection;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.Stack;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the selection of a parent by rank selection, which MOSA performs twice for every pair
+ * of offspring.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RankSelectionBenchmark {
+
+    /**
+     * The size of the population to select from.
+     */
+    @Param({"10", "50", "100"})
+    public int populationSize;
+
+    private List<TestCase> population;
+    private RankSelection<TestCase> selection;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        population = BenchmarkFixtures.population(populationSize, Stack.class, random);
+        selection = new RankSelection<>(Comparator.comparingInt(TestCase::size), populationSize, 1.9, random);
+    }
+
+    @Benchmark
+    public TestCase apply() {
+        return selection.apply(population);
+    }
+}
@@ -0,0 +1,91 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.utils;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.Stack;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BenchmarkFixtures;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures non-dominated sorting, which MOSA performs every generation, and the reflective
+ * extraction of the statements of a class under test, which mutation performs for every inserted
+ * or replaced statement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsBenchmark {
+
+    @State(Scope.Thread)
+    public static class SortingState {
+
+        /**
+         * The number of test cases to sort.
+         */
+        @Param({"10", "50", "100"})
+        public int populationSize;
+
+        /**
+         * The number of branches, i.e., objectives.
+         */
+        @Param({"10", "100", "1000"})
+        public int branches;
+
+        private List<TestCase> population;
+        private List<Branch> targetBranches;
+        private Map<TestCase, Map<Branch, Double>> fitnessMap;
+
+        @Setup
+        public void setUp() {
+            final Random random = new Random(42);
+            population = BenchmarkFixtures.population(populationSize, Stack.class, random);
+            targetBranches = BenchmarkFixtures.decisionBranches(branches);
+            fitnessMap = BenchmarkFixtures.fitnessMap(population, targetBranches, random);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StatementsState {
+
+        /**
+         * The simple name of the example class to extract the statements of.
+         */
+        @Param({"SimpleExample", "Stack", "Feature", "DeepBranches"})
+        public String example;
+
+        private Class<?> classUnderTest;
+
+        @Setup
+        public void setUp() throws ClassNotFoundException {
+            classUnderTest = Class.forName("de.uni_passau.fim.se2.sbse.suite_generation.examples." + example);
+        }
+    }
+
+    @Benchmark
+    public List<List<TestCase>> nonDominatedSorting(final SortingState state) {
+        return Utils.nonDominatedSorting(state.population, state.fitnessMap, state.targetBranches);
+    }
+
+    @Benchmark
+    public List<Statement> allStatements(final StatementsState state) {
+        return Utils.allStatements(state.classUnderTest);
+    }
+}
@@ -1,15 +1,33 @@
 package de.uni_passau.fim.se2.sbse.suite_generation;
 
 import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.GeneticAlgorithm;
+import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.IslandMOSA;
 import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.SearchAlgorithmType;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.Chromosome;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BranchTracer;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.ConstantPool;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.InstrumentingAgent;
+import de.uni_passau.fim.se2.sbse.suite_generation.minimisation.TestSuiteMinimiser;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.ArchiveStore;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.CheckpointStore;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.AnyOf;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.FullCoverage;
 import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.MaxFitnessEvaluations;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.MaxTime;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.NoImprovementForN;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
 import de.uni_passau.fim.se2.sbse.suite_generation.utils.AlgorithmBuilder;
 import de.uni_passau.fim.se2.sbse.suite_generation.utils.Randomness;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
 import picocli.CommandLine;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.IntSummaryStatistics;
 import java.util.LinkedHashMap;
@@ -37,10 +55,106 @@ public class Main implements Callable<Integer> {
 
     @CommandLine.Option(
             names = {"-f", "--max-evaluations"},
-            description = "The maximum number of fitness evaluations each algorithm should perform.",
+            description = "The maximum number of fitness evaluations (i.e., test case executions) each algorithm should perform.",
             defaultValue = "500")
     private int maxEvaluations;
 
+    @CommandLine.Option(
+            names = {"-t", "--max-time"},
+            description = "The maximum number of seconds each search may run (0 for no time limit).",
+            defaultValue = "0")
+    private int maxTime;
+
+    @CommandLine.Option(
+            names = {"--stagnation"},
+            description = "Stop a search after this many fitness evaluations without covering a new branch (0 to disable).",
+            defaultValue = "0")
+    private int stagnation;
+
+    @CommandLine.Option(
+            names = {"--full-coverage-stop"},
+            description = "Stop a search as soon as all branches are covered.",
+            negatable = true,
+            defaultValue = "true")
+    private boolean stopAtFullCoverage;
+
+    @CommandLine.Option(
+            names = {"--seeding-probability"},
+            description = "The probability of using a constant of the class under test as parameter value (0 to disable).",
+            defaultValue = "0.2")
+    private void setSeedingProbability(double probability) {
+        ConstantPool.getInstance().setSeedingProbability(probability);
+    }
+
+    @CommandLine.Option(
+            names = {"--minimise"},
+            description = "Minimise the generated test suites without losing coverage.",
+            negatable = true,
+            defaultValue = "true")
+    private boolean minimise;
+
+    @CommandLine.Option(
+            names = {"--archive"},
+            description = "A file to warm-start MOSA from. The test suite with the highest coverage is stored in it for later runs.")
+    private Path archiveFile;
+
+    @CommandLine.Option(
+            names = {"--checkpoint"},
+            description = "A file to periodically write a checkpoint of MOSA to, from which an interrupted search can be resumed with --resume.")
+    private Path checkpointFile;
+
+    @CommandLine.Option(
+            names = {"--checkpoint-interval"},
+            description = "The minimum number of seconds between two checkpoints.",
+            defaultValue = "60")
+    private int checkpointInterval;
+
+    @CommandLine.Option(
+            names = {"--resume"},
+            description = "A checkpoint file to resume the first MOSA search from. Further checkpoints are written to the same file.")
+    private Path resumeFile;
+
+    @CommandLine.Option(
+            names = {"--jfr"},
+            description = "Record a Java Flight Recorder profile of the run, including test executions and generations, to this file.")
+    private Path jfrFile;
+
+    @CommandLine.Option(
+            names = {"--profile"},
+            description = "Count how often every branch of the class under test is taken, and print the given number of most frequently taken branches and all never reached methods at the end (0 to disable).",
+            defaultValue = "0")
+    private int profileLimit;
+
+    @CommandLine.Option(
+            names = {"--islands"},
+            description = "The number of islands of the island model of MOSA (IMOSA).",
+            defaultValue = "" + IslandMOSA.DEFAULT_ISLANDS)
+    private int islands;
+
+    @CommandLine.Option(
+            names = {"--migration-interval"},
+            description = "The number of generations between two migrations of the island model of MOSA (IMOSA).",
+            defaultValue = "" + IslandMOSA.DEFAULT_MIGRATION_INTERVAL)
+    private int migrationInterval;
+
+    @CommandLine.Option(
+            names = {"--island"},
+            description = "Run the island with this index of the island model of MOSA, started by IMOSA.",
+            hidden = true)
+    private Integer island;
+
+    @CommandLine.Option(
+            names = {"--exchange"},
+            description = "The directory the islands of the island model of MOSA exchange migrants through.",
+            hidden = true)
+    private Path exchangeDirectory;
+
+    /**
+     * The test cases of the test suite with the highest coverage generated so far, and its coverage.
+     */
+    private List<TestCase> bestTestCases = List.of();
+    private double bestCoverage = -1;
+
     @CommandLine.Option(
             names = {"-z", "--size"},
             description = "The population size of the genetic algorithm.",
@@ -57,6 +171,12 @@ public class Main implements Callable<Integer> {
         this.populationSize = size;
     }
 
+    @CommandLine.Option(
+            names = {"-l", "--max-length"},
+            description = "The maximum number of statements of a generated test case.",
+            defaultValue = "50")
+    private int maxLength;
+
     @CommandLine.Option(
             names = {"-r", "--repetitions"},
             description = "The number of search repetitions to perform.",
@@ -68,8 +188,14 @@ public class Main implements Callable<Integer> {
             description = "Use a fixed RNG seed.")
     private void setSeed(int seed) {
         Randomness.random().setSeed(seed);
+        this.seed = seed;
     }
 
+    /**
+     * The fixed RNG seed, or {@code null} if none was given.
+     */
+    private Integer seed;
+
     @CommandLine.Parameters(
             paramLabel = "algorithms",
             description = "The search algorithms to use.",
@@ -94,15 +220,58 @@ public class Main implements Callable<Integer> {
             return 1;
         }
 
-        AlgorithmBuilder builder = new AlgorithmBuilder(Randomness.random(), new MaxFitnessEvaluations(maxEvaluations),
-                populationSize, className, packageName, BranchTracer.getInstance());
-        for (final var algorithm : algorithms) {
-            System.out.println("Running " + algorithm);
-            final var search = builder.build(algorithm);
-            final long start = System.currentTimeMillis();
-            final var testSuites = repeat(search);
-            final long duration = System.currentTimeMillis() - start;
-            write(search, algorithm, testSuites, duration);
+        if (checkpointFile != null && resumeFile != null) {
+            System.err.println("Use either --checkpoint or --resume, --resume writes checkpoints as well");
+            return 1;
+        }
+        if (island != null && exchangeDirectory == null) {
+            System.err.println("An island requires --exchange");
+            return 1;
+        }
+
+        // Start recording before the class under test is loaded, so its instrumentation is recorded.
+        final Recording recording = startRecording();
+        try {
+            final ArchiveStore archiveStore = buildArchiveStore();
+            AlgorithmBuilder builder = new AlgorithmBuilder(Randomness.random(), buildStoppingCondition(),
+                    populationSize, className, packageName, BranchTracer.getInstance())
+                    .withMaxLength(maxLength)
+                    .withWarmStart(archiveStore)
+                    .withIslands(islands, migrationInterval)
+                    .withIslandLauncher(this::launchIsland)
+                    .withCheckpoints(buildCheckpointStore(), resumeFile != null);
+            if (island != null) {
+                builder.buildIsland(island, exchangeDirectory).findSolution();
+                return 0;
+            }
+            if (profileLimit > 0) {
+                BranchTracer.getInstance().setCounting(true);
+            }
+            for (final var algorithm : algorithms) {
+                System.out.println("Running " + algorithm);
+                final var search = builder.build(algorithm);
+                final long start = System.currentTimeMillis();
+                final var testSuites = repeat(search);
+                final long duration = System.currentTimeMillis() - start;
+                write(search, algorithm, testSuites, duration);
+            }
+
+            if (profileLimit > 0) {
+                System.out.println(BranchTracer.getInstance().getProfile().format(profileLimit));
+                BranchTracer.getInstance().setCounting(false);
+            }
+
+            if (archiveStore != null) {
+                try {
+                    final int stored = archiveStore.save(bestTestCases);
+                    System.out.println("Stored " + stored + " test cases in " + archiveStore.getFile());
+                } catch (IOException e) {
+                    System.err.println("Failed to store archive: " + archiveStore.getFile());
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            stopRecording(recording);
         }
 
         // Required to make sure that all threads (test case executions) are terminated.
@@ -110,13 +279,164 @@ public class Main implements Callable<Integer> {
         return 0;
     }
 
-    private List<TestSuite> repeat(final GeneticAlgorithm<?> search) {
+    /**
+     * Creates the process running an island of the island model of MOSA: this program, run by the
+     * same Java runtime with the same JVM arguments (including the instrumenting agent) and class
+     * path, and with the search settings of the command line. With a fixed seed, every island gets
+     * a seed of its own.
+     *
+     * @param island the index of the island
+     * @param exchangeDirectory the directory the islands exchange migrants through
+     * @return the process, not started yet
+     */
+    private ProcessBuilder launchIsland(final int island, final Path exchangeDirectory) {
+        final List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        for (final String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!argument.startsWith("-agentlib:jdwp")) { // a debugger port can only be used once
+                command.add(argument);
+            }
+        }
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), Main.class.getName(),
+                "--class", className,
+                "--package", packageName,
+                "--max-evaluations", String.valueOf(maxEvaluations),
+                "--max-time", String.valueOf(maxTime),
+                "--stagnation", String.valueOf(stagnation),
+                stopAtFullCoverage ? "--full-coverage-stop" : "--no-full-coverage-stop",
+                "--seeding-probability", String.valueOf(ConstantPool.getInstance().getSeedingProbability()),
+                "--size", String.valueOf(populationSize),
+                "--max-length", String.valueOf(maxLength),
+                "--islands", String.valueOf(islands),
+                "--migration-interval", String.valueOf(migrationInterval),
+                "--island", String.valueOf(island),
+                "--exchange", exchangeDirectory.toString()));
+        if (seed != null) {
+            command.addAll(List.of("--seed", String.valueOf(seed + island)));
+        }
+        command.add("MOSA");
+        return new ProcessBuilder(command);
+    }
+
+    /**
+     * Creates the stopping condition specified on the command line. The fitness evaluation budget
+     * is always respected, the other conditions can only make the search stop earlier.
+     *
+     * @return the stopping condition
+     */
+    private StoppingCondition buildStoppingCondition() {
+        final var conditions = new ArrayList<StoppingCondition>();
+        conditions.add(MaxFitnessEvaluations.of(maxEvaluations));
+
+        if (maxTime > 0) {
+            conditions.add(MaxTime.ofSeconds(maxTime));
+        }
+
+        if (stopAtFullCoverage) {
+            conditions.add(new FullCoverage());
+        }
+
+        if (stagnation > 0) {
+            conditions.add(NoImprovementForN.of(stagnation));
+        }
+
+        return conditions.size() == 1
+                ? conditions.get(0)
+                : AnyOf.of(conditions.toArray(StoppingCondition[]::new));
+    }
+
+    /**
+     * Starts a flight recording with the default settings, if a recording file was specified on the
+     * command line. The recording is written to the file when it is stopped.
+     *
+     * @return the recording, or {@code null} if no recording file was specified or the recording
+     * could not be started
+     */
+    private Recording startRecording() {
+        if (jfrFile == null) {
+            return null;
+        }
+
+        try {
+            final Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("suite-generation");
+            recording.setDestination(jfrFile);
+            recording.start();
+            return recording;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("Failed to start flight recording: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stops the given flight recording, which writes it to its destination file.
+     *
+     * @param recording the recording to stop, or {@code null}
+     */
+    private static void stopRecording(final Recording recording) {
+        if (recording == null) {
+            return;
+        }
+
+        recording.stop();
+        recording.close();
+        System.out.println("Flight recording written to " + recording.getDestination());
+    }
+
+    /**
+     * Creates the store for the archive file specified on the command line, if any.
+     *
+     * @return the archive store, or {@code null} if no archive file was specified
+     */
+    private ArchiveStore buildArchiveStore() {
+        if (archiveFile == null) {
+            return null;
+        }
+
+        return new ArchiveStore(archiveFile, loadClassUnderTest(), BranchTracer.getInstance());
+    }
+
+    /**
+     * Creates the store for the checkpoint file specified on the command line, if any. A file to
+     * resume from is also the file further checkpoints are written to.
+     *
+     * @return the checkpoint store, or {@code null} if no checkpoint file was specified
+     */
+    private CheckpointStore buildCheckpointStore() {
+        final Path file = resumeFile != null ? resumeFile : checkpointFile;
+        if (file == null) {
+            return null;
+        }
+
+        return new CheckpointStore(file, loadClassUnderTest(), BranchTracer.getInstance(),
+                Duration.ofSeconds(checkpointInterval));
+    }
+
+    private Class<?> loadClassUnderTest() {
+        final String classToLoad = packageName + "." + className;
+        try {
+            return Class.forName(classToLoad);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unable to load class: " + classToLoad, e);
+        }
+    }
+
+    private List<TestSuite> repeat(final GeneticAlgorithm<TestCase> search) {
         final var testSuites = new ArrayList<TestSuite>(repetitions);
 
         for (int i = 0; i < repetitions; i++) {
             System.out.println("Repetition " + (i + 1) + " of " + repetitions);
-            final var testCases = search.findSolution();
+            var testCases = search.findSolution();
+            if (minimise) {
+                testCases = new TestSuiteMinimiser().minimise(testCases, search.getCoveredBranches());
+            }
             final double branchCoverage = computeBranchCoverage(testCases);
+            if (branchCoverage > bestCoverage) {
+                bestCoverage = branchCoverage;
+                bestTestCases = testCases;
+            }
             final var testSuite = new TestSuite(className, packageName, testCases, branchCoverage);
             testSuites.add(testSuite);
         }
@@ -273,6 +593,7 @@ final class AlgorithmConverter implements CommandLine.ITypeConverter<SearchAlgor
         return switch (algorithm.toUpperCase()) {
             case "RS" -> SearchAlgorithmType.RANDOM_SEARCH;
             case "MOSA" -> SearchAlgorithmType.MOSA;
+            case "IMOSA" -> SearchAlgorithmType.ISLAND_MOSA;
             default -> throw new IllegalArgumentException("The algorithm '" + algorithm + "' is not a valid option.");
         };
     }
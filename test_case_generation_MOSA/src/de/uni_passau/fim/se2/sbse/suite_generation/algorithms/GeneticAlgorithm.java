@@ -4,6 +4,8 @@ package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.Chromosome;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a stochastic, inherently probabilistic search algorithm that operates according to the
@@ -24,4 +26,15 @@ public interface GeneticAlgorithm<C extends Chromosome<C>> extends SearchAlgorit
      * @return the solutions
      */
     List<C> findSolution();
+
+    /**
+     * Returns the IDs of the branches covered by the chromosomes of the last solution, as observed
+     * while the search evaluated them. Chromosomes without recorded coverage are missing from the
+     * map, which is empty if the algorithm does not record coverage.
+     *
+     * @return the covered branches of the chromosomes of the last solution
+     */
+    default Map<C, Set<Integer>> getCoveredBranches() {
+        return Map.of();
+    }
 }
@@ -0,0 +1,131 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.Crossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.Mutation;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.ArchiveStore;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
+
+/**
+ * One island of the island model of MOSA, see {@link IslandMOSA}. The island runs in a process of
+ * its own and evolves a MOSA population. Every few generations, it publishes the test cases of its
+ * population that are closest to covering the branches it has not covered yet, and takes in the
+ * test cases last published by the previous island of the ring. Migrants are exchanged through
+ * {@link ArchiveStore archive files}, so the islands never wait for each other. At the end of the
+ * search, the island stores its archive for the coordinator to merge. Migrants and archived test
+ * cases are stored with the coverage recorded during the search, so storing them does not execute
+ * them outside the search budget.
+ */
+public class Island implements GeneticAlgorithm<TestCase> {
+
+    private final MOSA mosa;
+    private final int migrationInterval;
+    private final ArchiveStore outbox;
+    private final ArchiveStore inbox;
+    private final ArchiveStore result;
+    private final Mutation<TestCase> mutation;
+    private final Crossover<TestCase> crossover;
+    private FileTime received; // The time the migrants last taken in were published, or null
+
+    /**
+     * Creates an island evolving the given MOSA instance.
+     * @param mosa the search of this island
+     * @param migrationInterval the number of generations between two migrations, at least one
+     * @param outbox where this island publishes its emigrants
+     * @param inbox where the previous island publishes its emigrants
+     * @param result where this island stores its archive at the end of the search
+     * @param mutation the mutation operator of the immigrants
+     * @param crossover the crossover operator of the immigrants
+     * @throws IllegalArgumentException if the migration interval is not positive
+     */
+    public Island(
+        MOSA mosa,
+        int migrationInterval,
+        ArchiveStore outbox,
+        ArchiveStore inbox,
+        ArchiveStore result,
+        Mutation<TestCase> mutation,
+        Crossover<TestCase> crossover
+        ) throws IllegalArgumentException {
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("Migration interval must be positive: " + migrationInterval);
+        }
+        this.mosa = requireNonNull(mosa);
+        this.migrationInterval = migrationInterval;
+        this.outbox = requireNonNull(outbox);
+        this.inbox = requireNonNull(inbox);
+        this.result = requireNonNull(result);
+        this.mutation = requireNonNull(mutation);
+        this.crossover = requireNonNull(crossover);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TestCase> findSolution() {
+        StoppingCondition stoppingCondition = mosa.getStoppingCondition();
+        stoppingCondition.notifySearchStarted();
+        received = null;
+        mosa.initialise();
+        for (int generation = 1; !stoppingCondition.searchMustStop(); generation++) {
+            mosa.evolve();
+            if (generation % migrationInterval == 0) {
+                migrate();
+            }
+        }
+
+        List<TestCase> solution = mosa.getSolution();
+        try {
+            result.save(mosa.getCoveredBranches());
+        } catch (IOException e) {
+            System.err.println("Failed to store archive: " + result.getFile());
+            e.printStackTrace();
+        }
+        return solution;
+    }
+
+    /**
+     * Publishes the emigrants of this island, and takes in the emigrants of the previous island if
+     * it has published new ones since the last migration.
+     */
+    void migrate() {
+        try {
+            outbox.save(mosa.emigrants());
+        } catch (IOException e) {
+            System.err.println("Failed to publish emigrants: " + outbox.getFile());
+        }
+
+        try {
+            if (!Files.exists(inbox.getFile())) {
+                return;
+            }
+            FileTime published = Files.getLastModifiedTime(inbox.getFile());
+            if (published.equals(received)) {
+                return;
+            }
+            List<TestCase> immigrants = inbox.load(mutation, crossover);
+            received = published;
+            if (!immigrants.isEmpty()) {
+                mosa.immigrate(immigrants);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to receive immigrants: " + inbox.getFile());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return mosa.getStoppingCondition();
+    }
+}
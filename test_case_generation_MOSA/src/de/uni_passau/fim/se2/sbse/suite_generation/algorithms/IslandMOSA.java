@@ -0,0 +1,260 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.Crossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.Mutation;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.ArchiveStore;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
+
+/**
+ * Island model of MOSA. Several MOSA populations (islands) evolve independently of each other, so
+ * that they can explore different regions of the search space. Every island is an {@link Island}
+ * running in a JVM process of its own, so the islands evolve in parallel, each with its own branch
+ * tracer and instances of the class under test. Every few generations, each island sends the test
+ * cases of its population that are closest to covering the branches it has not covered yet to the
+ * next island (ring topology). The migrants are exchanged through archive files in a directory
+ * shared by the islands of a search.
+ * <p>
+ * This class coordinates the search: it starts the islands, waits for all of them to finish, and
+ * merges their archives, keeping the shortest test case for each branch. Every island applies the
+ * stopping condition to its own search.
+ */
+public class IslandMOSA implements GeneticAlgorithm<TestCase> {
+
+    /**
+     * The number of islands, unless specified otherwise.
+     */
+    public static final int DEFAULT_ISLANDS = 4;
+
+    /**
+     * The number of generations between two migrations, unless specified otherwise.
+     */
+    public static final int DEFAULT_MIGRATION_INTERVAL = 10;
+
+    /**
+     * Creates the process running an island.
+     */
+    @FunctionalInterface
+    public interface IslandLauncher {
+
+        /**
+         * Returns the process running the island with the given index.
+         * @param island the index of the island, between 0 and the number of islands
+         * @param exchangeDirectory the directory the islands exchange migrants through
+         * @return the process, not started yet
+         */
+        ProcessBuilder launch(int island, Path exchangeDirectory);
+    }
+
+    private final int islands;
+    private final IslandLauncher launcher;
+    private final Function<Path, ArchiveStore> archives;
+    private final Mutation<TestCase> mutation;
+    private final Crossover<TestCase> crossover;
+    private final List<Branch> targetBranches;
+    private final StoppingCondition stoppingCondition;
+    private final Map<TestCase, Set<Integer>> coveredBranches = new LinkedHashMap<>();
+
+    /**
+     * Creates an island model with the given number of islands.
+     * @param islands the number of islands, at least one
+     * @param launcher creates the processes running the islands
+     * @param archives opens the archive in the given file
+     * @param mutation the mutation operator of the merged test cases
+     * @param crossover the crossover operator of the merged test cases
+     * @param targetBranches the branches to cover
+     * @param stoppingCondition the stopping condition of every island
+     * @throws IllegalArgumentException if there are no islands
+     */
+    public IslandMOSA(
+        int islands,
+        IslandLauncher launcher,
+        Function<Path, ArchiveStore> archives,
+        Mutation<TestCase> mutation,
+        Crossover<TestCase> crossover,
+        List<Branch> targetBranches,
+        StoppingCondition stoppingCondition
+        ) throws IllegalArgumentException {
+        if (islands < 1) {
+            throw new IllegalArgumentException("At least one island is required");
+        }
+        this.islands = islands;
+        this.launcher = requireNonNull(launcher);
+        this.archives = requireNonNull(archives);
+        this.mutation = requireNonNull(mutation);
+        this.crossover = requireNonNull(crossover);
+        this.targetBranches = requireNonNull(targetBranches);
+        this.stoppingCondition = requireNonNull(stoppingCondition);
+    }
+
+    /**
+     * Returns the file an island publishes its emigrants to.
+     * @param exchangeDirectory the directory the islands exchange migrants through
+     * @param island the index of the island
+     * @return the file
+     */
+    public static Path migrantsFile(Path exchangeDirectory, int island) {
+        return exchangeDirectory.resolve("island-" + island + ".migrants");
+    }
+
+    /**
+     * Returns the file an island stores its archive to at the end of the search.
+     * @param exchangeDirectory the directory the islands exchange migrants through
+     * @param island the index of the island
+     * @return the file
+     */
+    public static Path archiveFile(Path exchangeDirectory, int island) {
+        return exchangeDirectory.resolve("island-" + island + ".archive");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TestCase> findSolution() {
+        stoppingCondition.notifySearchStarted();
+        coveredBranches.clear();
+
+        Path exchangeDirectory;
+        try {
+            exchangeDirectory = Files.createTempDirectory("islands");
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create a directory for the islands", e);
+        }
+
+        try {
+            runIslands(exchangeDirectory);
+            Map<Branch, TestCase> merged = mergeArchives(loadArchives(exchangeDirectory));
+            stoppingCondition.notifyCoverage(merged.size(), targetBranches.size());
+            Set<TestCase> solution = new LinkedHashSet<>(merged.values());
+            coveredBranches.keySet().retainAll(solution);
+            return new ArrayList<>(solution);
+        } finally {
+            delete(exchangeDirectory);
+        }
+    }
+
+    /**
+     * Starts all islands and waits for them to finish. The output of an island is written to a
+     * log file in the exchange directory, and printed if the island fails.
+     */
+    private void runIslands(Path exchangeDirectory) {
+        List<Process> processes = new ArrayList<>(islands);
+        try {
+            for (int island = 0; island < islands; island++) {
+                Path log = exchangeDirectory.resolve("island-" + island + ".log");
+                processes.add(launcher.launch(island, exchangeDirectory)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start());
+            }
+            for (int island = 0; island < islands; island++) {
+                int exitCode = processes.get(island).waitFor();
+                if (exitCode != 0) {
+                    Path log = exchangeDirectory.resolve("island-" + island + ".log");
+                    System.err.println("Island " + island + " failed with exit code " + exitCode + ":");
+                    System.err.println(Files.readString(log));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to run the islands: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            processes.forEach(Process::destroy);
+        }
+    }
+
+    /**
+     * Loads the archives stored by the islands, together with the branches their test cases cover.
+     */
+    private List<Map<TestCase, Set<Integer>>> loadArchives(Path exchangeDirectory) {
+        List<Map<TestCase, Set<Integer>>> loaded = new ArrayList<>(islands);
+        for (int island = 0; island < islands; island++) {
+            ArchiveStore archive = archives.apply(archiveFile(exchangeDirectory, island));
+            try {
+                loaded.add(archive.loadCoverage(mutation, crossover));
+            } catch (IOException e) {
+                System.err.println("Failed to load archive of island " + island + ": " + archive.getFile());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Merges the archives of the islands, keeping the shortest test case covering each branch. The
+     * branches covered by the test cases are recorded, see {@link #getCoveredBranches()}.
+     * @param islandArchives the test cases of every island and the IDs of the branches they cover
+     * @return the merged archive
+     */
+    Map<Branch, TestCase> mergeArchives(List<Map<TestCase, Set<Integer>>> islandArchives) {
+        Map<Integer, Branch> branchesById = new HashMap<>();
+        targetBranches.forEach(branch -> branchesById.put(branch.getId(), branch));
+
+        Map<Branch, TestCase> merged = new LinkedHashMap<>();
+        for (Map<TestCase, Set<Integer>> archive : islandArchives) {
+            archive.forEach((testCase, ids) -> {
+                coveredBranches.merge(testCase, new HashSet<>(ids), (known, more) -> {
+                    known.addAll(more);
+                    return known;
+                });
+                for (int id : ids) {
+                    Branch branch = branchesById.get(id);
+                    if (branch != null) {
+                        merged.merge(branch, testCase,
+                            (archived, candidate) -> candidate.size() < archived.size() ? candidate : archived);
+                    }
+                }
+            });
+        }
+        return merged;
+    }
+
+    /**
+     * Deletes the given directory and the files in it.
+     */
+    private static void delete(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to delete " + directory);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The covered branches are those the islands recorded when storing their archives.
+     */
+    @Override
+    public Map<TestCase, Set<Integer>> getCoveredBranches() {
+        return new LinkedHashMap<>(coveredBranches);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+}
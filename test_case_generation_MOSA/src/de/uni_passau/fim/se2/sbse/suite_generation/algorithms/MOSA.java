@@ -5,29 +5,85 @@ import static java.util.Objects.requireNonNull;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Random;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCaseGenerator;
 import de.uni_passau.fim.se2.sbse.suite_generation.fitness_functions.BranchCoverageFitnessFunction;
-import de.uni_passau.fim.se2.sbse.suite_generation.fitness_functions.FitnessFunction;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
+import de.uni_passau.fim.se2.sbse.suite_generation.monitoring.DensityEstimationEvent;
+import de.uni_passau.fim.se2.sbse.suite_generation.monitoring.GenerationEvent;
+import de.uni_passau.fim.se2.sbse.suite_generation.monitoring.NonDominatedSortingEvent;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.Checkpoint;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.CheckpointStore;
 import de.uni_passau.fim.se2.sbse.suite_generation.selection.RankSelection;
 import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
 import de.uni_passau.fim.se2.sbse.suite_generation.utils.Pair;
+import de.uni_passau.fim.se2.sbse.suite_generation.utils.RestorableRandom;
 import de.uni_passau.fim.se2.sbse.suite_generation.utils.Utils;
 
 public class MOSA implements GeneticAlgorithm<TestCase> {
+
+    /**
+     * Orders test cases from worst to best, as required by {@link RankSelection}: a test case is
+     * better if it belongs to a better non-dominated front, or, within the same front, if it lies
+     * in a less crowded region. Among equally ranked test cases, shorter ones are preferred.
+     */
+    private static final Comparator<TestCase> PREFERENCE_ORDER = Comparator
+        .comparingInt(TestCase::getRank).reversed()
+        .thenComparingDouble(TestCase::getDensity)
+        .thenComparing(Comparator.comparingInt(TestCase::size).reversed());
+
+    /**
+     * Ignores the fitness evaluations of test cases that are executed again only to restore their
+     * fitness values, because they have been paid for before.
+     */
+    private static final StoppingCondition UNCOUNTED = new StoppingCondition() {
+        @Override
+        public void notifySearchStarted() {
+        }
+
+        @Override
+        public void notifyFitnessEvaluation() {
+        }
+
+        @Override
+        public boolean searchMustStop() {
+            return false;
+        }
+
+        @Override
+        public double getProgress() {
+            return 0;
+        }
+    };
+
     private final int populationSize;
     private final Random random;
     private final TestCaseGenerator generator;
     private final List<Branch> targetBranches;
-    private final Map<Branch, FitnessFunction<TestCase>> fitnessFunctions;
+    private final Map<Branch, BranchCoverageFitnessFunction> fitnessFunctions;
     private final StoppingCondition stoppingCondition;
-    private final List<TestCase> archive; // Archive to maintain the best solutions
+    private final Map<Branch, TestCase> archive; // Archive of the shortest test case covering each branch
+    private final Map<TestCase, Set<Integer>> archivedCoverage; // The branches covered by archived test cases
+    private final List<TestCase> seeds; // Test cases of a previous run to start the search from
+    private List<TestCase> population; // The population of the current generation
+    private Map<TestCase, Map<Branch, Double>> fitnessMap; // The fitness values of the population
+    private int generation; // The number of the current generation, 0 for the initial population
+    private int[] frontSizes; // The sizes of the fronts the current population was selected from
+    private int evaluations; // The number of fitness evaluations of the current search
+    private CheckpointStore checkpointStore; // Where to write checkpoints of the search to, or null
+    private Checkpoint resumeFrom; // The checkpoint to resume the next search from, or null
+    private long lastCheckpoint; // The time the last checkpoint was written, see System.nanoTime()
 
     public MOSA(
         int populationSize,
@@ -36,12 +92,37 @@ public class MOSA implements GeneticAlgorithm<TestCase> {
         List<Branch> targetBranches,
         StoppingCondition stoppingCondition
         ) {
+        this(populationSize, random, generator, targetBranches, stoppingCondition, List.of());
+    }
+
+    /**
+     * Creates a MOSA instance that starts the search from the given test cases, e.g., from the
+     * archive of a previous run for the same class under test. The seeds are executed once at the
+     * beginning of every search, so that the branches they cover are archived right away, and they
+     * become part of the initial population. The rest of the initial population is random.
+     * @param populationSize the size of the population
+     * @param random the source of randomness
+     * @param generator the generator of random test cases
+     * @param targetBranches the branches to cover
+     * @param stoppingCondition the stopping condition of the search
+     * @param seeds the test cases to start the search from
+     */
+    public MOSA(
+        int populationSize,
+        Random random,
+        TestCaseGenerator generator,
+        List<Branch> targetBranches,
+        StoppingCondition stoppingCondition,
+        List<TestCase> seeds
+        ) {
+        this.seeds = List.copyOf(seeds);
         this.populationSize = requireNonNull(populationSize);
         this.random = requireNonNull(random);
         this.generator = requireNonNull(generator);
         this.targetBranches = requireNonNull(targetBranches);
         this.stoppingCondition = requireNonNull(stoppingCondition);
-        this.archive = new ArrayList<>(); // Initialize archive
+        this.archive = new LinkedHashMap<>(); // Initialize archive
+        this.archivedCoverage = new HashMap<>();
 
         // Initialize fitness functions for each target branch
         this.fitnessFunctions = targetBranches.stream()
@@ -52,57 +133,362 @@ public class MOSA implements GeneticAlgorithm<TestCase> {
      * {@inheritDoc}
      */
     public List<TestCase> findSolution() {
-        archive.clear();
         stoppingCondition.notifySearchStarted();
-
+        lastCheckpoint = System.nanoTime();
+        if (resumeFrom != null) {
+            resume(resumeFrom);
+            resumeFrom = null;
+        } else {
+            initialise();
+        }
         while (!stoppingCondition.searchMustStop()) {
+            evolve();
+            checkpointIfDue();
+        }
+
+        // A search resumed from its final checkpoint ends right away with the same solution
+        if (checkpointStore != null) {
+            checkpointStore.writeAsync(checkpoint());
+            try {
+                checkpointStore.awaitWrites();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return getSolution();
+    }
+
+    /**
+     * Makes the search write a checkpoint to the given store whenever the interval of the store has
+     * elapsed since the last checkpoint, and at the end of the search. The checkpoints are written
+     * in the background.
+     * @param checkpointStore the store to write the checkpoints to, or {@code null} to disable
+     *                        checkpoints
+     */
+    public void setCheckpointStore(CheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+    }
+
+    /**
+     * Makes the next search continue from the given checkpoint instead of starting from a random
+     * population. Only the next search is affected, later searches start from scratch again.
+     * @param checkpoint the checkpoint to resume from
+     */
+    public void resumeFrom(Checkpoint checkpoint) {
+        this.resumeFrom = requireNonNull(checkpoint);
+    }
+
+    /**
+     * Restores the state of the search from the given checkpoint: the population, the archive,
+     * the number of fitness evaluations and, if possible, the state of the source of randomness.
+     * The population is executed again to restore its fitness values, which is possible because
+     * test case executions are deterministic. These executions do not count as fitness
+     * evaluations.
+     * @param checkpoint the checkpoint to resume from
+     */
+    void resume(Checkpoint checkpoint) {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        generation = checkpoint.generation();
+        evaluations = checkpoint.evaluations();
+        stoppingCondition.notifyFitnessEvaluations(evaluations);
+        if (random instanceof RestorableRandom restorable) {
+            checkpoint.randomState().ifPresent(restorable::setState);
+        }
+
+        Map<Integer, Branch> branchesById = targetBranches.stream()
+            .collect(Collectors.toMap(Branch::getId, branch -> branch));
+        archive.clear();
+        archivedCoverage.clear();
+        checkpoint.archive().forEach((id, testCase) -> {
+            Branch branch = branchesById.get(id);
+            if (branch != null) {
+                archive.put(branch, testCase);
+            }
+        });
+
+        fitnessMap = new HashMap<>(Utils.evaluateFitness(
+            checkpoint.population(),
+            targetBranches,
+            fitnessFunctions,
+            UNCOUNTED
+        ));
+        stoppingCondition.notifyCoverage(archive.size(), targetBranches.size());
+        population = selectSurvivors(new ArrayList<>(checkpoint.population()), fitnessMap);
+        commit(event);
+    }
+
+    /**
+     * Returns a checkpoint of the current state of the search.
+     * @return the checkpoint
+     */
+    Checkpoint checkpoint() {
+        Map<Integer, TestCase> archived = new LinkedHashMap<>();
+        archive.forEach((branch, testCase) -> archived.put(branch.getId(), testCase));
+        OptionalLong randomState = random instanceof RestorableRandom restorable
+            ? OptionalLong.of(restorable.getState())
+            : OptionalLong.empty();
+        return new Checkpoint(generation, evaluations, randomState, population, archived);
+    }
+
+    /**
+     * Writes a checkpoint if checkpoints are enabled and the checkpoint interval has elapsed.
+     */
+    private void checkpointIfDue() {
+        if (checkpointStore == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - lastCheckpoint >= checkpointStore.getInterval().toNanos()) {
+            checkpointStore.writeAsync(checkpoint());
+            lastCheckpoint = now;
+        }
+    }
+
+    /**
+     * Creates and evaluates the initial population, and archives the branches it covers.
+     */
+    void initialise() {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        archive.clear();
+        archivedCoverage.clear();
+        generation = 0;
+        evaluations = 0;
+
+        // Replay the seeds, and fill up the initial population with random test cases
+        population = new ArrayList<>(seeds);
+        population.addAll(Utils.initializePopulation(
+            Math.max(populationSize - seeds.size(), 0),
+            generator
+        ));
+
+        // Evaluate fitness for all target branches (one execution per test case)
+        fitnessMap = new HashMap<>(Utils.evaluateFitness(
+            population,
+            targetBranches,
+            fitnessFunctions,
+            stoppingCondition
+        ));
+        evaluations += population.size();
+        updateArchive(population);
+        stoppingCondition.notifyCoverage(archive.size(), targetBranches.size());
+
+        // Rank the initial population, so that parents can be selected from it
+        population = selectSurvivors(population, fitnessMap);
+        commit(event);
+    }
+
+    /**
+     * Evolves the population by one generation.
+     */
+    void evolve() {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        generation++;
+
+        // Generate offspring population
+        List<TestCase> offSpringPopulation = generateOffspring(population);
+
+        // Only the offspring are new, the parents need not be executed again
+        fitnessMap.putAll(Utils.evaluateFitness(
+            offSpringPopulation,
+            targetBranches,
+            fitnessFunctions,
+            stoppingCondition
+        ));
+        evaluations += offSpringPopulation.size();
+
+        // Keep the shortest test case covering each branch, and notify the stopping condition
+        // of the coverage achieved so far
+        updateArchive(offSpringPopulation);
+        stoppingCondition.notifyCoverage(archive.size(), targetBranches.size());
+
+        // The best test cases of parents and offspring survive to the next generation
+        List<TestCase> combinedPopulation = new ArrayList<>(population);
+        combinedPopulation.addAll(offSpringPopulation);
+        population = selectSurvivors(combinedPopulation, fitnessMap);
+        fitnessMap.keySet().retainAll(population);
+        commit(event);
+    }
+
+    /**
+     * Archives the given test cases where they cover a branch with fewer statements, and records
+     * the branches covered by newly archived test cases while their fitness values are known.
+     * @param candidates the test cases to archive, whose fitness values must be in the fitness map
+     */
+    private void updateArchive(List<TestCase> candidates) {
+        Utils.updateArchive(candidates, fitnessMap, archive, targetBranches);
+        Set<TestCase> archived = new HashSet<>(archive.values());
+        archivedCoverage.keySet().retainAll(archived);
+        for (TestCase testCase : candidates) {
+            if (archived.contains(testCase) && !archivedCoverage.containsKey(testCase)) {
+                archivedCoverage.put(testCase, recordedCoverage(testCase));
+            }
+        }
+    }
+
+    /**
+     * Ends the given event of the current generation, and commits it if it is enabled.
+     * @param event the event of the current generation
+     */
+    private void commit(GenerationEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.generation = generation;
+            event.populationSize = population.size();
+            event.frontSizes = Arrays.toString(frontSizes);
+            event.coveredBranches = archive.size();
+            event.totalBranches = targetBranches.size();
+            event.archiveSize = new HashSet<>(archive.values()).size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the test cases of the archive, i.e., the shortest test case covering each branch
+     * covered so far.
+     * @return the test cases of the archive
+     */
+    List<TestCase> getSolution() {
+        return new ArrayList<>(new LinkedHashSet<>(archive.values()));
+    }
 
-            List<TestCase> population = Utils.initializePopulation(populationSize, generator);
+    /**
+     * {@inheritDoc}
+     * The covered branches are those recorded when a test case was archived. For test cases
+     * restored from a checkpoint, these are the branches the test case is archived for.
+     */
+    @Override
+    public Map<TestCase, Set<Integer>> getCoveredBranches() {
+        Map<TestCase, Set<Integer>> coveredBranches = new LinkedHashMap<>();
+        archive.forEach((branch, testCase) -> coveredBranches
+            .computeIfAbsent(testCase, tc -> new HashSet<>(archivedCoverage.getOrDefault(tc, Set.of())))
+            .add(branch.getId()));
+        return coveredBranches;
+    }
+
+    /**
+     * Selects the test cases of the current population that are closest to covering the branches
+     * not covered by this search yet, one per branch. Used to migrate test cases to other
+     * populations.
+     * @return the selected test cases and the IDs of the branches they cover, as recorded when
+     * they were evaluated
+     */
+    Map<TestCase, Set<Integer>> emigrants() {
+        Map<TestCase, Set<Integer>> emigrants = new LinkedHashMap<>();
+        for (Branch branch : targetBranches) {
+            if (archive.containsKey(branch)) {
+                continue;
+            }
+            population.stream()
+                .min(Comparator.comparingDouble(tc -> fitnessMap.get(tc).get(branch)))
+                .ifPresent(testCase -> emigrants.computeIfAbsent(testCase, this::recordedCoverage));
+        }
+        return emigrants;
+    }
+
+    /**
+     * Returns the IDs of the branches the given test case of the population covers, as recorded
+     * when it was evaluated.
+     * @param testCase the test case
+     * @return the IDs of the covered branches
+     */
+    private Set<Integer> recordedCoverage(TestCase testCase) {
+        Set<Integer> covered = new HashSet<>();
+        fitnessMap.get(testCase).forEach((branch, fitness) -> {
+            if (fitness == 0.0) covered.add(branch.getId());
+        });
+        return covered;
+    }
 
-            // Evaluate fitness for all target branches
-            Map<TestCase, Map<Branch, Double>> fitnessMap = Utils.evaluateFitness(
-                population,
-                targetBranches,
-                fitnessFunctions
-            );
+    /**
+     * Adds the given test cases, which come from another population, to the current population.
+     * They are executed once to evaluate them, compete with the current population for survival,
+     * and are archived if they cover a branch with fewer statements.
+     * @param immigrants the test cases
+     */
+    void immigrate(List<TestCase> immigrants) {
+        List<TestCase> newcomers = new ArrayList<>(immigrants);
+        fitnessMap.putAll(Utils.evaluateFitness(
+            newcomers,
+            targetBranches,
+            fitnessFunctions,
+            stoppingCondition
+        ));
+        evaluations += newcomers.size();
+        updateArchive(newcomers);
+        stoppingCondition.notifyCoverage(archive.size(), targetBranches.size());
 
-            // Update archive with the best solutions from the current generation
-            Utils.updateArchive(population, fitnessMap, archive, targetBranches);
+        List<TestCase> combinedPopulation = new ArrayList<>(population);
+        combinedPopulation.addAll(newcomers);
+        population = selectSurvivors(combinedPopulation, fitnessMap);
+        fitnessMap.keySet().retainAll(population);
+    }
 
-            // Generate offspring population
-            List<TestCase> offSpringPopulation = generateOffspring(population, fitnessMap);
-            List<TestCase> combinedPopulation = new ArrayList<>(population);
-            combinedPopulation.addAll(offSpringPopulation);
+    /**
+     * Selects the test cases that survive to the next generation. The candidates are sorted by
+     * Pareto dominance, and whole fronts are taken as long as they fit into the population. The
+     * remaining places are filled from the next front, preferring test cases in less crowded
+     * regions and, among those, shorter test cases. Every survivor is assigned its rank and
+     * density, which are later used for parent selection.
+     *
+     * @param candidates the parents and offspring of the current generation
+     * @param fitnessMap the fitness values of all candidates
+     * @return the population of the next generation
+     */
+    private List<TestCase> selectSurvivors(
+        List<TestCase> candidates,
+        Map<TestCase, Map<Branch, Double>> fitnessMap
+    ) {
+        // Identical test cases would only take away places from more diverse ones
+        List<TestCase> distinctCandidates = new ArrayList<>(new LinkedHashSet<>(candidates));
 
-            Map<TestCase, Map<Branch, Double>> fitnessMap2 = Utils.evaluateFitness(
-                combinedPopulation,
-                targetBranches,
-                fitnessFunctions
-            );
+        // Sort by Pareto dominance
+        NonDominatedSortingEvent sortingEvent = new NonDominatedSortingEvent();
+        sortingEvent.begin();
+        List<List<TestCase>> fronts = Utils.nonDominatedSorting(
+            distinctCandidates,
+            fitnessMap,
+            targetBranches
+        );
+        sortingEvent.end();
+        if (sortingEvent.shouldCommit()) {
+            sortingEvent.candidates = distinctCandidates.size();
+            sortingEvent.objectives = targetBranches.size();
+            sortingEvent.fronts = fronts.size();
+            sortingEvent.commit();
+        }
+        frontSizes = fronts.stream().mapToInt(List::size).toArray();
 
-            // Sort by Pareto dominance
-            List<List<TestCase>> fronts = Utils.nonDominatedSorting(
-                combinedPopulation,
-                fitnessMap2,
-                targetBranches
-            );
+        List<TestCase> survivors = new ArrayList<>(populationSize);
+        for (int rank = 0; rank < fronts.size() && survivors.size() < populationSize; rank++) {
+            List<TestCase> front = fronts.get(rank);
 
             // Estimate density using subvector dominance
-            for (List<TestCase> front : fronts) {
-                calculateSubvectorDensity(front, fitnessMap2);
+            calculateSubvectorDensity(front, fitnessMap);
+            for (TestCase testCase : front) {
+                testCase.setRank(rank);
             }
 
-            // Notify the stoppingCodition
-            stoppingCondition.notifyFitnessEvaluation();
+            front.sort(PREFERENCE_ORDER.reversed());
+            survivors.addAll(front.subList(0, Math.min(front.size(), populationSize - survivors.size())));
         }
 
-        return new ArrayList<>(archive);
+        // Too few distinct candidates: fill up the population with copies
+        List<TestCase> pool = survivors.isEmpty() ? candidates : survivors;
+        for (int i = 0; survivors.size() < populationSize; i++) {
+            survivors.add(pool.get(i % pool.size()));
+        }
+        return survivors;
     }
 
     public void calculateSubvectorDensity(
         List<TestCase> front,
         Map<TestCase, Map<Branch, Double>> fitnessMap
     ) {
+        DensityEstimationEvent event = new DensityEstimationEvent();
+        event.begin();
         int objectiveCount = targetBranches.size();
         double[][] subvectorDistances = new double[front.size()][objectiveCount];
 
@@ -124,38 +510,37 @@ public class MOSA implements GeneticAlgorithm<TestCase> {
             double density = Arrays.stream(subvectorDistances[i]).sum();
             front.get(i).setDensity(density);
         }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.frontSize = front.size();
+            event.objectives = objectiveCount;
+            event.commit();
+        }
     }
 
     /**
-     * Generates offspring from the current population.
+     * Generates offspring from the current population. Parents are selected according to their
+     * rank, density and length, as assigned by the survivor selection.
      * @param population the current population
      * @return the offspring population
      */
-    private List<TestCase> generateOffspring (
-        List<TestCase> population, Map<TestCase,
-        Map<Branch, Double>> fitnessMap
-    ) {
+    private List<TestCase> generateOffspring (List<TestCase> population) {
         List<TestCase> offspringPopulation = new ArrayList<>();
 
-        Comparator<TestCase> comparator = new Comparator<TestCase>() {
-            @Override
-            public int compare(TestCase p1, TestCase p2) {
-                if (Utils.dominates(p1, p2, fitnessMap, targetBranches)) return 1;
-                return -1;
-            }
-        };
-
         RankSelection<TestCase> selection = new RankSelection<>(
-            comparator,
+            PREFERENCE_ORDER,
             population.size(),
             1.9,
             random
         );
+        // Select all parents at once, so that the population is ranked only once
+        List<TestCase> parents = selection.select(population, 2 * ((population.size() + 1) / 2));
         TestCase offspring1;
         TestCase offspring2;
-        while (offspringPopulation.size() < population.size()){
-            TestCase parent1 = selection.apply(population);
-            TestCase parent2 = selection.apply(population);
+        for (int i = 0; offspringPopulation.size() < population.size(); i += 2) {
+            TestCase parent1 = parents.get(i);
+            TestCase parent2 = parents.get(i + 1);
             if (random.nextDouble() < 0.8) {
                 Pair<TestCase> pair = parent1.crossover(parent2);
                 offspring1 = pair.getFst();
@@ -3,6 +3,8 @@ package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -10,19 +12,18 @@ import java.util.stream.Collectors;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCaseGenerator;
 import de.uni_passau.fim.se2.sbse.suite_generation.fitness_functions.BranchCoverageFitnessFunction;
-import de.uni_passau.fim.se2.sbse.suite_generation.fitness_functions.FitnessFunction;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
 import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
 import de.uni_passau.fim.se2.sbse.suite_generation.utils.Utils;
 
 public class RandomSearch implements GeneticAlgorithm<TestCase> {
 
-    private final Map<Branch, FitnessFunction<TestCase>> fitnessFunctions;
+    private final Map<Branch, BranchCoverageFitnessFunction> fitnessFunctions;
     private final StoppingCondition stoppingCondition;
     private final TestCaseGenerator generator;
     private final List<Branch> targetBranches;
     private final int populationSize;
-    private final List<TestCase> archive; // Archive to maintain the best solutions
+    private final Map<Branch, TestCase> archive; // Archive of the shortest test case covering each branch
 
     /**
      * 
@@ -39,7 +40,7 @@ public class RandomSearch implements GeneticAlgorithm<TestCase> {
         this.stoppingCondition = requireNonNull(stoppingCondition);
         this.targetBranches = requireNonNull(targetBranches);
         this.populationSize = requireNonNull(populationSize);
-        this.archive = new ArrayList<>(); // Initialize archive
+        this.archive = new LinkedHashMap<>(); // Initialize archive
 
         // Initialize fitness functions for each target branch
         this.fitnessFunctions = targetBranches.stream()
@@ -56,20 +57,21 @@ public class RandomSearch implements GeneticAlgorithm<TestCase> {
         while (!stoppingCondition.searchMustStop()) {
             List<TestCase> population = Utils.initializePopulation(populationSize, generator);
 
-            // 1. Evaluate fitness for all target branches
+            // 1. Evaluate fitness for all target branches (one execution per test case)
             Map<TestCase, Map<Branch, Double>> fitnessMap = Utils.evaluateFitness(
                 population,
                 targetBranches,
-                fitnessFunctions
+                fitnessFunctions,
+                stoppingCondition
             );
 
-            // 2. Update archive with the best solutions from the current generation
+            // 2. Update archive with the shortest test case covering each branch
             Utils.updateArchive(population, fitnessMap, archive, targetBranches);
-            // 3. Notify the fitness Function
-            stoppingCondition.notifyFitnessEvaluation();
+            // 3. Notify the stopping condition of the coverage achieved so far
+            stoppingCondition.notifyCoverage(archive.size(), targetBranches.size());
         }
 
-        return archive;
+        return new ArrayList<>(new LinkedHashSet<>(archive.values()));
     }
 
     /**
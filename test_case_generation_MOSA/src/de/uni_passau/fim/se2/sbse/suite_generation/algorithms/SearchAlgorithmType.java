@@ -6,4 +6,5 @@ package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
 public enum SearchAlgorithmType {
     RANDOM_SEARCH,
     MOSA,
+    ISLAND_MOSA,
 }
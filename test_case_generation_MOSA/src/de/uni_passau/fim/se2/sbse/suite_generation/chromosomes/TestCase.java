@@ -4,15 +4,18 @@ import java.util.Objects;
 import java.util.List;
 import java.util.Map;
 
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.ExecutionContext;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
 import de.uni_passau.fim.se2.sbse.suite_generation.crossover.Crossover;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BranchTracer;
+import de.uni_passau.fim.se2.sbse.suite_generation.monitoring.TestExecutionEvent;
 import de.uni_passau.fim.se2.sbse.suite_generation.mutation.Mutation;
 
 public class TestCase extends Chromosome<TestCase> {
 
     private List<Statement> statements;
     private double density;
+    private int rank;
     /**
      * Constructs a new chromosome, using the given mutation and crossover operators for offspring
      * creation.
@@ -34,20 +37,36 @@ public class TestCase extends Chromosome<TestCase> {
     }
 
     /**
-     * {@inheritDoc}
+     * Executes the statements of this test case and returns the branch distances observed. Every
+     * execution uses a fresh {@link ExecutionContext}, i.e., the statements operate on a new
+     * instance of the class under test, so that the result does not depend on earlier executions.
+     *
+     * @return the branch distances, keyed by branch ID
      */
     public Map<Integer, Double> call() throws RuntimeException {
         // Clear any previous branch traces
         BranchTracer tracer = BranchTracer.getInstance();
         tracer.clear();
 
-        // Execute each statement
-        for (Statement statement : statements) {
-            try {
-                statement.run();
-            } catch (Exception e) {
-                // If an exception occurs during execution, throw a RuntimeException
-                throw new RuntimeException("Failed to execute statement", e);
+        ExecutionContext context = new ExecutionContext();
+        TestExecutionEvent event = new TestExecutionEvent();
+        event.begin();
+        try {
+            // Execute each statement
+            for (Statement statement : statements) {
+                try {
+                    statement.run(context);
+                } catch (Exception e) {
+                    event.exception = e.getClass().getName();
+                    // If an exception occurs during execution, throw a RuntimeException
+                    throw new RuntimeException("Failed to execute statement", e);
+                }
+            }
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.statements = statements.size();
+                event.commit();
             }
         }
 
@@ -116,4 +135,20 @@ public class TestCase extends Chromosome<TestCase> {
         this.density = density;
     }
 
+    /**
+     * A getter for the rank, i.e., the index of the non-dominated front the TestCase belongs to
+     * @return the rank, where 0 denotes the best front
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Sets the rank of the TestCase
+     * @param rank the index of the non-dominated front the TestCase belongs to
+     */
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
 }
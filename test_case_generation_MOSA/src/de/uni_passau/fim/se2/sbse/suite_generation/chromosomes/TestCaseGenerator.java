@@ -11,10 +11,16 @@ import de.uni_passau.fim.se2.sbse.suite_generation.utils.Utils;
 
 public class TestCaseGenerator implements ChromosomeGenerator<TestCase> {
 
+    /**
+     * The maximum number of statements of a generated test case, unless specified otherwise.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 50;
+
     private final Mutation<TestCase> mutation;
     private final Crossover<TestCase> crossover;
     private final Random random;
     private final Class<?> classUnderTest;
+    private final int maxLength;
 
     /**
      * Generates a random statements for a Test Case
@@ -24,16 +30,47 @@ public class TestCaseGenerator implements ChromosomeGenerator<TestCase> {
         final Mutation<TestCase> mutation,
         final Crossover<TestCase> crossover,
         final Class<?> classUnderTest
+    ) {
+        this(random, mutation, crossover, classUnderTest, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Generates random statements for a Test Case, with at most {@code maxLength} statements
+     * (including the initialization statement) per test case.
+     *
+     * @param random the source of randomness
+     * @param mutation the mutation operator of the generated test cases
+     * @param crossover the crossover operator of the generated test cases
+     * @param classUnderTest the class for which test cases are generated
+     * @param maxLength the maximum number of statements of a test case, must be positive
+     */
+    public TestCaseGenerator(
+        Random random,
+        final Mutation<TestCase> mutation,
+        final Crossover<TestCase> crossover,
+        final Class<?> classUnderTest,
+        final int maxLength
     ) {
         if (random == null ||
             mutation == null ||
             crossover == null ||
-            classUnderTest == null
+            classUnderTest == null ||
+            maxLength < 1
         ) throw new IllegalArgumentException("Invalid TestCaseGenerator Argument");
         this.random = random;
         this.mutation = mutation;
         this.crossover = crossover;
         this.classUnderTest = classUnderTest;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the maximum number of statements of a generated test case.
+     *
+     * @return the maximum length
+     */
+    public int getMaxLength() {
+        return maxLength;
     }
 
     /**
@@ -46,8 +83,9 @@ public class TestCaseGenerator implements ChromosomeGenerator<TestCase> {
         // Add the initialization statement
         statements.add(allStatements.get(0));
 
+        // Draw the length uniformly, so that short test cases are as likely as long ones
         int allStatementsSize = allStatements.size();
-        int number = random.nextInt(allStatementsSize, 50);
+        int number = random.nextInt(1, maxLength + 1);
 
         for (int i = 1; i < number; i++) {
             // choose a random statement to add in the test case
@@ -0,0 +1,85 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Holds the values of the {@link Variable variables} of a test case during one execution. A fresh
+ * context is used for every execution, so that executions do not share any objects created by the
+ * statements of a test case, and executing the same test case twice yields the same result.
+ */
+public final class ExecutionContext {
+
+    private Object[] values;
+    private boolean[] bound;
+
+    /**
+     * Creates a context in which no variable is bound yet.
+     */
+    public ExecutionContext() {
+        values = new Object[1];
+        bound = new boolean[1];
+    }
+
+    /**
+     * Tells whether a value has been assigned to the given variable.
+     *
+     * @param variable the variable
+     * @return {@code true} if the variable is bound
+     */
+    public boolean isBound(final Variable variable) {
+        final int index = requireNonNull(variable).index();
+        return index < bound.length && bound[index];
+    }
+
+    /**
+     * Returns the value of the given variable.
+     *
+     * @param variable the variable
+     * @return the value, possibly {@code null}
+     * @throws IllegalStateException if the variable is not bound
+     */
+    public Object get(final Variable variable) {
+        if (!isBound(variable)) {
+            throw new IllegalStateException("Variable " + variable + " is not bound");
+        }
+        return values[variable.index()];
+    }
+
+    /**
+     * Assigns the given value to the given variable, replacing any previous value.
+     *
+     * @param variable the variable
+     * @param value    the value, possibly {@code null}
+     */
+    public void set(final Variable variable, final Object value) {
+        final int index = requireNonNull(variable).index();
+        if (index >= values.length) {
+            final int length = Math.max(index + 1, 2 * values.length);
+            values = Arrays.copyOf(values, length);
+            bound = Arrays.copyOf(bound, length);
+        }
+        values[index] = value;
+        bound[index] = true;
+    }
+
+    /**
+     * Replaces every variable among the given values by the value it holds in this context.
+     *
+     * @param values the values, e.g., the arguments of a method call
+     * @return the resolved values, or the given array if it contains no variables
+     */
+    Object[] resolve(final Object[] values) {
+        Object[] resolved = values;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Variable variable) {
+                if (resolved == values) {
+                    resolved = values.clone();
+                }
+                resolved[i] = isBound(variable) ? get(variable) : null;
+            }
+        }
+        return resolved;
+    }
+}
@@ -16,6 +16,16 @@ public interface Statement extends Runnable {
     @Override
     void run();
 
+    /**
+     * Runs this statement as part of an execution of a test case, reading and assigning the
+     * variables of the given context. By default, the context is ignored.
+     *
+     * @param context the variables of the current execution
+     */
+    default void run(ExecutionContext context) {
+        run();
+    }
+
     /**
      * Returns the string representation of this statement as valid Java code (terminated by a
      * semicolon "{@code ;}").
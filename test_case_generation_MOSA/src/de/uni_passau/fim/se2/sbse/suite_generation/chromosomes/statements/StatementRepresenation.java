@@ -1,19 +1,44 @@
 package de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * Represents different types of statements in a test case, including initialization of the Class Under Test (CUT),
  * method calls, and field assignments.
+ * <p>
+ * When run as part of a test case execution (see {@link #run(ExecutionContext)}), a statement
+ * operates on the instance of the CUT held by its {@link Variable}: the initialization statement
+ * creates a fresh instance and assigns it to the variable, and the later statements use it. If a
+ * test case does not start with an initialization statement, the variable is initialized by the
+ * initialization statement the statement was created for. When run on its own (see
+ * {@link #run()}), a statement operates on the instance it was created with.
  *
  * @author Tayebwa Ian
  */
 public abstract class StatementRepresenation implements Statement {
 
+    private static final MethodHandle NEW_INSTANCE;
+
+    static {
+        try {
+            NEW_INSTANCE = MethodHandles.lookup().findVirtual(Constructor.class, "newInstance",
+                    MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     protected Object cutInstance;
+    protected final Variable variable;
+    private final InitializationStatement initialization;
 
     /**
      * Constructor for initializing the CUT with a non-private constructor.
@@ -21,14 +46,91 @@ public abstract class StatementRepresenation implements Statement {
      */
     public StatementRepresenation(Object cutInstance) {
         this.cutInstance = cutInstance;
+        this.variable = Variable.CUT;
+        this.initialization = null;
+    }
+
+    /**
+     * Constructor for a statement operating on the instance of the CUT held by the given variable.
+     * @param variable The variable holding the instance of the CUT.
+     * @param initialization The statement initializing the variable if no other statement did.
+     */
+    protected StatementRepresenation(Variable variable, InitializationStatement initialization) {
+        this.variable = requireNonNull(variable);
+        this.initialization = requireNonNull(initialization);
+        this.cutInstance = initialization.cutInstance;
+    }
+
+    /**
+     * Returns the instance of the CUT this statement operates on when run on its own.
+     * @return the CUT instance
+     */
+    public Object getCutInstance() {
+        return cutInstance;
+    }
+
+    /**
+     * Returns the variable holding the instance of the CUT this statement operates on.
+     * @return the variable
+     */
+    public Variable getVariable() {
+        return variable;
+    }
+
+    /**
+     * Returns the statement initializing the variable of this statement if no other statement did.
+     * @return the initialization statement, or {@code null} if this statement operates on a fixed instance
+     */
+    public InitializationStatement getInitialization() {
+        return initialization;
     }
 
     @Override
     public abstract void run();
 
+    @Override
+    public abstract void run(ExecutionContext context);
+
     @Override
     public abstract String toString();
 
+    /**
+     * Returns the instance of the CUT held by the variable of this statement, initializing the
+     * variable first if no statement has done so yet.
+     */
+    protected Object receiver(ExecutionContext context) {
+        if (!context.isBound(variable)) {
+            context.set(variable, initialization != null ? initialization.instantiate() : cutInstance);
+        }
+        return context.get(variable);
+    }
+
+    /**
+     * Replaces the variables among the given values by the instance of the CUT this statement
+     * operates on when run on its own.
+     */
+    protected Object[] resolve(Object[] values) {
+        Object[] resolved = values;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Variable) {
+                if (resolved == values) {
+                    resolved = values.clone();
+                }
+                resolved[i] = cutInstance;
+            }
+        }
+        return resolved;
+    }
+
+    private static String format(Object[] parameters) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parameters.length; i++) {
+            sb.append(parameters[i] != null ? parameters[i].toString() : "null");
+            if (i < parameters.length - 1) sb.append(", ");
+        }
+        return sb.toString();
+    }
+
     /**
      * A concrete implementation for initializing the CUT.
      */
@@ -37,6 +139,7 @@ public abstract class StatementRepresenation implements Statement {
         private final String className;
         private final Object[] parameters;
         private final Constructor<?> constructor;
+        private final MethodHandle instantiator;
 
         public InitializationStatement(
             Object cutInstance,
@@ -48,28 +151,70 @@ public abstract class StatementRepresenation implements Statement {
             this.className = className;
             this.parameters = parameters;
             this.constructor = constructor;
+            this.instantiator = bind(constructor, parameters);
         }
 
-        @Override
-        public void run() {
+        /**
+         * Returns a method handle that invokes the given constructor with the given arguments. The
+         * handle is created once per statement, so that creating an instance of the CUT for every
+         * execution of a test case does not have to look up and check the constructor again.
+         */
+        private static MethodHandle bind(Constructor<?> constructor, Object[] parameters) {
+            MethodHandle handle;
             try {
-                constructor.newInstance(parameters);
-            } catch (Exception e) {
+                constructor.trySetAccessible();
+                handle = MethodHandles.lookup().unreflectConstructor(constructor);
+                handle = handle.asType(handle.type().generic());
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Fall back to reflection, which reports inaccessible constructors when run
+                handle = NEW_INSTANCE.bindTo(constructor).asCollector(Object[].class, parameters.length);
+            }
+            return MethodHandles.insertArguments(handle, 0, parameters);
+        }
+
+        /**
+         * Returns the constructor invoked by this statement.
+         * @return the constructor
+         */
+        public Constructor<?> getConstructor() {
+            return constructor;
+        }
+
+        /**
+         * Returns the arguments passed to the constructor.
+         * @return the arguments
+         */
+        public Object[] getParameters() {
+            return parameters.clone();
+        }
+
+        /**
+         * Creates a new instance of the CUT.
+         * @return the new instance, or {@code null} if the constructor failed
+         */
+        Object instantiate() {
+            try {
+                return instantiator.invoke();
+            } catch (Throwable e) {
                 System.err.println("Failed to Institiate a constructor");
                 e.printStackTrace();
+                return null;
             }
         }
 
+        @Override
+        public void run() {
+            instantiate();
+        }
+
+        @Override
+        public void run(ExecutionContext context) {
+            context.set(variable, instantiate());
+        }
+
         @Override
         public String toString() {
-            StringBuilder sb = new StringBuilder();
-            sb.append(className + " cut = new " + className).append("(");
-            for (int i = 0; i < parameters.length; i++) {
-                sb.append(parameters[i] != null ? parameters[i].toString() : "null");
-                if (i < parameters.length - 1) sb.append(", ");
-            }
-            sb.append(");");
-            return sb.toString();
+            return className + " " + variable + " = new " + className + "(" + format(parameters) + ");";
         }
     }
 
@@ -87,15 +232,61 @@ public abstract class StatementRepresenation implements Statement {
             this.parameters = parameters;
         }
 
+        /**
+         * Creates a statement calling the given method on the instance of the CUT held by the given
+         * variable. Parameters may refer to variables, too.
+         *
+         * @param variable the variable holding the instance of the CUT
+         * @param initialization the statement initializing the variable if no other statement did
+         * @param method the method to call
+         * @param parameters the arguments, values or {@link Variable variables}
+         */
+        public MethodCallStatement(
+            Variable variable,
+            InitializationStatement initialization,
+            Method method,
+            Object... parameters
+        ) {
+            super(variable, initialization);
+            this.method = method;
+            this.parameters = parameters;
+        }
+
+        /**
+         * Returns the method invoked by this statement.
+         * @return the method
+         */
+        public Method getMethod() {
+            return method;
+        }
+
+        /**
+         * Returns the arguments passed to the method.
+         * @return the arguments
+         */
+        public Object[] getParameters() {
+            return parameters.clone();
+        }
+
         @Override
         public void run() {
+            invoke(cutInstance, resolve(parameters));
+        }
+
+        @Override
+        public void run(ExecutionContext context) {
+            Object receiver = Modifier.isStatic(method.getModifiers()) ? null : receiver(context);
+            invoke(receiver, context.resolve(parameters));
+        }
+
+        private void invoke(Object receiver, Object[] arguments) {
             try {
                 if (Modifier.isStatic(method.getModifiers())) {
                     // Handle static method calls
-                    method.invoke(null, parameters);
+                    method.invoke(null, arguments);
                 } else {
                     // Handle instance method calls
-                    method.invoke(cutInstance, parameters);
+                    method.invoke(receiver, arguments);
                 }
             } catch (Exception e) {
                 System.err.println("Failed to invoke method: " + method.getName());
@@ -108,14 +299,7 @@ public abstract class StatementRepresenation implements Statement {
          */
         @Override
         public String toString() {
-            StringBuilder sb = new StringBuilder();
-            sb.append("cut.").append(method.getName()).append("(");
-            for (int i = 0; i < parameters.length; i++) {
-                sb.append(parameters[i] != null ? parameters[i].toString() : "null");
-                if (i < parameters.length - 1) sb.append(", ");
-            }
-            sb.append(");");
-            return sb.toString();
+            return variable + "." + method.getName() + "(" + format(parameters) + ");";
         }
     }
 
@@ -133,11 +317,57 @@ public abstract class StatementRepresenation implements Statement {
             this.value = value;
         }
 
+        /**
+         * Creates a statement assigning the given value to a field of the instance of the CUT held
+         * by the given variable.
+         *
+         * @param variable the variable holding the instance of the CUT
+         * @param initialization the statement initializing the variable if no other statement did
+         * @param field the field to assign
+         * @param value the value, or a {@link Variable variable}
+         */
+        public FieldAssignmentStatement(
+            Variable variable,
+            InitializationStatement initialization,
+            Field field,
+            Object value
+        ) {
+            super(variable, initialization);
+            this.field = field;
+            this.value = value;
+        }
+
+        /**
+         * Returns the field assigned by this statement.
+         * @return the field
+         */
+        public Field getField() {
+            return field;
+        }
+
+        /**
+         * Returns the value assigned to the field.
+         * @return the value
+         */
+        public Object getValue() {
+            return value;
+        }
+
         @Override
         public void run() {
+            assign(cutInstance, resolve(new Object[]{value})[0]);
+        }
+
+        @Override
+        public void run(ExecutionContext context) {
+            Object receiver = receiver(context);
+            assign(receiver, context.resolve(new Object[]{value})[0]);
+        }
+
+        private void assign(Object receiver, Object value) {
             try {
                 field.setAccessible(true); // Allow access to private fields
-                field.set(cutInstance, value);
+                field.set(receiver, value);
             } catch (Exception e) {
                 System.err.println("Failed to assign field: " + field.getName());
                 e.printStackTrace();
@@ -146,7 +376,7 @@ public abstract class StatementRepresenation implements Statement {
 
         @Override
         public String toString() {
-            return "cut." + field.getName() + " = " + (value != null ? value.toString() : "null") + ";";
+            return variable + "." + field.getName() + " = " + (value != null ? value.toString() : "null") + ";";
         }
     }
 }
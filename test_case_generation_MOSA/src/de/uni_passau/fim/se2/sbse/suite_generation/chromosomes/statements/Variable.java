@@ -0,0 +1,41 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements;
+
+/**
+ * A variable of a test case, i.e., a slot of the {@link ExecutionContext} that holds an object
+ * created during the execution of the test case. Statements refer to the instance of the class
+ * under test through a variable, rather than holding on to an instance themselves, so that every
+ * execution of a test case operates on objects of its own.
+ * <p>
+ * A variable may also be passed as an argument to a method, in which case the object the variable
+ * holds at the time of the call is passed.
+ *
+ * @param index the index of the slot in the execution context
+ */
+public record Variable(int index) {
+
+    /**
+     * The variable holding the instance of the class under test.
+     */
+    public static final Variable CUT = new Variable(0);
+
+    /**
+     * Validates the index.
+     *
+     * @throws IllegalArgumentException if the index is negative
+     */
+    public Variable {
+        if (index < 0) {
+            throw new IllegalArgumentException("Variable index must not be negative: " + index);
+        }
+    }
+
+    /**
+     * Returns the name of this variable in the Java code of a test case.
+     *
+     * @return the name of the variable
+     */
+    @Override
+    public String toString() {
+        return index == 0 ? "cut" : "cut" + index;
+    }
+}
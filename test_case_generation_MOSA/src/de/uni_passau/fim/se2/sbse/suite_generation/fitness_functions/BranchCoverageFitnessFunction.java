@@ -22,9 +22,18 @@ public class BranchCoverageFitnessFunction implements FitnessFunction<TestCase>
     public double applyAsDouble(final TestCase testCase) {
         // Execute the test case to gather new branch distance information
         // An get the branch distances after test case execution
-        Map<Integer, Double> distances = testCase.call();
+        return applyToTrace(testCase.call());
+    }
 
-        
+    /**
+     * Computes the fitness value for the target branch from the branch distances recorded during
+     * a test case execution. This allows callers to execute a test case once and derive the
+     * fitness values of all branches from the same trace.
+     *
+     * @param distances the branch trace mapping branch IDs to branch distances
+     * @return the fitness value in the interval [0, 1]
+     */
+    public double applyToTrace(final Map<Integer, Double> distances) {
         // Retrieve the distance for our target branch
         Double distance = distances.get(targetBranch.getId());
 
@@ -1,5 +1,6 @@
 package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -206,6 +207,85 @@ public abstract class Branch implements IBranch {
         }
     }
 
+    /**
+     * A branch of a {@code tableswitch} or {@code lookupswitch} instruction. Every case branch
+     * stands for the keys that jump to the same target. The {@code default} branch of a switch has
+     * no keys, and is taken whenever the switch value does not match any of the case keys.
+     */
+    static class Case extends Branch {
+
+        /**
+         * The node of diversion this branch originates from.
+         */
+        private final Node node;
+
+        /**
+         * The keys leading to this branch, empty for the {@code default} branch.
+         */
+        private final int[] keys;
+
+        /**
+         * Constructs a new case branch using the specified non-negative ID, the non-{@code null}
+         * switch node as origin and the keys leading to the branch.
+         *
+         * @param id   a unique number to identify the branch
+         * @param node the switch node the branch originates from
+         * @param keys the keys leading to the branch, empty for the {@code default} branch
+         * @throws IllegalArgumentException if an argument is invalid (see above)
+         */
+        Case(final int id, final Node node, final int... keys) throws IllegalArgumentException {
+            super(id);
+            if (node == null) {
+                throw new IllegalArgumentException("Only non-null branch nodes permitted");
+            }
+            if (keys == null) {
+                throw new IllegalArgumentException("Keys must not be null");
+            }
+            this.node = node;
+            this.keys = keys.clone();
+        }
+
+        /**
+         * Returns the switch node this branch originates from.
+         *
+         * @return the origin
+         */
+        public Node getNode() {
+            return node;
+        }
+
+        /**
+         * Tells whether this is the {@code default} branch of its switch.
+         *
+         * @return {@code true} if this is the {@code default} branch
+         */
+        boolean isDefault() {
+            return keys.length == 0;
+        }
+
+        /**
+         * Returns the distance of the given switch value to the closest key of this branch, or
+         * {@code 0} if the value matches a key. Must not be called on the {@code default} branch.
+         *
+         * @param value the value the switch was executed with
+         * @return the distance to taking this branch
+         */
+        double distance(final int value) {
+            long distance = Long.MAX_VALUE;
+            for (final int key : keys) {
+                distance = Math.min(distance, Math.abs((long) value - key));
+            }
+            return distance;
+        }
+
+        @Override
+        public String toString() {
+            final String branch = super.toString();
+            final String label = isDefault() ? "default" : Arrays.toString(keys);
+            return String.format("Case%s of %s:%s", branch, node, label);
+        }
+    }
+
     /**
      * A node of diversion in the control flow of a program.
      *
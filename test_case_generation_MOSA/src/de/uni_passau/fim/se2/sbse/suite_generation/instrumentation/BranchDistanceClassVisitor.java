@@ -8,7 +8,8 @@ import static org.objectweb.asm.Opcodes.ASM7;
 
 /**
  * A visitor for Java classes that invokes a {@link BranchDistanceMethodVisitor} for every method it
- * encounters.
+ * encounters. Before the method is instrumented, its constants are recorded by a
+ * {@link ConstantCollectingMethodVisitor}.
  *
  * @author Sebastian Schweikl
  */
@@ -43,6 +44,7 @@ final class BranchDistanceClassVisitor extends ClassVisitor {
             final String signature,
             final String[] exceptions) {
         final var mv = super.visitMethod(access, methodName, descriptor, signature, exceptions);
-        return new BranchDistanceMethodVisitor(mv, className, methodName, descriptor);
+        return new ConstantCollectingMethodVisitor(
+                new BranchDistanceMethodVisitor(mv, className, methodName, descriptor));
     }
 }
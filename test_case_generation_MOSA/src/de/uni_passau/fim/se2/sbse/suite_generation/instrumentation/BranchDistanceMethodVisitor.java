@@ -1,18 +1,30 @@
 package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
 
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch.Case;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch.Decision;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch.Entry;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch.Node;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static java.util.Objects.requireNonNull;
-import static org.objectweb.asm.Opcodes.ASM7;
+import static org.objectweb.asm.Opcodes.*;
 
 /**
  * A visitor for Java methods that inserts instructions to compute the branching distance when
  * conditional jump instructions (also called "control transfer instructions" in the JVM
- * specification) and root branches of non-abstract methods are encountered.
+ * specification), switch instructions and root branches of non-abstract methods are encountered.
+ * <p>
+ * A {@code long}, {@code float} or {@code double} comparison instruction is held back until the
+ * next instruction is visited. If it is a conditional jump testing the result of the comparison,
+ * both are instrumented together, so the branching distance can be computed from the operands of
+ * the comparison. Otherwise, the comparison instruction is emitted unchanged.
  *
  * @author Sebastian Schweikl
  */
@@ -55,6 +67,17 @@ final class BranchDistanceMethodVisitor extends MethodVisitor {
      */
     private int currentLine;
 
+    /**
+     * The {@code long}, {@code float} or {@code double} comparison instruction that has been
+     * visited but not emitted yet, or {@code NO_COMPARISON}.
+     */
+    private int pendingComparison;
+
+    /**
+     * Tells that no comparison instruction is pending.
+     */
+    private static final int NO_COMPARISON = -1;
+
     /**
      * Constructs a new method visitor for the method specified by the given non-{@code null} fully
      * qualified class name, non-{@code null} method name and non-{@code null} method descriptor.
@@ -73,6 +96,7 @@ final class BranchDistanceMethodVisitor extends MethodVisitor {
         this.methodName = requireNonNull(methodName);
         this.descriptor = requireNonNull(descriptor);
         this.currentLine = 0;
+        this.pendingComparison = NO_COMPARISON;
     }
 
     /**
@@ -87,6 +111,7 @@ final class BranchDistanceMethodVisitor extends MethodVisitor {
      */
     @Override
     public void visitLineNumber(final int line, final Label start) {
+        flushPendingComparison();
         currentLine = line;
         mv.visitLineNumber(line, start);
     }
@@ -107,13 +132,187 @@ final class BranchDistanceMethodVisitor extends MethodVisitor {
         final var node = new Node(currentLine, className);
         final var trueBranch = new Decision(branchCounter++, node, true);
         final var falseBranch = new Decision(branchCounter++, node, false);
-        BranchTracer.getInstance().instrumentBranchNode(this, trueBranch, falseBranch, opcode);
+        if (pendingComparison != NO_COMPARISON && opcode >= IFEQ && opcode <= IFLE) {
+            // The comparison instruction is replaced, the jump is re-inserted below.
+            final int comparison = pendingComparison;
+            pendingComparison = NO_COMPARISON;
+            BranchTracer.getInstance().instrumentComparisonNode(
+                    mv, trueBranch, falseBranch, comparison, opcode);
+        } else {
+            flushPendingComparison();
+            BranchTracer.getInstance().instrumentBranchNode(this, trueBranch, falseBranch, opcode);
+        }
 
         // We have to invoke the super method to re-insert the original jump instruction into
         // the instrumented byte code (otherwise, we would be deleting it from the byte code).
         super.visitJumpInsn(opcode, label);
     }
 
+    /**
+     * Visits a {@code tableswitch} instruction and injects additional instructions into the byte
+     * code with the aim of measuring the branching distance for each of its targets. The original
+     * switch instruction is kept in the instrumented code.
+     *
+     * @param min    the minimum key value
+     * @param max    the maximum key value
+     * @param dflt   the target of the {@code default} case
+     * @param labels the targets of the keys {@code min} to {@code max}
+     */
+    @Override
+    public void visitTableSwitchInsn(final int min, final int max, final Label dflt,
+            final Label... labels) {
+        flushPendingComparison();
+        final int[] keys = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            keys[i] = min + i;
+        }
+        instrumentSwitch(dflt, keys, labels);
+        super.visitTableSwitchInsn(min, max, dflt, labels);
+    }
+
+    /**
+     * Visits a {@code lookupswitch} instruction and injects additional instructions into the byte
+     * code with the aim of measuring the branching distance for each of its targets. The original
+     * switch instruction is kept in the instrumented code.
+     *
+     * @param dflt   the target of the {@code default} case
+     * @param keys   the keys of the cases
+     * @param labels the targets of the cases
+     */
+    @Override
+    public void visitLookupSwitchInsn(final Label dflt, final int[] keys, final Label[] labels) {
+        flushPendingComparison();
+        instrumentSwitch(dflt, keys, labels);
+        super.visitLookupSwitchInsn(dflt, keys, labels);
+    }
+
+    /**
+     * Creates a branch for every distinct target of a switch instruction, and instruments the
+     * switch. Keys leading to the same target share a branch, and keys leading to the {@code
+     * default} target (e.g., gaps in a {@code tableswitch}) do not get a branch of their own.
+     */
+    private void instrumentSwitch(final Label dflt, final int[] keys, final Label[] labels) {
+        final Map<Label, List<Integer>> keysByTarget = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            if (labels[i] != dflt) {
+                keysByTarget.computeIfAbsent(labels[i], l -> new ArrayList<>()).add(keys[i]);
+            }
+        }
+
+        final var node = new Node(currentLine, className);
+        final List<Case> caseBranches = new ArrayList<>();
+        for (final List<Integer> targetKeys : keysByTarget.values()) {
+            final int[] caseKeys = targetKeys.stream().mapToInt(Integer::intValue).toArray();
+            caseBranches.add(new Case(branchCounter++, node, caseKeys));
+        }
+        final var defaultBranch = new Case(branchCounter++, node);
+        BranchTracer.getInstance().instrumentSwitchNode(this, caseBranches, defaultBranch);
+    }
+
+    /**
+     * Holds back {@code long}, {@code float} and {@code double} comparisons until it is known
+     * whether a conditional jump follows (see {@link #visitJumpInsn}). All other instructions are
+     * passed on unchanged.
+     *
+     * @param opcode the opcode of the visited instruction
+     */
+    @Override
+    public void visitInsn(final int opcode) {
+        flushPendingComparison();
+        switch (opcode) {
+            case LCMP, FCMPL, FCMPG, DCMPL, DCMPG -> pendingComparison = opcode;
+            default -> super.visitInsn(opcode);
+        }
+    }
+
+    /**
+     * Emits the comparison instruction held back by {@link #visitInsn}, if any. Must be called
+     * before any other instruction is passed on.
+     */
+    private void flushPendingComparison() {
+        if (pendingComparison != NO_COMPARISON) {
+            final int comparison = pendingComparison;
+            pendingComparison = NO_COMPARISON;
+            super.visitInsn(comparison);
+        }
+    }
+
+    @Override
+    public void visitIntInsn(final int opcode, final int operand) {
+        flushPendingComparison();
+        super.visitIntInsn(opcode, operand);
+    }
+
+    @Override
+    public void visitVarInsn(final int opcode, final int var) {
+        flushPendingComparison();
+        super.visitVarInsn(opcode, var);
+    }
+
+    @Override
+    public void visitTypeInsn(final int opcode, final String type) {
+        flushPendingComparison();
+        super.visitTypeInsn(opcode, type);
+    }
+
+    @Override
+    public void visitFieldInsn(final int opcode, final String owner, final String name,
+            final String descriptor) {
+        flushPendingComparison();
+        super.visitFieldInsn(opcode, owner, name, descriptor);
+    }
+
+    @Override
+    public void visitMethodInsn(final int opcode, final String owner, final String name,
+            final String descriptor, final boolean isInterface) {
+        flushPendingComparison();
+        super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+    }
+
+    @Override
+    public void visitInvokeDynamicInsn(final String name, final String descriptor,
+            final Handle bootstrapMethodHandle, final Object... bootstrapMethodArguments) {
+        flushPendingComparison();
+        super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+    }
+
+    @Override
+    public void visitLabel(final Label label) {
+        flushPendingComparison();
+        super.visitLabel(label);
+    }
+
+    @Override
+    public void visitLdcInsn(final Object value) {
+        flushPendingComparison();
+        super.visitLdcInsn(value);
+    }
+
+    @Override
+    public void visitIincInsn(final int var, final int increment) {
+        flushPendingComparison();
+        super.visitIincInsn(var, increment);
+    }
+
+    @Override
+    public void visitMultiANewArrayInsn(final String descriptor, final int numDimensions) {
+        flushPendingComparison();
+        super.visitMultiANewArrayInsn(descriptor, numDimensions);
+    }
+
+    @Override
+    public void visitFrame(final int type, final int numLocal, final Object[] local,
+            final int numStack, final Object[] stack) {
+        flushPendingComparison();
+        super.visitFrame(type, numLocal, local, numStack, stack);
+    }
+
+    @Override
+    public void visitMaxs(final int maxStack, final int maxLocals) {
+        flushPendingComparison();
+        super.visitMaxs(maxStack, maxLocals);
+    }
+
     /**
      * Visits the root branch of the current method and injects additional instructions into the
      * byte code with the aim of tracking whether the method has been called. The original code of
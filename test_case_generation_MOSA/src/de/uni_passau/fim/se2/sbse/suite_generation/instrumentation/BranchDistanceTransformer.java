@@ -1,5 +1,6 @@
 package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
 
+import de.uni_passau.fim.se2.sbse.suite_generation.monitoring.InstrumentationEvent;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 
@@ -117,12 +118,23 @@ final class BranchDistanceTransformer implements ClassFileTransformer {
             final byte[] classFileBuffer) {
         // Performs the transformation if the given class is the target of the instrumentation.
         if (isTargetClass(className)) {
+            final var event = new InstrumentationEvent();
+            event.begin();
+
             final var reader = new ClassReader(classFileBuffer);
             final var writer = new ClassWriter(reader, COMPUTE_FRAMES);
             final var visitor = new BranchDistanceClassVisitor(className, writer);
             reader.accept(visitor, SKIP_FRAMES);
             final byte[] instrumented = writer.toByteArray();
 
+            event.end();
+            if (event.shouldCommit()) {
+                event.className = className.replace('/', '.');
+                event.originalSize = classFileBuffer.length;
+                event.instrumentedSize = instrumented.length;
+                event.commit();
+            }
+
             if (debug) {
                 writeClassFile(instrumented, className.replace('/', '.'));
             }
@@ -1,5 +1,6 @@
 package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
 
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch.Case;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch.Decision;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch.Entry;
 
@@ -65,6 +66,19 @@ import static org.objectweb.asm.Opcodes.*;
  * where {@code i} and {@code j} are of type {@code int}, and {@code o} and {@code p} are
  * references.
  * <p>
+ * The {@code int} result of a {@code long}, {@code float} or {@code double} comparison is only
+ * -1, 0 or 1, which hardly tells how far the operands are away from each other. Therefore, such a
+ * comparison instruction is replaced with a call to {@code passedComparison()} whenever it is
+ * immediately followed by a conditional jump. The call computes the distances of the jump from the
+ * difference of the original operands, using the same definitions as for {@code int} comparisons,
+ * and returns the result of the replaced comparison instruction.
+ * <p>
+ * {@code tableswitch} and {@code lookupswitch} instructions have a {@link Case case branch} for
+ * every target other than the {@code default} target, and a branch for the {@code default} target.
+ * The distance of a case branch is the absolute difference between the switch value and the closest
+ * key of the case. The distance of the {@code default} branch is {@code 0} if the switch value does
+ * not match any key, and {@code 1} otherwise.
+ * <p>
  * Root branches are also handled by this class as they are of particular interest in the context
  * of automated test generation (esp. to handle methods without conditional branches). Therefore, we
  * also consider the root branch of every method for distance computation. To this, we define the
@@ -94,6 +108,9 @@ public final class BranchTracer implements IBranchTracer {
     private static final Type
             VOID_T = Type.VOID_TYPE,
             INT_T = Type.INT_TYPE,
+            LONG_T = Type.LONG_TYPE,
+            FLOAT_T = Type.FLOAT_TYPE,
+            DOUBLE_T = Type.DOUBLE_TYPE,
             OBJ_T = Type.getType(Object.class),
             BRANCH_TRACER_T = Type.getType(BranchTracer.class);
 
@@ -103,6 +120,19 @@ public final class BranchTracer implements IBranchTracer {
      */
     private static final String PASSED_BRANCH = "passedBranch";
 
+    /**
+     * The name of the methods the instrumented code should invoke in place of a {@code long},
+     * {@code float} or {@code double} comparison, e.g. {@link #passedComparison(long, long, int,
+     * int, int)}.
+     */
+    private static final String PASSED_COMPARISON = "passedComparison";
+
+    /**
+     * The name of the method the instrumented code should invoke when a switch instruction is
+     * executed, {@link #passedSwitch(int, int)}.
+     */
+    private static final String PASSED_SWITCH = "passedSwitch";
+
     /**
      * The name of the method {@link #getInstance()}.
      */
@@ -129,6 +159,36 @@ public final class BranchTracer implements IBranchTracer {
      */
     private final Map<Integer, Double> distances = new LinkedHashMap<>();
 
+    /**
+     * Stores the case branches of every instrumented switch instruction, using the ID of the
+     * {@code default} branch of the switch as key.
+     */
+    private final Map<Integer, Case[]> switches = new HashMap<>();
+
+    /**
+     * Counts how often each branch has been taken since counting was enabled, using the ID of the
+     * branch as index, or {@code null} if counting is disabled.
+     */
+    private long[] hits;
+
+    /**
+     * Counts in how many test case executions each branch has been taken at least once, using the
+     * ID of the branch as index.
+     */
+    private long[] coveringExecutions;
+
+    /**
+     * The number of the test case execution in which each branch has been taken last, using the ID
+     * of the branch as index.
+     */
+    private long[] lastExecution;
+
+    /**
+     * The number of test case executions since counting was enabled. Every call to {@link #clear()}
+     * starts a new execution.
+     */
+    private long executions;
+
     private BranchTracer() {
         // Private constructor to prevent instantiation of class.
     }
@@ -298,6 +358,121 @@ public final class BranchTracer implements IBranchTracer {
         // [..., operand(s)]
     }
 
+    /**
+     * Uses the given non-{@code null} method visitor to replace the comparison instruction {@code
+     * compareOpcode} (one of {@code LCMP}, {@code FCMPL}, {@code FCMPG}, {@code DCMPL} and {@code
+     * DCMPG}) with a call that computes the branching distance of the specified {@code true} and
+     * {@code false} branch from the operands of the comparison. It is assumed that the method
+     * visitor is currently visiting the comparison instruction, and that the conditional jump
+     * {@code opcode} (one of {@code IFEQ}, {@code IFNE}, {@code IFLT}, {@code IFLE}, {@code IFGT}
+     * and {@code IFGE}) testing its result immediately follows. The inserted call leaves the result
+     * of the comparison on the operand stack, so the jump instruction has to be retained.
+     *
+     * @param mv            the method visitor with which to instrument
+     * @param trueBranch    the {@code true} branch for which to instrument
+     * @param falseBranch   the {@code false} branch for which to instrument
+     * @param compareOpcode the comparison instruction to replace
+     * @param opcode        the control transfer instruction of the branch node
+     * @throws NullPointerException     if any argument is {@code null}
+     * @throws IllegalArgumentException if the {@code trueBranch} and {@code falseBranch} have
+     *                                  different origins, or an opcode is not supported
+     */
+    void instrumentComparisonNode(
+            final MethodVisitor mv,
+            final Decision trueBranch,
+            final Decision falseBranch,
+            final int compareOpcode,
+            final int opcode) {
+        requireNonNull(mv);
+        requireNonNull(trueBranch);
+        requireNonNull(falseBranch);
+
+        if (!trueBranch.getNode().equals(falseBranch.getNode())) {
+            throw new IllegalArgumentException("branches have different origins");
+        }
+        if (opcode < IFEQ || opcode > IFLE) {
+            throw new IllegalArgumentException("Unsupported opcode: " + opcode);
+        }
+
+        final int trueID = trueBranch.getId();
+        final int falseID = falseBranch.getId();
+
+        branches.put(trueID, trueBranch);
+        branches.put(falseID, falseBranch);
+
+        // The operands of the comparison occupy two stack slots each, which makes it impossible to
+        // slide a reference to the tracer beneath them. The comparison is therefore replaced with
+        // a static method, which consumes the operands and pushes the result of the comparison.
+        final String descriptor;
+
+        // [..., operand1, operand2]
+        switch (compareOpcode) {
+            case LCMP -> descriptor = Type.getMethodDescriptor(INT_T, LONG_T, LONG_T, INT_T, INT_T, INT_T);
+            case FCMPL, FCMPG -> {
+                descriptor = Type.getMethodDescriptor(INT_T, FLOAT_T, FLOAT_T, INT_T, INT_T, INT_T, INT_T);
+                mv.visitLdcInsn(compareOpcode);
+            }
+            case DCMPL, DCMPG -> {
+                descriptor = Type.getMethodDescriptor(INT_T, DOUBLE_T, DOUBLE_T, INT_T, INT_T, INT_T, INT_T);
+                mv.visitLdcInsn(compareOpcode);
+            }
+            default -> throw new IllegalArgumentException("Unsupported opcode: " + compareOpcode);
+        }
+        // [..., operand1, operand2, (compareOpcode)]
+        mv.visitLdcInsn(opcode);
+        mv.visitLdcInsn(trueID);
+        mv.visitLdcInsn(falseID);
+        // [..., operand1, operand2, (compareOpcode), opcode, trueID, falseID]
+        mv.visitMethodInsn(INVOKESTATIC, BRANCH_TRACER, PASSED_COMPARISON, descriptor, false);
+        // [..., result]
+    }
+
+    /**
+     * Uses the given non-{@code null} method visitor to insert instructions into the byte codes of
+     * methods so that the instrumented code computes the branching distances of the given case
+     * branches and {@code default} branch of a switch instruction. It is assumed that the method
+     * visitor is currently visiting the switch instruction. The switch instruction itself is
+     * retained in order not to change the original behavior of the program.
+     *
+     * @param mv            the method visitor with which to instrument
+     * @param caseBranches  the branches of the cases of the switch
+     * @param defaultBranch the {@code default} branch of the switch
+     * @throws NullPointerException     if any argument is {@code null}
+     * @throws IllegalArgumentException if the branches have different origins
+     */
+    void instrumentSwitchNode(
+            final MethodVisitor mv,
+            final List<Case> caseBranches,
+            final Case defaultBranch) {
+        requireNonNull(mv);
+        requireNonNull(caseBranches);
+        requireNonNull(defaultBranch);
+
+        for (final Case caseBranch : caseBranches) {
+            if (!caseBranch.getNode().equals(defaultBranch.getNode())) {
+                throw new IllegalArgumentException("branches have different origins");
+            }
+            branches.put(caseBranch.getId(), caseBranch);
+        }
+        branches.put(defaultBranch.getId(), defaultBranch);
+
+        final int defaultID = defaultBranch.getId();
+        switches.put(defaultID, caseBranches.toArray(new Case[0]));
+
+        // [..., value]
+        mv.visitInsn(DUP);
+        // [..., value, value]
+        mv.visitMethodInsn(INVOKESTATIC, BRANCH_TRACER, GET_INSTANCE, GET_INSTANCE_D, false);
+        // [..., value, value, reference]
+        mv.visitInsn(SWAP);
+        // [..., value, reference, value]
+        mv.visitLdcInsn(defaultID);
+        // [..., value, reference, value, defaultID]
+        mv.visitMethodInsn(INVOKEVIRTUAL, BRANCH_TRACER, PASSED_SWITCH,
+                Type.getMethodDescriptor(VOID_T, INT_T, INT_T), false);
+        // [..., value]
+    }
+
     /**
      * Uses the given non-{@code null} method visitor to insert instructions into the byte codes of
      * methods so that the instrumented code computes the branching distance of the specified
@@ -511,6 +686,166 @@ public final class BranchTracer implements IBranchTracer {
         traceBranchDistance(trueBranch, distanceTrue, falseBranch, distanceFalse);
     }
 
+    /**
+     * Compares two {@code long}s like {@code LCMP} does, and computes the branching distance for
+     * the conditional jump testing the result of the comparison. Called by the instrumented code in
+     * place of the comparison each time such a decision node is taken.
+     *
+     * @param l           the first long to compare
+     * @param m           the second long to compare
+     * @param opcode      the opcode of the jump testing the result of the comparison
+     * @param trueBranch  the unique number identifying the {@code true} branch of the jump
+     * @param falseBranch the unique number identifying the {@code false} branch of the jump
+     * @return the result of the comparison
+     */
+    @SuppressWarnings("unused") // Will be called by the instrumented code.
+    // NOTE: The name and signature of this method must not be changed because they're hard-coded
+    // in instrumentComparisonNode().
+    public static int passedComparison(final long l, final long m, final int opcode,
+                                       final int trueBranch, final int falseBranch) {
+        final int result = Long.compare(l, m);
+        getInstance().traceComparison((double) l - m, result, opcode, trueBranch, falseBranch);
+        return result;
+    }
+
+    /**
+     * Compares two {@code float}s like {@code FCMPL} or {@code FCMPG} do, and computes the
+     * branching distance for the conditional jump testing the result of the comparison. Called by
+     * the instrumented code in place of the comparison each time such a decision node is taken.
+     *
+     * @param f             the first float to compare
+     * @param g             the second float to compare
+     * @param compareOpcode the replaced comparison, which tells the result if an operand is NaN
+     * @param opcode        the opcode of the jump testing the result of the comparison
+     * @param trueBranch    the unique number identifying the {@code true} branch of the jump
+     * @param falseBranch   the unique number identifying the {@code false} branch of the jump
+     * @return the result of the comparison
+     */
+    @SuppressWarnings("unused") // Will be called by the instrumented code.
+    // NOTE: The name and signature of this method must not be changed because they're hard-coded
+    // in instrumentComparisonNode().
+    public static int passedComparison(final float f, final float g, final int compareOpcode,
+                                       final int opcode, final int trueBranch, final int falseBranch) {
+        final int result = compare(f, g, compareOpcode == FCMPG);
+        getInstance().traceComparison((double) f - g, result, opcode, trueBranch, falseBranch);
+        return result;
+    }
+
+    /**
+     * Compares two {@code double}s like {@code DCMPL} or {@code DCMPG} do, and computes the
+     * branching distance for the conditional jump testing the result of the comparison. Called by
+     * the instrumented code in place of the comparison each time such a decision node is taken.
+     *
+     * @param d             the first double to compare
+     * @param e             the second double to compare
+     * @param compareOpcode the replaced comparison, which tells the result if an operand is NaN
+     * @param opcode        the opcode of the jump testing the result of the comparison
+     * @param trueBranch    the unique number identifying the {@code true} branch of the jump
+     * @param falseBranch   the unique number identifying the {@code false} branch of the jump
+     * @return the result of the comparison
+     */
+    @SuppressWarnings("unused") // Will be called by the instrumented code.
+    // NOTE: The name and signature of this method must not be changed because they're hard-coded
+    // in instrumentComparisonNode().
+    public static int passedComparison(final double d, final double e, final int compareOpcode,
+                                       final int opcode, final int trueBranch, final int falseBranch) {
+        final int result = compare(d, e, compareOpcode == DCMPG);
+        getInstance().traceComparison(d - e, result, opcode, trueBranch, falseBranch);
+        return result;
+    }
+
+    /**
+     * Compares two floating-point values like the {@code xCMPG} and {@code xCMPL} instructions do.
+     * Unlike {@link Double#compare(double, double)}, {@code -0.0} and {@code 0.0} are equal, and the
+     * result for NaN operands depends on the instruction.
+     */
+    private static int compare(final double d, final double e, final boolean nanIsGreater) {
+        if (d > e) {
+            return 1;
+        } else if (d < e) {
+            return -1;
+        } else if (d == e) {
+            return 0;
+        }
+        return nanIsGreater ? 1 : -1;
+    }
+
+    /**
+     * Computes the branching distance for the conditional jump {@code opcode} testing the result of
+     * a comparison, using the difference between the compared operands. The difference is only
+     * used if it agrees with the result of the comparison, which is not the case for NaN operands
+     * or when the difference of two distinct {@code long}s is rounded to zero.
+     */
+    private void traceComparison(final double difference, final int result, final int opcode,
+                                 final int trueBranch, final int falseBranch) {
+        double d = difference;
+        if (Double.isNaN(d) || (d == 0) != (result == 0)) {
+            d = result;
+        } else if (Double.isInfinite(d)) {
+            d = Math.copySign(Double.MAX_VALUE, d);
+        }
+
+        final double distanceTrue;
+        final double distanceFalse;
+
+        switch (opcode) {
+            case IFEQ:
+                distanceTrue = Math.abs(d);
+                distanceFalse = (d != 0) ? 0 : 1;
+                break;
+            case IFNE:
+                distanceTrue = (d != 0) ? 0 : 1;
+                distanceFalse = Math.abs(d);
+                break;
+            case IFLT:
+                distanceTrue = (d < 0) ? 0 : d + 1;
+                distanceFalse = (d >= 0) ? 0 : -d;
+                break;
+            case IFLE:
+                distanceTrue = (d <= 0) ? 0 : d;
+                distanceFalse = (d > 0) ? 0 : -d + 1;
+                break;
+            case IFGT:
+                distanceTrue = (d > 0) ? 0 : -d + 1;
+                distanceFalse = (d <= 0) ? 0 : d;
+                break;
+            case IFGE:
+                distanceTrue = (d >= 0) ? 0 : -d;
+                distanceFalse = (d < 0) ? 0 : d + 1;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported opcode: " + opcode);
+        }
+
+        traceBranchDistance(trueBranch, distanceTrue, falseBranch, distanceFalse);
+    }
+
+    /**
+     * Computes the branching distances for a switch instruction. Called by the instrumented code
+     * each time such a switch is executed.
+     *
+     * @param value         the value the switch is executed with
+     * @param defaultBranch the unique number identifying the {@code default} branch of the switch
+     */
+    @SuppressWarnings("unused") // Will be called by the instrumented code.
+    // NOTE: The name and signature of this method must not be changed because they're hard-coded
+    // in instrumentSwitchNode().
+    public void passedSwitch(final int value, final int defaultBranch) {
+        boolean matched = false;
+        for (final Case caseBranch : switches.get(defaultBranch)) {
+            final double distance = caseBranch.distance(value);
+            if (distance == 0) {
+                matched = true;
+                countHit(caseBranch.getId());
+            }
+            traceBranchDistance(caseBranch.getId(), distance);
+        }
+        if (!matched) {
+            countHit(defaultBranch);
+        }
+        traceBranchDistance(defaultBranch, matched ? 1 : 0);
+    }
+
     /**
      * Computes the branching distance for method invocations.
      *
@@ -523,6 +858,7 @@ public final class BranchTracer implements IBranchTracer {
         // For root branches, no distance computation is required at all. We can only determine if
         // the branch has been taken or not. When this method is called by the instrumented code, we
         // know for sure that the root branch of the MUT has been taken.
+        countHit(branchID);
         traceBranchDistance(branchID);
     }
 
@@ -537,6 +873,8 @@ public final class BranchTracer implements IBranchTracer {
      * @param distanceFalse the distance to taking the {@code false} branch
      */
     private void traceBranchDistance(final int trueBranch, final double distanceTrue, final int falseBranch, final double distanceFalse) {
+        countHit(distanceTrue == 0 ? trueBranch : falseBranch);
+
         double currentTrue = distances.getOrDefault(trueBranch, Double.POSITIVE_INFINITY);
         double currentFalse = distances.getOrDefault(falseBranch, Double.POSITIVE_INFINITY);
 
@@ -548,6 +886,20 @@ public final class BranchTracer implements IBranchTracer {
         }
     }
 
+    /**
+     * Creates and records a branch distance trace for the given branch if the branching distance
+     * improved. Called by {@code passedSwitch()} for every branch of a switch that has been
+     * executed.
+     *
+     * @param branch   the unique number identifying the branch
+     * @param distance the distance to taking the branch
+     */
+    private void traceBranchDistance(final int branch, final double distance) {
+        if (distance < distances.getOrDefault(branch, Double.POSITIVE_INFINITY)) {
+            distances.put(branch, distance);
+        }
+    }
+
     /**
      * Creates and records a branch distance trace for the given root branch if the specified
      * distance has improved. Called by {@code passedBranch()} whenever a root branch has been
@@ -561,6 +913,94 @@ public final class BranchTracer implements IBranchTracer {
         distances.put(rootBranch, 0.0);
     }
 
+    /**
+     * Counts that the given branch has been taken, if counting is enabled.
+     *
+     * @param branch the unique number identifying the branch
+     */
+    private void countHit(final int branch) {
+        if (hits == null) {
+            return;
+        }
+
+        if (branch >= hits.length) {
+            resizeCounters(branch + 1);
+        }
+
+        hits[branch]++;
+        if (lastExecution[branch] != executions) {
+            lastExecution[branch] = executions;
+            coveringExecutions[branch]++;
+        }
+    }
+
+    /**
+     * Resizes the counters so that they can hold counts for the given number of branch IDs.
+     * Counters of new branch IDs are set to zero.
+     *
+     * @param length the new length of the counters
+     */
+    private void resizeCounters(final int length) {
+        final int oldLength = hits.length;
+        hits = Arrays.copyOf(hits, length);
+        coveringExecutions = Arrays.copyOf(coveringExecutions, length);
+        lastExecution = Arrays.copyOf(lastExecution, length);
+        Arrays.fill(lastExecution, oldLength, length, -1);
+    }
+
+    /**
+     * Enables or disables counting how often every branch is taken. Counting is disabled by
+     * default, and costs a few array accesses per executed branch when enabled. Enabling counting
+     * resets all counts.
+     *
+     * @param counting whether to count how often every branch is taken
+     */
+    public void setCounting(final boolean counting) {
+        if (!counting) {
+            hits = null;
+            coveringExecutions = null;
+            lastExecution = null;
+            return;
+        }
+
+        final int length = branches.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        hits = new long[0];
+        coveringExecutions = new long[0];
+        lastExecution = new long[0];
+        executions = 0;
+        resizeCounters(length);
+    }
+
+    /**
+     * Tells whether counting how often every branch is taken is enabled.
+     *
+     * @return {@code true} if counting is enabled
+     */
+    public boolean isCounting() {
+        return hits != null;
+    }
+
+    /**
+     * Returns a snapshot of the counts collected since counting was enabled.
+     *
+     * @return the execution profile
+     * @throws IllegalStateException if counting is disabled
+     */
+    public ExecutionProfile getProfile() throws IllegalStateException {
+        if (hits == null) {
+            throw new IllegalStateException("Counting is disabled");
+        }
+
+        final Map<IBranch, Long> branchHits = new LinkedHashMap<>();
+        final Map<IBranch, Long> branchExecutions = new LinkedHashMap<>();
+        for (final IBranch branch : branches.values()) {
+            final int id = branch.getId();
+            branchHits.put(branch, id < hits.length ? hits[id] : 0);
+            branchExecutions.put(branch, id < coveringExecutions.length ? coveringExecutions[id] : 0);
+        }
+        return new ExecutionProfile(executions, branchHits, branchExecutions);
+    }
+
     /**
      * Returns the set of traced branches.
      *
@@ -594,11 +1034,25 @@ public final class BranchTracer implements IBranchTracer {
     }
 
     /**
-     * Clears the recorded branch distances for a new test case execution.
+     * Clears the recorded branch distances for a new test case execution. Hit counts are kept.
      */
     @Override
     public void clear() {
         distances.clear();
+        executions++;
+    }
+
+    /**
+     * Forgets all instrumented branches and switches, together with the recorded branch
+     * distances, and disables counting. Only meant for tests, which register branches in this
+     * singleton without instrumenting a class.
+     */
+    void reset() {
+        branches.clear();
+        switches.clear();
+        distances.clear();
+        setCounting(false);
+        executions = 0;
     }
 
     /**
@@ -0,0 +1,74 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
+
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * A visitor for Java methods that records the numeric and string constants loaded by the method
+ * in the {@link ConstantPool}. The visited code is passed on unchanged. This visitor must see the
+ * original byte code of the method, i.e., it must be placed before any visitor that inserts
+ * instrumentation code, because the constants of the instrumentation code (such as branch IDs) are
+ * of no use for test generation.
+ */
+final class ConstantCollectingMethodVisitor extends MethodVisitor {
+
+    /**
+     * Constructs a new method visitor that delegates method calls to the supplied method visitor
+     * {@code mv}.
+     *
+     * @param mv the method visitor to which method calls are delegated
+     */
+    ConstantCollectingMethodVisitor(final MethodVisitor mv) {
+        super(ASM7, mv);
+    }
+
+    /**
+     * Records the constants pushed by the {@code ICONST_<i>}, {@code LCONST_<l>},
+     * {@code FCONST_<f>} and {@code DCONST_<d>} instructions.
+     *
+     * @param opcode the opcode of the visited instruction
+     */
+    @Override
+    public void visitInsn(final int opcode) {
+        if (opcode >= ICONST_M1 && opcode <= ICONST_5) {
+            ConstantPool.getInstance().add(opcode - ICONST_0);
+        } else if (opcode == LCONST_0 || opcode == LCONST_1) {
+            ConstantPool.getInstance().add((long) (opcode - LCONST_0));
+        } else if (opcode >= FCONST_0 && opcode <= FCONST_2) {
+            ConstantPool.getInstance().add((float) (opcode - FCONST_0));
+        } else if (opcode == DCONST_0 || opcode == DCONST_1) {
+            ConstantPool.getInstance().add((double) (opcode - DCONST_0));
+        }
+        super.visitInsn(opcode);
+    }
+
+    /**
+     * Records the constants pushed by the {@code BIPUSH} and {@code SIPUSH} instructions.
+     *
+     * @param opcode  the opcode of the visited instruction
+     * @param operand the operand of the instruction
+     */
+    @Override
+    public void visitIntInsn(final int opcode, final int operand) {
+        if (opcode == BIPUSH || opcode == SIPUSH) {
+            ConstantPool.getInstance().add(operand);
+        }
+        super.visitIntInsn(opcode, operand);
+    }
+
+    /**
+     * Records the numeric and string constants loaded by the {@code LDC} instruction. Other kinds
+     * of constants, such as class literals or method handles, are ignored.
+     *
+     * @param value the constant to be loaded on the stack
+     */
+    @Override
+    public void visitLdcInsn(final Object value) {
+        if (!(value instanceof Type)) {
+            ConstantPool.getInstance().add(value);
+        }
+        super.visitLdcInsn(value);
+    }
+}
@@ -0,0 +1,185 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects the numeric and string constants that occur in the byte code of the class under test.
+ * Branch conditions often compare inputs against such constants (e.g., {@code a == 1 && b == 2}),
+ * and values drawn uniformly at random hardly ever hit them. Sampling parameter values from the
+ * constants of the class under test instead makes it much more likely to satisfy these conditions.
+ * <p>
+ * The constants are collected while the class under test is instrumented (see
+ * {@link ConstantCollectingMethodVisitor}). Random value generation then draws from this pool with
+ * the configured {@linkplain #getSeedingProbability() seeding probability}.
+ */
+public final class ConstantPool {
+
+    /**
+     * The probability of sampling a value from the pool, unless specified otherwise.
+     */
+    public static final double DEFAULT_SEEDING_PROBABILITY = 0.2;
+
+    /**
+     * The collected constants, grouped by their (boxed) type. Every group is free of duplicates.
+     */
+    private final Map<Class<?>, Set<Object>> constants;
+
+    /**
+     * The probability of sampling a value from the pool instead of generating it at random.
+     */
+    private volatile double seedingProbability;
+
+    private ConstantPool() {
+        this.constants = new HashMap<>();
+        this.seedingProbability = DEFAULT_SEEDING_PROBABILITY;
+    }
+
+    /**
+     * Returns the singleton instance of this class.
+     *
+     * @return the singleton
+     */
+    public static ConstantPool getInstance() {
+        return LazyHolder.INSTANCE;
+    }
+
+    /**
+     * Adds the given constant to the pool. Only constants of type {@code Integer}, {@code Long},
+     * {@code Float}, {@code Double} and {@code String} are retained, all others are ignored.
+     *
+     * @param constant the constant to add, not {@code null}
+     */
+    public synchronized void add(final Object constant) {
+        requireNonNull(constant);
+        if (constant instanceof Integer || constant instanceof Long || constant instanceof Float
+                || constant instanceof Double || constant instanceof String) {
+            constants.computeIfAbsent(constant.getClass(), c -> new LinkedHashSet<>()).add(constant);
+        }
+    }
+
+    /**
+     * Tells whether the pool contains a constant that can be used as a value of the given type.
+     * Primitive types and their wrapper types are treated alike.
+     *
+     * @param type the type of the requested value
+     * @return {@code true} if a constant of the given type is available
+     */
+    public boolean hasConstants(final Class<?> type) {
+        return !candidates(type).isEmpty();
+    }
+
+    /**
+     * Randomly chooses a constant that can be used as a value of the given type. Integral constants
+     * are narrowed to {@code byte}, {@code short} and {@code char} if they fit into the respective
+     * range, and are widened to {@code long}.
+     *
+     * @param type   the type of the requested value
+     * @param random the source of randomness
+     * @return a constant of the given type
+     * @throws IllegalStateException if no constant of the given type is available
+     */
+    public Object sample(final Class<?> type, final Random random) throws IllegalStateException {
+        final List<Object> candidates = candidates(type);
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No constants of type " + type.getName());
+        }
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+
+    /**
+     * Returns all constants that can be used as a value of the given type, converted to that type.
+     */
+    private List<Object> candidates(final Class<?> type) {
+        final List<Object> candidates = new ArrayList<>();
+        if (type == int.class || type == Integer.class) {
+            candidates.addAll(constantsOf(Integer.class));
+        } else if (type == long.class || type == Long.class) {
+            candidates.addAll(constantsOf(Long.class));
+            for (final Object i : constantsOf(Integer.class)) {
+                candidates.add(((Integer) i).longValue());
+            }
+        } else if (type == float.class || type == Float.class) {
+            candidates.addAll(constantsOf(Float.class));
+        } else if (type == double.class || type == Double.class) {
+            candidates.addAll(constantsOf(Double.class));
+        } else if (type == short.class || type == Short.class) {
+            for (final Object i : constantsOf(Integer.class)) {
+                final int value = (Integer) i;
+                if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                    candidates.add((short) value);
+                }
+            }
+        } else if (type == byte.class || type == Byte.class) {
+            for (final Object i : constantsOf(Integer.class)) {
+                final int value = (Integer) i;
+                if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                    candidates.add((byte) value);
+                }
+            }
+        } else if (type == char.class || type == Character.class) {
+            for (final Object i : constantsOf(Integer.class)) {
+                final int value = (Integer) i;
+                if (value >= Character.MIN_VALUE && value <= Character.MAX_VALUE) {
+                    candidates.add((char) value);
+                }
+            }
+        } else if (type == String.class) {
+            candidates.addAll(constantsOf(String.class));
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns a snapshot of the constants of exactly the given type.
+     */
+    private synchronized List<Object> constantsOf(final Class<?> type) {
+        return new ArrayList<>(constants.getOrDefault(type, Set.of()));
+    }
+
+    /**
+     * Returns the probability of sampling a value from the pool instead of generating it at
+     * random.
+     *
+     * @return the seeding probability
+     */
+    public double getSeedingProbability() {
+        return seedingProbability;
+    }
+
+    /**
+     * Sets the probability of sampling a value from the pool instead of generating it at random.
+     * A probability of 0 disables constant seeding.
+     *
+     * @param seedingProbability the seeding probability, in the interval [0,1]
+     * @throws IllegalArgumentException if the probability is not in the interval [0,1]
+     */
+    public void setSeedingProbability(final double seedingProbability) throws IllegalArgumentException {
+        if (seedingProbability < 0 || seedingProbability > 1) {
+            throw new IllegalArgumentException("Probability must be in [0,1]: " + seedingProbability);
+        }
+        this.seedingProbability = seedingProbability;
+    }
+
+    /**
+     * Removes all collected constants.
+     */
+    public synchronized void clear() {
+        constants.clear();
+    }
+
+    /**
+     * Implements the singleton pattern using the initialization-on-demand holder idiom.
+     */
+    private static final class LazyHolder {
+
+        private static final ConstantPool INSTANCE = new ConstantPool();
+    }
+}
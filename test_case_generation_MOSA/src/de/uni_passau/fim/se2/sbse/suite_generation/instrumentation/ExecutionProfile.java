@@ -0,0 +1,156 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch.Entry;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A snapshot of how often the branches of the class under test have been taken, as counted by the
+ * {@link BranchTracer} (see {@link BranchTracer#setCounting(boolean)}). Root branches are taken
+ * whenever their method is invoked, so their counts tell which methods dominate the execution
+ * cost of the search, and which methods have never been reached.
+ */
+public final class ExecutionProfile {
+
+    /**
+     * The number of test case executions the counts were collected from.
+     */
+    private final long executions;
+
+    /**
+     * How often each branch has been taken.
+     */
+    private final Map<IBranch, Long> hits;
+
+    /**
+     * In how many test case executions each branch has been taken at least once.
+     */
+    private final Map<IBranch, Long> coveringExecutions;
+
+    ExecutionProfile(final long executions, final Map<IBranch, Long> hits,
+                     final Map<IBranch, Long> coveringExecutions) {
+        this.executions = executions;
+        this.hits = Map.copyOf(requireNonNull(hits));
+        this.coveringExecutions = Map.copyOf(requireNonNull(coveringExecutions));
+    }
+
+    /**
+     * Returns the number of test case executions the counts were collected from.
+     *
+     * @return the number of executions
+     */
+    public long getExecutions() {
+        return executions;
+    }
+
+    /**
+     * Returns how often the given branch has been taken.
+     *
+     * @param branch the branch
+     * @return the number of times the branch has been taken
+     */
+    public long getHits(final IBranch branch) {
+        return hits.getOrDefault(branch, 0L);
+    }
+
+    /**
+     * Returns in how many test case executions the given branch has been taken at least once.
+     *
+     * @param branch the branch
+     * @return the number of executions covering the branch
+     */
+    public long getCoveringExecutions(final IBranch branch) {
+        return coveringExecutions.getOrDefault(branch, 0L);
+    }
+
+    /**
+     * Returns the branches that have been taken at least once.
+     *
+     * @return the covered branches
+     */
+    public List<IBranch> getCoveredBranches() {
+        return hits.keySet().stream()
+                .filter(branch -> getHits(branch) > 0)
+                .sorted(Comparator.comparingInt(IBranch::getId))
+                .toList();
+    }
+
+    /**
+     * Returns the given number of branches that have been taken most often, the most frequently
+     * taken branch first.
+     *
+     * @param limit the maximum number of branches to return
+     * @return the most frequently taken branches
+     */
+    public List<IBranch> getHotBranches(final int limit) {
+        return hits.keySet().stream()
+                .filter(branch -> getHits(branch) > 0)
+                .sorted(Comparator.comparingLong(this::getHits).reversed()
+                        .thenComparingInt(IBranch::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Returns the root branches of the methods that have never been invoked.
+     *
+     * @return the root branches of never reached methods
+     */
+    public List<IBranch> getUnreachedMethods() {
+        return hits.keySet().stream()
+                .filter(branch -> branch instanceof Entry && getHits(branch) == 0)
+                .sorted(Comparator.comparingInt(IBranch::getId))
+                .toList();
+    }
+
+    /**
+     * Returns the number of test case executions per covered branch, i.e., how many executions the
+     * search spent on average to cover a branch.
+     *
+     * @return the number of executions per covered branch, or infinity if no branch was covered
+     */
+    public double getExecutionsPerCoveredBranch() {
+        final int covered = getCoveredBranches().size();
+        return covered == 0 ? Double.POSITIVE_INFINITY : (double) executions / covered;
+    }
+
+    /**
+     * Formats this profile as a human-readable report, listing the given number of most
+     * frequently taken branches, and all methods that have never been invoked.
+     *
+     * @param limit the maximum number of hot branches to list
+     * @return the report
+     */
+    public String format(final int limit) {
+        final long totalHits = hits.values().stream().mapToLong(Long::longValue).sum();
+        final var sb = new StringBuilder("Execution profile\n");
+        sb.append(" > Test case executions: ").append(executions).append('\n');
+        sb.append(" > Covered branches: ").append(getCoveredBranches().size())
+                .append(" of ").append(hits.size()).append('\n');
+        sb.append(" > Executions per covered branch: ")
+                .append(String.format("%.2f", getExecutionsPerCoveredBranch())).append('\n');
+
+        sb.append(" > Hot branches (hits, share of all hits, covering executions):\n");
+        for (final IBranch branch : getHotBranches(limit)) {
+            final long branchHits = getHits(branch);
+            sb.append(String.format("   * %d (%.1f%%, %d): %s%n", branchHits,
+                    100.0 * branchHits / totalHits, getCoveringExecutions(branch), branch));
+        }
+
+        final List<IBranch> unreached = getUnreachedMethods();
+        sb.append(" > Never reached methods: ").append(unreached.size()).append('\n');
+        for (final IBranch branch : unreached) {
+            sb.append("   * ").append(branch).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format(10);
+    }
+}
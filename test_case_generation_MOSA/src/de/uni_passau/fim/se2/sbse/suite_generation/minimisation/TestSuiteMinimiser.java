@@ -0,0 +1,217 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.minimisation;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.InitializationStatement;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Minimises a generated test suite without losing branch coverage. Minimisation happens in two
+ * stages:
+ * <ol>
+ *     <li>First, a subset of the test cases is selected that covers the same branches as the whole
+ *     test suite. This is an instance of the set cover problem, which is solved greedily: the test
+ *     case covering the most branches not covered yet is selected, preferring shorter test cases
+ *     in case of ties, until all branches are covered.</li>
+ *     <li>Then, every selected test case is reduced using delta debugging. Statements are removed
+ *     as long as the reduced test case still covers all branches the original test case covered.
+ *     If a test case starts with an initialization statement, that statement is never removed.</li>
+ * </ol>
+ * The branches covered by the test cases are usually known from the search, which recorded the
+ * branch distances of every test case it executed. Only test cases without recorded coverage are
+ * executed to find out which branches they cover, and the candidate reductions are executed during
+ * delta debugging. Test cases that throw an exception are considered not to cover any branches, and
+ * are therefore dropped. Every test case is executed on a fresh instance of the class under test,
+ * so the reduced test cases together cover the same branches as the original test suite.
+ */
+public final class TestSuiteMinimiser {
+
+    /**
+     * Minimises the given test suite, executing every test case to find out which branches it
+     * covers.
+     *
+     * @param testCases the test cases of the test suite, not {@code null}
+     * @return a minimised test suite covering the same branches
+     */
+    public List<TestCase> minimise(final List<TestCase> testCases) {
+        return minimise(testCases, Map.of());
+    }
+
+    /**
+     * Minimises the given test suite, using the coverage recorded during the search where
+     * available. Test cases without recorded coverage are executed.
+     *
+     * @param testCases       the test cases of the test suite, not {@code null}
+     * @param recordedCoverage the IDs of the branches covered by the test cases, as recorded
+     *                        during the search, not {@code null}
+     * @return a minimised test suite covering the same branches
+     */
+    public List<TestCase> minimise(final List<TestCase> testCases,
+                                   final Map<TestCase, Set<Integer>> recordedCoverage) {
+        requireNonNull(testCases);
+        requireNonNull(recordedCoverage);
+
+        final Map<TestCase, Set<Integer>> coveredBranches = new LinkedHashMap<>();
+        for (final TestCase testCase : testCases) {
+            final Set<Integer> recorded = recordedCoverage.get(testCase);
+            coveredBranches.put(testCase, recorded != null ? recorded : coveredBranches(testCase));
+        }
+
+        final List<TestCase> minimised = new ArrayList<>();
+        for (final TestCase testCase : selectCoveringSubset(coveredBranches)) {
+            minimised.add(reduce(testCase, coveredBranches.get(testCase)));
+        }
+        return minimised;
+    }
+
+    /**
+     * Greedily selects a subset of the given test cases that covers all branches covered by any
+     * of them.
+     *
+     * @param coveredBranches maps every test case to the IDs of the branches it covers
+     * @return the selected test cases, in the order of selection
+     */
+    public List<TestCase> selectCoveringSubset(final Map<TestCase, Set<Integer>> coveredBranches) {
+        final Set<Integer> uncovered = new HashSet<>();
+        coveredBranches.values().forEach(uncovered::addAll);
+
+        final List<TestCase> candidates = new ArrayList<>(coveredBranches.keySet());
+        final List<TestCase> selected = new ArrayList<>();
+        while (!uncovered.isEmpty()) {
+            TestCase best = null;
+            int bestGain = 0;
+            for (final TestCase candidate : candidates) {
+                final int gain = countUncovered(coveredBranches.get(candidate), uncovered);
+                if (gain > bestGain || (gain == bestGain && gain > 0 && candidate.size() < best.size())) {
+                    best = candidate;
+                    bestGain = gain;
+                }
+            }
+
+            selected.add(best);
+            candidates.remove(best);
+            uncovered.removeAll(coveredBranches.get(best));
+        }
+        return selected;
+    }
+
+    /**
+     * Removes statements from the given test case as long as it still covers the given branches,
+     * using the ddmin algorithm by Zeller and Hildebrandt. The result is 1-minimal: removing any
+     * further statement would lose the coverage of one of the branches. An initialization
+     * statement at the start of the test case is kept, and so is at least one statement.
+     *
+     * @param testCase the test case to reduce
+     * @param branches the IDs of the branches the reduced test case must cover
+     * @return the reduced test case
+     */
+    public TestCase reduce(final TestCase testCase, final Set<Integer> branches) {
+        final List<Statement> statements = testCase.getStatements();
+        final Statement initialization =
+            statements.get(0) instanceof InitializationStatement ? statements.get(0) : null;
+        final List<Statement> prefix = initialization == null ? List.of() : List.of(initialization);
+        List<Statement> body = new ArrayList<>(statements.subList(prefix.size(), statements.size()));
+
+        if (initialization != null && !body.isEmpty() && covers(testCase, prefix, List.of(), branches)) {
+            body = List.of();
+        }
+
+        int granularity = 2;
+        while (body.size() >= 2) {
+            final int chunkSize = (int) Math.ceil(body.size() / (double) granularity);
+            boolean reduced = false;
+
+            // Try to keep only one chunk of statements...
+            for (int start = 0; start < body.size() && !reduced; start += chunkSize) {
+                final List<Statement> chunk = body.subList(start, Math.min(start + chunkSize, body.size()));
+                if (covers(testCase, prefix, chunk, branches)) {
+                    body = new ArrayList<>(chunk);
+                    granularity = 2;
+                    reduced = true;
+                }
+            }
+
+            // ...or to remove one chunk of statements.
+            for (int start = 0; start < body.size() && !reduced && granularity > 2; start += chunkSize) {
+                final List<Statement> complement = new ArrayList<>(body.subList(0, start));
+                complement.addAll(body.subList(Math.min(start + chunkSize, body.size()), body.size()));
+                if (covers(testCase, prefix, complement, branches)) {
+                    body = complement;
+                    granularity = Math.max(granularity - 1, 2);
+                    reduced = true;
+                }
+            }
+
+            if (!reduced) {
+                if (granularity >= body.size()) {
+                    break;
+                }
+                granularity = Math.min(granularity * 2, body.size());
+            }
+        }
+
+        if (prefix.size() + body.size() == statements.size()) {
+            return testCase;
+        }
+
+        final List<Statement> reducedStatements = new ArrayList<>(prefix);
+        reducedStatements.addAll(body);
+        return new TestCase(testCase.getMutation(), testCase.getCrossover(), reducedStatements);
+    }
+
+    /**
+     * Tells whether the test case consisting of the given statements covers all given branches.
+     */
+    private static boolean covers(
+            final TestCase original,
+            final List<Statement> prefix,
+            final List<Statement> body,
+            final Set<Integer> branches) {
+        final List<Statement> statements = new ArrayList<>(prefix);
+        statements.addAll(body);
+        final TestCase candidate = new TestCase(original.getMutation(), original.getCrossover(), statements);
+        return coveredBranches(candidate).containsAll(branches);
+    }
+
+    /**
+     * Executes the given test case and returns the IDs of the branches it covers. A test case that
+     * throws an exception is considered not to cover any branches.
+     */
+    private static Set<Integer> coveredBranches(final TestCase testCase) {
+        final Map<Integer, Double> distances;
+        try {
+            distances = testCase.call();
+        } catch (RuntimeException e) {
+            return Set.of();
+        }
+
+        final Set<Integer> covered = new HashSet<>();
+        for (final Map.Entry<Integer, Double> entry : distances.entrySet()) {
+            if (entry.getValue() == 0.0) {
+                covered.add(entry.getKey());
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * Counts the given branches that are not covered yet.
+     */
+    private static int countUncovered(final Set<Integer> branches, final Set<Integer> uncovered) {
+        int count = 0;
+        for (final Integer branch : branches) {
+            if (uncovered.contains(branch)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,21 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every density estimation of a non-dominated front.
+ */
+@Name("de.uni_passau.fim.se2.sbse.suite_generation.DensityEstimation")
+@Label("Density Estimation")
+@Category({"Suite Generation", "Search"})
+public final class DensityEstimationEvent extends Event {
+
+    @Label("Front Size")
+    public int frontSize;
+
+    @Label("Objectives")
+    public int objectives;
+}
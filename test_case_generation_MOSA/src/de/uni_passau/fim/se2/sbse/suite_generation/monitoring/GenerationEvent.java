@@ -0,0 +1,39 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every generation of a genetic algorithm. The duration of the event spans
+ * offspring generation, evaluation and survivor selection.
+ */
+@Name("de.uni_passau.fim.se2.sbse.suite_generation.Generation")
+@Label("Generation")
+@Category({"Suite Generation", "Search"})
+@Description("A generation of a genetic algorithm")
+public final class GenerationEvent extends Event {
+
+    @Label("Generation")
+    @Description("The number of the generation, starting with 0 for the initial population")
+    public int generation;
+
+    @Label("Population Size")
+    public int populationSize;
+
+    @Label("Front Sizes")
+    @Description("The sizes of the non-dominated fronts the survivors were selected from")
+    public String frontSizes;
+
+    @Label("Covered Branches")
+    public int coveredBranches;
+
+    @Label("Total Branches")
+    public int totalBranches;
+
+    @Label("Archive Size")
+    @Description("The number of distinct test cases in the archive")
+    public int archiveSize;
+}
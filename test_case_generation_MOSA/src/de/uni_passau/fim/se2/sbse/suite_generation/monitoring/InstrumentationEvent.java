@@ -0,0 +1,27 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded when the class under test is instrumented.
+ */
+@Name("de.uni_passau.fim.se2.sbse.suite_generation.Instrumentation")
+@Label("Instrumentation")
+@Category({"Suite Generation", "Instrumentation"})
+public final class InstrumentationEvent extends Event {
+
+    @Label("Class Name")
+    public String className;
+
+    @Label("Original Size")
+    @DataAmount
+    public int originalSize;
+
+    @Label("Instrumented Size")
+    @DataAmount
+    public int instrumentedSize;
+}
@@ -0,0 +1,24 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every non-dominated sorting of a population.
+ */
+@Name("de.uni_passau.fim.se2.sbse.suite_generation.NonDominatedSorting")
+@Label("Non-Dominated Sorting")
+@Category({"Suite Generation", "Search"})
+public final class NonDominatedSortingEvent extends Event {
+
+    @Label("Candidates")
+    public int candidates;
+
+    @Label("Objectives")
+    public int objectives;
+
+    @Label("Fronts")
+    public int fronts;
+}
@@ -0,0 +1,26 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every execution of a test case. The duration of the event is the time
+ * needed to execute all statements of the test case.
+ */
+@Name("de.uni_passau.fim.se2.sbse.suite_generation.TestExecution")
+@Label("Test Case Execution")
+@Category({"Suite Generation", "Execution"})
+@Description("Execution of a generated test case")
+public final class TestExecutionEvent extends Event {
+
+    @Label("Statements")
+    @Description("The number of statements of the test case")
+    public int statements;
+
+    @Label("Exception")
+    @Description("The type of the exception thrown by the test case, if any")
+    public String exception;
+}
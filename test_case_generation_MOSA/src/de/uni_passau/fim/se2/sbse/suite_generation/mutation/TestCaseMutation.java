@@ -6,19 +6,35 @@ import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statem
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.UnaryOperator;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Implements a mutation strategy where one statement might be randomly replaced with another.
+ * The initialization statement at the start of a test case is never replaced or removed; a test
+ * case consisting of the initialization statement only is extended by a statement instead.
+ * <p>
+ * If a maximum length is given, the mutation also controls the length of the test cases: a
+ * statement may be inserted as long as the test case is shorter than the maximum length, and a
+ * statement may be removed with a probability that grows with the length of the test case. Long
+ * test cases are therefore shrunk more aggressively than short ones, which counteracts bloat.
  */
 public class TestCaseMutation implements Mutation<TestCase> {
 
+    /**
+     * Tells that the length of the mutated test cases is not controlled.
+     */
+    private static final int NO_MAX_LENGTH = -1;
+
     private final Random random;
     private final List<Statement> possibleStatements;
+    private final UnaryOperator<Statement> instantiate;
+    private final int maxLength;
 
     /**
      * Constructs a TestCaseNutation with a Random instance and a list of possible statements to use for mutation.
+     * The mutation preserves the length of the test cases.
      *
      * @param random the Random instance used for mutation
      * @param possibleStatements a list of statements that can be used to replace existing statements during mutation
@@ -26,6 +42,45 @@ public class TestCaseMutation implements Mutation<TestCase> {
     public TestCaseMutation(Random random, List<Statement> possibleStatements) {
         this.random = requireNonNull(random, "Random instance must not be null");
         this.possibleStatements = new ArrayList<>(requireNonNull(possibleStatements, "List of possible statements must not be null"));
+        this.instantiate = UnaryOperator.identity();
+        this.maxLength = NO_MAX_LENGTH;
+    }
+
+    /**
+     * Constructs a TestCaseMutation that may also insert and remove statements, keeping the
+     * mutated test cases at most {@code maxLength} statements long.
+     *
+     * @param random the Random instance used for mutation
+     * @param possibleStatements a list of statements that can be used to replace existing statements during mutation
+     * @param maxLength the maximum number of statements of a mutated test case, must be positive
+     * @throws IllegalArgumentException if the maximum length is not positive
+     */
+    public TestCaseMutation(Random random, List<Statement> possibleStatements, int maxLength) {
+        this(random, possibleStatements, UnaryOperator.identity(), maxLength);
+    }
+
+    /**
+     * Constructs a TestCaseMutation that may also insert and remove statements, keeping the
+     * mutated test cases at most {@code maxLength} statements long. Every statement drawn from the
+     * possible statements is passed through {@code instantiate} before it is inserted. This allows
+     * for inserting statements with freshly generated parameter values, rather than reusing the
+     * values of the possible statements throughout the whole search.
+     *
+     * @param random the Random instance used for mutation
+     * @param possibleStatements a list of statements that can be inserted during a mutation
+     * @param instantiate creates the statement to insert from a drawn statement
+     * @param maxLength the maximum number of statements of a mutated test case, must be positive
+     * @throws IllegalArgumentException if the maximum length is not positive
+     */
+    public TestCaseMutation(Random random, List<Statement> possibleStatements,
+                            UnaryOperator<Statement> instantiate, int maxLength) {
+        this.random = requireNonNull(random, "Random instance must not be null");
+        this.possibleStatements = new ArrayList<>(requireNonNull(possibleStatements, "List of possible statements must not be null"));
+        this.instantiate = requireNonNull(instantiate, "Statement instantiation must not be null");
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("Maximum length must be positive: " + maxLength);
+        }
+        this.maxLength = maxLength;
     }
 
     /**
@@ -44,18 +99,32 @@ public class TestCaseMutation implements Mutation<TestCase> {
         // Create a copy of the original statements to avoid modifying in-place
         List<Statement> mutatedStatements = new ArrayList<>(statements);
 
-        int mutationType = random.nextInt(2); // Choose a mutation type: add, replace, or remove
+        if (shouldShrink(mutatedStatements.size())) {
+            // Remove a random statement, but never the initialization statement
+            mutatedStatements.remove(random.nextInt(1, mutatedStatements.size()));
+            return new TestCase(testCase.getMutation(), testCase.getCrossover(), mutatedStatements);
+        }
+
+        int mutationType = random.nextInt(2); // Choose a mutation type: add or replace
         switch (mutationType) {
             case 0: // Add a random statement
-                Statement newStatement = possibleStatements.get(random.nextInt(possibleStatements.size()));
-                mutatedStatements.remove(mutatedStatements.size()-1);
-                mutatedStatements.add(newStatement);
+                Statement newStatement = drawStatement();
+                if (maxLength != NO_MAX_LENGTH && mutatedStatements.size() < maxLength) {
+                    mutatedStatements.add(random.nextInt(1, mutatedStatements.size() + 1), newStatement);
+                } else if (mutatedStatements.size() > 1) {
+                    mutatedStatements.remove(mutatedStatements.size()-1);
+                    mutatedStatements.add(newStatement);
+                } else if (canGrow(mutatedStatements.size())) {
+                    mutatedStatements.add(newStatement);
+                }
                 break;
-            case 1: // Replace a random statement
-                if (!mutatedStatements.isEmpty()) {
-                    int indexToReplace = random.nextInt(mutatedStatements.size());
-                    Statement replacementStatement = possibleStatements.get(random.nextInt(possibleStatements.size()));
-                    mutatedStatements.set(indexToReplace, replacementStatement);
+            case 1: // Replace a random statement, but never the initialization statement
+                if (mutatedStatements.size() > 1) {
+                    int indexToReplace = random.nextInt(1, mutatedStatements.size());
+                    mutatedStatements.set(indexToReplace, drawStatement());
+                } else if (canGrow(mutatedStatements.size())) {
+                    // Only the initialization statement, which is never replaced, so extend the test case
+                    mutatedStatements.add(drawStatement());
                 }
                 break;
         }
@@ -64,6 +133,41 @@ public class TestCaseMutation implements Mutation<TestCase> {
         return new TestCase(testCase.getMutation(), testCase.getCrossover(), mutatedStatements);
     }
 
+    /**
+     * Draws a random statement to insert into a test case.
+     *
+     * @return the statement, with the parameter values chosen by the instantiation
+     */
+    private Statement drawStatement() {
+        return instantiate.apply(possibleStatements.get(random.nextInt(possibleStatements.size())));
+    }
+
+    /**
+     * Tells whether a statement may be added to a test case of the given length.
+     *
+     * @param length the number of statements of the test case
+     * @return {@code true} if the test case is shorter than the maximum length, if any
+     */
+    private boolean canGrow(int length) {
+        return maxLength == NO_MAX_LENGTH || length < maxLength;
+    }
+
+    /**
+     * Tells whether a statement should be removed from a test case of the given length. The
+     * probability of removal is proportional to the length of the test case relative to the
+     * maximum length. Test cases consisting of the initialization statement only are never
+     * shrunk, and neither are test cases if no maximum length was given.
+     *
+     * @param length the number of statements of the test case
+     * @return {@code true} if a statement should be removed
+     */
+    private boolean shouldShrink(int length) {
+        if (maxLength == NO_MAX_LENGTH || length < 2) {
+            return false;
+        }
+        return random.nextDouble() < (double) length / maxLength;
+    }
+
     /**
      * {@inheritDoc}
      */
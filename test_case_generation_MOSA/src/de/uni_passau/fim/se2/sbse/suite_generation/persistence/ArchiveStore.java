@@ -0,0 +1,294 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.persistence;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.Crossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.IBranchTracer;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.Mutation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Stores the test cases of an archive on disk, so that a later generation run for the same class
+ * under test can start from the coverage achieved before (a so-called warm start).
+ * <p>
+ * Test cases are stored as statement descriptors, i.e., the descriptors of the invoked
+ * constructors and methods, the names of the assigned fields, and the argument values. Every test
+ * case is stored together with the IDs of the branches it covered. The file is keyed by a hash of
+ * the class file of the class under test: a file written for a different version of the class is
+ * ignored, and so are test cases whose branches no longer exist.
+ * <p>
+ * The file format is line based:
+ * <pre>
+ * class de.example.Foo
+ * hash 3f2a...
+ * test 0,1,4
+ * init (I)V I:42
+ * call push (I)V I:7
+ * field size I:3
+ * end
+ * </pre>
+ * The statements are written as described in {@link StatementDescriptors}.
+ */
+public final class ArchiveStore {
+
+    private static final String CLASS = "class";
+    private static final String HASH = "hash";
+    private static final String TEST = "test";
+    private static final String END = "end";
+
+    /**
+     * The file the archive is stored in.
+     */
+    private final Path file;
+
+    /**
+     * The class under test the archived test cases belong to.
+     */
+    private final Class<?> classUnderTest;
+
+    /**
+     * Converts the statements of the archived test cases.
+     */
+    private final StatementDescriptors descriptors;
+
+    /**
+     * Tells which branches exist in the instrumented class under test.
+     */
+    private final IBranchTracer branchTracer;
+
+    /**
+     * Creates a new store for the archive of the given class under test.
+     *
+     * @param file           the file to store the archive in, not {@code null}
+     * @param classUnderTest the class under test, not {@code null}
+     * @param branchTracer   the branch tracer of the instrumented class under test, not {@code null}
+     */
+    public ArchiveStore(final Path file, final Class<?> classUnderTest, final IBranchTracer branchTracer) {
+        this.file = requireNonNull(file);
+        this.classUnderTest = requireNonNull(classUnderTest);
+        this.descriptors = new StatementDescriptors(classUnderTest);
+        this.branchTracer = requireNonNull(branchTracer);
+    }
+
+    /**
+     * Returns the file the archive is stored in.
+     *
+     * @return the file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Stores the given test cases. Every test case is executed once to record the branches it
+     * covers. Test cases that throw an exception, or that contain statements of an unknown kind,
+     * are not stored. The file is
+     * replaced atomically, so a crash while saving never leaves a partially written archive behind.
+     *
+     * @param testCases the test cases to store, not {@code null}
+     * @return the number of stored test cases
+     * @throws IOException if the archive cannot be written
+     */
+    public int save(final List<TestCase> testCases) throws IOException {
+        requireNonNull(testCases);
+
+        final Map<TestCase, Set<Integer>> coverage = new LinkedHashMap<>();
+        for (final TestCase testCase : testCases) {
+            final Set<Integer> covered = new TreeSet<>();
+            try {
+                testCase.call().forEach((id, distance) -> {
+                    if (distance == 0.0) {
+                        covered.add(id);
+                    }
+                });
+            } catch (RuntimeException e) {
+                continue;
+            }
+            coverage.put(testCase, covered);
+        }
+        return save(coverage);
+    }
+
+    /**
+     * Stores the given test cases together with the branches they were recorded to cover, without
+     * executing them, as described in {@link #save(List)}.
+     *
+     * @param testCases the test cases to store and the IDs of the branches they cover, not
+     *                  {@code null}
+     * @return the number of stored test cases
+     * @throws IOException if the archive cannot be written
+     */
+    public int save(final Map<TestCase, Set<Integer>> testCases) throws IOException {
+        requireNonNull(testCases);
+
+        final List<String> lines = new ArrayList<>();
+        lines.add(CLASS + " " + classUnderTest.getName());
+        lines.add(HASH + " " + classHash(classUnderTest));
+
+        int stored = 0;
+        for (final Map.Entry<TestCase, Set<Integer>> entry : testCases.entrySet()) {
+            final List<String> statements = StatementDescriptors.describe(entry.getKey());
+            if (statements == null) {
+                continue;
+            }
+
+            final Set<Integer> covered = new TreeSet<>(entry.getValue());
+            lines.add(TEST + " " + String.join(",", covered.stream().map(String::valueOf).toList()));
+            lines.addAll(statements);
+            lines.add(END);
+            stored++;
+        }
+
+        final Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (final String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return stored;
+    }
+
+    /**
+     * Loads the stored test cases. Returns an empty list if there is no archive yet, or if it was
+     * written for a different class or for a different version of the class. Test cases covering a
+     * branch that does not exist anymore, or referring to a constructor, method or field that
+     * cannot be found, are dropped.
+     *
+     * @param mutation  the mutation operator of the loaded test cases, not {@code null}
+     * @param crossover the crossover operator of the loaded test cases, not {@code null}
+     * @return the loaded test cases
+     * @throws IOException if the archive cannot be read or is malformed
+     */
+    public List<TestCase> load(final Mutation<TestCase> mutation, final Crossover<TestCase> crossover)
+            throws IOException {
+        return new ArrayList<>(loadCoverage(mutation, crossover).keySet());
+    }
+
+    /**
+     * Loads the stored test cases together with the IDs of the branches they covered when they
+     * were stored, as described in {@link #load(Mutation, Crossover)}.
+     *
+     * @param mutation  the mutation operator of the loaded test cases, not {@code null}
+     * @param crossover the crossover operator of the loaded test cases, not {@code null}
+     * @return the loaded test cases and the branches they cover, in the order they were stored
+     * @throws IOException if the archive cannot be read or is malformed
+     */
+    public Map<TestCase, Set<Integer>> loadCoverage(final Mutation<TestCase> mutation,
+                                                    final Crossover<TestCase> crossover) throws IOException {
+        requireNonNull(mutation);
+        requireNonNull(crossover);
+
+        final Map<TestCase, Set<Integer>> testCases = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return testCases;
+        }
+
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.size() < 2
+                || !lines.get(0).equals(CLASS + " " + classUnderTest.getName())
+                || !lines.get(1).equals(HASH + " " + classHash(classUnderTest))) {
+            return testCases;
+        }
+
+        int i = 2;
+        while (i < lines.size()) {
+            final String[] header = lines.get(i++).split(" ", 2);
+            if (!header[0].equals(TEST)) {
+                throw new IOException("Malformed archive, expected test in line " + i);
+            }
+
+            final List<String> statements = new ArrayList<>();
+            while (i < lines.size() && !lines.get(i).equals(END)) {
+                statements.add(lines.get(i++));
+            }
+            if (i++ == lines.size()) {
+                throw new IOException("Malformed archive, missing end of test");
+            }
+
+            if (header.length == 2 && !branchesExist(header[1])) {
+                continue;
+            }
+            final List<Statement> resolved = descriptors.resolve(statements);
+            if (resolved != null) {
+                testCases.put(new TestCase(mutation, crossover, resolved), branchIds(header));
+            }
+        }
+        return testCases;
+    }
+
+    /**
+     * Computes the SHA-256 hash of the class file of the given class, as found on the class path.
+     * The original class file is hashed, not the instrumented byte code.
+     *
+     * @param clazz the class to hash
+     * @return the hash as hexadecimal string
+     * @throws IOException if the class file cannot be read
+     */
+    public static String classHash(final Class<?> clazz) throws IOException {
+        final String name = clazz.getName();
+        final String classFile = name.substring(name.lastIndexOf('.') + 1) + ".class";
+        try (InputStream in = clazz.getResourceAsStream(classFile)) {
+            if (in == null) {
+                throw new IOException("Class file not found: " + classFile);
+            }
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(in.readAllBytes()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every Java platform supports SHA-256
+        }
+    }
+
+    /**
+     * Returns the IDs of the covered branches in the given header of a test.
+     */
+    private static Set<Integer> branchIds(final String[] header) {
+        final Set<Integer> ids = new TreeSet<>();
+        if (header.length == 2 && !header[1].isEmpty()) {
+            for (final String id : header[1].split(",")) {
+                ids.add(Integer.parseInt(id));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Tells whether all branches in the given comma-separated list of IDs exist.
+     */
+    private boolean branchesExist(final String ids) {
+        if (ids.isEmpty()) {
+            return true;
+        }
+        for (final String id : ids.split(",")) {
+            if (branchTracer.getBranchById(Integer.parseInt(id)) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
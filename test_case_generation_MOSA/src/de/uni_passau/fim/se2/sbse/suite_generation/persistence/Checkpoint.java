@@ -0,0 +1,46 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.persistence;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The state of a search at the end of a generation, from which the search can be resumed.
+ *
+ * @param generation  the number of the generation, 0 for the initial population
+ * @param evaluations the number of fitness evaluations performed so far
+ * @param randomState the state of the source of randomness, if it can be restored
+ * @param population  the population of the generation
+ * @param archive     the shortest test case covering each branch covered so far, keyed by the ID
+ *                    of the branch. The keys are the covered branches.
+ */
+public record Checkpoint(
+        int generation,
+        int evaluations,
+        OptionalLong randomState,
+        List<TestCase> population,
+        Map<Integer, TestCase> archive) {
+
+    /**
+     * Validates the checkpoint and copies the population and the archive.
+     *
+     * @throws IllegalArgumentException if the generation or the number of evaluations is negative
+     */
+    public Checkpoint {
+        if (generation < 0) {
+            throw new IllegalArgumentException("Generation must not be negative: " + generation);
+        }
+        if (evaluations < 0) {
+            throw new IllegalArgumentException("Evaluations must not be negative: " + evaluations);
+        }
+        requireNonNull(randomState);
+        population = List.copyOf(population);
+        archive = unmodifiableMap(new LinkedHashMap<>(archive));
+    }
+}
@@ -0,0 +1,338 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.persistence;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.Crossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.IBranchTracer;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.Mutation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Stores {@link Checkpoint checkpoints} of a search on disk, so that a search that was interrupted,
+ * e.g., because its process was killed, can be resumed instead of started from scratch.
+ * <p>
+ * A checkpoint is stored in a compact binary format, compressed with GZIP. The test cases of the
+ * population and the archive are stored once each, as statement descriptors (see
+ * {@link StatementDescriptors}), and the population and the archive refer to them by index. Like
+ * the {@link ArchiveStore}, the file is keyed by a hash of the class file of the class under test:
+ * a checkpoint written for a different version of the class is ignored.
+ * <p>
+ * Checkpoints can be written in the background (see {@link #writeAsync(Checkpoint)}), so that the
+ * search does not wait for the disk. The file is replaced atomically, so a crash while writing
+ * never leaves a partially written checkpoint behind.
+ */
+public final class CheckpointStore {
+
+    private static final int MAGIC = 0x4D4F5341; // "MOSA"
+    private static final int VERSION = 1;
+
+    /**
+     * The file the checkpoints are stored in.
+     */
+    private final Path file;
+
+    /**
+     * The class under test the search generates tests for.
+     */
+    private final Class<?> classUnderTest;
+
+    /**
+     * Tells which branches exist in the instrumented class under test.
+     */
+    private final IBranchTracer branchTracer;
+
+    /**
+     * The minimum time between two checkpoints of a search.
+     */
+    private final Duration interval;
+
+    /**
+     * Converts the statements of the test cases.
+     */
+    private final StatementDescriptors descriptors;
+
+    /**
+     * The latest checkpoint that has been handed over for writing, but not yet written.
+     */
+    private final AtomicReference<Checkpoint> pending = new AtomicReference<>();
+
+    /**
+     * The thread writing checkpoints in the background, created on first use.
+     */
+    private ExecutorService writer;
+
+    /**
+     * Creates a new store for checkpoints of searches for the given class under test.
+     *
+     * @param file           the file to store the checkpoints in, not {@code null}
+     * @param classUnderTest the class under test, not {@code null}
+     * @param branchTracer   the branch tracer of the instrumented class under test, not {@code null}
+     * @param interval       the minimum time between two checkpoints of a search, must be positive
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public CheckpointStore(final Path file, final Class<?> classUnderTest, final IBranchTracer branchTracer,
+                           final Duration interval) {
+        this.file = requireNonNull(file);
+        this.classUnderTest = requireNonNull(classUnderTest);
+        this.branchTracer = requireNonNull(branchTracer);
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+        }
+        this.interval = interval;
+        this.descriptors = new StatementDescriptors(classUnderTest);
+    }
+
+    /**
+     * Returns the file the checkpoints are stored in.
+     *
+     * @return the file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the minimum time between two checkpoints of a search.
+     *
+     * @return the interval
+     */
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Hands the given checkpoint over to a background thread, which writes it to the file. If an
+     * earlier checkpoint has not been written yet, it is superseded by the given one.
+     *
+     * @param checkpoint the checkpoint to write, not {@code null}
+     */
+    public void writeAsync(final Checkpoint checkpoint) {
+        requireNonNull(checkpoint);
+        if (pending.getAndSet(checkpoint) == null) {
+            writer().execute(this::writePending);
+        }
+    }
+
+    /**
+     * Waits until all checkpoints handed over by {@link #writeAsync(Checkpoint)} have been written.
+     *
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public synchronized void awaitWrites() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            // The writer runs its tasks in order, so all earlier writes are done when this one is
+            writer.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e); // the empty task cannot fail
+        }
+    }
+
+    private synchronized ExecutorService writer() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(task -> {
+                final Thread thread = new Thread(task, "checkpoint-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return writer;
+    }
+
+    private void writePending() {
+        final Checkpoint checkpoint = pending.getAndSet(null);
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            write(checkpoint);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to write checkpoint: " + file);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes the given checkpoint to the file, replacing the previous checkpoint atomically.
+     *
+     * @param checkpoint the checkpoint to write, not {@code null}
+     * @throws IOException if the checkpoint cannot be written, or if it contains a statement of an
+     *                     unknown kind
+     */
+    public void write(final Checkpoint checkpoint) throws IOException {
+        requireNonNull(checkpoint);
+
+        // Number the distinct test cases, which are often both in the population and the archive
+        final Map<TestCase, Integer> indices = new IdentityHashMap<>();
+        final List<TestCase> testCases = new ArrayList<>();
+        final List<TestCase> all = new ArrayList<>(checkpoint.population());
+        all.addAll(checkpoint.archive().values());
+        for (final TestCase testCase : all) {
+            if (!indices.containsKey(testCase)) {
+                indices.put(testCase, testCases.size());
+                testCases.add(testCase);
+            }
+        }
+
+        final Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        // Closing the GZIP stream releases its native deflater, finishing it alone does not
+        try (FileOutputStream stream = new FileOutputStream(temp.toFile());
+             GZIPOutputStream gzip = new GZIPOutputStream(stream);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip))) {
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(classUnderTest.getName());
+            out.writeUTF(ArchiveStore.classHash(classUnderTest));
+            out.writeInt(checkpoint.generation());
+            out.writeInt(checkpoint.evaluations());
+            out.writeBoolean(checkpoint.randomState().isPresent());
+            out.writeLong(checkpoint.randomState().orElse(0));
+
+            out.writeInt(testCases.size());
+            for (final TestCase testCase : testCases) {
+                final List<String> statements = StatementDescriptors.describe(testCase);
+                if (statements == null) {
+                    throw new IOException("Test case cannot be described:\n" + testCase);
+                }
+                out.writeInt(statements.size());
+                for (final String statement : statements) {
+                    out.writeUTF(statement);
+                }
+            }
+
+            out.writeInt(checkpoint.population().size());
+            for (final TestCase testCase : checkpoint.population()) {
+                out.writeInt(indices.get(testCase));
+            }
+
+            out.writeInt(checkpoint.archive().size());
+            for (final Map.Entry<Integer, TestCase> entry : checkpoint.archive().entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeInt(indices.get(entry.getValue()));
+            }
+
+            // Make sure the data is on disk before the checkpoint replaces the previous one
+            out.flush();
+            gzip.finish();
+            stream.getFD().sync();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads the checkpoint from the file. Returns {@code null} if there is no checkpoint yet, or if
+     * it was written for a different class or for a different version of the class.
+     *
+     * @param mutation  the mutation operator of the read test cases, not {@code null}
+     * @param crossover the crossover operator of the read test cases, not {@code null}
+     * @return the checkpoint, or {@code null}
+     * @throws IOException if the checkpoint cannot be read, is malformed, or refers to a
+     *                     constructor, method, field or branch that cannot be found
+     */
+    public Checkpoint read(final Mutation<TestCase> mutation, final Crossover<TestCase> crossover)
+            throws IOException {
+        requireNonNull(mutation);
+        requireNonNull(crossover);
+
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a checkpoint: " + file);
+            }
+            if (!in.readUTF().equals(classUnderTest.getName())
+                    || !in.readUTF().equals(ArchiveStore.classHash(classUnderTest))) {
+                return null;
+            }
+
+            final int generation = in.readInt();
+            final int evaluations = in.readInt();
+            final boolean hasRandomState = in.readBoolean();
+            final long randomState = in.readLong();
+
+            final int testCount = in.readInt();
+            final List<TestCase> testCases = new ArrayList<>(testCount);
+            for (int i = 0; i < testCount; i++) {
+                final int statementCount = in.readInt();
+                final List<String> statements = new ArrayList<>(statementCount);
+                for (int j = 0; j < statementCount; j++) {
+                    statements.add(in.readUTF());
+                }
+                final List<Statement> resolved = descriptors.resolve(statements);
+                if (resolved == null) {
+                    throw new IOException("Checkpoint refers to unknown statements: " + statements);
+                }
+                testCases.add(new TestCase(mutation, crossover, resolved));
+            }
+
+            final int populationSize = in.readInt();
+            final List<TestCase> population = new ArrayList<>(populationSize);
+            for (int i = 0; i < populationSize; i++) {
+                population.add(testCase(testCases, in.readInt()));
+            }
+
+            final int archiveSize = in.readInt();
+            final Map<Integer, TestCase> archive = new LinkedHashMap<>();
+            for (int i = 0; i < archiveSize; i++) {
+                final int branchId = in.readInt();
+                if (branchTracer.getBranchById(branchId) == null) {
+                    throw new IOException("Checkpoint refers to unknown branch " + branchId);
+                }
+                archive.put(branchId, testCase(testCases, in.readInt()));
+            }
+
+            return new Checkpoint(generation, evaluations,
+                    hasRandomState ? OptionalLong.of(randomState) : OptionalLong.empty(), population, archive);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed checkpoint: " + file, e);
+        }
+    }
+
+    private static TestCase testCase(final List<TestCase> testCases, final int index) throws IOException {
+        if (index < 0 || index >= testCases.size()) {
+            throw new IOException("Malformed checkpoint, unknown test case " + index);
+        }
+        return testCases.get(index);
+    }
+}
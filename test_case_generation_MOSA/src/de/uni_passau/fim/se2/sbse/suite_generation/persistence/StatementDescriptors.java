@@ -0,0 +1,261 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.persistence;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.FieldAssignmentStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.InitializationStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.MethodCallStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Variable;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Converts the statements of test cases to descriptors and back, as stored by the
+ * {@link ArchiveStore} and the {@link CheckpointStore}. A descriptor describes a statement by the
+ * descriptor of the invoked constructor or method, or the name of the assigned field, followed by
+ * the argument values:
+ * <pre>
+ * init (I)V I:42
+ * call push (I)V I:7
+ * field size I:3
+ * </pre>
+ * Values are written as {@code N} for {@code null}, {@code @} for the instance of the class under
+ * test, and otherwise as a type tag followed by the value (strings are Base64 encoded).
+ */
+final class StatementDescriptors {
+
+    private static final String INIT = "init";
+    private static final String CALL = "call";
+    private static final String FIELD = "field";
+
+    private static final String NULL = "N";
+    private static final String CUT = "@";
+
+    /**
+     * The class under test the statements belong to.
+     */
+    private final Class<?> classUnderTest;
+
+    /**
+     * Creates a new converter for statements of the given class under test.
+     *
+     * @param classUnderTest the class under test, not {@code null}
+     */
+    StatementDescriptors(final Class<?> classUnderTest) {
+        this.classUnderTest = requireNonNull(classUnderTest);
+    }
+
+    /**
+     * Describes the statements of the given test case, one line per statement, or returns
+     * {@code null} if the test case cannot be described.
+     */
+    static List<String> describe(final TestCase testCase) {
+        final List<String> lines = new ArrayList<>();
+        for (final Statement statement : testCase.getStatements()) {
+            final StringBuilder line = new StringBuilder();
+            if (statement instanceof InitializationStatement init) {
+                line.append(INIT).append(' ')
+                        .append(Type.getConstructorDescriptor(init.getConstructor()));
+                appendValues(line, init.getParameters(), init.getCutInstance());
+            } else if (statement instanceof MethodCallStatement call) {
+                line.append(CALL).append(' ')
+                        .append(call.getMethod().getName()).append(' ')
+                        .append(Type.getMethodDescriptor(call.getMethod()));
+                appendValues(line, call.getParameters(), call.getCutInstance());
+            } else if (statement instanceof FieldAssignmentStatement assignment) {
+                line.append(FIELD).append(' ').append(assignment.getField().getName());
+                appendValues(line, new Object[]{assignment.getValue()}, assignment.getCutInstance());
+            } else {
+                return null;
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static void appendValues(final StringBuilder line, final Object[] values, final Object cutInstance) {
+        for (final Object value : values) {
+            line.append(' ').append(encode(value, cutInstance));
+        }
+    }
+
+    /**
+     * Resolves the given statement descriptors against the class under test. All statements
+     * operate on the variable of the class under test. If no statement initializes the variable,
+     * it is initialized like the first initialization statement of the test case, or, if there is
+     * none, using the first declared constructor with default arguments. When run on their own,
+     * the statements share a single fresh instance created that way. Returns {@code null} if a
+     * statement cannot be resolved.
+     */
+    List<Statement> resolve(final List<String> descriptors) {
+        if (descriptors.isEmpty()) {
+            return null;
+        }
+
+        try {
+            final InitializationStatement initialization = initialization(descriptors);
+            final Object cutInstance = initialization.getCutInstance();
+            final List<Statement> statements = new ArrayList<>();
+            for (final String descriptor : descriptors) {
+                final String[] tokens = descriptor.split(" ");
+                switch (tokens[0]) {
+                    case INIT -> {
+                        final Constructor<?> constructor = findConstructor(tokens[1]);
+                        final Object[] arguments = decodeAll(tokens, 2, null);
+                        if (constructor == null || arguments.length != constructor.getParameterCount()) {
+                            return null;
+                        }
+                        statements.add(new InitializationStatement(cutInstance, constructor,
+                                classUnderTest.getName(), arguments));
+                    }
+                    case CALL -> {
+                        final Method method = findMethod(tokens[1], tokens[2]);
+                        final Object[] parameters = decodeAll(tokens, 3, Variable.CUT);
+                        if (method == null || parameters.length != method.getParameterCount()) {
+                            return null;
+                        }
+                        statements.add(new MethodCallStatement(Variable.CUT, initialization, method, parameters));
+                    }
+                    case FIELD -> {
+                        final Field field = classUnderTest.getDeclaredField(tokens[1]);
+                        statements.add(new FieldAssignmentStatement(Variable.CUT, initialization, field,
+                                decode(tokens[2], Variable.CUT)));
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+            return statements;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the statement initializing the variable of the class under test if the statements of
+     * a test case do not, together with the instance the statements operate on when run on their
+     * own.
+     */
+    private InitializationStatement initialization(final List<String> descriptors)
+            throws ReflectiveOperationException {
+        for (final String descriptor : descriptors) {
+            final String[] tokens = descriptor.split(" ");
+            if (tokens[0].equals(INIT)) {
+                final Constructor<?> constructor = findConstructor(tokens[1]);
+                if (constructor != null) {
+                    return initialization(constructor, decodeAll(tokens, 2, null));
+                }
+            }
+        }
+
+        final Constructor<?> constructor = classUnderTest.getDeclaredConstructors()[0];
+        final Object[] arguments = Arrays.stream(constructor.getParameterTypes())
+                .map(StatementDescriptors::defaultValue)
+                .toArray();
+        return initialization(constructor, arguments);
+    }
+
+    private InitializationStatement initialization(final Constructor<?> constructor, final Object[] arguments)
+            throws ReflectiveOperationException {
+        constructor.setAccessible(true);
+        return new InitializationStatement(constructor.newInstance(arguments), constructor,
+                classUnderTest.getName(), arguments);
+    }
+
+    /**
+     * Returns the default value of the given type, i.e., zero, {@code false} or {@code null}.
+     */
+    private static Object defaultValue(final Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private Constructor<?> findConstructor(final String descriptor) {
+        return Arrays.stream(classUnderTest.getDeclaredConstructors())
+                .filter(c -> Type.getConstructorDescriptor(c).equals(descriptor))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Method findMethod(final String name, final String descriptor) {
+        return Arrays.stream(classUnderTest.getDeclaredMethods())
+                .filter(m -> m.getName().equals(name) && Type.getMethodDescriptor(m).equals(descriptor))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Encodes the given value. References to objects other than the instance of the class under
+     * test (or its variable) and the supported value types are encoded as {@code null}.
+     */
+    static String encode(final Object value, final Object cutInstance) {
+        if (value == null) {
+            return NULL;
+        } else if (value == cutInstance || value instanceof Variable) {
+            return CUT;
+        } else if (value instanceof Boolean b) {
+            return "Z:" + b;
+        } else if (value instanceof Byte b) {
+            return "B:" + b;
+        } else if (value instanceof Short s) {
+            return "S:" + s;
+        } else if (value instanceof Character c) {
+            return "C:" + (int) c;
+        } else if (value instanceof Integer i) {
+            return "I:" + i;
+        } else if (value instanceof Long l) {
+            return "J:" + l;
+        } else if (value instanceof Float f) {
+            return "F:" + f;
+        } else if (value instanceof Double d) {
+            return "D:" + d;
+        } else if (value instanceof String s) {
+            return "T:" + Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+        }
+        return NULL;
+    }
+
+    /**
+     * Decodes a value written by {@link #encode(Object, Object)}.
+     */
+    static Object decode(final String token, final Object cutInstance) {
+        if (token.equals(NULL)) {
+            return null;
+        } else if (token.equals(CUT)) {
+            return cutInstance;
+        }
+
+        final String value = token.substring(2);
+        return switch (token.charAt(0)) {
+            case 'Z' -> Boolean.parseBoolean(value);
+            case 'B' -> Byte.parseByte(value);
+            case 'S' -> Short.parseShort(value);
+            case 'C' -> (char) Integer.parseInt(value);
+            case 'I' -> Integer.parseInt(value);
+            case 'J' -> Long.parseLong(value);
+            case 'F' -> Float.parseFloat(value);
+            case 'D' -> Double.parseDouble(value);
+            case 'T' -> new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Unknown value: " + token);
+        };
+    }
+
+    private static Object[] decodeAll(final String[] tokens, final int from, final Object cutInstance) {
+        final Object[] values = new Object[tokens.length - from];
+        for (int i = from; i < tokens.length; i++) {
+            values[i - from] = decode(tokens[i], cutInstance);
+        }
+        return values;
+    }
+}
@@ -3,11 +3,11 @@ package de.uni_passau.fim.se2.sbse.suite_generation.selection;
 
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.Chromosome;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
-import java.util.stream.Collectors;
 
 
 /**
@@ -67,6 +67,11 @@ import java.util.stream.Collectors;
  *     <li>In slow selection mode, the operator does not rely on approximations and has to fall back
  *     to exact (but slow) computations to determine the selection index.</li>
  * </ul>
+ * <p>
+ * The cumulative selection probabilities depend on the population size only, so they are computed
+ * once, when the operator is created, and the selection index is found by binary search. Sorting
+ * the population is the dominant cost of a selection: to choose several parents from the same
+ * population, use {@link #select(List, int)}, which sorts the population only once.
  * @param <C> the type of chromosomes supported by this operator
  */
 public class RankSelection<C extends Chromosome<C>> implements Selection<C> {
@@ -75,6 +80,7 @@ public class RankSelection<C extends Chromosome<C>> implements Selection<C> {
     private final int size;
     private final double bias;
     private final Random random;
+    private final double[] cumulativeProbabilities;
 
     /**
      * Constructs a new rank selection operator that uses the given comparator to rank the
@@ -98,6 +104,14 @@ public class RankSelection<C extends Chromosome<C>> implements Selection<C> {
         this.size = size;
         this.bias = bias;
         this.random = Objects.requireNonNull(random, "Random must not be null.");
+
+        // Assign ranks and calculate cumulative probabilities
+        this.cumulativeProbabilities = new double[size];
+        for (int i = 0; i < size; i++) {
+            double rank = i + 1; // Ranks start from 1 for the worst individual
+            double probability = (2 - bias + 2 * (bias - 1) * (rank - 1) / (size - 1)) / size;
+            cumulativeProbabilities[i] = (i == 0) ? probability : cumulativeProbabilities[i - 1] + probability;
+        }
     }
 
     /**
@@ -108,32 +122,57 @@ public class RankSelection<C extends Chromosome<C>> implements Selection<C> {
      */
     @Override
     public C apply(final List<C> population) {
-        if (population == null || population.size() != size) {
-            throw new IllegalArgumentException("Population must not be null and must have the fixed size: " + size);
-        }
+        return sort(population).get(nextIndex());
+    }
 
-        // Step 1: Sort the population by fitness using the comparator
-        List<C> sortedPopulation = population.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+    /**
+     * Chooses the given number of individuals from the given population using rank selection,
+     * independently of each other. The population is sorted only once.
+     *
+     * @param population the population of chromosomes from which to select
+     * @param count      the number of individuals to select
+     * @return the selected individuals, in the order they were selected
+     */
+    public List<C> select(final List<C> population, final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        final List<C> sortedPopulation = sort(population);
+        final List<C> selected = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            selected.add(sortedPopulation.get(nextIndex()));
+        }
+        return selected;
+    }
 
-        // Step 2: Assign ranks and calculate cumulative probabilities
-        double[] cumulativeProbabilities = new double[size];
-        for (int i = 0; i < size; i++) {
-            double rank = i + 1; // Ranks start from 1 for the worst individual
-            double probability = (2 - bias + 2 * (bias - 1) * (rank - 1) / (size - 1)) / size;
-            cumulativeProbabilities[i] = (i == 0) ? probability : cumulativeProbabilities[i - 1] + probability;
+    /**
+     * Sorts the population by fitness using the comparator, from the worst to the best individual.
+     */
+    private List<C> sort(final List<C> population) {
+        if (population == null || population.size() != size) {
+            throw new IllegalArgumentException("Population must not be null and must have the fixed size: " + size);
         }
+        final List<C> sortedPopulation = new ArrayList<>(population);
+        sortedPopulation.sort(comparator);
+        return sortedPopulation;
+    }
 
-        // Step 3: Generate a random number and find the corresponding individual
-        double randomValue = random.nextDouble();
-        for (int i = 0; i < size; i++) {
-            if (randomValue <= cumulativeProbabilities[i]) {
-                return sortedPopulation.get(i);
+    /**
+     * Generates a random number and finds the index of the corresponding individual, i.e., the
+     * first index whose cumulative probability is at least the random number.
+     */
+    private int nextIndex() {
+        final double randomValue = random.nextDouble();
+        int low = 0;
+        int high = size - 1; // Fallback for rounding errors: the best individual
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (randomValue <= cumulativeProbabilities[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
             }
         }
-
-        // Fallback, should not be reached
-        return sortedPopulation.get(size - 1);
+        return low;
     }
 }
@@ -0,0 +1,43 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+/**
+ * A composite stopping condition that tells the search to stop only when <em>all</em> of its
+ * children tell it to stop. For example, a search might be required to run for at least a given
+ * number of fitness evaluations and to keep going as long as it still makes progress.
+ */
+public final class AllOf extends CompositeStoppingCondition {
+
+    /**
+     * Creates a new composite of the given stopping conditions.
+     *
+     * @param conditions the stopping conditions to compose, at least one
+     */
+    public AllOf(final StoppingCondition... conditions) {
+        super(conditions);
+    }
+
+    /**
+     * Creates a new composite of the given stopping conditions.
+     *
+     * @param conditions the stopping conditions to compose, at least one
+     * @return the stopping condition
+     */
+    public static AllOf of(final StoppingCondition... conditions) {
+        return new AllOf(conditions);
+    }
+
+    @Override
+    public boolean searchMustStop() {
+        return getConditions().stream().allMatch(StoppingCondition::searchMustStop);
+    }
+
+    /**
+     * Returns the progress of the child that is farthest from stopping the search.
+     *
+     * @return the minimum progress of all children
+     */
+    @Override
+    public double getProgress() {
+        return getConditions().stream().mapToDouble(StoppingCondition::getProgress).min().orElse(0);
+    }
+}
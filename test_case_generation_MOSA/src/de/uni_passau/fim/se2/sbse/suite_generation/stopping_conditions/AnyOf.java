@@ -0,0 +1,44 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+/**
+ * A composite stopping condition that tells the search to stop as soon as <em>any</em> of its
+ * children tells it to stop. This is the usual way to combine a budget with an early exit, e.g.,
+ * stopping after 500 fitness evaluations, after one minute, or when all branches are covered,
+ * whichever comes first.
+ */
+public final class AnyOf extends CompositeStoppingCondition {
+
+    /**
+     * Creates a new composite of the given stopping conditions.
+     *
+     * @param conditions the stopping conditions to compose, at least one
+     */
+    public AnyOf(final StoppingCondition... conditions) {
+        super(conditions);
+    }
+
+    /**
+     * Creates a new composite of the given stopping conditions.
+     *
+     * @param conditions the stopping conditions to compose, at least one
+     * @return the stopping condition
+     */
+    public static AnyOf of(final StoppingCondition... conditions) {
+        return new AnyOf(conditions);
+    }
+
+    @Override
+    public boolean searchMustStop() {
+        return getConditions().stream().anyMatch(StoppingCondition::searchMustStop);
+    }
+
+    /**
+     * Returns the progress of the child that is closest to stopping the search.
+     *
+     * @return the maximum progress of all children
+     */
+    @Override
+    public double getProgress() {
+        return getConditions().stream().mapToDouble(StoppingCondition::getProgress).max().orElse(0);
+    }
+}
@@ -0,0 +1,79 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Base class for stopping conditions that are composed of other stopping conditions. All
+ * notifications are forwarded to every child, so that each of them sees the same events as if it
+ * had been passed to the search algorithm directly. Subclasses decide how the verdicts of the
+ * children are combined.
+ */
+abstract class CompositeStoppingCondition implements StoppingCondition {
+
+    /**
+     * The stopping conditions this composite is made of.
+     */
+    private final List<StoppingCondition> conditions;
+
+    /**
+     * Creates a new composite of the given stopping conditions.
+     *
+     * @param conditions the stopping conditions to compose, at least one
+     * @throws NullPointerException     if a stopping condition is {@code null}
+     * @throws IllegalArgumentException if no stopping condition is given
+     */
+    CompositeStoppingCondition(final StoppingCondition... conditions)
+            throws NullPointerException, IllegalArgumentException {
+        requireNonNull(conditions);
+        if (conditions.length == 0) {
+            throw new IllegalArgumentException("require at least one stopping condition");
+        }
+        for (final StoppingCondition condition : conditions) {
+            requireNonNull(condition);
+        }
+        this.conditions = List.of(conditions);
+    }
+
+    /**
+     * Returns the stopping conditions this composite is made of.
+     *
+     * @return the stopping conditions
+     */
+    public List<StoppingCondition> getConditions() {
+        return conditions;
+    }
+
+    @Override
+    public void notifySearchStarted() {
+        conditions.forEach(StoppingCondition::notifySearchStarted);
+    }
+
+    @Override
+    public void notifyFitnessEvaluation() {
+        conditions.forEach(StoppingCondition::notifyFitnessEvaluation);
+    }
+
+    @Override
+    public void notifyFitnessEvaluations(final int evaluations) throws IllegalArgumentException {
+        if (evaluations < 0) {
+            throw new IllegalArgumentException("Negative number of evaluations: " + evaluations);
+        }
+        conditions.forEach(c -> c.notifyFitnessEvaluations(evaluations));
+    }
+
+    @Override
+    public void notifyCoverage(final int coveredGoals, final int totalGoals) {
+        StoppingCondition.super.notifyCoverage(coveredGoals, totalGoals);
+        conditions.forEach(c -> c.notifyCoverage(coveredGoals, totalGoals));
+    }
+
+    @Override
+    public String toString() {
+        return conditions.stream()
+                .map(StoppingCondition::toString)
+                .collect(Collectors.joining(", ", getClass().getSimpleName() + "(", ")"));
+    }
+}
@@ -0,0 +1,75 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+/**
+ * A stopping condition that tells the search to stop as soon as all coverage goals have been
+ * covered. Once every branch of the class under test is covered there is nothing left to search
+ * for, and continuing would only waste budget. This stopping condition does not limit the search
+ * on its own and is therefore intended to be combined with a budget, e.g.:
+ * <pre>{@code
+ * StoppingCondition condition = AnyOf.of(MaxFitnessEvaluations.of(500), new FullCoverage());
+ * }</pre>
+ * The search algorithm must notify this stopping condition of the achieved coverage via
+ * {@link #notifyCoverage(int, int)}.
+ */
+public final class FullCoverage implements StoppingCondition {
+
+    /**
+     * The number of goals covered so far.
+     */
+    private int coveredGoals;
+
+    /**
+     * The total number of goals, or a negative number if not known yet.
+     */
+    private int totalGoals;
+
+    /**
+     * Creates a new stopping condition that stops the search when full coverage has been reached.
+     */
+    public FullCoverage() {
+        this.coveredGoals = 0;
+        this.totalGoals = -1;
+    }
+
+    @Override
+    public void notifySearchStarted() {
+        coveredGoals = 0;
+        totalGoals = -1;
+    }
+
+    @Override
+    public void notifyFitnessEvaluation() {
+        // Fitness evaluations do not consume any budget.
+    }
+
+    @Override
+    public void notifyCoverage(final int coveredGoals, final int totalGoals) {
+        StoppingCondition.super.notifyCoverage(coveredGoals, totalGoals);
+        this.coveredGoals = coveredGoals;
+        this.totalGoals = totalGoals;
+    }
+
+    @Override
+    public boolean searchMustStop() {
+        return totalGoals >= 0 && coveredGoals == totalGoals;
+    }
+
+    /**
+     * Returns the coverage achieved so far, i.e., a value in the interval [0,1]. If no goals exist
+     * the progress is {@code 1}.
+     *
+     * @return the achieved coverage
+     */
+    @Override
+    public double getProgress() {
+        if (totalGoals < 0) {
+            return 0.0;
+        }
+        return totalGoals == 0 ? 1.0 : coveredGoals / (double) totalGoals;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,98 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+/**
+ * A stopping condition that defines the search budget in terms of wall-clock time. The clock
+ * starts ticking when the search algorithm notifies this stopping condition that the search has
+ * started. Fitness evaluations are ignored, which means that the budget is related to the real
+ * cost of the search, including test case execution, sorting and selection.
+ * <p>
+ * Note that the search can only stop between two checks of {@link #searchMustStop()}. For MOSA
+ * and Random Search this happens once per generation, so the actual runtime might exceed the
+ * budget by the duration of one generation.
+ */
+public final class MaxTime implements StoppingCondition {
+
+    /**
+     * The maximum search time in milliseconds.
+     */
+    private final long maximumTime;
+
+    /**
+     * The point in time (in milliseconds since the epoch) when the search was started.
+     */
+    private long startTime;
+
+    /**
+     * Creates a new stopping condition using the given number of milliseconds as search budget.
+     *
+     * @param maxTimeInMillis the search budget in milliseconds
+     * @throws IllegalArgumentException if the given search budget is not positive
+     */
+    public MaxTime(final long maxTimeInMillis) throws IllegalArgumentException {
+        if (maxTimeInMillis <= 0) {
+            throw new IllegalArgumentException("search time must be positive");
+        }
+        this.maximumTime = maxTimeInMillis;
+        this.startTime = Long.MIN_VALUE; // the search must not run when it was never started
+    }
+
+    /**
+     * Creates a new stopping condition using the given number of seconds as search budget.
+     *
+     * @param seconds the search budget in seconds
+     * @return the stopping condition
+     * @throws IllegalArgumentException if the given search budget is not positive
+     */
+    public static MaxTime ofSeconds(final long seconds) throws IllegalArgumentException {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("search time must be positive");
+        }
+        return new MaxTime(seconds * 1000);
+    }
+
+    /**
+     * Returns the maximum search time in milliseconds.
+     *
+     * @return the maximum search time
+     */
+    public long getMaximumTime() {
+        return maximumTime;
+    }
+
+    /**
+     * Returns the number of milliseconds that have elapsed since the search was started.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    private long elapsedTime() {
+        if (startTime == Long.MIN_VALUE) {
+            return maximumTime;
+        }
+        return System.currentTimeMillis() - startTime;
+    }
+
+    @Override
+    public void notifySearchStarted() {
+        startTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public void notifyFitnessEvaluation() {
+        // Fitness evaluations do not consume any budget.
+    }
+
+    @Override
+    public boolean searchMustStop() {
+        return elapsedTime() >= maximumTime;
+    }
+
+    @Override
+    public double getProgress() {
+        return elapsedTime() / (double) maximumTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%d ms)", getClass().getSimpleName(), maximumTime);
+    }
+}
@@ -0,0 +1,100 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+/**
+ * A stopping condition that tells the search to stop when the number of covered goals has not
+ * improved during the last {@code n} fitness evaluations. This detects stagnation: once the
+ * search keeps failing to cover new branches, the remaining budget is unlikely to pay off.
+ * <p>
+ * The search algorithm must notify this stopping condition of the achieved coverage via
+ * {@link #notifyCoverage(int, int)}, and of every fitness evaluation.
+ */
+public final class NoImprovementForN implements StoppingCondition {
+
+    /**
+     * The number of fitness evaluations without improvement after which the search must stop.
+     */
+    private final int maximumEvaluationsWithoutImprovement;
+
+    /**
+     * The number of fitness evaluations since the last improvement.
+     */
+    private int evaluationsWithoutImprovement;
+
+    /**
+     * The best number of covered goals seen so far.
+     */
+    private int bestCoveredGoals;
+
+    /**
+     * Creates a new stopping condition that stops the search after the given number of fitness
+     * evaluations without improvement in coverage.
+     *
+     * @param n the number of fitness evaluations without improvement
+     * @throws IllegalArgumentException if {@code n} is not positive
+     */
+    public NoImprovementForN(final int n) throws IllegalArgumentException {
+        if (n <= 0) {
+            throw new IllegalArgumentException("number of evaluations must be positive");
+        }
+        this.maximumEvaluationsWithoutImprovement = n;
+        this.evaluationsWithoutImprovement = 0;
+        this.bestCoveredGoals = 0;
+    }
+
+    /**
+     * Creates a new stopping condition that stops the search after the given number of fitness
+     * evaluations without improvement in coverage.
+     *
+     * @param n the number of fitness evaluations without improvement
+     * @return the stopping condition
+     */
+    public static NoImprovementForN of(final int n) {
+        return new NoImprovementForN(n);
+    }
+
+    /**
+     * Returns the number of fitness evaluations without improvement after which the search must
+     * stop.
+     *
+     * @return the number of fitness evaluations
+     */
+    public int getMaximumEvaluationsWithoutImprovement() {
+        return maximumEvaluationsWithoutImprovement;
+    }
+
+    @Override
+    public void notifySearchStarted() {
+        evaluationsWithoutImprovement = 0;
+        bestCoveredGoals = 0;
+    }
+
+    @Override
+    public void notifyFitnessEvaluation() {
+        evaluationsWithoutImprovement++;
+    }
+
+    @Override
+    public void notifyCoverage(final int coveredGoals, final int totalGoals) {
+        StoppingCondition.super.notifyCoverage(coveredGoals, totalGoals);
+        if (coveredGoals > bestCoveredGoals) {
+            bestCoveredGoals = coveredGoals;
+            evaluationsWithoutImprovement = 0;
+        }
+    }
+
+    @Override
+    public boolean searchMustStop() {
+        return evaluationsWithoutImprovement >= maximumEvaluationsWithoutImprovement;
+    }
+
+    @Override
+    public double getProgress() {
+        return evaluationsWithoutImprovement / (double) maximumEvaluationsWithoutImprovement;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%d)", getClass().getSimpleName(),
+                maximumEvaluationsWithoutImprovement);
+    }
+}
@@ -45,6 +45,25 @@ public interface StoppingCondition {
         }
     }
 
+    /**
+     * Notifies this stopping condition of the number of coverage goals (i.e., branches) covered so
+     * far by the search, out of the given total number of goals. Intended to be called by the
+     * search algorithm the stopping condition is subscribed to, whenever it has evaluated new
+     * solutions. Stopping conditions that do not depend on coverage can simply ignore this
+     * notification, which is what the default implementation does.
+     *
+     * @param coveredGoals the number of goals covered so far, must not be negative
+     * @param totalGoals   the total number of goals, must not be less than {@code coveredGoals}
+     * @throws IllegalArgumentException if the given numbers are inconsistent
+     */
+    default void notifyCoverage(final int coveredGoals, final int totalGoals)
+            throws IllegalArgumentException {
+        if (coveredGoals < 0 || coveredGoals > totalGoals) {
+            throw new IllegalArgumentException(
+                    "Invalid coverage: " + coveredGoals + " of " + totalGoals);
+        }
+    }
+
     /**
      * Tells whether the search algorithm must stop, i.e., the search budget has been exhausted. The
      * inverse of {@code searchCanContinue()}.
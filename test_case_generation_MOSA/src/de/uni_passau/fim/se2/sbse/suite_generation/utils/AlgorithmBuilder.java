@@ -1,15 +1,22 @@
 package de.uni_passau.fim.se2.sbse.suite_generation.utils;
 
 import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.GeneticAlgorithm;
+import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.Island;
+import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.IslandMOSA;
 import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.MOSA;
 import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.RandomSearch;
 import de.uni_passau.fim.se2.sbse.suite_generation.algorithms.SearchAlgorithmType;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCaseGenerator;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
 import de.uni_passau.fim.se2.sbse.suite_generation.crossover.OnePointCrossover;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.IBranch;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.IBranchTracer;
 import de.uni_passau.fim.se2.sbse.suite_generation.mutation.TestCaseMutation;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.ArchiveStore;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.Checkpoint;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.CheckpointStore;
 import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
 
 import java.util.Random;
@@ -17,6 +24,8 @@ import java.util.Set;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -51,7 +60,50 @@ public class AlgorithmBuilder {
      */
     private final Set<IBranch> branchesToCover;
 
+    /**
+     * The maximum number of statements of a test case.
+     */
+    private int maxLength = TestCaseGenerator.DEFAULT_MAX_LENGTH;
+
+    /**
+     * The archive of a previous run to start MOSA from, or {@code null} for a cold start.
+     */
+    private ArchiveStore warmStartArchive;
+
+    /**
+     * The number of islands of the island model of MOSA.
+     */
+    private int islands = IslandMOSA.DEFAULT_ISLANDS;
+
+    /**
+     * The number of generations between two migrations of the island model of MOSA.
+     */
+    private int migrationInterval = IslandMOSA.DEFAULT_MIGRATION_INTERVAL;
+
+    /**
+     * Creates the processes running the islands of the island model of MOSA, or {@code null}.
+     */
+    private IslandMOSA.IslandLauncher islandLauncher;
+
+    /**
+     * The store MOSA writes checkpoints to, or {@code null} for no checkpoints.
+     */
+    private CheckpointStore checkpointStore;
 
+    /**
+     * Whether MOSA resumes from the checkpoint in the checkpoint store.
+     */
+    private boolean resume;
+
+    /**
+     * The statements of the class under test shared by all mutation operators, created on first use.
+     */
+    private List<Statement> statementPool;
+
+    /**
+     * Creates a builder for the given class under test. The other settings start with their
+     * defaults and can be changed with the {@code with...} methods before building an algorithm.
+     */
     public AlgorithmBuilder(final Random random,
                             final StoppingCondition stoppingCondition,
                             final int populationSize,
@@ -86,16 +138,94 @@ public class AlgorithmBuilder {
         this.branchesToCover = this.branchTracer.getBranches();
     }
 
+    /**
+     * Sets the maximum number of statements of a test case.
+     *
+     * @param maxLength the maximum length, must be positive
+     * @return this builder
+     * @throws IllegalArgumentException if the maximum length is not positive
+     */
+    public AlgorithmBuilder withMaxLength(final int maxLength) throws IllegalArgumentException {
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("Maximum test case length must be positive: " + maxLength);
+        }
+        this.maxLength = maxLength;
+        return this;
+    }
+
+    /**
+     * Makes MOSA start from the test cases of the given archive of a previous run.
+     *
+     * @param warmStartArchive the archive, or {@code null} for a cold start
+     * @return this builder
+     */
+    public AlgorithmBuilder withWarmStart(final ArchiveStore warmStartArchive) {
+        this.warmStartArchive = warmStartArchive;
+        return this;
+    }
+
+    /**
+     * Sets the number of islands of the island model of MOSA, and how often they exchange test cases.
+     *
+     * @param islands the number of islands, must be positive
+     * @param migrationInterval the number of generations between two migrations, must be positive
+     * @return this builder
+     * @throws IllegalArgumentException if a number is not positive
+     */
+    public AlgorithmBuilder withIslands(final int islands, final int migrationInterval)
+            throws IllegalArgumentException {
+        if (islands < 1) {
+            throw new IllegalArgumentException("Number of islands must be positive: " + islands);
+        }
+        if (migrationInterval < 1) {
+            throw new IllegalArgumentException("Migration interval must be positive: " + migrationInterval);
+        }
+        this.islands = islands;
+        this.migrationInterval = migrationInterval;
+        return this;
+    }
+
+    /**
+     * Sets how the processes running the islands of the island model of MOSA are created.
+     *
+     * @param islandLauncher creates the process of an island, see {@link #buildIsland(int, Path)}
+     * @return this builder
+     */
+    public AlgorithmBuilder withIslandLauncher(final IslandMOSA.IslandLauncher islandLauncher) {
+        this.islandLauncher = requireNonNull(islandLauncher);
+        return this;
+    }
+
+    /**
+     * Makes MOSA write checkpoints to the given store, and, if requested, resume from the
+     * checkpoint in the store.
+     *
+     * @param checkpointStore the store, or {@code null} for no checkpoints
+     * @param resume whether to resume from the checkpoint in the store
+     * @return this builder
+     * @throws IllegalArgumentException if MOSA should resume without a checkpoint store
+     */
+    public AlgorithmBuilder withCheckpoints(final CheckpointStore checkpointStore, final boolean resume)
+            throws IllegalArgumentException {
+        if (resume && checkpointStore == null) {
+            throw new IllegalArgumentException("No checkpoint store to resume from");
+        }
+        this.checkpointStore = checkpointStore;
+        this.resume = resume;
+        return this;
+    }
+
     /**
      * Builds the specified search algorithm using the fields of this class.
      *
      * @param algorithm the algorithm to build
      * @return the algorithm
      */
-    public GeneticAlgorithm<?> build(final SearchAlgorithmType algorithm) {
+    public GeneticAlgorithm<TestCase> build(final SearchAlgorithmType algorithm) {
         return switch (algorithm) {
             case RANDOM_SEARCH -> buildRandomSearch();
             case MOSA -> buildMOSA();
+            case ISLAND_MOSA -> buildIslandMOSA();
         };
     }
 
@@ -105,18 +235,169 @@ public class AlgorithmBuilder {
      *
      * @return the search algorithm
      */
-    private GeneticAlgorithm<?> buildMOSA() {
-        OnePointCrossover crossover = new OnePointCrossover(random);
-        TestCaseMutation mutation = new TestCaseMutation(
-            random,
-            Utils.allStatements(testGenerationTarget)
+    private GeneticAlgorithm<TestCase> buildMOSA() {
+        return createMOSA(targetBranches(), true, createMutation(), new OnePointCrossover(random));
+    }
+
+    /**
+     * Returns an instance of the island model of MOSA to generate tests for the target class. The
+     * islands run in processes created by the island launcher.
+     *
+     * @return the search algorithm
+     * @throws IllegalStateException if no island launcher was set
+     */
+    private GeneticAlgorithm<TestCase> buildIslandMOSA() throws IllegalStateException {
+        if (islandLauncher == null) {
+            throw new IllegalStateException("No island launcher to run the islands");
+        }
+        return new IslandMOSA(
+            islands,
+            islandLauncher,
+            this::archiveStore,
+            createMutation(),
+            new OnePointCrossover(random),
+            targetBranches(),
+            stoppingCondition
         );
+    }
+
+    /**
+     * Returns an island of the island model of MOSA, to be run in the process created for it by
+     * the island launcher. The island is a MOSA instance constructed using the fields of this
+     * class, which exchanges migrants with the other islands through the given directory.
+     *
+     * @param island the index of the island
+     * @param exchangeDirectory the directory the islands exchange migrants through
+     * @return the search algorithm of the island
+     * @throws IllegalArgumentException if the index is not the one of an island
+     */
+    public GeneticAlgorithm<TestCase> buildIsland(final int island, final Path exchangeDirectory)
+            throws IllegalArgumentException {
+        if (island < 0 || island >= islands) {
+            throw new IllegalArgumentException("No such island: " + island);
+        }
+        final TestCaseMutation mutation = createMutation();
+        final OnePointCrossover crossover = new OnePointCrossover(random);
+        final int previous = (island + islands - 1) % islands;
+        return new Island(
+            createMOSA(targetBranches(), false, mutation, crossover),
+            migrationInterval,
+            archiveStore(IslandMOSA.migrantsFile(exchangeDirectory, island)),
+            archiveStore(IslandMOSA.migrantsFile(exchangeDirectory, previous)),
+            archiveStore(IslandMOSA.archiveFile(exchangeDirectory, island)),
+            mutation,
+            crossover
+        );
+    }
+
+    /**
+     * Returns a store for an archive of test cases for the target class in the given file.
+     */
+    private ArchiveStore archiveStore(final Path file) {
+        return new ArchiveStore(file, testGenerationTarget, branchTracer);
+    }
+
+    /**
+     * Creates a MOSA instance for the given target branches using the fields of this class. If an
+     * archive of a previous run is given, the search starts from its test cases. If a checkpoint
+     * store is given and the instance is checkpointed, the search writes checkpoints to the store,
+     * and, if requested, resumes from the checkpoint in the store.
+     *
+     * @param targetBranches the branches to cover
+     * @param checkpointed whether the instance uses the checkpoint store
+     * @param mutation the mutation operator of the test cases
+     * @param crossover the crossover operator of the test cases
+     * @return the MOSA instance
+     */
+    private MOSA createMOSA(final List<Branch> targetBranches, final boolean checkpointed,
+                            final TestCaseMutation mutation, final OnePointCrossover crossover) {
         TestCaseGenerator generator = new TestCaseGenerator(
             random,
             mutation,
             crossover,
-            testGenerationTarget
+            testGenerationTarget,
+            maxLength
+        );
+
+        List<TestCase> seeds = List.of();
+        if (warmStartArchive != null) {
+            try {
+                seeds = warmStartArchive.load(mutation, crossover);
+            } catch (IOException e) {
+                System.err.println("Failed to load archive: " + warmStartArchive.getFile());
+            }
+        }
+
+        MOSA mosa = new MOSA(
+            populationSize,
+            random,
+            generator,
+            targetBranches,
+            stoppingCondition,
+            seeds
+        );
+        if (checkpointed && checkpointStore != null) {
+            mosa.setCheckpointStore(checkpointStore);
+            if (resume) {
+                resume(mosa, mutation, crossover);
+            }
+        }
+        return mosa;
+    }
+
+    /**
+     * Makes the given MOSA instance resume from the checkpoint in the checkpoint store, if there is
+     * a valid one.
+     */
+    private void resume(final MOSA mosa, final TestCaseMutation mutation, final OnePointCrossover crossover) {
+        try {
+            final Checkpoint checkpoint = checkpointStore.read(mutation, crossover);
+            if (checkpoint == null) {
+                System.err.println("No checkpoint to resume from: " + checkpointStore.getFile());
+            } else {
+                mosa.resumeFrom(checkpoint);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read checkpoint: " + checkpointStore.getFile());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Creates a mutation operator that inserts statements of the statement pool with fresh
+     * argument values.
+     *
+     * @return the mutation operator
+     */
+    private TestCaseMutation createMutation() {
+        return new TestCaseMutation(
+            random,
+            statementPool(),
+            Utils::withFreshArguments,
+            maxLength
         );
+    }
+
+    /**
+     * Returns the statements of the class under test, which are reflected only once per target.
+     * Mutations draw from these statements and generate fresh argument values for every statement
+     * they insert.
+     *
+     * @return the statement pool
+     */
+    private List<Statement> statementPool() {
+        if (statementPool == null) {
+            statementPool = Utils.allStatements(testGenerationTarget);
+        }
+        return statementPool;
+    }
+
+    /**
+     * Returns the branches to cover as a list of {@link Branch} objects.
+     *
+     * @return the target branches
+     */
+    private List<Branch> targetBranches() {
         List<Branch> targetBranches = new ArrayList<>();
         for (IBranch branch : branchesToCover) {
             if (branch instanceof Branch) {
@@ -128,16 +409,7 @@ public class AlgorithmBuilder {
                 );
             }
         }
-
-        MOSA algorithm = new MOSA(
-            populationSize,
-            random,
-            generator,
-            targetBranches,
-            stoppingCondition
-        );
-
-        return algorithm;
+        return targetBranches;
     }
 
     /**
@@ -150,17 +422,15 @@ public class AlgorithmBuilder {
      *
      * @return the search algorithm
      */
-    private GeneticAlgorithm<?> buildRandomSearch() {
+    private GeneticAlgorithm<TestCase> buildRandomSearch() {
         OnePointCrossover crossover = new OnePointCrossover(random);
-        TestCaseMutation mutation = new TestCaseMutation(
-            random,
-            Utils.allStatements(testGenerationTarget)
-        );
+        TestCaseMutation mutation = createMutation();
         TestCaseGenerator generator = new TestCaseGenerator(
             random,
             mutation,
             crossover,
-            testGenerationTarget
+            testGenerationTarget,
+            maxLength
         );
         List<Branch> targetBranches = new ArrayList<>();
         for (IBranch branch : branchesToCover) {
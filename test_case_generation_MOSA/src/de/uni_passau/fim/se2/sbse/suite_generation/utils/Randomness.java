@@ -15,8 +15,8 @@ public class Randomness {
      */
     public static final int MIN_INT = ~MAX_INT;
 
-    // Internal source of randomness.
-    private static final Random random = new Random(10);
+    // Internal source of randomness. Its state can be restored to resume a search from a checkpoint.
+    private static final RestorableRandom random = new RestorableRandom(10);
 
     private Randomness() {
         // private constructor to prevent instantiation.
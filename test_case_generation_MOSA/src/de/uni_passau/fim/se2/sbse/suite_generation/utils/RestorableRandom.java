@@ -0,0 +1,73 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.utils;
+
+import java.util.Random;
+
+/**
+ * A {@link Random} whose state can be saved and restored, e.g., to resume an interrupted search
+ * from a checkpoint with the same random numbers it would have drawn otherwise. It uses the same
+ * linear congruential generator as {@link Random}, so it yields the same numbers for the same seed.
+ * <p>
+ * Only the state of the generator itself is saved: a second Gaussian computed in advance by
+ * {@link #nextGaussian()} is not, and is therefore discarded when the state is restored.
+ */
+public class RestorableRandom extends Random {
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    /**
+     * The state of the generator. It has no initializer on purpose: it is assigned by
+     * {@link #setSeed(long)}, which the constructor of {@link Random} calls before the fields of
+     * this class would be initialized.
+     */
+    private long state;
+
+    /**
+     * Creates a new generator with a seed that is very likely distinct from any other seed.
+     */
+    public RestorableRandom() {
+        super();
+    }
+
+    /**
+     * Creates a new generator with the given seed.
+     *
+     * @param seed the initial seed
+     */
+    public RestorableRandom(final long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(final long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected synchronized int next(final int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Returns the current state of this generator.
+     *
+     * @return the state
+     */
+    public synchronized long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state returned by {@link #getState()}, so that this generator continues with the
+     * same numbers as the generator the state was taken from.
+     *
+     * @param state the state to restore
+     */
+    public synchronized void setState(final long state) {
+        super.setSeed(0); // discards a Gaussian computed in advance
+        this.state = state & MASK;
+    }
+}
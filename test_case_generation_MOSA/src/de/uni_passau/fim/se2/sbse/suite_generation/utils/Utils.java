@@ -16,8 +16,12 @@ import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statem
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.FieldAssignmentStatement;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.InitializationStatement;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.MethodCallStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Variable;
+import de.uni_passau.fim.se2.sbse.suite_generation.fitness_functions.BranchCoverageFitnessFunction;
 import de.uni_passau.fim.se2.sbse.suite_generation.fitness_functions.FitnessFunction;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.ConstantPool;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
 
 /**
  * Store common functions used in both algorithms
@@ -64,6 +68,40 @@ public class Utils {
         return fitnessMap;
     }
 
+    /**
+     * Calculate Branch distance for every branch and for each test case, executing every test case
+     * exactly once. The fitness values of all target branches are derived from the branch trace of
+     * that single execution, and the stopping condition is notified of one fitness evaluation per
+     * execution. This keeps the search budget proportional to the number of test executions, which
+     * is what dominates the real cost of the search.
+     * @param population: A population of possible TestCases
+     * @param targetBranches: Branches to be evaluated against the Testcases
+     * @param fitnessFunctions: Function to use for evaluation
+     * @param stoppingCondition: The stopping condition to notify of every test execution
+     * @return A mapping of testcases and their fitness values against all branches
+     */
+    public static Map<TestCase, Map<Branch, Double>> evaluateFitness(
+        List<TestCase> population,
+        List<Branch> targetBranches,
+        Map<Branch, BranchCoverageFitnessFunction> fitnessFunctions,
+        StoppingCondition stoppingCondition
+        ) {
+        Map<TestCase, Map<Branch, Double>> fitnessMap = new HashMap<>();
+
+        for (TestCase testCase : population) {
+            Map<Integer, Double> trace = testCase.call();
+            stoppingCondition.notifyFitnessEvaluation();
+
+            Map<Branch, Double> branchFitness = new HashMap<>();
+            for (Branch branch : targetBranches) {
+                branchFitness.put(branch, fitnessFunctions.get(branch).applyToTrace(trace));
+            }
+            fitnessMap.put(testCase, branchFitness);
+        }
+
+        return fitnessMap;
+    }
+
     /**
      * Return True if P dominates q
      * 
@@ -146,26 +184,31 @@ public class Utils {
     }
 
     /**
-     * 
+     * Updates the archive with the shortest covering test case of every target branch. A test case
+     * covers a branch if its fitness for that branch is 0. It replaces the archived test case of a
+     * branch if no test case covering the branch has been archived yet, or if it is shorter than the
+     * archived one. Preferring shorter test cases keeps the generated test suite free of bloat.
      * @param population: A population of possible TestCases
      * @param fitnessMap: A mapping of TestCase IDs Branches and their fitness values
+     * @param archive: A mapping of the covered branches to the shortest test case covering them
      * @param targetBranches: The target braches to be considered
-     * @param archive: An population of the best test cases chosen from evolving population
      */
     public static void updateArchive(
         List<TestCase> population,
         Map<TestCase, Map<Branch, Double>> fitnessMap,
-        List<TestCase> archive,
+        Map<Branch, TestCase> archive,
         List<Branch> targetBranches
         ) {
-            TestCase candidate = population.get(0);
-            for (int i = 1; i < population.size(); i++) {
-                if (dominates(population.get(i), candidate, fitnessMap, targetBranches)) {
-                    candidate = population.get(i);
+            for (TestCase testCase : population) {
+                Map<Branch, Double> branchFitness = fitnessMap.get(testCase);
+                for (Branch branch : targetBranches) {
+                    if (branchFitness.get(branch) != 0.0) continue;
+                    TestCase archived = archive.get(branch);
+                    if (archived == null || testCase.size() < archived.size()) {
+                        archive.put(branch, testCase);
+                    }
                 }
             }
-
-            archive.add(candidate);
     }
 
     /**
@@ -187,14 +230,13 @@ public class Utils {
                 Object[] params = generateRandomParameters(constructor.getParameterTypes(), null);
                 Object instance = constructor.newInstance(params);
 
+                // The other statements operate on the instance this statement creates,
+                // unless the test case initializes the CUT differently
+                InitializationStatement initialization = new InitializationStatement(instance, constructor, className, params);
+
                 // Add constructors
                 if (Modifier.isPublic(constructor.getModifiers())) { // Filter out non-public constructors
-                    try {
-                        Statement statement = new InitializationStatement(instance, constructor, className, params);
-                        allStatements.add(statement);
-                    } catch (Exception e) {
-                        System.err.println("Failed to invoke constructor: " + constructor.getName());
-                    }
+                    allStatements.add(initialization);
                 }
 
                 Object obj = instance;
@@ -204,9 +246,9 @@ public class Utils {
                 for (Field field : fields) {
                     if (!Modifier.isStatic(field.getModifiers()) && Modifier.isPublic(field.getModifiers())) { // Ignore static and private fields
                         try {
-                            Object value = generateRandomValue(field.getType(), null);
+                            Object value = toVariable(generateRandomValue(field.getType(), obj), obj);
                             field.setAccessible(true); // Allow access to private fields if needed
-                            Statement statement = new FieldAssignmentStatement(obj, field, value);
+                            Statement statement = new FieldAssignmentStatement(Variable.CUT, initialization, field, value);
                             allStatements.add(statement);
                         } catch (Exception e) {
                             e.printStackTrace();
@@ -220,7 +262,10 @@ public class Utils {
                     if (Modifier.isPublic(method.getModifiers())) { // Filter out private methods
                         try {
                             Object[] parameters = generateRandomParameters(method.getParameterTypes(), obj);
-                            Statement statement = new MethodCallStatement(obj, method, parameters);
+                            for (int i = 0; i < parameters.length; i++) {
+                                parameters[i] = toVariable(parameters[i], obj);
+                            }
+                            Statement statement = new MethodCallStatement(Variable.CUT, initialization, method, parameters);
                             allStatements.add(statement);
                         } catch (Exception e) {
                             System.err.println("Failed to process method: " + method.getName());
@@ -235,6 +280,44 @@ public class Utils {
         return allStatements;
     }
 
+    /**
+     * Returns a copy of the given statement with freshly generated argument values, seeded with the
+     * constants of the class under test. Only method calls and field assignments on the variable of
+     * the class under test are copied; other statements are returned as they are.
+     *
+     * @param statement a statement of the statement pool, see {@link #allStatements(Class)}
+     * @return the statement with new argument values
+     */
+    public static Statement withFreshArguments(Statement statement) {
+        if (statement instanceof MethodCallStatement call && call.getInitialization() != null) {
+            Object obj = call.getCutInstance();
+            Object[] parameters = generateRandomParameters(call.getMethod().getParameterTypes(), obj);
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = toVariable(parameters[i], obj);
+            }
+            return new MethodCallStatement(call.getVariable(), call.getInitialization(), call.getMethod(), parameters);
+        }
+        if (statement instanceof FieldAssignmentStatement assignment && assignment.getInitialization() != null) {
+            Object obj = assignment.getCutInstance();
+            Object value = toVariable(generateRandomValue(assignment.getField().getType(), obj), obj);
+            return new FieldAssignmentStatement(assignment.getVariable(), assignment.getInitialization(),
+                    assignment.getField(), value);
+        }
+        return statement;
+    }
+
+    /**
+     * Replaces a reference to the given instance of the class under test by the variable holding
+     * the instance, so that statements refer to the instance of the current test case execution.
+     *
+     * @param value a generated value
+     * @param obj The object of the class under test
+     * @return the variable of the class under test if the value is the given object, else the value
+     */
+    private static Object toVariable(Object value, Object obj) {
+        return value != null && value == obj ? Variable.CUT : value;
+    }
+
     /**
      * Generates random values for the given parameter types.
      *
@@ -252,6 +335,8 @@ public class Utils {
 
     /**
      * Generates a random value for a given type.
+     * With the seeding probability of the {@link ConstantPool}, the value is instead sampled from the
+     * constants found in the byte code of the class under test, if there are constants of that type.
      *
      * @param type The type for which a random value will be generated.
      * @param obj The object of the class under test
@@ -260,6 +345,11 @@ public class Utils {
     public static Object generateRandomValue(Class<?> type, Object obj) {
         Random random = Randomness.random();
 
+        ConstantPool constantPool = ConstantPool.getInstance();
+        if (constantPool.hasConstants(type) && random.nextDouble() < constantPool.getSeedingProbability()) {
+            return constantPool.sample(type, random);
+        }
+
         if (type.isPrimitive()) {
             if (type == boolean.class) return random.nextBoolean();
             if (type == byte.class) return (byte) random.nextInt(256);
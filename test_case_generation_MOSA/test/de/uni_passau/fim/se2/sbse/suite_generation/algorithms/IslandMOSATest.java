@@ -0,0 +1,115 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.Crossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.Mutation;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.ArchiveStore;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
+
+class IslandMOSATest {
+
+    @Mock
+    private StoppingCondition mockStoppingCondition;
+
+    @Mock
+    private Mutation<TestCase> mockMutation;
+    @Mock
+    private Crossover<TestCase> mockCrossover;
+
+    @Mock
+    private Branch branch1;
+    @Mock
+    private Branch branch2;
+
+    @Mock
+    private TestCase shortTestCase;
+    @Mock
+    private TestCase longTestCase;
+
+    private List<Branch> targetBranches;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        targetBranches = List.of(branch1, branch2);
+        when(branch1.getId()).thenReturn(1);
+        when(branch2.getId()).thenReturn(2);
+        when(shortTestCase.size()).thenReturn(2);
+        when(longTestCase.size()).thenReturn(5);
+    }
+
+    /**
+     * Returns a process that exits right away, standing in for an island.
+     */
+    private static ProcessBuilder emptyIsland() {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-version");
+    }
+
+    private IslandMOSA islandMOSA(int islands, IslandMOSA.IslandLauncher launcher, ArchiveStore archive) {
+        return new IslandMOSA(islands, launcher, file -> archive, mockMutation, mockCrossover,
+            targetBranches, mockStoppingCondition);
+    }
+
+    @Test
+    void testConstructorRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+            () -> islandMOSA(0, (island, directory) -> emptyIsland(), mock(ArchiveStore.class)));
+    }
+
+    @Test
+    void testMergeArchivesKeepsShortestTestCase() {
+        IslandMOSA islandMOSA = islandMOSA(2, (island, directory) -> emptyIsland(), mock(ArchiveStore.class));
+        Map<Branch, TestCase> merged = islandMOSA.mergeArchives(List.of(
+            Map.of(longTestCase, Set.of(1)),
+            Map.of(shortTestCase, Set.of(1), longTestCase, Set.of(2))));
+
+        assertEquals(2, merged.size());
+        assertSame(shortTestCase, merged.get(branch1));
+        assertSame(longTestCase, merged.get(branch2));
+        assertEquals(Set.of(1, 2), islandMOSA.getCoveredBranches().get(longTestCase));
+    }
+
+    @Test
+    void testFindSolutionRunsEveryIslandInItsOwnProcess() throws IOException {
+        List<Integer> launched = new ArrayList<>();
+        List<Path> directories = new ArrayList<>();
+        IslandMOSA.IslandLauncher launcher = (island, directory) -> {
+            launched.add(island);
+            directories.add(directory);
+            return emptyIsland();
+        };
+        ArchiveStore archive = mock(ArchiveStore.class);
+        when(archive.loadCoverage(mockMutation, mockCrossover))
+            .thenReturn(Map.of(shortTestCase, Set.of(1)), Map.of(longTestCase, Set.of(1, 2)));
+
+        List<TestCase> solution = islandMOSA(2, launcher, archive).findSolution();
+
+        assertEquals(List.of(0, 1), launched);
+        assertEquals(directories.get(0), directories.get(1), "The islands should share the exchange directory");
+        assertFalse(Files.exists(directories.get(0)), "The exchange directory should be deleted");
+        assertEquals(Set.of(shortTestCase, longTestCase), Set.copyOf(solution));
+        verify(mockStoppingCondition).notifySearchStarted();
+        verify(mockStoppingCondition).notifyCoverage(2, 2);
+    }
+}
@@ -0,0 +1,132 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.Crossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.Mutation;
+import de.uni_passau.fim.se2.sbse.suite_generation.persistence.ArchiveStore;
+import de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions.StoppingCondition;
+
+class IslandTest {
+
+    @Mock
+    private MOSA mockMOSA;
+    @Mock
+    private StoppingCondition mockStoppingCondition;
+
+    @Mock
+    private ArchiveStore outbox;
+    @Mock
+    private ArchiveStore inbox;
+    @Mock
+    private ArchiveStore result;
+
+    @Mock
+    private Mutation<TestCase> mockMutation;
+    @Mock
+    private Crossover<TestCase> mockCrossover;
+
+    @Mock
+    private TestCase emigrant;
+    @Mock
+    private TestCase immigrant;
+    @Mock
+    private TestCase archived;
+
+    private Path inboxFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        inboxFile = Files.createTempFile("island", ".migrants");
+        when(inbox.getFile()).thenReturn(inboxFile);
+        when(mockMOSA.getStoppingCondition()).thenReturn(mockStoppingCondition);
+        when(mockMOSA.emigrants()).thenReturn(Map.of(emigrant, Set.of(1)));
+        when(mockMOSA.getSolution()).thenReturn(List.of(archived));
+        when(mockMOSA.getCoveredBranches()).thenReturn(Map.of(archived, Set.of(2)));
+        when(inbox.load(mockMutation, mockCrossover)).thenReturn(List.of(immigrant));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(inboxFile);
+    }
+
+    private Island island(int migrationInterval) {
+        return new Island(mockMOSA, migrationInterval, outbox, inbox, result, mockMutation, mockCrossover);
+    }
+
+    @Test
+    void testConstructorRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> island(0));
+    }
+
+    @Test
+    void testFindSolutionExchangesMigrantsAndStoresArchive() throws IOException {
+        // Two generations, then stop
+        when(mockStoppingCondition.searchMustStop()).thenReturn(false, false, true);
+
+        List<TestCase> solution = island(1).findSolution();
+
+        assertEquals(List.of(archived), solution);
+        verify(mockStoppingCondition).notifySearchStarted();
+        verify(mockMOSA).initialise();
+        verify(mockMOSA, times(2)).evolve();
+        verify(outbox, times(2)).save(Map.of(emigrant, Set.of(1)));
+        // The previous island has published once, so its migrants are taken in once only
+        verify(inbox).load(mockMutation, mockCrossover);
+        verify(mockMOSA).immigrate(List.of(immigrant));
+        verify(result).save(Map.of(archived, Set.of(2)));
+    }
+
+    @Test
+    void testNoMigrationBeforeMigrationInterval() throws IOException {
+        when(mockStoppingCondition.searchMustStop()).thenReturn(false, true);
+
+        island(2).findSolution();
+
+        verify(outbox, never()).save(anyMap());
+        verify(outbox, never()).save(anyList());
+        verify(mockMOSA, never()).immigrate(any());
+        verify(result).save(Map.of(archived, Set.of(2)));
+    }
+
+    @Test
+    void testMigrateWithoutPublishedMigrants() throws IOException {
+        Files.delete(inboxFile);
+
+        island(1).migrate();
+
+        verify(outbox).save(Map.of(emigrant, Set.of(1)));
+        verify(inbox, never()).load(any(), any());
+        verify(mockMOSA, never()).immigrate(any());
+    }
+
+    @Test
+    void testStoringDoesNotExecuteTestCases() throws IOException {
+        when(mockStoppingCondition.searchMustStop()).thenReturn(false, true);
+
+        island(1).findSolution();
+
+        verify(outbox, never()).save(anyList());
+        verify(result, never()).save(anyList());
+        verify(emigrant, never()).call();
+        verify(archived, never()).call();
+    }
+}
@@ -3,6 +3,10 @@ package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.lang.reflect.InvocationTargetException;
@@ -114,11 +118,11 @@ class MOSATest {
 
             // Mock static method evaluateFitness
             Map<TestCase, Map<Branch, Double>> mockFitnessMap = Map.of(mockTestCase, Map.of(mockBranch, 0.5));
-            mockedUtils.when(() -> Utils.evaluateFitness(mockPopulation, targetBranches, null))
+            mockedUtils.when(() -> Utils.evaluateFitness(anyList(), eq(targetBranches), anyMap(), eq(mockStoppingCondition)))
                 .thenReturn(mockFitnessMap);
 
             // Mock static method updateArchive
-            List<TestCase> archive = new ArrayList<>();
+            Map<Branch, TestCase> archive = new HashMap<>();
             mockedUtils.when(() -> Utils.updateArchive(mockPopulation, mockFitnessMap, archive, targetBranches))
                 .thenAnswer(invocation -> null);
 
@@ -143,10 +147,15 @@ class MOSATest {
             // Verify interactions
             verify(mockStoppingCondition).notifySearchStarted();
             verify(mockStoppingCondition, times(2)).searchMustStop();
-            verify(mockStoppingCondition).notifyFitnessEvaluation();
+            // Coverage is reported after the initial population and after every generation
+            verify(mockStoppingCondition, times(2)).notifyCoverage(anyInt(), eq(targetBranches.size()));
+
+            // Fitness evaluations are accounted for by the executor, once per executed test case:
+            // the initial population and its offspring are executed, the parents are not re-run
+            mockedUtils.verify(() -> Utils.evaluateFitness(anyList(), eq(targetBranches), anyMap(), eq(mockStoppingCondition)), times(2));
 
             // Assertions
-            assertEquals(archive, solutions, "Solutions should match the archive.");
+            assertEquals(new ArrayList<>(archive.values()), solutions, "Solutions should match the archive.");
         }
     }
 
@@ -162,8 +171,7 @@ class MOSATest {
             // Obtain the private method using reflection
             var generateOffspringMethod = MOSA.class.getDeclaredMethod(
                 "generateOffspring",
-                List.class,
-                Map.class
+                List.class
             );
             generateOffspringMethod.setAccessible(true);
 
@@ -176,15 +184,11 @@ class MOSATest {
             List<TestCase> mockPopulation = new ArrayList<>();
             for (int i = 0; i < 10; i++) mockPopulation.add(mockTestCase);
 
-            // Mock fitness map
-            Map<TestCase, Map<Branch, Double>> mockFitnessMap = Map.of(mockTestCase, Map.of(mockBranch, 0.5));
-
             // Invoke the private method
             @SuppressWarnings("unchecked")
             List<TestCase> offspring = (List<TestCase>) generateOffspringMethod.invoke(
                 mosa, 
-                mockPopulation, 
-                mockFitnessMap
+                mockPopulation
             );
 
             // Assertions
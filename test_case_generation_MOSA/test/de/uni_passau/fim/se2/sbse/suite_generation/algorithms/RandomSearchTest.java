@@ -1,9 +1,13 @@
 package de.uni_passau.fim.se2.sbse.suite_generation.algorithms;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -72,11 +76,11 @@ class RandomSearchTest {
 
             // Mock static method evaluateFitness
             Map<TestCase, Map<Branch, Double>> mockFitnessMap = Map.of(mockTestCase, Map.of(mockBranch, 0.5));
-            mockedUtils.when(() -> Utils.evaluateFitness(mockPopulation, targetBranches, null))
+            mockedUtils.when(() -> Utils.evaluateFitness(eq(mockPopulation), eq(targetBranches), anyMap(), eq(mockStoppingCondition)))
                 .thenReturn(mockFitnessMap);
 
             // Mock static method updateArchive
-            List<TestCase> archive = new ArrayList<>();
+            Map<Branch, TestCase> archive = new HashMap<>();
             mockedUtils.when(() -> Utils.updateArchive(mockPopulation, mockFitnessMap, archive, targetBranches))
                     .thenAnswer(invocation -> null); // Stub the void static method
 
@@ -86,7 +90,8 @@ class RandomSearchTest {
             // Verify interactions
             verify(mockStoppingCondition).notifySearchStarted();
             verify(mockStoppingCondition, times(2)).searchMustStop();
-            verify(mockStoppingCondition).notifyFitnessEvaluation();
+            verify(mockStoppingCondition).notifyCoverage(anyInt(), eq(targetBranches.size()));
+            mockedUtils.verify(() -> Utils.evaluateFitness(eq(mockPopulation), eq(targetBranches), anyMap(), eq(mockStoppingCondition)));
 
             // Assertions
             assertEquals(0, solutions.size(), "Archive should start empty and only be updated in the loop.");
@@ -47,6 +47,37 @@ public class TestCaseGeneratorTest {
             IllegalArgumentException.class,
             () -> new TestCaseGenerator(random, mutation, crossover, null)
         );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new TestCaseGenerator(random, mutation, crossover, classUnderTest, 0)
+        );
+    }
+
+    @Test
+    public void testGetRespectsMaxLength() {
+        TestCaseGenerator generator = new TestCaseGenerator(
+            random,
+            mutation,
+            crossover,
+            classUnderTest,
+            3
+        );
+
+        assertEquals(3, generator.getMaxLength());
+        for (int i = 0; i < 20; i++) {
+            int length = generator.get().size();
+            assertTrue(length >= 1 && length <= 3, "Should not exceed 3 statements");
+        }
+    }
+
+    @Test
+    public void testGetAlsoGeneratesShortTestCases() {
+        TestCaseGenerator generator = new TestCaseGenerator(random, mutation, crossover, classUnderTest);
+        int shortest = Integer.MAX_VALUE;
+        for (int i = 0; i < 200; i++) {
+            shortest = Math.min(shortest, generator.get().size());
+        }
+        assertEquals(1, shortest, "Lengths should be drawn from 1 to the maximum length");
     }
 
     @Test
@@ -11,8 +11,10 @@ import java.util.Map;
 import java.util.Random;
 
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation;
 import de.uni_passau.fim.se2.sbse.suite_generation.crossover.OnePointCrossover;
 import de.uni_passau.fim.se2.sbse.suite_generation.examples.SimpleExample;
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.Stack;
 import de.uni_passau.fim.se2.sbse.suite_generation.mutation.TestCaseMutation;
 import de.uni_passau.fim.se2.sbse.suite_generation.utils.Pair;
 import de.uni_passau.fim.se2.sbse.suite_generation.utils.Utils;
@@ -85,6 +87,23 @@ public class TestCaseTest {
         );
     }
 
+    @Test
+    public void testCallDoesNotModifySharedInstance() {
+        List<Statement> stackStatements = Utils.allStatements(Stack.class);
+        Statement init = stackStatements.get(0);
+        Statement push = stackStatements.stream()
+            .filter(statement -> statement.toString().startsWith("cut.push("))
+            .findFirst()
+            .orElseThrow();
+        Stack shared = (Stack) ((StatementRepresenation) push).getCutInstance();
+        TestCase testCase = new TestCase(mutation, crossover, List.of(init, push, push));
+
+        testCase.call();
+        testCase.call();
+
+        assertEquals(0, shared.size());
+    }
+
     @Test
     public void testGetStatements() {
         List<Statement> statements = new ArrayList<>(allStatements.subList(0, 2)); // At least two statements
@@ -2,6 +2,7 @@ package de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
 
 import java.lang.reflect.Constructor;
@@ -11,6 +12,8 @@ import java.lang.reflect.Method;
 
 import org.junit.jupiter.api.Test;
 
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.Stack;
+
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.FieldAssignmentStatement;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.InitializationStatement;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.MethodCallStatement;
@@ -112,4 +115,47 @@ public class StatementRepresentationTest {
         FieldAssignmentStatement fieldAssignment = new FieldAssignmentStatement(cutInstance, field, value);
         assertEquals("cut.exampleField = testValue;", fieldAssignment.toString());
     }
+
+    @Test
+    public void testRunInContextOperatesOnFreshInstance() throws NoSuchMethodException {
+        Stack stack = new Stack(3);
+        InitializationStatement init = new InitializationStatement(stack, Stack.class.getConstructor(int.class),
+            Stack.class.getName(), 3);
+        MethodCallStatement push = new MethodCallStatement(Variable.CUT, init, Stack.class.getMethod("push", Integer.class), 7);
+
+        ExecutionContext first = new ExecutionContext();
+        init.run(first);
+        push.run(first);
+        ExecutionContext second = new ExecutionContext();
+        init.run(second);
+        push.run(second);
+
+        assertNotSame(first.get(Variable.CUT), second.get(Variable.CUT));
+        assertEquals(1, ((Stack) first.get(Variable.CUT)).size());
+        assertEquals(1, ((Stack) second.get(Variable.CUT)).size());
+        assertEquals(0, stack.size());
+    }
+
+    @Test
+    public void testRunInContextWithoutInitializationCreatesInstance() throws NoSuchMethodException {
+        Stack stack = new Stack(3);
+        InitializationStatement init = new InitializationStatement(stack, Stack.class.getConstructor(int.class),
+            Stack.class.getName(), 3);
+        MethodCallStatement push = new MethodCallStatement(Variable.CUT, init, Stack.class.getMethod("push", Integer.class), 7);
+
+        ExecutionContext context = new ExecutionContext();
+        push.run(context);
+
+        assertNotSame(stack, context.get(Variable.CUT));
+        assertEquals(1, ((Stack) context.get(Variable.CUT)).size());
+    }
+
+    @Test
+    public void testVariableParameterToString() throws NoSuchMethodException {
+        Method method = Object.class.getMethod("equals", Object.class);
+        InitializationStatement init = new InitializationStatement(new Object(), Object.class.getConstructor(),
+            "Object");
+        MethodCallStatement methodCall = new MethodCallStatement(Variable.CUT, init, method, Variable.CUT);
+        assertEquals("cut.equals(cut);", methodCall.toString());
+    }
 }
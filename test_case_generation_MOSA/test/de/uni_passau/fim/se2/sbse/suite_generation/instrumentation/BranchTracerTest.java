@@ -1,11 +1,13 @@
 package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.objectweb.asm.MethodVisitor;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Random;
@@ -37,7 +39,7 @@ class BranchTracerTest {
     void setUp() {
         // Get a fresh instance of BranchTracer and clear any previous data
         tracer = BranchTracer.getInstance();
-        tracer.clear();
+        tracer.reset();
 
         // Mock dependencies
         methodVisitorMock = mock(MethodVisitor.class);
@@ -57,6 +59,12 @@ class BranchTracerTest {
         doNothing().when(methodVisitorMock).visitMethodInsn(anyInt(), anyString(), anyString(), anyString(), anyBoolean());
     }
 
+    @AfterEach
+    void tearDown() {
+        // Branches registered by a test must not leak into other tests using the singleton
+        tracer.reset();
+    }
+
 
     @Test
     void testSingletonInstance() {
@@ -769,4 +777,167 @@ class BranchTracerTest {
         Map<Integer, Double> distances = (Map<Integer, Double>) distancesField.get(tracer);
         assertEquals(expectedDistance, distances.get(branch), 0.01, "Distance mismatch for branch " + branch);
     }
+
+    @Test
+    void testPassedComparisonLongUsesOperandDifference() {
+        int result = BranchTracer.passedComparison(999_990L, 1_000_000L, Opcodes.IFNE, 1, 2);
+        Map<Integer, Double> distances = tracer.getDistances();
+        assertEquals(-1, result);
+        assertEquals(0.0, distances.get(1));
+        assertEquals(10.0, distances.get(2));
+    }
+
+    @Test
+    void testPassedComparisonLongDistinctValuesRoundedToEqual() {
+        int result = BranchTracer.passedComparison(Long.MAX_VALUE, Long.MAX_VALUE - 1, Opcodes.IFEQ, 1, 2);
+        Map<Integer, Double> distances = tracer.getDistances();
+        assertEquals(1, result);
+        assertEquals(1.0, distances.get(1), "Distinct values must not cover the equality branch.");
+        assertEquals(0.0, distances.get(2));
+    }
+
+    @Test
+    void testPassedComparisonDouble() {
+        int result = BranchTracer.passedComparison(40.0, 42.5, Opcodes.DCMPL, Opcodes.IFLE, 1, 2);
+        Map<Integer, Double> distances = tracer.getDistances();
+        assertEquals(-1, result);
+        assertEquals(0.0, distances.get(1));
+        assertEquals(3.5, distances.get(2));
+    }
+
+    @Test
+    void testPassedComparisonFloat() {
+        int result = BranchTracer.passedComparison(0f, -3f, Opcodes.FCMPG, Opcodes.IFGE, 1, 2);
+        Map<Integer, Double> distances = tracer.getDistances();
+        assertEquals(1, result);
+        assertEquals(0.0, distances.get(1));
+        assertEquals(4.0, distances.get(2));
+    }
+
+    @Test
+    void testPassedComparisonNaNDependsOnInstruction() {
+        assertEquals(1, BranchTracer.passedComparison(Double.NaN, 1.0, Opcodes.DCMPG, Opcodes.IFGT, 1, 2));
+        assertEquals(0.0, tracer.getDistances().get(1));
+        assertEquals(1.0, tracer.getDistances().get(2));
+
+        tracer.clear();
+        assertEquals(-1, BranchTracer.passedComparison(Float.NaN, 1f, Opcodes.FCMPL, Opcodes.IFGT, 1, 2));
+        assertEquals(2.0, tracer.getDistances().get(1));
+        assertEquals(0.0, tracer.getDistances().get(2));
+    }
+
+    @Test
+    void testPassedSwitchComputesCaseDistances() {
+        Branch.Node node = new Branch.Node(1, "Foo");
+        Branch.Case oneOrTwo = new Branch.Case(100, node, 1, 2);
+        Branch.Case seven = new Branch.Case(101, node, 7);
+        Branch.Case defaultCase = new Branch.Case(102, node);
+        tracer.instrumentSwitchNode(methodVisitorMock, List.of(oneOrTwo, seven), defaultCase);
+
+        tracer.passedSwitch(5, 102);
+        Map<Integer, Double> distances = tracer.getDistances();
+        assertEquals(3.0, distances.get(100));
+        assertEquals(2.0, distances.get(101));
+        assertEquals(0.0, distances.get(102));
+
+        tracer.passedSwitch(2, 102);
+        assertEquals(0.0, distances.get(100));
+        assertEquals(2.0, distances.get(101));
+        assertEquals(0.0, distances.get(102));
+        assertSame(seven, tracer.getBranchById(101));
+    }
+
+    @Test
+    void testResetForgetsBranchesAndSwitches() {
+        Branch.Node node = new Branch.Node(1, "Foo");
+        Branch.Case seven = new Branch.Case(100, node, 7);
+        Branch.Case defaultCase = new Branch.Case(101, node);
+        tracer.instrumentSwitchNode(methodVisitorMock, List.of(seven), defaultCase);
+        tracer.passedSwitch(7, 101);
+
+        tracer.reset();
+        assertTrue(tracer.getBranches().isEmpty());
+        assertTrue(tracer.getDistances().isEmpty());
+    }
+
+    @Test
+    void testInstrumentSwitchNodeThrowsExceptionForDifferentNodes() {
+        Branch.Case caseBranch = new Branch.Case(100, new Branch.Node(1, "Foo"), 1);
+        Branch.Case defaultCase = new Branch.Case(101, new Branch.Node(2, "Foo"));
+        assertThrows(IllegalArgumentException.class, () ->
+            tracer.instrumentSwitchNode(methodVisitorMock, List.of(caseBranch), defaultCase)
+        );
+    }
+
+    @Test
+    void testCountingRecordsHitsAndCoveringExecutions() {
+        Branch.Node node = new Branch.Node(1, "Foo");
+        Branch.Decision trueBranch = new Branch.Decision(200, node, true);
+        Branch.Decision falseBranch = new Branch.Decision(201, node, false);
+        tracer.instrumentBranchNode(methodVisitorMock, trueBranch, falseBranch, Opcodes.IFEQ);
+
+        tracer.setCounting(true);
+        try {
+            tracer.clear();
+            tracer.passedBranch(0, Opcodes.IFEQ, 200, 201);
+            tracer.passedBranch(0, Opcodes.IFEQ, 200, 201);
+            tracer.passedBranch(3, Opcodes.IFEQ, 200, 201);
+            tracer.clear();
+            tracer.passedBranch(0, Opcodes.IFEQ, 200, 201);
+
+            ExecutionProfile profile = tracer.getProfile();
+            assertEquals(2, profile.getExecutions());
+            assertEquals(3, profile.getHits(trueBranch));
+            assertEquals(2, profile.getCoveringExecutions(trueBranch));
+            assertEquals(1, profile.getHits(falseBranch));
+            assertEquals(1, profile.getCoveringExecutions(falseBranch));
+            assertEquals(List.of(trueBranch, falseBranch), profile.getHotBranches(2));
+        } finally {
+            tracer.setCounting(false);
+        }
+        assertThrows(IllegalStateException.class, tracer::getProfile);
+    }
+
+    @Test
+    void testCountingReportsUnreachedMethodsAndSwitchHits() {
+        Branch.Entry reached = new Branch.Entry(210, "Foo", "bar", "()V");
+        Branch.Entry unreached = new Branch.Entry(211, "Foo", "baz", "()V");
+        tracer.instrumentMethodEntry(methodVisitorMock, reached);
+        tracer.instrumentMethodEntry(methodVisitorMock, unreached);
+        Branch.Node node = new Branch.Node(2, "Foo");
+        Branch.Case seven = new Branch.Case(212, node, 7);
+        Branch.Case defaultCase = new Branch.Case(213, node);
+        tracer.instrumentSwitchNode(methodVisitorMock, List.of(seven), defaultCase);
+
+        tracer.setCounting(true);
+        try {
+            tracer.clear();
+            tracer.passedBranch(210);
+            tracer.passedSwitch(7, 213);
+            tracer.passedSwitch(1, 213);
+            tracer.passedSwitch(2, 213);
+
+            ExecutionProfile profile = tracer.getProfile();
+            assertEquals(1, profile.getHits(reached));
+            assertEquals(1, profile.getHits(seven));
+            assertEquals(2, profile.getHits(defaultCase));
+            assertTrue(profile.getUnreachedMethods().contains(unreached));
+            assertFalse(profile.getUnreachedMethods().contains(reached));
+            assertTrue(profile.format(3).contains(unreached.toString()));
+        } finally {
+            tracer.setCounting(false);
+        }
+    }
+
+    @Test
+    void testResetDisablesCounting() {
+        Branch.Entry entry = new Branch.Entry(220, "Foo", "bar", "()V");
+        tracer.instrumentMethodEntry(methodVisitorMock, entry);
+        tracer.setCounting(true);
+        tracer.passedBranch(220);
+
+        tracer.reset();
+        assertFalse(tracer.isCounting());
+        assertThrows(IllegalStateException.class, tracer::getProfile);
+    }
 }
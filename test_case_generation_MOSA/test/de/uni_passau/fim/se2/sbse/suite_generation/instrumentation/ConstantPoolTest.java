@@ -0,0 +1,104 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.instrumentation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.DeepBranches;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstantPoolTest {
+
+    private ConstantPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = ConstantPool.getInstance();
+        pool.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.clear();
+        pool.setSeedingProbability(ConstantPool.DEFAULT_SEEDING_PROBABILITY);
+    }
+
+    @Test
+    void testEmptyPoolHasNoConstants() {
+        assertFalse(pool.hasConstants(int.class));
+        assertFalse(pool.hasConstants(String.class));
+        assertThrows(IllegalStateException.class, () -> pool.sample(int.class, new Random(0)));
+    }
+
+    @Test
+    void testSampleReturnsConstantOfRequestedType() {
+        pool.add(42);
+        pool.add("foo");
+        pool.add(2.5);
+
+        assertEquals(42, pool.sample(int.class, new Random(0)));
+        assertEquals(42, pool.sample(Integer.class, new Random(0)));
+        assertEquals("foo", pool.sample(String.class, new Random(0)));
+        assertEquals(2.5, pool.sample(double.class, new Random(0)));
+        assertFalse(pool.hasConstants(float.class));
+    }
+
+    @Test
+    void testIntegralConstantsAreConverted() {
+        pool.add(300);
+
+        assertEquals(300L, pool.sample(long.class, new Random(0)));
+        assertEquals((short) 300, pool.sample(short.class, new Random(0)));
+        assertFalse(pool.hasConstants(byte.class), "300 does not fit into a byte");
+    }
+
+    @Test
+    void testUnsupportedConstantsAreIgnored() {
+        pool.add(Object.class);
+
+        assertFalse(pool.hasConstants(Object.class));
+        assertFalse(pool.hasConstants(int.class));
+    }
+
+    @Test
+    void testSetSeedingProbability() {
+        pool.setSeedingProbability(0.7);
+        assertEquals(0.7, pool.getSeedingProbability());
+
+        assertThrows(IllegalArgumentException.class, () -> pool.setSeedingProbability(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> pool.setSeedingProbability(1.1));
+    }
+
+    @Test
+    void testCollectsConstantsOfClassUnderTest() throws IOException {
+        final String resource = DeepBranches.class.getName().replace('.', '/') + ".class";
+        try (InputStream in = DeepBranches.class.getClassLoader().getResourceAsStream(resource)) {
+            new ClassReader(in).accept(new ClassVisitor(Opcodes.ASM7) {
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor,
+                                                 String signature, String[] exceptions) {
+                    return new ConstantCollectingMethodVisitor(null);
+                }
+            }, 0);
+        }
+
+        // DeepBranches.hard(a, b, c, d) checks a == 1 && b == 2 && c == 4 && d == 5
+        Set<Object> sampled = new HashSet<>();
+        Random random = new Random(0);
+        for (int i = 0; i < 200; i++) {
+            sampled.add(pool.sample(int.class, random));
+        }
+        assertTrue(sampled.containsAll(Set.of(1, 2, 4, 5)));
+    }
+}
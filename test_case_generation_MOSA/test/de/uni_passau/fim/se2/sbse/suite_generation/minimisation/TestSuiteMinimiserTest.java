@@ -0,0 +1,183 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.minimisation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.ExecutionContext;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.InitializationStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.OnePointCrossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BranchTracer;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.TestCaseMutation;
+
+public class TestSuiteMinimiserTest {
+
+    private TestSuiteMinimiser minimiser;
+    private TestCaseMutation mutation;
+    private OnePointCrossover crossover;
+    private Statement initialization;
+
+    @BeforeEach
+    public void setUp() throws NoSuchMethodException {
+        minimiser = new TestSuiteMinimiser();
+        Random random = new Random(0);
+        mutation = new TestCaseMutation(random, new ArrayList<>());
+        crossover = new OnePointCrossover(random);
+        initialization = new InitializationStatement(new Object(), Object.class.getConstructor(), "Object") {
+            @Override
+            public void run(ExecutionContext context) {
+                super.run(context);
+                BranchTracer.getInstance().passedBranch(-1);
+            }
+        };
+    }
+
+    /**
+     * Creates a statement that covers the root branch with the given ID when run.
+     */
+    private static Statement covering(int branchId) {
+        return new Statement() {
+            @Override
+            public void run() {
+                BranchTracer.getInstance().passedBranch(branchId);
+            }
+
+            @Override
+            public String toString() {
+                return "cover(" + branchId + ");";
+            }
+        };
+    }
+
+    private TestCase testCase(Statement... body) {
+        List<Statement> statements = new ArrayList<>();
+        statements.add(initialization);
+        statements.addAll(List.of(body));
+        return new TestCase(mutation, crossover, statements);
+    }
+
+    @Test
+    public void testSelectCoveringSubsetPrefersLargestGain() {
+        TestCase t1 = testCase(covering(1));
+        TestCase t2 = testCase(covering(2), covering(3));
+        TestCase t3 = testCase(covering(1), covering(2), covering(3));
+
+        Map<TestCase, Set<Integer>> coveredBranches = new LinkedHashMap<>();
+        coveredBranches.put(t1, Set.of(1));
+        coveredBranches.put(t2, Set.of(2, 3));
+        coveredBranches.put(t3, Set.of(1, 2, 3));
+
+        assertEquals(List.of(t3), minimiser.selectCoveringSubset(coveredBranches));
+    }
+
+    @Test
+    public void testSelectCoveringSubsetPrefersShorterTestCases() {
+        TestCase longer = testCase(covering(1), covering(1), covering(1));
+        TestCase shorter = testCase(covering(1));
+
+        Map<TestCase, Set<Integer>> coveredBranches = new LinkedHashMap<>();
+        coveredBranches.put(longer, Set.of(1));
+        coveredBranches.put(shorter, Set.of(1));
+
+        assertEquals(List.of(shorter), minimiser.selectCoveringSubset(coveredBranches));
+    }
+
+    @Test
+    public void testSelectCoveringSubsetWithoutCoveredBranches() {
+        Map<TestCase, Set<Integer>> coveredBranches = new LinkedHashMap<>();
+        coveredBranches.put(testCase(covering(1)), Set.of());
+
+        assertTrue(minimiser.selectCoveringSubset(coveredBranches).isEmpty());
+    }
+
+    @Test
+    public void testReduceRemovesIrrelevantStatements() {
+        Statement relevant1 = covering(4);
+        Statement relevant2 = covering(9);
+        TestCase tc = testCase(covering(1), relevant1, covering(2), covering(3), relevant2, covering(5));
+
+        TestCase reduced = minimiser.reduce(tc, Set.of(4, 9));
+
+        assertEquals(List.of(initialization, relevant1, relevant2), reduced.getStatements());
+    }
+
+    @Test
+    public void testReduceKeepsInitializationStatement() {
+        TestCase tc = testCase(covering(1), covering(2));
+
+        TestCase reduced = minimiser.reduce(tc, Set.of(-1));
+
+        assertEquals(List.of(initialization), reduced.getStatements());
+    }
+
+    @Test
+    public void testReduceReturnsMinimalTestCaseUnchanged() {
+        TestCase tc = testCase(covering(1), covering(2));
+
+        assertSame(tc, minimiser.reduce(tc, Set.of(1, 2)));
+    }
+
+    @Test
+    public void testMinimisePreservesCoverage() {
+        Statement cover2 = covering(2);
+        Statement cover3 = covering(3);
+        TestCase t1 = testCase(covering(1), covering(1), cover2);
+        TestCase t2 = testCase(covering(2));
+        TestCase t3 = testCase(cover3);
+
+        List<TestCase> minimised = minimiser.minimise(List.of(t1, t2, t3));
+
+        // t2 is redundant, and the duplicate statement of t1 does not contribute to its coverage
+        assertEquals(2, minimised.size());
+        assertEquals(3, minimised.get(0).size());
+        assertSame(cover2, minimised.get(0).getStatements().get(2));
+        assertSame(t3, minimised.get(1));
+    }
+
+    @Test
+    public void testReduceWithoutInitializationStatementMayRemoveFirstStatement() {
+        Statement relevant = covering(4);
+        TestCase tc = new TestCase(mutation, crossover, new ArrayList<>(List.of(covering(1), relevant, covering(2))));
+
+        TestCase reduced = minimiser.reduce(tc, Set.of(4));
+
+        assertEquals(List.of(relevant), reduced.getStatements());
+    }
+
+    @Test
+    public void testMinimiseUsesRecordedCoverage() {
+        int[] executions = {0};
+        Statement counted = new Statement() {
+            @Override
+            public void run() {
+                executions[0]++;
+                BranchTracer.getInstance().passedBranch(7);
+            }
+
+            @Override
+            public String toString() {
+                return "cover(7);";
+            }
+        };
+        TestCase tc = testCase(counted);
+
+        List<TestCase> minimised = minimiser.minimise(List.of(tc), Map.of(tc, Set.of(7)));
+
+        assertEquals(List.of(tc), minimised);
+        assertEquals(0, executions[0], "Only the reduction without the statement should be executed");
+        minimiser.minimise(List.of(tc));
+        assertEquals(1, executions[0], "Test cases without recorded coverage should be executed");
+    }
+}
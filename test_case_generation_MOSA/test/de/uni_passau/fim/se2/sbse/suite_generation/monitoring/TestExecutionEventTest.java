@@ -0,0 +1,95 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.InitializationStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.MethodCallStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.OnePointCrossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.Stack;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.TestCaseMutation;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class TestExecutionEventTest {
+
+    private static final String EVENT_NAME = "de.uni_passau.fim.se2.sbse.suite_generation.TestExecution";
+
+    private Path file;
+    private Recording recording;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("execution", ".jfr");
+        recording = new Recording();
+        recording.enable(TestExecutionEvent.class).withoutThreshold();
+        recording.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        recording.close();
+        Files.deleteIfExists(file);
+    }
+
+    private TestCase stackTest(int capacity, Integer... pushed) throws NoSuchMethodException {
+        Random random = new Random(0);
+        Stack stack = new Stack(capacity);
+        List<Statement> statements = new ArrayList<>();
+        statements.add(new InitializationStatement(stack, Stack.class.getConstructor(int.class),
+            Stack.class.getName(), capacity));
+        for (Integer element : pushed) {
+            statements.add(new MethodCallStatement(stack, Stack.class.getMethod("push", Integer.class), element));
+        }
+        return new TestCase(new TestCaseMutation(random, new ArrayList<>()), new OnePointCrossover(random), statements);
+    }
+
+    private List<RecordedEvent> stopAndReadEvents() throws IOException {
+        recording.stop();
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(e -> e.getEventType().getName().equals(EVENT_NAME))
+            .toList();
+    }
+
+    @Test
+    public void testExecutionIsRecorded() throws Exception {
+        stackTest(3, 1, 2).call();
+
+        List<RecordedEvent> events = stopAndReadEvents();
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getInt("statements"));
+        assertNull(events.get(0).getString("exception"));
+    }
+
+    @Test
+    public void testExceptionIsRecorded() throws Exception {
+        TestCase testCase = stackTest(3, 1);
+        List<Statement> statements = new ArrayList<>(testCase.getStatements());
+        statements.add(() -> {
+            throw new IllegalStateException();
+        });
+        TestCase failing = new TestCase(testCase.getMutation(), testCase.getCrossover(), statements);
+        assertThrows(RuntimeException.class, failing::call);
+
+        List<RecordedEvent> events = stopAndReadEvents();
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getInt("statements"));
+        assertEquals(IllegalStateException.class.getName(), events.get(0).getString("exception"));
+    }
+}
@@ -3,6 +3,7 @@ package de.uni_passau.fim.se2.sbse.suite_generation.mutation;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
@@ -63,7 +64,7 @@ public class TestCaseMutationTest {
         Random fixedRandom = new Random(1); // To control randomness for this test
         TestCaseMutation fixedMutation = new TestCaseMutation(fixedRandom, possibleStatements);
         for (int i = 0; i < 5; i++) {
-            TestCase tc = generator.get();
+            TestCase tc = generateMutableTestCase();
             TestCase result = fixedMutation.apply(tc);
 
             List<Statement> mutatedStatements = result.getStatements();
@@ -81,7 +82,7 @@ public class TestCaseMutationTest {
         Random fixedRandom = new Random(0); // To control randomness for this test
         TestCaseMutation fixedMutation = new TestCaseMutation(fixedRandom, possibleStatements);
         for (int i = 0; i < 10; i++) {
-            TestCase tc = generator.get();
+            TestCase tc = generateMutableTestCase();
             TestCase result = fixedMutation.apply(tc);
 
             List<Statement> mutatedStatements = result.getStatements();
@@ -94,6 +95,90 @@ public class TestCaseMutationTest {
         }
     }
 
+    @Test
+    public void testConstructorWithInvalidMaxLength() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new TestCaseMutation(random, possibleStatements, 0)
+        );
+    }
+
+    @Test
+    public void testApplyWithMaxLengthNeverExceedsMaximum() {
+        int maxLength = 8;
+        TestCaseMutation boundedMutation = new TestCaseMutation(new Random(3), possibleStatements, maxLength);
+        TestCaseGenerator boundedGenerator = new TestCaseGenerator(random, boundedMutation, crossover, cut, maxLength);
+        TestCase tc = boundedGenerator.get();
+        for (int i = 0; i < 200; i++) {
+            tc = boundedMutation.apply(tc);
+            assertTrue(tc.size() >= 1 && tc.size() <= maxLength, "Length must stay within bounds");
+        }
+    }
+
+    @Test
+    public void testApplyWithMaxLengthShrinksTestCasesAtMaximum() {
+        int maxLength = 5;
+        TestCaseMutation boundedMutation = new TestCaseMutation(new Random(7), possibleStatements, maxLength);
+        List<Statement> statements = new ArrayList<>();
+        for (int i = 0; i < maxLength; i++) {
+            statements.add(possibleStatements.get(0));
+        }
+        TestCase tc = new TestCase(boundedMutation, crossover, statements);
+
+        assertEquals(maxLength - 1, boundedMutation.apply(tc).size(), "A statement should be removed");
+    }
+
+    @Test
+    public void testApplyInstantiatesOnlyInsertedStatements() {
+        List<Statement> instantiated = new ArrayList<>();
+        TestCaseMutation freshMutation = new TestCaseMutation(new Random(5), possibleStatements, statement -> {
+            Statement fresh = Utils.withFreshArguments(statement);
+            instantiated.add(fresh);
+            return fresh;
+        }, 50);
+        List<Statement> statements = new ArrayList<>(List.of(possibleStatements.get(0), possibleStatements.get(0)));
+        TestCase tc = new TestCase(freshMutation, crossover, statements);
+
+        for (int i = 0; i < 10; i++) {
+            TestCase mutated = freshMutation.apply(tc);
+            for (Statement statement : mutated.getStatements()) {
+                assertTrue(tc.getStatements().contains(statement) || instantiated.contains(statement),
+                    "Every new statement should be instantiated");
+            }
+            tc = mutated;
+        }
+        // Mutations that only remove a statement do not need any new statements
+        assertTrue(instantiated.size() > 0 && instantiated.size() <= 10, "At most one statement should be instantiated per mutation");
+    }
+
+    @Test
+    public void testApplyNeverReplacesInitializationStatement() {
+        TestCaseMutation fixedMutation = new TestCaseMutation(new Random(11), possibleStatements);
+        TestCase tc = generateMutableTestCase();
+        Statement initialization = tc.getStatements().get(0);
+        for (int i = 0; i < 100; i++) {
+            tc = fixedMutation.apply(tc);
+            assertTrue(tc.getStatements().get(0) == initialization, "The initialization statement must stay first");
+        }
+
+        TestCase initializationOnly = new TestCase(fixedMutation, crossover, List.of(initialization));
+        TestCase extended = fixedMutation.apply(initializationOnly);
+        assertEquals(2, extended.size(), "A test case of the initialization statement only should grow");
+        assertTrue(extended.getStatements().get(0) == initialization);
+    }
+
+    /**
+     * Generates a test case with at least one statement besides the initialization statement,
+     * which is the only one a length-preserving mutation can change.
+     */
+    private TestCase generateMutableTestCase() {
+        TestCase tc = generator.get();
+        while (tc.size() < 2) {
+            tc = generator.get();
+        }
+        return tc;
+    }
+
     @Test
     public void testToString() {
         assertEquals("ReplaceStatementMutation", mutation.toString());
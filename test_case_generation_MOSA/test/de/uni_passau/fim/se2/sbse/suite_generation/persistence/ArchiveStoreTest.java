@@ -0,0 +1,141 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.InitializationStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.MethodCallStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.OnePointCrossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.Stack;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.BranchTracer;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.TestCaseMutation;
+
+public class ArchiveStoreTest {
+
+    private Path file;
+    private ArchiveStore store;
+    private TestCaseMutation mutation;
+    private OnePointCrossover crossover;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("archive", ".txt");
+        Files.delete(file);
+        store = new ArchiveStore(file, Stack.class, BranchTracer.getInstance());
+        Random random = new Random(0);
+        mutation = new TestCaseMutation(random, new ArrayList<>());
+        crossover = new OnePointCrossover(random);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private TestCase stackTest(int capacity, Integer... pushed) throws NoSuchMethodException {
+        Stack stack = new Stack(capacity);
+        List<Statement> statements = new ArrayList<>();
+        statements.add(new InitializationStatement(stack, Stack.class.getConstructor(int.class),
+            Stack.class.getName(), capacity));
+        for (Integer element : pushed) {
+            statements.add(new MethodCallStatement(stack, Stack.class.getMethod("push", Integer.class), element));
+        }
+        statements.add(new MethodCallStatement(stack, Stack.class.getMethod("size")));
+        return new TestCase(mutation, crossover, statements);
+    }
+
+    @Test
+    public void testLoadWithoutArchiveReturnsNoTestCases() throws IOException {
+        assertTrue(store.load(mutation, crossover).isEmpty());
+    }
+
+    @Test
+    public void testSaveAndLoadRestoresStatements() throws Exception {
+        TestCase original = stackTest(3, 7, null, -2);
+
+        assertEquals(1, store.save(List.of(original)));
+        List<TestCase> loaded = store.load(mutation, crossover);
+
+        assertEquals(1, loaded.size());
+        assertEquals(
+            original.getStatements().stream().map(Statement::toString).toList(),
+            loaded.get(0).getStatements().stream().map(Statement::toString).toList()
+        );
+    }
+
+    @Test
+    public void testSaveRecordedCoverageDoesNotExecute() throws Exception {
+        TestCase testCase = spy(stackTest(3, 1));
+
+        assertEquals(1, store.save(Map.of(testCase, Set.of())));
+        Map<TestCase, Set<Integer>> loaded = store.loadCoverage(mutation, crossover);
+
+        verify(testCase, never()).call();
+        assertEquals(1, loaded.size());
+        assertEquals(Set.of(), loaded.values().iterator().next());
+    }
+
+    @Test
+    public void testLoadedStatementsShareFreshInstance() throws Exception {
+        store.save(List.of(stackTest(3, 1, 2)));
+
+        List<Statement> statements = store.load(mutation, crossover).get(0).getStatements();
+        Object cutInstance = ((InitializationStatement) statements.get(0)).getCutInstance();
+        assertSame(cutInstance, ((MethodCallStatement) statements.get(1)).getCutInstance());
+        assertSame(cutInstance, ((MethodCallStatement) statements.get(3)).getCutInstance());
+
+        statements.forEach(Statement::run);
+        assertEquals(2, ((Stack) cutInstance).size());
+    }
+
+    @Test
+    public void testArchiveOfDifferentClassVersionIsIgnored() throws Exception {
+        store.save(List.of(stackTest(3, 1)));
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.set(1, "hash 0000");
+        Files.write(file, lines);
+
+        assertTrue(store.load(mutation, crossover).isEmpty());
+    }
+
+    @Test
+    public void testTestCaseCoveringUnknownBranchIsDropped() throws Exception {
+        store.save(List.of(stackTest(3, 1)));
+        List<String> lines = new ArrayList<>(Files.readAllLines(file));
+        lines.set(2, "test " + Integer.MAX_VALUE);
+        Files.write(file, lines);
+
+        assertTrue(store.load(mutation, crossover).isEmpty());
+    }
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        Object cut = new Object();
+        for (Object value : new Object[]{true, (byte) -3, (short) 300, 'x', 42, -7L, 1.5f, Double.NaN, "a b\nc", ""}) {
+            assertEquals(value, StatementDescriptors.decode(StatementDescriptors.encode(value, cut), cut));
+        }
+        assertSame(cut, StatementDescriptors.decode(StatementDescriptors.encode(cut, cut), cut));
+        assertNull(StatementDescriptors.decode(StatementDescriptors.encode(null, cut), cut));
+        assertNull(StatementDescriptors.decode(StatementDescriptors.encode(new Object(), cut), cut));
+    }
+}
@@ -0,0 +1,186 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCase;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.InitializationStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.MethodCallStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Variable;
+import de.uni_passau.fim.se2.sbse.suite_generation.crossover.OnePointCrossover;
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.SimpleExample;
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.Stack;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.IBranch;
+import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.IBranchTracer;
+import de.uni_passau.fim.se2.sbse.suite_generation.mutation.TestCaseMutation;
+
+public class CheckpointStoreTest {
+
+    private static final int KNOWN_BRANCH = 7;
+
+    /**
+     * A branch tracer that knows a single branch.
+     */
+    private static final IBranchTracer BRANCH_TRACER = new IBranchTracer() {
+        @Override
+        public Set<IBranch> getBranches() {
+            return Set.of();
+        }
+
+        @Override
+        public IBranch getBranchById(int id) {
+            return id == KNOWN_BRANCH ? new IBranch() {
+                @Override
+                public int getId() {
+                    return KNOWN_BRANCH;
+                }
+            } : null;
+        }
+
+        @Override
+        public Map<Integer, Double> getDistances() {
+            return Map.of();
+        }
+
+        @Override
+        public void clear() {
+        }
+    };
+
+    private Path file;
+    private CheckpointStore store;
+    private TestCaseMutation mutation;
+    private OnePointCrossover crossover;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("checkpoint", ".bin");
+        Files.delete(file);
+        store = new CheckpointStore(file, Stack.class, BRANCH_TRACER, Duration.ofSeconds(1));
+        Random random = new Random(0);
+        mutation = new TestCaseMutation(random, new ArrayList<>());
+        crossover = new OnePointCrossover(random);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private TestCase stackTest(int capacity, Integer... pushed) throws NoSuchMethodException {
+        InitializationStatement init = new InitializationStatement(new Stack(capacity),
+            Stack.class.getConstructor(int.class), Stack.class.getName(), capacity);
+        List<Statement> statements = new ArrayList<>();
+        statements.add(init);
+        for (Integer element : pushed) {
+            statements.add(new MethodCallStatement(Variable.CUT, init, Stack.class.getMethod("push", Integer.class), element));
+        }
+        return new TestCase(mutation, crossover, statements);
+    }
+
+    private static List<String> code(TestCase testCase) {
+        return testCase.getStatements().stream().map(Statement::toString).toList();
+    }
+
+    @Test
+    public void testReadWithoutCheckpointReturnsNull() throws IOException {
+        assertNull(store.read(mutation, crossover));
+    }
+
+    @Test
+    public void testWriteAndReadRestoresCheckpoint() throws Exception {
+        TestCase first = stackTest(3, 1, 2);
+        TestCase second = stackTest(5, (Integer) null);
+        Checkpoint checkpoint = new Checkpoint(12, 345, OptionalLong.of(42L), List.of(first, second, first),
+            Map.of(KNOWN_BRANCH, second));
+
+        store.write(checkpoint);
+        Checkpoint read = store.read(mutation, crossover);
+
+        assertEquals(12, read.generation());
+        assertEquals(345, read.evaluations());
+        assertEquals(OptionalLong.of(42L), read.randomState());
+        assertEquals(List.of(code(first), code(second), code(first)),
+            read.population().stream().map(CheckpointStoreTest::code).toList());
+        assertEquals(Set.of(KNOWN_BRANCH), read.archive().keySet());
+        assertEquals(code(second), code(read.archive().get(KNOWN_BRANCH)));
+
+        // Test cases shared by the population and the archive are restored once
+        assertSame(read.population().get(0), read.population().get(2));
+        assertSame(read.population().get(1), read.archive().get(KNOWN_BRANCH));
+    }
+
+    @Test
+    public void testWriteAsyncWritesLatestCheckpoint() throws Exception {
+        TestCase testCase = stackTest(3, 1);
+        for (int generation = 0; generation < 10; generation++) {
+            store.writeAsync(new Checkpoint(generation, generation, OptionalLong.empty(), List.of(testCase), Map.of()));
+        }
+        store.awaitWrites();
+
+        Checkpoint read = store.read(mutation, crossover);
+        assertEquals(9, read.generation());
+        assertFalse(read.randomState().isPresent());
+    }
+
+    @Test
+    public void testWriteLeavesNoTemporaryFiles() throws Exception {
+        store.write(new Checkpoint(0, 0, OptionalLong.empty(), List.of(stackTest(3)), Map.of()));
+        store.write(new Checkpoint(1, 10, OptionalLong.empty(), List.of(stackTest(3)), Map.of()));
+
+        try (Stream<Path> files = Files.list(file.toAbsolutePath().getParent())) {
+            assertTrue(files.noneMatch(f -> f.getFileName().toString().startsWith(file.getFileName().toString())
+                && f.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    public void testCheckpointOfDifferentClassIsIgnored() throws Exception {
+        store.write(new Checkpoint(0, 0, OptionalLong.empty(), List.of(stackTest(3)), Map.of()));
+
+        CheckpointStore other = new CheckpointStore(file, SimpleExample.class, BRANCH_TRACER, Duration.ofSeconds(1));
+        assertNull(other.read(mutation, crossover));
+    }
+
+    @Test
+    public void testCheckpointCoveringUnknownBranchIsRejected() throws Exception {
+        TestCase testCase = stackTest(3);
+        store.write(new Checkpoint(0, 0, OptionalLong.empty(), List.of(testCase), Map.of(KNOWN_BRANCH + 1, testCase)));
+
+        assertThrows(IOException.class, () -> store.read(mutation, crossover));
+    }
+
+    @Test
+    public void testMalformedCheckpointIsRejected() throws IOException {
+        Files.writeString(file, "not a checkpoint");
+
+        assertThrows(IOException.class, () -> store.read(mutation, crossover));
+    }
+
+    @Test
+    public void testNonPositiveIntervalIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new CheckpointStore(file, Stack.class, BRANCH_TRACER, Duration.ZERO));
+    }
+}
@@ -2,6 +2,7 @@ package de.uni_passau.fim.se2.sbse.suite_generation.selection;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -193,4 +194,34 @@ public class RankSelectionTest {
             () ->new RankSelection<>(null, 5, 1.5, random)
         );
     }
+
+    @Test
+    public void testSelect_SameAsRepeatedApply() {
+        Comparator<TestChromosome> comparator = Comparator.comparingInt(TestChromosome::getFitness);
+        RankSelection<TestChromosome> batch = new RankSelection<>(comparator, 5, 1.9, new Random(7));
+        RankSelection<TestChromosome> single = new RankSelection<>(comparator, 5, 1.9, new Random(7));
+
+        List<TestChromosome> selected = batch.select(population, 50);
+        assertEquals(50, selected.size());
+        for (TestChromosome chromosome : selected) {
+            assertSame(single.apply(population), chromosome);
+        }
+        assertTrue(batch.select(population, 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> batch.select(population, -1));
+        assertThrows(IllegalArgumentException.class, () -> batch.select(null, 2));
+    }
+
+    @Test
+    public void testSelect_PrefersBetterIndividuals() {
+        RankSelection<TestChromosome> selection = new RankSelection<>(
+            Comparator.comparingInt(TestChromosome::getFitness), 5, 2.0, new Random(3));
+        int best = 0;
+        int worst = 0;
+        for (TestChromosome chromosome : selection.select(population, 1000)) {
+            if (chromosome.getFitness() == 5) best++;
+            if (chromosome.getFitness() == 1) worst++;
+        }
+        assertEquals(0, worst);  // with a bias of 2, the worst individual is never selected
+        assertTrue(best > 300);
+    }
 }
@@ -0,0 +1,66 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CompositeStoppingConditionTest {
+
+    @Test
+    public void testConstructor_NoConditions() {
+        assertThrows(IllegalArgumentException.class, AnyOf::of);
+        assertThrows(IllegalArgumentException.class, AllOf::of);
+        assertThrows(NullPointerException.class, () -> AnyOf.of(new FullCoverage(), null));
+    }
+
+    @Test
+    public void testAnyOfStopsWhenOneChildStops() {
+        AnyOf condition = AnyOf.of(MaxFitnessEvaluations.of(100), new FullCoverage());
+        condition.notifySearchStarted();
+        condition.notifyFitnessEvaluations(10);
+        assertFalse(condition.searchMustStop());
+        assertEquals(0.1, condition.getProgress(), 0.001);
+
+        condition.notifyCoverage(7, 7);
+        assertTrue(condition.searchMustStop());
+        assertEquals(1.0, condition.getProgress(), 0.001);
+    }
+
+    @Test
+    public void testAllOfStopsWhenAllChildrenStop() {
+        AllOf condition = AllOf.of(MaxFitnessEvaluations.of(10), NoImprovementForN.of(5));
+        condition.notifySearchStarted();
+        condition.notifyFitnessEvaluations(10);
+        condition.notifyCoverage(1, 7);
+        assertFalse(condition.searchMustStop());
+        assertEquals(0.0, condition.getProgress(), 0.001);
+
+        condition.notifyFitnessEvaluations(5);
+        assertTrue(condition.searchMustStop());
+    }
+
+    @Test
+    public void testNotifySearchStartedIsForwarded() {
+        AnyOf condition = AnyOf.of(MaxFitnessEvaluations.of(10));
+        condition.notifySearchStarted();
+        condition.notifyFitnessEvaluations(10);
+        assertTrue(condition.searchMustStop());
+        condition.notifySearchStarted();
+        assertFalse(condition.searchMustStop());
+    }
+
+    @Test
+    public void testNotifyFitnessEvaluationsInvalidInputs() {
+        AnyOf condition = AnyOf.of(MaxFitnessEvaluations.of(10));
+        assertThrows(IllegalArgumentException.class, () -> condition.notifyFitnessEvaluations(-1));
+    }
+
+    @Test
+    public void testToString() {
+        AnyOf condition = AnyOf.of(MaxFitnessEvaluations.of(10), new FullCoverage());
+        assertEquals("AnyOf(MaxFitnessEvaluations(10), FullCoverage)", condition.toString());
+    }
+}
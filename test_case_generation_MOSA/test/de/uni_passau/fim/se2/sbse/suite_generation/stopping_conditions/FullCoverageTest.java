@@ -0,0 +1,55 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class FullCoverageTest {
+    FullCoverage stoppingCondition = new FullCoverage();
+
+    @Test
+    public void testSearchMustStop_NoCoverageReported() {
+        stoppingCondition.notifySearchStarted();
+        stoppingCondition.notifyFitnessEvaluations(100);
+        assertFalse(stoppingCondition.searchMustStop());
+        assertEquals(0.0, stoppingCondition.getProgress());
+    }
+
+    @Test
+    public void testSearchMustStop_PartialCoverage() {
+        stoppingCondition.notifySearchStarted();
+        stoppingCondition.notifyCoverage(3, 4);
+        assertFalse(stoppingCondition.searchMustStop());
+        assertEquals(0.75, stoppingCondition.getProgress(), 0.001);
+    }
+
+    @Test
+    public void testSearchMustStop_FullCoverage() {
+        stoppingCondition.notifySearchStarted();
+        stoppingCondition.notifyCoverage(4, 4);
+        assertTrue(stoppingCondition.searchMustStop());
+        assertEquals(1.0, stoppingCondition.getProgress(), 0.001);
+    }
+
+    @Test
+    public void testNotifySearchStartedResetsCoverage() {
+        stoppingCondition.notifySearchStarted();
+        stoppingCondition.notifyCoverage(4, 4);
+        stoppingCondition.notifySearchStarted();
+        assertFalse(stoppingCondition.searchMustStop());
+    }
+
+    @Test
+    public void testNotifyCoverageInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> stoppingCondition.notifyCoverage(-1, 4));
+        assertThrows(IllegalArgumentException.class, () -> stoppingCondition.notifyCoverage(5, 4));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("FullCoverage", stoppingCondition.toString());
+    }
+}
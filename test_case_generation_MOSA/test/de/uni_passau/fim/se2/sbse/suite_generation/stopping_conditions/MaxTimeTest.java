@@ -0,0 +1,61 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class MaxTimeTest {
+
+    @Test
+    public void testConstructor_NonPositiveTime() {
+        assertThrows(IllegalArgumentException.class, () -> new MaxTime(0));
+        assertThrows(IllegalArgumentException.class, () -> MaxTime.ofSeconds(-1));
+    }
+
+    @Test
+    public void testOfSeconds() {
+        assertEquals(2000, MaxTime.ofSeconds(2).getMaximumTime());
+    }
+
+    @Test
+    public void testSearchMustStop_NotStarted() {
+        MaxTime condition = new MaxTime(60_000);
+        assertTrue(condition.searchMustStop());
+    }
+
+    @Test
+    public void testSearchMustStop_BeforeLimit() {
+        MaxTime condition = new MaxTime(60_000);
+        condition.notifySearchStarted();
+        condition.notifyFitnessEvaluations(1_000_000);
+        assertFalse(condition.searchMustStop());
+        assertTrue(condition.getProgress() < 1.0);
+    }
+
+    @Test
+    public void testSearchMustStop_AfterLimit() throws InterruptedException {
+        MaxTime condition = new MaxTime(5);
+        condition.notifySearchStarted();
+        Thread.sleep(20);
+        assertTrue(condition.searchMustStop());
+        assertTrue(condition.getProgress() >= 1.0);
+    }
+
+    @Test
+    public void testNotifySearchStartedRestartsClock() throws InterruptedException {
+        MaxTime condition = new MaxTime(50);
+        condition.notifySearchStarted();
+        Thread.sleep(60);
+        assertTrue(condition.searchMustStop());
+        condition.notifySearchStarted();
+        assertFalse(condition.searchMustStop());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("MaxTime(100 ms)", new MaxTime(100).toString());
+    }
+}
@@ -0,0 +1,55 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.stopping_conditions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class NoImprovementForNTest {
+    NoImprovementForN stoppingCondition = NoImprovementForN.of(10);
+
+    @Test
+    public void testConstructor_NonPositiveN() {
+        assertThrows(IllegalArgumentException.class, () -> new NoImprovementForN(0));
+    }
+
+    @Test
+    public void testSearchMustStop_Stagnation() {
+        stoppingCondition.notifySearchStarted();
+        stoppingCondition.notifyCoverage(2, 10);
+        stoppingCondition.notifyFitnessEvaluations(9);
+        assertFalse(stoppingCondition.searchMustStop());
+        stoppingCondition.notifyCoverage(2, 10);
+        stoppingCondition.notifyFitnessEvaluation();
+        assertTrue(stoppingCondition.searchMustStop());
+    }
+
+    @Test
+    public void testImprovementResetsCounter() {
+        stoppingCondition.notifySearchStarted();
+        stoppingCondition.notifyFitnessEvaluations(9);
+        assertEquals(0.9, stoppingCondition.getProgress(), 0.001);
+        stoppingCondition.notifyCoverage(1, 10);
+        assertEquals(0.0, stoppingCondition.getProgress(), 0.001);
+        stoppingCondition.notifyFitnessEvaluations(9);
+        assertFalse(stoppingCondition.searchMustStop());
+    }
+
+    @Test
+    public void testNotifySearchStartedResetsBestCoverage() {
+        stoppingCondition.notifySearchStarted();
+        stoppingCondition.notifyCoverage(5, 10);
+        stoppingCondition.notifySearchStarted();
+        stoppingCondition.notifyFitnessEvaluations(5);
+        stoppingCondition.notifyCoverage(1, 10);
+        stoppingCondition.notifyFitnessEvaluations(9);
+        assertFalse(stoppingCondition.searchMustStop());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("NoImprovementForN(10)", stoppingCondition.toString());
+    }
+}
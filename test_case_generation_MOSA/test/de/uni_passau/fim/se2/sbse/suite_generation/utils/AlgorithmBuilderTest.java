@@ -106,4 +106,24 @@ class AlgorithmBuilderTest {
                 mockBranchTracer
         ), "Constructor should throw an exception for class not found");
     }
+
+    @Test
+    public void testWithMethodsRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> algorithmBuilder.withMaxLength(0));
+        assertThrows(IllegalArgumentException.class, () -> algorithmBuilder.withIslands(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> algorithmBuilder.withIslands(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> algorithmBuilder.withCheckpoints(null, true));
+    }
+
+    @Test
+    public void testWithMethodsReturnBuilder() {
+        AlgorithmBuilder configured = algorithmBuilder
+                .withMaxLength(5)
+                .withWarmStart(null)
+                .withIslands(2, 3)
+                .withCheckpoints(null, false);
+
+        assertSame(algorithmBuilder, configured);
+        assertTrue(configured.build(SearchAlgorithmType.MOSA) instanceof MOSA);
+    }
 }
@@ -0,0 +1,46 @@
+package de.uni_passau.fim.se2.sbse.suite_generation.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class RestorableRandomTest {
+
+    @Test
+    public void testSameNumbersAsRandom() {
+        Random expected = new Random(42);
+        RestorableRandom actual = new RestorableRandom(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.nextInt(), actual.nextInt());
+            assertEquals(expected.nextInt(-120, 100), actual.nextInt(-120, 100));
+            assertEquals(expected.nextLong(), actual.nextLong());
+            assertEquals(expected.nextDouble(), actual.nextDouble());
+            assertEquals(expected.nextBoolean(), actual.nextBoolean());
+        }
+    }
+
+    @Test
+    public void testSetSeedResetsSequence() {
+        Random expected = new Random(7);
+        RestorableRandom actual = new RestorableRandom(1);
+        actual.nextLong();
+        actual.setSeed(7);
+        assertEquals(expected.nextLong(), actual.nextLong());
+    }
+
+    @Test
+    public void testRestoredStateContinuesSequence() {
+        RestorableRandom original = new RestorableRandom(3);
+        for (int i = 0; i < 10; i++) {
+            original.nextInt();
+        }
+        long state = original.getState();
+        long next = original.nextLong();
+
+        RestorableRandom restored = new RestorableRandom();
+        restored.setState(state);
+        assertEquals(next, restored.nextLong());
+    }
+}
@@ -9,6 +9,8 @@ import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.TestCaseGenerator
 import de.uni_passau.fim.se2.sbse.suite_generation.fitness_functions.FitnessFunction;
 import de.uni_passau.fim.se2.sbse.suite_generation.instrumentation.Branch;
 import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.Statement;
+import de.uni_passau.fim.se2.sbse.suite_generation.chromosomes.statements.StatementRepresenation.MethodCallStatement;
+import de.uni_passau.fim.se2.sbse.suite_generation.examples.SimpleExample;
 
 import org.junit.jupiter.api.Test;
 import java.util.*;
@@ -126,22 +128,57 @@ class UtilsTest {
         TestCase t2 = mock(TestCase.class);
         Branch branch1 = mock(Branch.class);
         Branch branch2 = mock(Branch.class);
+        when(t1.size()).thenReturn(2);
+        when(t2.size()).thenReturn(5);
 
         Map<TestCase, Map<Branch, Double>> fitnessMap = Map.of(
-                t1, Map.of(branch1, 0.2, branch2, 0.1),
-                t2, Map.of(branch1, 0.3, branch2, 0.4)
+                t1, Map.of(branch1, 0.0, branch2, 0.1),
+                t2, Map.of(branch1, 0.0, branch2, 0.0)
         );
 
-        List<TestCase> population = List.of(t1, t2);
-        List<TestCase> archive = new ArrayList<>();
+        List<TestCase> population = List.of(t2, t1);
+        Map<Branch, TestCase> archive = new HashMap<>();
         List<Branch> branches = List.of(branch1, branch2);
 
         // Test the method
         Utils.updateArchive(population, fitnessMap, archive, branches);
 
-        // Assertions
-        assertEquals(1, archive.size());
-        assertTrue(archive.contains(t1));
+        // Assertions: the shorter test case wins where both cover a branch
+        assertEquals(2, archive.size());
+        assertSame(t1, archive.get(branch1));
+        assertSame(t2, archive.get(branch2));
+    }
+
+    @Test
+    public void testUpdateArchiveIgnoresUncoveredBranches() {
+        TestCase t1 = mock(TestCase.class);
+        Branch branch1 = mock(Branch.class);
+        Branch branch2 = mock(Branch.class);
+
+        Map<TestCase, Map<Branch, Double>> fitnessMap = Map.of(
+                t1, Map.of(branch1, 0.2, branch2, 0.1)
+        );
+        Map<Branch, TestCase> archive = new HashMap<>();
+
+        Utils.updateArchive(List.of(t1), fitnessMap, archive, List.of(branch1, branch2));
+
+        assertTrue(archive.isEmpty());
+    }
+
+    @Test
+    public void testUpdateArchiveKeepsShorterArchivedTestCase() {
+        TestCase archived = mock(TestCase.class);
+        TestCase longer = mock(TestCase.class);
+        Branch branch = mock(Branch.class);
+        when(archived.size()).thenReturn(3);
+        when(longer.size()).thenReturn(4);
+
+        Map<Branch, TestCase> archive = new HashMap<>(Map.of(branch, archived));
+        Map<TestCase, Map<Branch, Double>> fitnessMap = Map.of(longer, Map.of(branch, 0.0));
+
+        Utils.updateArchive(List.of(longer), fitnessMap, archive, List.of(branch));
+
+        assertSame(archived, archive.get(branch));
     }
 
     @Test
@@ -161,6 +198,23 @@ class UtilsTest {
         assertFalse(statements.isEmpty());
     }
 
+    @Test
+    public void testWithFreshArgumentsKeepsMethodAndInitialization() {
+        List<Statement> statements = Utils.allStatements(SimpleExample.class);
+        for (Statement statement : statements) {
+            Statement fresh = Utils.withFreshArguments(statement);
+            if (statement instanceof MethodCallStatement call) {
+                MethodCallStatement freshCall = assertInstanceOf(MethodCallStatement.class, fresh);
+                assertNotSame(call, freshCall);
+                assertEquals(call.getMethod(), freshCall.getMethod());
+                assertSame(call.getInitialization(), freshCall.getInitialization());
+                assertEquals(call.getParameters().length, freshCall.getParameters().length);
+            } else {
+                assertSame(statement, fresh, "Initialization statements should be kept");
+            }
+        }
+    }
+
     @Test
     public void testGenerateRandomValueForPrimitives() {
         // Test boolean